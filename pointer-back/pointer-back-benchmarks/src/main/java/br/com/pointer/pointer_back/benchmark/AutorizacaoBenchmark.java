@@ -0,0 +1,124 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import br.com.pointer.pointer_back.controller.UsuarioController;
+import br.com.pointer.pointer_back.security.JWTConverter;
+import br.com.pointer.pointer_back.security.PapelAuthorizationManager;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.util.SimpleMethodInvocation;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Conversão do JWT e checagem de {@code @PreAuthorize} num endpoint real do {@link UsuarioController}.
+ *
+ * Os métodos {@code spel*} reproduzem o caminho anterior (strings "ROLE_" por requisição e SpEL);
+ * os métodos {@code mascara*} usam {@link JWTConverter} e {@link PapelAuthorizationManager}.
+ * Rodar com {@code -prof gc} para ver a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutorizacaoBenchmark {
+
+    private Jwt jwt;
+    private MethodInvocation buscarUsuario;
+
+    private JWTConverter converter;
+    private PapelAuthorizationManager papelManager;
+    private Supplier<Authentication> autenticacaoMascara;
+
+    private PreAuthorizeAuthorizationManager spelManager;
+    private Supplier<Authentication> autenticacaoSpel;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("ana")
+                .claim("realm_access", Map.of("roles", List.of("colaborador", "gestor")))
+                .build();
+
+        // hasRole('colaborador') or hasRole('admin') or hasRole('gestor')
+        buscarUsuario = new SimpleMethodInvocation(new UsuarioController(null, null, null, null, null, null, null),
+                UsuarioController.class.getMethod("buscarUsuario", String.class, String.class, WebRequest.class));
+
+        converter = new JWTConverter();
+        papelManager = new PapelAuthorizationManager();
+        Authentication mascara = converter.convert(jwt);
+        autenticacaoMascara = () -> mascara;
+
+        spelManager = new PreAuthorizeAuthorizationManager();
+        Authentication spel = converterComoAntes(jwt);
+        autenticacaoSpel = () -> spel;
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken spelConversao() {
+        return converterComoAntes(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken mascaraConversao() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public AuthorizationResult spelAutorizacao() {
+        return spelManager.authorize(autenticacaoSpel, buscarUsuario);
+    }
+
+    @Benchmark
+    public AuthorizationResult mascaraAutorizacao() {
+        return papelManager.authorize(autenticacaoMascara, buscarUsuario);
+    }
+
+    @Benchmark
+    public void spelRequisicao(Blackhole bh) {
+        Authentication auth = converterComoAntes(jwt);
+        bh.consume(spelManager.authorize(() -> auth, buscarUsuario));
+    }
+
+    @Benchmark
+    public void mascaraRequisicao(Blackhole bh) {
+        Authentication auth = converter.convert(jwt);
+        bh.consume(papelManager.authorize(() -> auth, buscarUsuario));
+    }
+
+    /**
+     * Conversão original do JWTConverter, mantida aqui como referência.
+     */
+    private static AbstractAuthenticationToken converterComoAntes(Jwt jwt) {
+        Map<String, Collection<String>> realm_access = jwt.getClaim("realm_access");
+        Collection<String> roles = realm_access.get("roles");
+        var grants = roles
+                .stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
+        return new JwtAuthenticationToken(jwt, grants);
+    }
+}
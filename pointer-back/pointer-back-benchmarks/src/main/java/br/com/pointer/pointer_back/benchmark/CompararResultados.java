@@ -0,0 +1,119 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara dois resultados do JMH em JSON ({@code -rf json}) e aponta as regressões.
+ *
+ * Tempo (ou vazão) só é comparável entre execuções na mesma máquina; a alocação por operação
+ * ({@code gc.alloc.rate.norm}, do {@code -prof gc}) quase não depende da máquina e é o sinal mais
+ * confiável. Sai com status 1 se algum benchmark piorou além da tolerância; no tempo, a diferença também
+ * precisa passar da soma das margens de erro das duas medições, para que ruído não conte como regressão.
+ *
+ * Uso: {@code java -cp benchmarks.jar br.com.pointer.pointer_back.benchmark.CompararResultados
+ * baseline.json atual.json [tolerancia-percentual]}
+ */
+public final class CompararResultados {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    // Alocações pequenas oscilam alguns bytes entre execuções (alinhamento, escape analysis)
+    private static final double FOLGA_ALOCACAO_BYTES = 16;
+
+    private CompararResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararResultados <baseline.json> <atual.json> [tolerancia-percentual]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        Map<String, JsonNode> baseline = ler(Path.of(args[0]));
+        Map<String, JsonNode> atual = ler(Path.of(args[1]));
+
+        int regressoes = 0;
+        for (Map.Entry<String, JsonNode> entrada : atual.entrySet()) {
+            JsonNode antes = baseline.get(entrada.getKey());
+            if (antes == null) {
+                System.out.printf("%-70s novo%n", entrada.getKey());
+                continue;
+            }
+            JsonNode depois = entrada.getValue();
+
+            double tempoAntes = antes.path("primaryMetric").path("score").asDouble();
+            double tempoDepois = depois.path("primaryMetric").path("score").asDouble();
+            boolean vazao = "thrpt".equals(depois.path("mode").asText());
+            double variacaoTempo = variacao(tempoAntes, tempoDepois);
+            double margem = erro(antes) + erro(depois);
+            boolean piorouTempo = vazao
+                    ? variacaoTempo < -tolerancia && tempoAntes - tempoDepois > margem
+                    : variacaoTempo > tolerancia && tempoDepois - tempoAntes > margem;
+
+            double alocAntes = alocacao(antes);
+            double alocDepois = alocacao(depois);
+            boolean piorouAlocacao = alocAntes >= 0 && alocDepois >= 0
+                    && alocDepois > alocAntes * (1 + tolerancia) + FOLGA_ALOCACAO_BYTES;
+
+            String unidade = depois.path("primaryMetric").path("scoreUnit").asText();
+            System.out.printf(Locale.ROOT, "%-70s %12.1f -> %12.1f %-8s (%+6.1f%%)  %10.0f -> %10.0f B/op%s%n",
+                    entrada.getKey(), tempoAntes, tempoDepois, unidade, variacaoTempo * 100, alocAntes, alocDepois,
+                    piorouTempo || piorouAlocacao ? "  REGRESSÃO" : "");
+            if (piorouTempo || piorouAlocacao) {
+                regressoes++;
+            }
+        }
+
+        if (regressoes > 0) {
+            System.out.printf("%d benchmark(s) pioraram mais de %.0f%%%n", regressoes, tolerancia * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Resultados indexados por nome do benchmark mais os parâmetros.
+     */
+    private static Map<String, JsonNode> ler(Path arquivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo.toFile())) {
+            StringBuilder chave = new StringBuilder(resultado.path("benchmark").asText()
+                    .replace("br.com.pointer.pointer_back.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = resultado.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                chave.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            resultados.put(chave.toString(), resultado);
+        }
+        return resultados;
+    }
+
+    private static double alocacao(JsonNode resultado) {
+        Iterator<Map.Entry<String, JsonNode>> metricas = resultado.path("secondaryMetrics").fields();
+        while (metricas.hasNext()) {
+            Map.Entry<String, JsonNode> metrica = metricas.next();
+            if (metrica.getKey().endsWith(ALOCACAO)) {
+                return metrica.getValue().path("score").asDouble();
+            }
+        }
+        return -1;
+    }
+
+    private static double erro(JsonNode resultado) {
+        double erro = resultado.path("primaryMetric").path("scoreError").asDouble();
+        return Double.isNaN(erro) ? 0 : erro;
+    }
+
+    private static double variacao(double antes, double depois) {
+        return antes == 0 ? 0 : (depois - antes) / antes;
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import br.com.pointer.pointer_back.exception.GlobalExceptionHandler;
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import br.com.pointer.pointer_back.exception.UsuarioJaExisteException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Respostas de erro do {@link GlobalExceptionHandler}: montagem do corpo e, nos métodos {@code *Json},
+ * também a serialização que o cliente recebe.
+ *
+ * As exceções são criadas no setup; o custo de preencher a stack trace fica de fora, porque depende da
+ * profundidade da pilha de quem lança, não do handler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrosBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    private UsuarioJaExisteException conflito;
+    private CapacidadeEsgotadaException capacidadeEsgotada;
+    private KeycloakIndisponivelException keycloakIndisponivel;
+    private Exception inesperada;
+
+    @Setup
+    public void setup() {
+        handler = new GlobalExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        conflito = new UsuarioJaExisteException("Usuário já existe com o email: ana@pointer.com");
+        capacidadeEsgotada = new CapacidadeEsgotadaException("Muitas requisições", Duration.ofMillis(1500));
+        keycloakIndisponivel = new KeycloakIndisponivelException("Keycloak indisponível", Duration.ofSeconds(15));
+        inesperada = new IllegalStateException("falha inesperada");
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> conflito() {
+        return handler.handleUsuarioJaExisteException(conflito);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> capacidadeEsgotada() {
+        return handler.handleCapacidadeEsgotadaException(capacidadeEsgotada);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> keycloakIndisponivel() {
+        return handler.handleKeycloakIndisponivelException(keycloakIndisponivel);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> erroInterno() {
+        return handler.handleGlobalException(inesperada);
+    }
+
+    @Benchmark
+    public byte[] conflitoJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleUsuarioJaExisteException(conflito).getBody());
+    }
+
+    @Benchmark
+    public byte[] erroInternoJson() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleGlobalException(inesperada).getBody());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do hash de senha por fator de trabalho, direto no encoder e pelo {@link PasswordHashingService}.
+ *
+ * A diferença entre os dois é o custo da fila e da troca de thread, que deve sumir diante do hash. O
+ * encoder é o mesmo da aplicação (delegante, prefixo {@code {bcrypt}}); {@code matches} mede o login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class HashSenhaBenchmark {
+
+    @Param({ "10", "12" })
+    public int custo;
+
+    private PasswordEncoder encoder;
+    private PasswordHashingService service;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(custo)));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(encoder, new FabricaExecutores(false, meterRegistry), meterRegistry,
+                0, 0, Duration.ofMinutes(1));
+        hash = encoder.encode("Senha@123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.encerrar();
+    }
+
+    @Benchmark
+    public String codificarDireto() {
+        return encoder.encode("Senha@123");
+    }
+
+    @Benchmark
+    public String codificarPeloServico() {
+        return service.codificar("Senha@123");
+    }
+
+    @Benchmark
+    public boolean conferir() {
+        return encoder.matches("Senha@123", hash);
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keycloak simulado para benchmarks: HTTP/1.1 com keep-alive, uma thread virtual por conexão.
+ *
+ * Responde com o corpo JSON do primeiro prefixo de caminho que casar, depois de {@code latenciaMs}
+ * nas rotas de admin. O servidor HTTP do JDK não serve aqui: ele fecha conexões ociosas acima de um
+ * limite fixo, e o cliente vê respostas perdidas em vez da latência simulada.
+ */
+final class KeycloakFalso implements AutoCloseable {
+
+    private static final String TOKEN = "{\"access_token\":\"token\",\"expires_in\":300,\"refresh_token\":\"refresh\","
+            + "\"refresh_expires_in\":1800,\"token_type\":\"Bearer\"}";
+
+    private final ServerSocket servidor;
+    private final ExecutorService conexoes = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, String> respostas;
+    private final int latenciaMs;
+
+    /**
+     * @param respostas corpo JSON por prefixo de caminho das rotas de admin
+     */
+    KeycloakFalso(int latenciaMs, Map<String, String> respostas) throws IOException {
+        this.latenciaMs = latenciaMs;
+        this.respostas = respostas;
+        this.servidor = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress());
+        conexoes.execute(this::aceitar);
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getLocalPort();
+    }
+
+    private void aceitar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                conexoes.execute(() -> atender(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void atender(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            InputStream entrada = new BufferedInputStream(socket.getInputStream());
+            OutputStream saida = socket.getOutputStream();
+            String caminho;
+            while ((caminho = lerRequisicao(entrada)) != null) {
+                String corpo = caminho.contains("/protocol/openid-connect/token") ? TOKEN : responderAdmin(caminho);
+                byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+                saida.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + bytes.length
+                        + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                saida.write(bytes);
+                saida.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            // Conexão encerrada pelo cliente
+        }
+    }
+
+    private String responderAdmin(String caminho) throws InterruptedException {
+        Thread.sleep(latenciaMs);
+        return respostas.entrySet().stream()
+                .filter(resposta -> caminho.startsWith(resposta.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("{}");
+    }
+
+    /**
+     * Lê uma requisição inteira (cabeçalhos e corpo).
+     *
+     * @return o caminho requisitado, ou null se a conexão foi fechada
+     */
+    private static String lerRequisicao(InputStream entrada) throws IOException {
+        String linhaInicial = lerLinha(entrada);
+        if (linhaInicial == null || linhaInicial.isEmpty()) {
+            return null;
+        }
+
+        int tamanhoCorpo = 0;
+        String cabecalho;
+        while ((cabecalho = lerLinha(entrada)) != null && !cabecalho.isEmpty()) {
+            if (cabecalho.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                tamanhoCorpo = Integer.parseInt(cabecalho.substring(15).trim());
+            }
+        }
+        entrada.readNBytes(tamanhoCorpo);
+        return linhaInicial.split(" ")[1];
+    }
+
+    private static String lerLinha(InputStream entrada) throws IOException {
+        ByteArrayOutputStream linha = new ByteArrayOutputStream();
+        int b;
+        while ((b = entrada.read()) != -1) {
+            if (b == '\n') {
+                return linha.toString(StandardCharsets.US_ASCII).stripTrailing();
+            }
+            linha.write(b);
+        }
+        return linha.size() > 0 ? linha.toString(StandardCharsets.US_ASCII) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        servidor.close();
+        conexoes.shutdownNow();
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import br.com.pointer.pointer_back.config.KeycloakConfig;
+import br.com.pointer.pointer_back.config.ProtecaoKeycloak;
+import br.com.pointer.pointer_back.config.ResilienciaConfig;
+import br.com.pointer.pointer_back.service.KeycloakAdminService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de um endpoint que depende do Keycloak, com o Tomcat e os executores internos em threads de
+ * plataforma ou virtuais ({@code spring.threads.virtual.enabled}).
+ *
+ * O Keycloak é simulado por um servidor HTTP local que responde depois de {@code latenciaKeycloakMs},
+ * e o pool HTTP do admin client é grande o bastante para não ser o gargalo: o limite passa a ser quantas
+ * requisições o Tomcat consegue manter esperando ao mesmo tempo (200 threads de plataforma por padrão).
+ * Os clientes do benchmark ({@link Threads}) ficam acima disso de propósito.
+ *
+ * Cliente, aplicação e Keycloak simulado dividem a mesma máquina: com poucos núcleos, a CPU satura antes
+ * do limite de threads e os dois modos empatam. A diferença aparece quando a vazão limitada pelas threads
+ * ({@code 200 / latência}) fica abaixo da que a CPU sustenta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@Threads(400)
+public class ThreadsVirtuaisBenchmark {
+
+    @Param({ "plataforma", "virtual" })
+    public String modo;
+
+    @Param({ "20", "200" })
+    public int latenciaKeycloakMs;
+
+    private KeycloakFalso keycloak;
+    private ConfigurableApplicationContext aplicacao;
+    private HttpClient cliente;
+    private HttpRequest requisicao;
+
+    @Setup
+    public void setup() throws IOException {
+        keycloak = new KeycloakFalso(latenciaKeycloakMs, Map.of("/admin/realms/pointer/users",
+                "[{\"id\":\"cbd83ba9-b34f-428e-9245-4142350245e8\",\"email\":\"ana@pointer.com\"}]"));
+
+        aplicacao = new SpringApplicationBuilder(Aplicacao.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(modo),
+                        "keycloak.auth-server-url=" + keycloak.url(),
+                        "keycloak.realm=pointer",
+                        "keycloak.client-id=pointer",
+                        "keycloak.client-secret=secret",
+                        "keycloak.admin.username=admin",
+                        "keycloak.admin.password=admin",
+                        "pointer.keycloak.http.max-conexoes=1000",
+                        "pointer.keycloak.http.max-conexoes-por-rota=1000",
+                        "pointer.resiliencia.keycloak.max-chamadas=1000")
+                .run();
+
+        int porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+        cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + porta + "/usuarios/id?email=ana@pointer.com"))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        aplicacao.close();
+        keycloak.close();
+    }
+
+    @Benchmark
+    public String buscarIdNoKeycloak() throws IOException, InterruptedException {
+        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Status inesperado: " + resposta.statusCode());
+        }
+        return resposta.body();
+    }
+
+    /**
+     * Só o necessário para o endpoint: MVC sobre Tomcat e o cliente admin do Keycloak da aplicação.
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class })
+    @Import({ KeycloakConfig.class, ResilienciaConfig.class, ProtecaoKeycloak.class, KeycloakAdminService.class,
+            Aplicacao.Endpoint.class })
+    static class Aplicacao {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @RestController
+        static class Endpoint {
+            private final KeycloakAdminService keycloakAdminService;
+
+            Endpoint(KeycloakAdminService keycloakAdminService) {
+                this.keycloakAdminService = keycloakAdminService;
+            }
+
+            @GetMapping("/usuarios/id")
+            String buscarId(@RequestParam String email) {
+                return keycloakAdminService.buscarIdPorEmail(email).orElse("");
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package br.com.pointer.pointer_back.benchmark;
+
+import br.com.pointer.pointer_back.dto.UsuarioDTO;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.mapper.UsuarioMapper;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioSpecifications;
+import br.com.pointer.pointer_back.service.UsuarioService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trechos de CPU das rotas de usuário que não dependem de banco nem do Keycloak: mapeamento entre DTO e
+ * entidade, senha aleatória, montagem dos filtros da listagem e serialização da página devolvida.
+ *
+ * O {@link ObjectMapper} é montado como o do Boot ({@link Jackson2ObjectMapperBuilder}), então a
+ * serialização inclui o módulo de datas e a configuração padrão da aplicação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsuarioBenchmark {
+
+    private UsuarioMapper mapper;
+    private UsuarioService usuarioService;
+    private ObjectMapper objectMapper;
+
+    private UsuarioDTO dto;
+    private Usuario usuario;
+
+    @Setup
+    public void setup() {
+        mapper = new UsuarioMapper();
+        usuarioService = new UsuarioService(null, null, mapper, null, null, null, null, null, null, null, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        dto = new UsuarioDTO();
+        dto.setNome("Ana Souza");
+        dto.setEmail("ana@pointer.com");
+        dto.setSenha("Senha@123");
+        dto.setStatus(StatusUsuario.ATIVO);
+        dto.setCargo("Analista");
+        dto.setSetor("TI");
+        dto.setTipoUsuario("colaborador");
+
+        usuario = mapper.toEntity(dto);
+        usuario.setId(42L);
+        usuario.setDataCriacao(LocalDateTime.of(2025, 3, 1, 9, 30));
+        usuario.setStatusSincronizacao(StatusSincronizacao.SINCRONIZADO);
+    }
+
+    @Benchmark
+    public Usuario toEntity() {
+        return mapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public UsuarioResponseDTO toResponseDTO() {
+        return mapper.toResponseDTO(usuario);
+    }
+
+    @Benchmark
+    public Usuario updateEntityFromDTO() {
+        mapper.updateEntityFromDTO(dto, usuario);
+        return usuario;
+    }
+
+    @Benchmark
+    public String gerarSenhaAleatoria() {
+        return usuarioService.gerarSenhaAleatoria();
+    }
+
+    @Benchmark
+    public Specification<Usuario> filtrosDaListagem() {
+        return UsuarioSpecifications.comFiltros("TI", "colaborador", "ativo");
+    }
+
+    @Benchmark
+    public byte[] serializarPagina(Pagina pagina) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina.usuarios);
+    }
+
+    /**
+     * Página da listagem, num estado à parte para que o tamanho só multiplique o benchmark que o usa.
+     */
+    @State(Scope.Benchmark)
+    public static class Pagina {
+
+        @Param({ "20", "100" })
+        public int tamanho;
+
+        private Page<UsuarioResponseDTO> usuarios;
+
+        @Setup
+        public void setup() {
+            UsuarioMapper mapper = new UsuarioMapper();
+            List<UsuarioResponseDTO> conteudo = new ArrayList<>(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                Usuario usuario = new Usuario();
+                usuario.setId((long) i);
+                usuario.setNome("Usuário " + i);
+                usuario.setEmail("usuario" + i + "@pointer.com");
+                usuario.setStatus(StatusUsuario.ATIVO);
+                usuario.setCargo("Analista");
+                usuario.setSetor("TI");
+                usuario.setTipoUsuario("colaborador");
+                usuario.setDataCriacao(LocalDateTime.of(2025, 3, 1, 9, 30).plusMinutes(i));
+                conteudo.add(mapper.toResponseDTO(usuario));
+            }
+            usuarios = new PageImpl<>(conteudo,
+                    PageRequest.of(0, tamanho, Sort.by(Sort.Direction.DESC, "dataCriacao", "id")), 1_000);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.pointer.pointer_back.carga;
+
+import br.com.pointer.pointer_back.PointerBackApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Teste de carga da aplicação inteira, com Keycloak e SendGrid simulados.
+ *
+ * Sobe os dois serviços falsos em portas locais, sobe a {@link PointerBackApplication} apontando para eles
+ * (o banco é o real, informado por {@code --spring.datasource.*}) e executa os cenários em sequência, cada um
+ * a uma taxa fixa. Argumentos {@code --carga.*} configuram o teste; os demais vão para a aplicação.
+ *
+ * Ao final imprime um resumo por endpoint e grava o resultado completo em JSON ({@code carga.saida}), no
+ * mesmo formato entre execuções, para comparar antes e depois de uma mudança.
+ */
+public final class Carga {
+
+    private static final String PREFIXO = "--carga.";
+
+    private Carga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> config = new HashMap<>();
+        List<String> argumentosAplicacao = new ArrayList<>();
+        for (String argumento : args) {
+            if (argumento.startsWith(PREFIXO) && argumento.contains("=")) {
+                int igual = argumento.indexOf('=');
+                config.put(argumento.substring(2, igual), argumento.substring(igual + 1));
+            } else {
+                argumentosAplicacao.add(argumento);
+            }
+        }
+
+        List<Cenario> cenarios = Arrays.stream(config.getOrDefault("carga.cenarios",
+                        "login,listagem,cadastro,importacao,recuperacao-senha").split(","))
+                .map(Cenario::porNome)
+                .toList();
+        Duration duracao = Duration.parse(config.getOrDefault("carga.duracao", "PT30S"));
+        Duration aquecimento = Duration.parse(config.getOrDefault("carga.aquecimento", "PT5S"));
+        Duration timeout = Duration.parse(config.getOrDefault("carga.timeout", "PT30S"));
+        double taxaPadrao = Double.parseDouble(config.getOrDefault("carga.taxa", "20"));
+        File saida = new File(config.getOrDefault("carga.saida", "carga-resultado.json"));
+
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "1000");
+        String execucao = UUID.randomUUID().toString().substring(0, 8);
+        Instant inicio = Instant.now();
+
+        try (KeycloakFalso keycloak = new KeycloakFalso(Injecao.ler(config, "carga.keycloak", Duration.ofMillis(20)));
+             SendGridFalso sendGrid = new SendGridFalso(Injecao.ler(config, "carga.sendgrid", Duration.ofMillis(100)));
+             ConfigurableApplicationContext aplicacao = iniciar(keycloak, sendGrid, config, argumentosAplicacao)) {
+
+            int porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+            Contexto contexto = new Contexto(URI.create("http://127.0.0.1:" + porta),
+                    keycloak.token("admin@pointer.com"), execucao, timeout,
+                    Integer.parseInt(config.getOrDefault("carga.logins", "100")),
+                    Integer.parseInt(config.getOrDefault("carga.importacao.lote", "50")));
+            Gerador gerador = new Gerador(Integer.parseInt(config.getOrDefault("carga.max-concorrencia", "500")));
+
+            List<Map<String, Object>> resultados = new ArrayList<>();
+            for (Cenario cenario : cenarios) {
+                double taxa = Double.parseDouble(config.getOrDefault("carga.taxa." + cenario.nome(),
+                        String.valueOf(taxaPadrao)));
+                if (cenario == Cenario.RECUPERACAO_SENHA && contexto.cadastrados() == 0) {
+                    gerador.preparar(Cenario.CADASTRO, contexto, 20);
+                }
+
+                // O aquecimento roda o mesmo cenário (JIT, pools, caches) e é descartado
+                if (!aquecimento.isZero()) {
+                    gerador.executar(cenario, contexto, taxa, aquecimento);
+                }
+                Medicoes medicoes = gerador.executar(cenario, contexto, taxa, duracao);
+
+                Map<String, Object> resultado = new LinkedHashMap<>();
+                resultado.put("nome", cenario.nome());
+                resultado.put("taxaAlvo", taxa);
+                resultado.put("duracao", duracao.toString());
+                resultado.put("endpoints", medicoes.resumo(duracao));
+                resultados.add(resultado);
+                imprimir(cenario, taxa, medicoes.resumo(duracao));
+            }
+
+            Map<String, Object> servicos = new LinkedHashMap<>();
+            servicos.put("keycloak", keycloak.estatisticas());
+            servicos.put("sendgrid", sendGrid.estatisticas());
+
+            Map<String, Object> relatorio = new LinkedHashMap<>();
+            relatorio.put("execucao", execucao);
+            relatorio.put("inicio", inicio.toString());
+            relatorio.put("configuracao", new TreeMap<>(config));
+            relatorio.put("cenarios", resultados);
+            relatorio.put("servicosFalsos", servicos);
+            gravar(saida, relatorio);
+            System.out.println("Resultado gravado em " + saida.getAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(KeycloakFalso keycloak, SendGridFalso sendGrid,
+                                                          Map<String, String> config, List<String> argumentos) {
+        Map<String, Object> padrao = new HashMap<>();
+        padrao.put("server.port", "0");
+        padrao.put("logging.level.root", "warn");
+        padrao.put("spring.jpa.hibernate.ddl-auto", "update");
+        padrao.put("spring.datasource.url", "jdbc:postgresql://localhost:5432/pointer");
+        padrao.put("spring.datasource.username", "postgres");
+        padrao.put("spring.datasource.password", "postgres");
+        padrao.put("keycloak.auth-server-url", keycloak.url());
+        padrao.put("keycloak.realm", "pointer");
+        padrao.put("keycloak.client-id", "pointer");
+        padrao.put("keycloak.client-secret", "carga");
+        padrao.put("keycloak.admin.username", "admin@pointer.com");
+        padrao.put("keycloak.admin.password", "carga");
+        padrao.put("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", keycloak.jwksUrl("pointer"));
+        padrao.put("sendgrid.api.key", "SG.carga");
+        // Processo único contra serviços falsos: uma chave fixa basta para as senhas da outbox
+        padrao.put("pointer.keycloak.outbox.chave-senha", "Y2FyZ2EtY2FyZ2EtY2FyZ2EtY2FyZ2EtY2FyZ2EhISE=");
+        padrao.put("pointer.email.transporte", "sendgrid");
+        padrao.put("pointer.email.sendgrid.url", sendGrid.url());
+        padrao.put("pointer.limite.habilitado", config.getOrDefault("carga.limites", "false"));
+        padrao.put("management.endpoints.web.exposure.include", "health,prometheus");
+
+        return new SpringApplicationBuilder(PointerBackApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(padrao)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    private static void imprimir(Cenario cenario, double taxa, List<Map<String, Object>> endpoints) {
+        System.out.printf("%n== %s (%.1f req/s)%n", cenario.nome(), taxa);
+        System.out.printf("%-30s %8s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "total", "ok/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "status");
+        for (Map<String, Object> endpoint : endpoints) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> latencia = (Map<String, Object>) endpoint.get("latenciaMs");
+            System.out.printf("%-30s %8d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    endpoint.get("endpoint"), (Long) endpoint.get("requisicoes"),
+                    (Double) endpoint.get("vazaoComSucesso"), (Double) latencia.get("p50"),
+                    (Double) latencia.get("p95"), (Double) latencia.get("p99"), (Double) latencia.get("max"),
+                    endpoint.get("status"));
+        }
+    }
+
+    private static void gravar(File saida, Map<String, Object> relatorio) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(saida, relatorio);
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.pointer.pointer_back.carga;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteiros de carga. Cada um gera a n-ésima requisição da sequência; o {@link Gerador} decide quando
+ * enviá-la.
+ */
+enum Cenario {
+
+    /**
+     * Rajada de logins por {@code /token}, alternando entre {@code carga.logins} usuários.
+     */
+    LOGIN("login") {
+        @Override
+        Requisicao requisicao(Contexto contexto, long n) {
+            String login = "usuario" + (n % contexto.logins()) + "@pointer.com";
+            return new Requisicao("POST /token", contexto.postJson("/token", Map.of(
+                    "username", login,
+                    "password", "Senha@123",
+                    "clientId", "pointer",
+                    "grantType", "password")).build());
+        }
+    },
+
+    /**
+     * Listagem do admin, alternando a paginação por offset (primeiras páginas) e por cursor.
+     */
+    LISTAGEM("listagem") {
+        @Override
+        Requisicao requisicao(Contexto contexto, long n) {
+            if (n % 2 == 0) {
+                return new Requisicao("GET /usuarios",
+                        contexto.comoAdmin(contexto.get("/usuarios?page=" + (n / 2 % 5) + "&size=20")).build());
+            }
+            return new Requisicao("GET /usuarios/cursor",
+                    contexto.comoAdmin(contexto.get("/usuarios/cursor?size=20")).build());
+        }
+    },
+
+    /**
+     * Cadastros avulsos pelo admin, com senha gerada e enviada por email.
+     */
+    CADASTRO("cadastro") {
+        @Override
+        Requisicao requisicao(Contexto contexto, long n) {
+            String email = contexto.novoEmail();
+            HttpRequest requisicao = contexto.comoAdmin(contexto.postJson("/usuarios", contexto.usuario(email)))
+                    .build();
+            return new Requisicao("POST /usuarios", requisicao, List.of(email));
+        }
+    },
+
+    /**
+     * Cadastro em massa: {@code carga.importacao.lote} usuários por requisição, em NDJSON.
+     */
+    IMPORTACAO("importacao") {
+        @Override
+        Requisicao requisicao(Contexto contexto, long n) {
+            List<String> emails = new ArrayList<>(contexto.loteImportacao());
+            StringBuilder corpo = new StringBuilder();
+            for (int i = 0; i < contexto.loteImportacao(); i++) {
+                String email = contexto.novoEmail();
+                emails.add(email);
+                corpo.append(Contexto.json(contexto.usuario(email))).append('\n');
+            }
+            HttpRequest requisicao = contexto.comoAdmin(
+                    contexto.post("/usuarios/importar", "application/x-ndjson", corpo.toString())).build();
+            return new Requisicao("POST /usuarios/importar", requisicao, emails);
+        }
+    },
+
+    /**
+     * Enxurrada de "esqueci minha senha" para os usuários cadastrados nesta execução.
+     */
+    RECUPERACAO_SENHA("recuperacao-senha") {
+        @Override
+        Requisicao requisicao(Contexto contexto, long n) {
+            String email = contexto.emailCadastrado(n);
+            return new Requisicao("POST /usuarios/esqueceu-senha",
+                    contexto.postJson("/usuarios/esqueceu-senha", Map.of("email", email)).build());
+        }
+    };
+
+    private final String nome;
+
+    Cenario(String nome) {
+        this.nome = nome;
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    abstract Requisicao requisicao(Contexto contexto, long n);
+
+    static Cenario porNome(String nome) {
+        return Arrays.stream(values())
+                .filter(cenario -> cenario.nome.equals(nome.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cenário desconhecido: " + nome
+                        + " (disponíveis: " + Arrays.stream(values()).map(Cenario::nome).toList() + ")"));
+    }
+
+    /**
+     * @param endpoint  rótulo usado no relatório (método e rota, sem parâmetros)
+     * @param cadastros emails cadastrados se a requisição for bem-sucedida
+     */
+    record Requisicao(String endpoint, HttpRequest http, List<String> cadastros) {
+
+        Requisicao(String endpoint, HttpRequest http) {
+            this(endpoint, http, List.of());
+        }
+    }
+}
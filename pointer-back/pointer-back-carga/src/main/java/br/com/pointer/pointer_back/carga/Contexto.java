@@ -0,0 +1,117 @@
+package br.com.pointer.pointer_back.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado compartilhado pelos cenários de uma execução: endereço da aplicação, token de admin e os
+ * emails cadastrados até aqui (a recuperação de senha usa os cadastrados pelos cenários anteriores).
+ */
+final class Contexto {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final URI aplicacao;
+    private final String tokenAdmin;
+    private final String execucao;
+    private final Duration timeout;
+    private final int logins;
+    private final int loteImportacao;
+    private final AtomicLong cadastros = new AtomicLong();
+    private final List<String> emails = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * @param execucao       identificador desta execução, para que os emails não colidam com os de execuções
+     *                       anteriores no mesmo banco
+     * @param logins         quantos logins distintos o cenário de login alterna
+     * @param loteImportacao usuários por requisição no cenário de importação
+     */
+    Contexto(URI aplicacao, String tokenAdmin, String execucao, Duration timeout, int logins, int loteImportacao) {
+        this.aplicacao = aplicacao;
+        this.tokenAdmin = tokenAdmin;
+        this.execucao = execucao;
+        this.timeout = timeout;
+        this.logins = logins;
+        this.loteImportacao = loteImportacao;
+    }
+
+    int logins() {
+        return logins;
+    }
+
+    int loteImportacao() {
+        return loteImportacao;
+    }
+
+    String novoEmail() {
+        return "carga-" + execucao + "-" + cadastros.incrementAndGet() + "@pointer.com";
+    }
+
+    void cadastrado(List<String> novos) {
+        emails.addAll(novos);
+    }
+
+    int cadastrados() {
+        return emails.size();
+    }
+
+    /**
+     * Um dos emails cadastrados, em rodízio; null se nenhum foi cadastrado ainda.
+     */
+    String emailCadastrado(long n) {
+        synchronized (emails) {
+            return emails.isEmpty() ? null : emails.get((int) (n % emails.size()));
+        }
+    }
+
+    Map<String, Object> usuario(String email) {
+        Map<String, Object> usuario = new LinkedHashMap<>();
+        usuario.put("nome", "Usuário Carga");
+        usuario.put("email", email);
+        usuario.put("status", "ATIVO");
+        usuario.put("cargo", "Analista");
+        usuario.put("setor", "TI");
+        usuario.put("tipoUsuario", "colaborador");
+        return usuario;
+    }
+
+    HttpRequest.Builder get(String caminho) {
+        return requisicao(caminho).GET();
+    }
+
+    HttpRequest.Builder post(String caminho, String tipo, String corpo) {
+        return requisicao(caminho)
+                .header("Content-Type", tipo)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    HttpRequest.Builder postJson(String caminho, Object corpo) {
+        return post(caminho, "application/json", json(corpo));
+    }
+
+    HttpRequest.Builder comoAdmin(HttpRequest.Builder requisicao) {
+        return requisicao.header("Authorization", "Bearer " + tokenAdmin);
+    }
+
+    static String json(Object valor) {
+        try {
+            return JSON.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(aplicacao.resolve(caminho)).timeout(timeout);
+    }
+}
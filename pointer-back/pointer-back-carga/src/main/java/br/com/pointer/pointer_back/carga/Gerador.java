@@ -0,0 +1,99 @@
+package br.com.pointer.pointer_back.carga;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera carga em malha aberta: a n-ésima requisição de um cenário é disparada no instante
+ * {@code inicio + n / taxa}, responda a aplicação rápido ou não.
+ *
+ * A latência é medida a partir desse instante previsto, não do envio efetivo. Assim, quando a aplicação
+ * engasga, as requisições que deveriam ter saído durante o engasgo contam a espera (sem a "omissão
+ * coordenada" de um gerador que só envia a próxima depois da resposta anterior). Cada requisição roda numa
+ * thread virtual; acima de {@code maxEmAndamento} simultâneas, as novas são descartadas e contadas, para
+ * que um servidor travado não faça o gerador acumular threads sem limite.
+ */
+final class Gerador {
+
+    private final HttpClient cliente;
+    private final int maxEmAndamento;
+
+    Gerador(int maxEmAndamento) {
+        this.maxEmAndamento = maxEmAndamento;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    Medicoes executar(Cenario cenario, Contexto contexto, double taxa, Duration duracao) {
+        Medicoes medicoes = new Medicoes();
+        Semaphore vagas = new Semaphore(maxEmAndamento);
+        long intervalo = (long) (1_000_000_000L / taxa);
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+
+        try (ExecutorService requisicoes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long n = 0; ; n++) {
+                long previsto = inicio + n * intervalo;
+                if (previsto >= fim) {
+                    break;
+                }
+                long espera = previsto - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+
+                Cenario.Requisicao requisicao = cenario.requisicao(contexto, n);
+                if (!vagas.tryAcquire()) {
+                    medicoes.descartar(requisicao.endpoint());
+                    continue;
+                }
+                requisicoes.execute(() -> {
+                    try {
+                        enviar(requisicao, previsto, contexto, medicoes);
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            }
+        }
+        return medicoes;
+    }
+
+    /**
+     * Envia sem medir; para preparar dados de um cenário (ex.: usuários para a recuperação de senha).
+     */
+    void preparar(Cenario cenario, Contexto contexto, int quantidade) {
+        Medicoes descartadas = new Medicoes();
+        for (int n = 0; n < quantidade; n++) {
+            enviar(cenario.requisicao(contexto, n), System.nanoTime(), contexto, descartadas);
+        }
+    }
+
+    private void enviar(Cenario.Requisicao requisicao, long previsto, Contexto contexto, Medicoes medicoes) {
+        String status;
+        try {
+            HttpResponse<Void> resposta = cliente.send(requisicao.http(), HttpResponse.BodyHandlers.discarding());
+            status = String.valueOf(resposta.statusCode());
+            if (resposta.statusCode() / 100 == 2) {
+                contexto.cadastrado(requisicao.cadastros());
+            }
+        } catch (HttpTimeoutException e) {
+            status = Medicoes.TIMEOUT;
+        } catch (IOException e) {
+            status = Medicoes.ERRO_CONEXAO;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        medicoes.registrar(requisicao.endpoint(), status, System.nanoTime() - previsto);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.pointer.pointer_back.carga;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latência e falhas injetadas em cada resposta de um serviço simulado.
+ *
+ * @param latencia   espera mínima antes de responder
+ * @param variacao   espera extra, sorteada uniformemente entre zero e este valor
+ * @param taxaErros  fração das respostas (0 a 1) trocadas por {@code statusErro}
+ * @param statusErro status devolvido nas falhas injetadas
+ */
+record Injecao(Duration latencia, Duration variacao, double taxaErros, int statusErro) {
+
+    /**
+     * Lê {@code <prefixo>.latencia}, {@code .variacao}, {@code .taxa-erros} e {@code .status-erro}.
+     */
+    static Injecao ler(Map<String, String> config, String prefixo, Duration latenciaPadrao) {
+        return new Injecao(
+                Duration.parse(config.getOrDefault(prefixo + ".latencia", latenciaPadrao.toString())),
+                Duration.parse(config.getOrDefault(prefixo + ".variacao", "PT0S")),
+                Double.parseDouble(config.getOrDefault(prefixo + ".taxa-erros", "0")),
+                Integer.parseInt(config.getOrDefault(prefixo + ".status-erro", "503")));
+    }
+
+    /**
+     * Espera a latência sorteada.
+     *
+     * @return o status da falha a devolver, ou 0 se a resposta deve seguir normalmente
+     */
+    int aplicar() throws InterruptedException {
+        long nanos = latencia.toNanos();
+        if (!variacao.isZero()) {
+            nanos += ThreadLocalRandom.current().nextLong(variacao.toNanos() + 1);
+        }
+        if (nanos > 0) {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+        return taxaErros > 0 && ThreadLocalRandom.current().nextDouble() < taxaErros ? statusErro : 0;
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.pointer.pointer_back.carga;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keycloak simulado: emissão de tokens, chaves públicas e o subconjunto da API de admin que a aplicação
+ * usa (criar e buscar usuários, roles, senha, sessões).
+ *
+ * Os tokens são JWTs RS256 de verdade, assinados por uma chave gerada na subida, então a aplicação os
+ * valida pelo caminho normal do resource server. Usuários cujo login começa com "admin" recebem a role
+ * {@code admin}; os demais, {@code colaborador}. Um token por login é assinado uma vez e reaproveitado,
+ * para que a assinatura RSA não dispute CPU com a aplicação durante a carga.
+ */
+final class KeycloakFalso extends ServidorFalso {
+
+    private static final Duration VALIDADE_TOKEN = Duration.ofHours(1);
+    private static final List<String> ROLES = List.of("admin", "gestor", "colaborador");
+
+    private final RSAKey chave;
+    private final String jwks;
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, String> usuariosPorEmail = new ConcurrentHashMap<>();
+
+    KeycloakFalso(Injecao injecao) throws IOException {
+        super(injecao);
+        try {
+            this.chave = new RSAKeyGenerator(2048).keyID("carga").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Não foi possível gerar a chave do Keycloak simulado", e);
+        }
+        this.jwks = new JWKSet(chave.toPublicJWK()).toString();
+    }
+
+    String jwksUrl(String realm) {
+        return url() + "/realms/" + realm + "/protocol/openid-connect/certs";
+    }
+
+    /**
+     * Token de acesso para {@code login}, como o emitido por {@code /token}.
+     */
+    String token(String login) {
+        return tokens.computeIfAbsent(login, this::assinar);
+    }
+
+    @Override
+    protected boolean injetar(String caminho) {
+        return !caminho.endsWith("/certs");
+    }
+
+    @Override
+    protected void atender(HttpExchange troca) throws IOException {
+        String caminho = troca.getRequestURI().getPath();
+        String metodo = troca.getRequestMethod();
+        byte[] corpo = troca.getRequestBody().readAllBytes();
+
+        if (caminho.endsWith("/protocol/openid-connect/certs")) {
+            responder(troca, 200, jwks);
+        } else if (caminho.endsWith("/protocol/openid-connect/token")) {
+            emitirToken(troca, formulario(new String(corpo, StandardCharsets.UTF_8)));
+        } else if (caminho.startsWith("/admin/realms/")) {
+            atenderAdmin(troca, metodo, caminho.substring(caminho.indexOf('/', "/admin/realms/".length())), corpo);
+        } else {
+            responder(troca, 404, null);
+        }
+    }
+
+    private void emitirToken(HttpExchange troca, Map<String, String> formulario) throws IOException {
+        String login = formulario.getOrDefault("username", "servico");
+        Map<String, Object> resposta = new HashMap<>();
+        resposta.put("access_token", token(login));
+        resposta.put("expires_in", VALIDADE_TOKEN.toSeconds());
+        resposta.put("refresh_token", token(login));
+        resposta.put("refresh_expires_in", VALIDADE_TOKEN.toSeconds());
+        resposta.put("token_type", "Bearer");
+        resposta.put("scope", "openid");
+        responder(troca, 200, resposta);
+    }
+
+    /**
+     * @param recurso o caminho depois de {@code /admin/realms/{realm}}
+     */
+    private void atenderAdmin(HttpExchange troca, String metodo, String recurso, byte[] corpo) throws IOException {
+        if (recurso.equals("/users") && metodo.equals("POST")) {
+            String email = JSON.readTree(corpo).path("email").asText();
+            String id = UUID.randomUUID().toString();
+            if (usuariosPorEmail.putIfAbsent(email, id) != null) {
+                responder(troca, 409, Map.of("errorMessage", "User exists with same email"));
+                return;
+            }
+            troca.getResponseHeaders().set("Location", url() + troca.getRequestURI().getPath() + "/" + id);
+            responder(troca, 201, null);
+        } else if (recurso.equals("/users") && metodo.equals("GET")) {
+            String email = formulario(troca.getRequestURI().getRawQuery()).get("email");
+            String id = email == null ? null : usuariosPorEmail.get(email);
+            responder(troca, 200, id == null ? List.of() : List.of(Map.of("id", id, "email", email,
+                    "username", email, "enabled", true)));
+        } else if (recurso.equals("/roles") && metodo.equals("GET")) {
+            responder(troca, 200, ROLES.stream()
+                    .map(role -> Map.of("id", idDeterministico(role), "name", role))
+                    .toList());
+        } else if (metodo.equals("GET") && (recurso.endsWith("/sessions") || recurso.endsWith("/role-mappings/realm"))) {
+            responder(troca, 200, List.of());
+        } else if (recurso.startsWith("/users/") && metodo.equals("GET")) {
+            String id = recurso.substring("/users/".length());
+            responder(troca, 200, Map.of("id", id, "enabled", true));
+        } else {
+            // Atualizações, senha, roles, logout: o Keycloak responde 204 sem corpo
+            responder(troca, 204, null);
+        }
+    }
+
+    private String assinar(String login) {
+        Instant agora = Instant.now();
+        String papel = login.startsWith("admin") ? "admin" : "colaborador";
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(usuariosPorEmail.getOrDefault(login, idDeterministico(login)))
+                .issuer(url() + "/realms/pointer")
+                .issueTime(Date.from(agora))
+                .expirationTime(Date.from(agora.plus(VALIDADE_TOKEN)))
+                .claim("sid", UUID.randomUUID().toString())
+                .claim("preferred_username", login)
+                .claim("email", login)
+                .claim("realm_access", Map.of("roles", List.of(papel)))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(chave.getKeyID()).build(),
+                    claims);
+            jwt.sign(new RSASSASigner(chave));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Não foi possível assinar o token", e);
+        }
+    }
+
+    private static String idDeterministico(String nome) {
+        return UUID.nameUUIDFromBytes(nome.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static Map<String, String> formulario(String texto) {
+        Map<String, String> campos = new HashMap<>();
+        if (texto == null || texto.isEmpty()) {
+            return campos;
+        }
+        for (String par : texto.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                campos.put(URLDecoder.decode(par.substring(0, igual), StandardCharsets.UTF_8),
+                        URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return campos;
+    }
+}
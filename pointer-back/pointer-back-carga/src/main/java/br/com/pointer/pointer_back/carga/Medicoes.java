@@ -0,0 +1,89 @@
+package br.com.pointer.pointer_back.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e status por endpoint durante a execução de um cenário.
+ *
+ * A latência é guardada num histograma HDR em microssegundos (3 dígitos significativos), o que dá
+ * percentis exatos o bastante com memória constante, seja qual for o número de requisições.
+ */
+final class Medicoes {
+
+    static final String TIMEOUT = "timeout";
+    static final String ERRO_CONEXAO = "erro";
+    static final String DESCARTADA = "descartada";
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void registrar(String endpoint, String status, long nanos) {
+        Endpoint medicao = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        medicao.status.computeIfAbsent(status, s -> new LongAdder()).increment();
+        medicao.latencias.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * Requisição não enviada porque o limite de requisições em andamento do gerador foi atingido.
+     */
+    void descartar(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint())
+                .status.computeIfAbsent(DESCARTADA, s -> new LongAdder()).increment();
+    }
+
+    List<Map<String, Object>> resumo(Duration duracao) {
+        double segundos = duracao.toNanos() / 1e9;
+        return new TreeMap<>(endpoints).entrySet().stream()
+                .map(entrada -> entrada.getValue().resumo(entrada.getKey(), segundos))
+                .toList();
+    }
+
+    private static final class Endpoint {
+        private final Histogram latencias = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> status = new ConcurrentHashMap<>();
+
+        private Map<String, Object> resumo(String nome, double segundos) {
+            Map<String, Long> porStatus = new TreeMap<>();
+            status.forEach((codigo, total) -> porStatus.put(codigo, total.sum()));
+
+            long respondidas = latencias.getTotalCount();
+            long sucesso = porStatus.entrySet().stream()
+                    .filter(entrada -> entrada.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            Map<String, Object> latenciaMs = new LinkedHashMap<>();
+            latenciaMs.put("p50", ms(latencias.getValueAtPercentile(50)));
+            latenciaMs.put("p95", ms(latencias.getValueAtPercentile(95)));
+            latenciaMs.put("p99", ms(latencias.getValueAtPercentile(99)));
+            latenciaMs.put("max", ms(latencias.getMaxValue()));
+            latenciaMs.put("media", ms(latencias.getMean()));
+
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            resumo.put("endpoint", nome);
+            resumo.put("requisicoes", respondidas);
+            resumo.put("vazao", arredondar(respondidas / segundos));
+            resumo.put("vazaoComSucesso", arredondar(sucesso / segundos));
+            resumo.put("status", porStatus);
+            resumo.put("latenciaMs", latenciaMs);
+            return resumo;
+        }
+    }
+
+    private static double ms(double micros) {
+        return arredondar(micros / 1000);
+    }
+
+    private static double arredondar(double valor) {
+        return Math.round(valor * 1000) / 1000.0;
+    }
+}
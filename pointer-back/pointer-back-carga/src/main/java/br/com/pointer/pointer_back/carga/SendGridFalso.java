@@ -0,0 +1,41 @@
+package br.com.pointer.pointer_back.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SendGrid simulado: aceita {@code POST /v3/mail/send} com 202 e conta os destinatários, sem enviar nada.
+ */
+final class SendGridFalso extends ServidorFalso {
+
+    private final AtomicLong destinatarios = new AtomicLong();
+
+    SendGridFalso(Injecao injecao) throws IOException {
+        super(injecao);
+    }
+
+    @Override
+    Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = super.estatisticas();
+        estatisticas.put("destinatarios", destinatarios.get());
+        return estatisticas;
+    }
+
+    @Override
+    protected void atender(HttpExchange troca) throws IOException {
+        byte[] corpo = troca.getRequestBody().readAllBytes();
+        if (!troca.getRequestMethod().equals("POST") || !troca.getRequestURI().getPath().endsWith("/mail/send")) {
+            responder(troca, 404, null);
+            return;
+        }
+
+        // Uma personalization por destinatário, como o EmailDispatcher agrupa
+        JsonNode personalizacoes = JSON.readTree(corpo).path("personalizations");
+        destinatarios.addAndGet(Math.max(1, personalizacoes.size()));
+        responder(troca, 202, null);
+    }
+}
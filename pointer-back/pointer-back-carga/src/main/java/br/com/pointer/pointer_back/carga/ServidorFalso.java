@@ -0,0 +1,112 @@
+package br.com.pointer.pointer_back.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base dos serviços simulados: servidor HTTP local, uma thread virtual por requisição, com a
+ * {@link Injecao} aplicada antes de cada resposta.
+ *
+ * O servidor HTTP do JDK fecha conexões ociosas acima de {@code sun.net.httpserver.maxIdleConnections};
+ * {@link Carga} aumenta esse limite antes de subir os servidores, para que o pool de conexões da
+ * aplicação não veja conexões derrubadas no meio da carga.
+ */
+abstract class ServidorFalso implements AutoCloseable {
+
+    protected static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Injecao injecao;
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong errosInjetados = new AtomicLong();
+
+    protected ServidorFalso(Injecao injecao) throws IOException {
+        this.injecao = injecao;
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1000);
+        servidor.setExecutor(executor);
+        servidor.createContext("/", this::receber);
+        servidor.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort();
+    }
+
+    Map<String, Object> estatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("requisicoes", requisicoes.get());
+        estatisticas.put("errosInjetados", errosInjetados.get());
+        estatisticas.put("injecao", Map.of(
+                "latencia", injecao.latencia().toString(),
+                "variacao", injecao.variacao().toString(),
+                "taxaErros", injecao.taxaErros(),
+                "statusErro", injecao.statusErro()));
+        return estatisticas;
+    }
+
+    /**
+     * Responde à requisição; só é chamado quando a injeção não decidiu por uma falha.
+     */
+    protected abstract void atender(HttpExchange troca) throws IOException;
+
+    /**
+     * Caminhos que não sofrem injeção (ex.: chaves públicas, que a aplicação só busca na subida).
+     */
+    protected boolean injetar(String caminho) {
+        return true;
+    }
+
+    protected static void responder(HttpExchange troca, int status, Object corpo) throws IOException {
+        byte[] bytes = corpo == null ? new byte[0]
+                : corpo instanceof String texto ? texto.getBytes(StandardCharsets.UTF_8)
+                : JSON.writeValueAsBytes(corpo);
+        if (bytes.length > 0) {
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+        }
+        troca.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(bytes);
+            }
+        }
+    }
+
+    private void receber(HttpExchange troca) throws IOException {
+        try (troca) {
+            requisicoes.incrementAndGet();
+            if (injetar(troca.getRequestURI().getPath())) {
+                int falha = injecao.aplicar();
+                if (falha > 0) {
+                    errosInjetados.incrementAndGet();
+                    troca.getRequestBody().readAllBytes();
+                    responder(troca, falha, Map.of("error", "falha injetada"));
+                    return;
+                }
+            }
+            atender(troca);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            responder(troca, 500, Map.of("error", String.valueOf(e.getMessage())));
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,14 @@
 package br.com.pointer.pointer_back.auth;
 
-import java.util.List;
-
-import org.keycloak.admin.client.Keycloak;
-import org.keycloak.admin.client.resource.RealmResource;
-import org.keycloak.admin.client.resource.UserResource;
-import org.keycloak.representations.idm.UserRepresentation;
+import br.com.pointer.pointer_back.service.SessaoUnicaService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -18,11 +20,23 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
 @RequestMapping("/token")
 @RestController
 public class TokenController {
+    private static final Logger logger = LoggerFactory.getLogger(TokenController.class);
+
+    private static final String GRANT_SENHA = "password";
+    private static final String GRANT_REFRESH = "refresh_token";
+    // Tag de métrica para qualquer outro valor: o endpoint é público e a tag não pode vir livre do cliente
+    private static final String GRANT_OUTRO = "outro";
 
     @Value("${keycloak.client-secret}")
     private String clientSecret;
@@ -34,37 +48,129 @@ public class TokenController {
     private String realm;
 
     @Autowired
-    private Keycloak keycloak;
+    @Qualifier("keycloakTokenRestTemplate")
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private SessaoUnicaService sessaoUnicaService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Login por senha. Outros grants são recusados aqui, sem chamar o Keycloak; o refresh tem endpoint próprio.
+     */
     @PostMapping
     public ResponseEntity<String> token(@RequestBody User user) {
-        RealmResource realmResource = keycloak.realm(realm);
-        List<UserRepresentation> users = realmResource.users().search(user.username());
-
-        if (!users.isEmpty()) {
-            UserRepresentation userRep = users.get(0);
-            UserResource userResource = realmResource.users().get(userRep.getId());
-            userResource.logout();
+        if (!GRANT_SENHA.equals(user.grantType())) {
+            long inicio = System.nanoTime();
+            ResponseEntity<String> recusa = ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body("{\"error\":\"unsupported_grant_type\","
+                            + "\"error_description\":\"Use grantType password; para renovar, POST /token/refresh\"}");
+            registrarLatencia(GRANT_OUTRO, recusa, inicio);
+            return recusa;
         }
 
-        HttpHeaders headers = new HttpHeaders();
-        RestTemplate restTemplate = new RestTemplate();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
         MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
         formData.add("client_id", user.clientId());
         formData.add("client_secret", clientSecret);
         formData.add("username", user.username());
         formData.add("password", user.password());
-        formData.add("grant_type", user.grantType());
+        formData.add("grant_type", GRANT_SENHA);
         formData.add("scope", "openid");
         formData.add("expires_in", "100000");
 
+        ResponseEntity<String> resposta = solicitarToken(GRANT_SENHA, formData);
+
+        // Sessões anteriores são encerradas depois da resposta, sem atrasar o login
+        if (resposta.getStatusCode().is2xxSuccessful()) {
+            encerrarOutrasSessoes(resposta.getBody());
+        }
+        return resposta;
+    }
+
+    /**
+     * Renova o access token com o refresh token, sem reenviar a senha.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@RequestBody Refresh refresh) {
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("client_id", refresh.clientId());
+        formData.add("client_secret", clientSecret);
+        formData.add("refresh_token", refresh.refreshToken());
+        formData.add("grant_type", GRANT_REFRESH);
+
+        return solicitarToken(GRANT_REFRESH, formData);
+    }
+
+    private ResponseEntity<String> solicitarToken(String grantType, MultiValueMap<String, String> formData) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
         HttpEntity<MultiValueMap<String, String>> entity = new HttpEntity<>(formData, headers);
         String tokenUrl = String.format("%s/realms/%s/protocol/openid-connect/token", authServerUrl, realm);
-        return restTemplate.postForEntity(tokenUrl, entity, String.class);
+
+        long inicio = System.nanoTime();
+        ResponseEntity<String> resposta = null;
+        try {
+            ResponseEntity<String> keycloak = restTemplate.postForEntity(tokenUrl, entity, String.class);
+            resposta = ResponseEntity.status(keycloak.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(keycloak.getBody());
+        } catch (HttpStatusCodeException e) {
+            // Credenciais ou refresh token inválidos: repassa o status e o erro do Keycloak
+            resposta = ResponseEntity.status(e.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(e.getResponseBodyAsString());
+        } finally {
+            registrarLatencia(grantType, resposta, inicio);
+        }
+        return resposta;
+    }
+
+    private void registrarLatencia(String grantType, ResponseEntity<String> resposta, long inicio) {
+        Timer.builder("pointer.token.requisicao")
+                .description("Latência do endpoint /token, incluindo a ida ao Keycloak")
+                .tag("grant", GRANT_SENHA.equals(grantType) || GRANT_REFRESH.equals(grantType) ? grantType : GRANT_OUTRO)
+                .tag("status", resposta == null ? "erro" : String.valueOf(resposta.getStatusCode().value()))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    private void encerrarOutrasSessoes(String corpo) {
+        try {
+            JsonNode accessToken = lerPayload(objectMapper.readTree(corpo).path("access_token").asText(null));
+            if (accessToken != null) {
+                sessaoUnicaService.encerrarOutrasSessoes(
+                        accessToken.path("sub").asText(null), accessToken.path("sid").asText(null));
+            }
+        } catch (Exception e) {
+            logger.warn("Não foi possível ler o token emitido para encerrar sessões anteriores: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Payload do token recém-emitido pelo Keycloak. Não é verificado: o token veio direto do emissor.
+     */
+    private JsonNode lerPayload(String token) throws IOException {
+        if (token == null) {
+            return null;
+        }
+        String[] partes = token.split("\\.");
+        if (partes.length < 2) {
+            return null;
+        }
+        return objectMapper.readTree(new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8));
     }
 
     public record User(String password, String clientId, String username, String grantType) {
     }
+
+    public record Refresh(String refreshToken, String clientId) {
+    }
 }
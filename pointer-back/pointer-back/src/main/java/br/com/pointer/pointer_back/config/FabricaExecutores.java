@@ -0,0 +1,202 @@
+package br.com.pointer.pointer_back.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cria os executores internos da aplicação, com threads de plataforma ou virtuais.
+ *
+ * O modo segue {@code spring.threads.virtual.enabled}, a mesma propriedade que faz o Tomcat atender as
+ * requisições em threads virtuais. No modo virtual, um executor {@link #limitado} cria uma thread por
+ * tarefa e limita a concorrência com um semáforo, em vez de manter um pool fixo: a tarefa que espera
+ * I/O (Keycloak, SendGrid) não ocupa thread de sistema. Trabalho de CPU ({@link #cpu}) continua num pool
+ * de plataforma do tamanho dos núcleos, onde threads virtuais não trazem ganho.
+ *
+ * Todo executor criado aqui publica {@code executor.active} e {@code executor.queued} com a tag
+ * {@code name}, nos dois modos; os pools de plataforma publicam também os demais medidores de
+ * {@link ExecutorServiceMetrics}.
+ */
+@Component
+public class FabricaExecutores {
+
+    private final boolean virtuais;
+    private final MeterRegistry meterRegistry;
+
+    public FabricaExecutores(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtuais,
+            MeterRegistry meterRegistry) {
+        this.virtuais = virtuais;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isVirtuais() {
+        return virtuais;
+    }
+
+    /**
+     * Executor com até {@code concorrencia} tarefas simultâneas e fila sem limite.
+     */
+    public ExecutorService limitado(String nome, int concorrencia) {
+        return limitado(nome, concorrencia, -1);
+    }
+
+    /**
+     * Executor com até {@code concorrencia} tarefas simultâneas e até {@code fila} tarefas esperando
+     * (negativo para sem limite). Acima disso, {@code execute} lança {@link RejectedExecutionException}.
+     */
+    public ExecutorService limitado(String nome, int concorrencia, int fila) {
+        int threads = Math.max(1, concorrencia);
+        if (virtuais) {
+            ExecutorVirtualLimitado executor = new ExecutorVirtualLimitado(nome, threads,
+                    fila < 0 ? Integer.MAX_VALUE : threads + fila);
+            Gauge.builder("executor.active", executor, ExecutorVirtualLimitado::ativas)
+                    .tag("name", nome)
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", executor, e -> e.admitidas.get() - e.ativas())
+                    .tag("name", nome)
+                    .register(meterRegistry);
+            return executor;
+        }
+
+        return medir(nome, new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, fila(fila),
+                plataforma(nome)));
+    }
+
+    /**
+     * Pool fixo de threads de plataforma para trabalho de CPU, nos dois modos, com até {@code fila}
+     * tarefas esperando (negativo para sem limite).
+     */
+    public ExecutorService cpu(String nome, int threads, int fila) {
+        int tamanho = Math.max(1, threads);
+        return medir(nome, new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS, fila(fila),
+                plataforma(nome)));
+    }
+
+    /**
+     * Inicia uma tarefa avulsa de longa duração (ex.: jobs disparados na subida).
+     */
+    public Thread iniciar(String nome, Runnable tarefa) {
+        if (virtuais) {
+            return Thread.ofVirtual().name(nome).start(tarefa);
+        }
+        Thread thread = new Thread(tarefa, nome);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Só os medidores do pool; o executor não é embrulhado, então as tarefas não pagam nada a mais.
+     */
+    private ExecutorService medir(String nome, ThreadPoolExecutor executor) {
+        new ExecutorServiceMetrics(executor, nome, Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    private static BlockingQueue<Runnable> fila(int capacidade) {
+        return capacidade < 0 ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(Math.max(1, capacidade));
+    }
+
+    private static ThreadFactory plataforma(String nome) {
+        AtomicInteger contador = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, nome + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Uma thread virtual por tarefa; o semáforo (justo, para manter a ordem de chegada) limita quantas
+     * executam ao mesmo tempo, e o contador de admitidas faz o papel da capacidade da fila.
+     */
+    private static final class ExecutorVirtualLimitado extends AbstractExecutorService {
+        private final ExecutorService delegado;
+        private final Semaphore vagas;
+        private final AtomicInteger admitidas = new AtomicInteger();
+        private final int concorrencia;
+        private final int maxAdmitidas;
+
+        private ExecutorVirtualLimitado(String nome, int concorrencia, int maxAdmitidas) {
+            this.delegado = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(nome + "-", 1).factory());
+            this.vagas = new Semaphore(concorrencia, true);
+            this.concorrencia = concorrencia;
+            this.maxAdmitidas = maxAdmitidas;
+        }
+
+        private int ativas() {
+            return concorrencia - vagas.availablePermits();
+        }
+
+        @Override
+        public void execute(Runnable tarefa) {
+            if (admitidas.incrementAndGet() > maxAdmitidas) {
+                admitidas.decrementAndGet();
+                throw new RejectedExecutionException("Executor sem capacidade para novas tarefas");
+            }
+            try {
+                delegado.execute(() -> {
+                    try {
+                        vagas.acquire();
+                    } catch (InterruptedException e) {
+                        admitidas.decrementAndGet();
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        tarefa.run();
+                    } finally {
+                        vagas.release();
+                        admitidas.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admitidas.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegado.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegado.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegado.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegado.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegado.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.pointer.pointer_back.config;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as conexões alugadas ao pool HTTP com um semáforo, antes de chegar ao pool.
+ *
+ * Com o pool esgotado, o httpcore espera por uma conexão dentro de um bloco {@code synchronized}, o que
+ * prende a thread portadora quando quem espera é uma thread virtual. Com tantas licenças quanto conexões
+ * no pool, a espera acontece aqui, no semáforo (que não prende a portadora), e o pool sempre tem uma
+ * conexão livre para quem passou. A licença volta quando a conexão é devolvida ao pool.
+ */
+final class GerenciadorConexoesLimitado implements HttpClientConnectionManager {
+
+    private final HttpClientConnectionManager delegado;
+    private final Semaphore licencas;
+    private final Set<HttpClientConnection> alugadas = ConcurrentHashMap.newKeySet();
+
+    GerenciadorConexoesLimitado(HttpClientConnectionManager delegado, int maxConexoes) {
+        this.delegado = delegado;
+        this.licencas = new Semaphore(maxConexoes, true);
+    }
+
+    int aguardando() {
+        return licencas.getQueueLength();
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest pedido = delegado.requestConnection(route, state);
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit unit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long inicio = System.nanoTime();
+                if (timeout <= 0) {
+                    licencas.acquire();
+                } else if (!licencas.tryAcquire(timeout, unit)) {
+                    throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+                }
+
+                try {
+                    long restante = timeout <= 0 ? 0 : Math.max(1, unit.toNanos(timeout) - (System.nanoTime() - inicio));
+                    HttpClientConnection conexao = pedido.get(restante, TimeUnit.NANOSECONDS);
+                    alugadas.add(conexao);
+                    return conexao;
+                } catch (InterruptedException | ExecutionException | ConnectionPoolTimeoutException | RuntimeException e) {
+                    licencas.release();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return pedido.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection conn, Object newState, long validDuration, TimeUnit timeUnit) {
+        try {
+            delegado.releaseConnection(conn, newState, validDuration, timeUnit);
+        } finally {
+            if (alugadas.remove(conn)) {
+                licencas.release();
+            }
+        }
+    }
+
+    @Override
+    public void connect(HttpClientConnection conn, HttpRoute route, int connectTimeout, HttpContext context)
+            throws IOException {
+        delegado.connect(conn, route, connectTimeout, context);
+    }
+
+    @Override
+    public void upgrade(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegado.upgrade(conn, route, context);
+    }
+
+    @Override
+    public void routeComplete(HttpClientConnection conn, HttpRoute route, HttpContext context) throws IOException {
+        delegado.routeComplete(conn, route, context);
+    }
+
+    @Override
+    public void closeIdleConnections(long idletime, TimeUnit timeUnit) {
+        delegado.closeIdleConnections(idletime, timeUnit);
+    }
+
+    @Override
+    public void closeExpiredConnections() {
+        delegado.closeExpiredConnections();
+    }
+
+    @Override
+    public void shutdown() {
+        delegado.shutdown();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.pointer.pointer_back.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts e updates em lote no Hibernate, e listas de {@code IN} com tamanho arredondado para a próxima
+ * potência de 2, para que buscas em lote de tamanhos variados reaproveitem poucos planos de consulta.
+ *
+ * Valores definidos em {@code spring.jpa.properties.*} têm precedência sobre os padrões daqui.
+ */
+@Configuration
+public class JpaConfig {
+    private static final Logger logger = LoggerFactory.getLogger(JpaConfig.class);
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateBatchCustomizer(
+            @Value("${pointer.jpa.tamanho-lote:50}") int tamanhoLote) {
+        return propriedades -> {
+            propriedades.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(tamanhoLote));
+            propriedades.putIfAbsent(AvailableSettings.ORDER_INSERTS, "true");
+            propriedades.putIfAbsent(AvailableSettings.ORDER_UPDATES, "true");
+            propriedades.putIfAbsent(AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true");
+        };
+    }
+
+    /**
+     * Alinha {@code usuarios_seq} com os IDs já gravados.
+     *
+     * Bancos criados quando o ID era IDENTITY ganham a sequência vazia pelo ddl-auto; sem o alinhamento,
+     * os primeiros IDs gerados colidiriam com os existentes. Depende do {@link EntityManagerFactory} para
+     * rodar depois da atualização do schema e antes de o servidor aceitar requisições.
+     */
+    @Bean
+    public SequenciaUsuariosAlinhada sequenciaUsuariosAlinhada(EntityManagerFactory entityManagerFactory,
+            JdbcTemplate jdbcTemplate) {
+        // O Hibernate (otimizador pooled) usa o bloco que termina no valor retornado pela sequência,
+        // então basta que o último valor seja pelo menos o maior ID existente
+        Long valor = jdbcTemplate.queryForObject(
+                "SELECT setval('usuarios_seq', GREATEST((SELECT last_value FROM usuarios_seq), "
+                        + "(SELECT COALESCE(MAX(id), 0) FROM usuarios)))",
+                Long.class);
+        logger.debug("Sequência usuarios_seq alinhada em {}", valor);
+        return new SequenciaUsuariosAlinhada(valor);
+    }
+
+    public record SequenciaUsuariosAlinhada(Long ultimoValor) {
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.pointer.pointer_back.config;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.keycloak.OAuth2Constants;
+import org.keycloak.admin.client.token.TokenService;
+import org.keycloak.representations.AccessTokenResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token do cliente admin do Keycloak, aplicado como filtro nas requisições.
+ *
+ * Substitui o {@code TokenManager} do admin client, que faz a ida ao Keycloak dentro de métodos
+ * {@code synchronized} e é consultado em toda requisição: com threads virtuais, isso prende a thread
+ * portadora enquanto o token é emitido. Aqui a leitura do token vigente é um campo volátil, e a
+ * emissão usa um {@link ReentrantLock}, no qual threads virtuais esperam sem prender a portadora.
+ *
+ * A renovação normal acontece em segundo plano pelo {@link KeycloakTokenRefresher}; uma requisição
+ * só emite token se encontrar o vigente vencido (ex.: após falhas seguidas na renovação).
+ */
+@Priority(KeycloakAdminToken.PRIORIDADE)
+public class KeycloakAdminToken implements ClientRequestFilter, ClientResponseFilter {
+
+    // Depois do filtro de autenticação do admin client, para que o cabeçalho final seja o daqui
+    static final int PRIORIDADE = jakarta.ws.rs.Priorities.USER + 1000;
+
+    // Valor entregue ao KeycloakBuilder só para que ele não crie um TokenManager próprio
+    static final String TOKEN_SUBSTITUIDO = "gerenciado-por-KeycloakAdminToken";
+
+    private static final long VALIDADE_MINIMA_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final TokenService tokenService;
+    private final String realm;
+    private final MultivaluedMap<String, String> credenciais;
+    private final ReentrantLock emissao = new ReentrantLock();
+    private volatile Token atual;
+
+    public KeycloakAdminToken(TokenService tokenService, String realm, String clientId, String clientSecret,
+            String username, String password) {
+        this.tokenService = tokenService;
+        this.realm = realm;
+
+        MultivaluedMap<String, String> form = new MultivaluedHashMap<>();
+        form.putSingle(OAuth2Constants.GRANT_TYPE, OAuth2Constants.PASSWORD);
+        form.putSingle("username", username);
+        form.putSingle("password", password);
+        form.putSingle(OAuth2Constants.CLIENT_ID, clientId);
+        if (clientSecret != null && !clientSecret.isEmpty()) {
+            form.putSingle(OAuth2Constants.CLIENT_SECRET, clientSecret);
+        }
+        this.credenciais = form;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        requestContext.getHeaders().putSingle(HttpHeaders.AUTHORIZATION, "Bearer " + tokenValido().valor());
+    }
+
+    /**
+     * Token recusado pelo Keycloak (ex.: sessão admin encerrada): a próxima requisição emite outro.
+     */
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        if (responseContext.getStatus() == 401) {
+            Token recusado = atual;
+            String enviado = requestContext.getHeaderString(HttpHeaders.AUTHORIZATION);
+            if (recusado != null && enviado != null && enviado.endsWith(recusado.valor())) {
+                atual = null;
+            }
+        }
+    }
+
+    /**
+     * Emite um novo token, com refresh token quando possível.
+     *
+     * @return validade do token emitido
+     */
+    public Duration renovar() {
+        emissao.lock();
+        try {
+            return Duration.ofNanos(emitir(atual).expiraEm() - System.nanoTime());
+        } finally {
+            emissao.unlock();
+        }
+    }
+
+    private Token tokenValido() {
+        Token token = atual;
+        if (token != null && token.valido()) {
+            return token;
+        }
+
+        emissao.lock();
+        try {
+            token = atual;
+            return token != null && token.valido() ? token : emitir(token);
+        } finally {
+            emissao.unlock();
+        }
+    }
+
+    private Token emitir(Token anterior) {
+        AccessTokenResponse resposta = null;
+        if (anterior != null && anterior.refreshToken() != null && anterior.refreshValido()) {
+            MultivaluedMap<String, String> form = new MultivaluedHashMap<>();
+            form.putSingle(OAuth2Constants.GRANT_TYPE, OAuth2Constants.REFRESH_TOKEN);
+            form.putSingle(OAuth2Constants.REFRESH_TOKEN, anterior.refreshToken());
+            form.putSingle(OAuth2Constants.CLIENT_ID, credenciais.getFirst(OAuth2Constants.CLIENT_ID));
+            if (credenciais.containsKey(OAuth2Constants.CLIENT_SECRET)) {
+                form.putSingle(OAuth2Constants.CLIENT_SECRET, credenciais.getFirst(OAuth2Constants.CLIENT_SECRET));
+            }
+            try {
+                resposta = tokenService.refreshToken(realm, form);
+            } catch (RuntimeException e) {
+                // Refresh token recusado: emite do zero
+            }
+        }
+        if (resposta == null) {
+            resposta = tokenService.grantToken(realm, credenciais);
+        }
+
+        long agora = System.nanoTime();
+        Token token = new Token(
+                resposta.getToken(),
+                resposta.getRefreshToken(),
+                agora + TimeUnit.SECONDS.toNanos(resposta.getExpiresIn()),
+                agora + TimeUnit.SECONDS.toNanos(resposta.getRefreshExpiresIn()));
+        atual = token;
+        return token;
+    }
+
+    private record Token(String valor, String refreshToken, long expiraEm, long refreshExpiraEm) {
+
+        boolean valido() {
+            return expiraEm - System.nanoTime() > VALIDADE_MINIMA_NANOS;
+        }
+
+        boolean refreshValido() {
+            return refreshExpiraEm - System.nanoTime() > VALIDADE_MINIMA_NANOS;
+        }
+    }
+}
@@ -1,11 +1,42 @@
 package br.com.pointer.pointer_back.config;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.ws.rs.client.Client;
+import jakarta.ws.rs.client.ClientBuilder;
+import jakarta.ws.rs.ext.ContextResolver;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.keycloak.admin.client.JacksonProvider;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.KeycloakBuilder;
+import org.keycloak.admin.client.token.TokenService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Cliente admin do Keycloak sobre um pool HTTP próprio.
+ *
+ * O tamanho do pool, o limite por rota, os timeouts e o keep-alive vêm de {@code pointer.keycloak.http.*}.
+ * Como todas as chamadas vão para o mesmo host, o limite por rota é o que de fato limita a concorrência.
+ * A espera por conexão livre acontece no {@link GerenciadorConexoesLimitado}, e não dentro do pool.
+ *
+ * O token admin é emitido e aplicado pelo {@link KeycloakAdminToken}, e não pelo {@code TokenManager}
+ * do admin client, para que as requisições não disputem um monitor (ver a documentação da classe).
+ * Toda chamada passa pelo disjuntor e pelo bulkhead do Keycloak ({@link ProtecaoKeycloak}).
+ */
 @Configuration
 public class KeycloakConfig {
 
@@ -27,15 +58,118 @@ public class KeycloakConfig {
     @Value("${keycloak.admin.password}")
     private String adminPassword;
 
+    @Value("${pointer.keycloak.http.max-conexoes:50}")
+    private int maxConexoes;
+
+    @Value("${pointer.keycloak.http.max-conexoes-por-rota:50}")
+    private int maxConexoesPorRota;
+
+    @Value("${pointer.keycloak.http.timeout-conexao:PT2S}")
+    private Duration timeoutConexao;
+
+    @Value("${pointer.keycloak.http.timeout-leitura:PT10S}")
+    private Duration timeoutLeitura;
+
+    @Value("${pointer.keycloak.http.timeout-pool:PT2S}")
+    private Duration timeoutPool;
+
+    @Value("${pointer.keycloak.http.keep-alive:PT30S}")
+    private Duration keepAlive;
+
+    @Bean
+    public PoolingHttpClientConnectionManager keycloakConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(keepAlive.toMillis() * 2, TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(maxConexoes);
+        connectionManager.setDefaultMaxPerRoute(maxConexoesPorRota);
+        // Conexões paradas há mais de 2s são validadas antes de reaproveitadas
+        connectionManager.setValidateAfterInactivity(2000);
+
+        registrarGaugePool(meterRegistry, connectionManager, "alugadas", cm -> cm.getTotalStats().getLeased());
+        registrarGaugePool(meterRegistry, connectionManager, "disponiveis", cm -> cm.getTotalStats().getAvailable());
+        registrarGaugePool(meterRegistry, connectionManager, "aguardando", cm -> cm.getTotalStats().getPending());
+        registrarGaugePool(meterRegistry, connectionManager, "maximo", cm -> cm.getTotalStats().getMax());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient keycloakHttpClient(PoolingHttpClientConnectionManager keycloakConnectionManager,
+            MeterRegistry meterRegistry) {
+        // Todas as chamadas vão para o mesmo host: o limite efetivo é o menor dos dois
+        GerenciadorConexoesLimitado conexoes = new GerenciadorConexoesLimitado(
+                keycloakConnectionManager, Math.min(maxConexoes, maxConexoesPorRota));
+        Gauge.builder("pointer.keycloak.http.pool", conexoes, GerenciadorConexoesLimitado::aguardando)
+                .description("Conexões do pool HTTP do cliente admin do Keycloak")
+                .tag("estado", "aguardando-licenca")
+                .register(meterRegistry);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) timeoutConexao.toMillis())
+                .setSocketTimeout((int) timeoutLeitura.toMillis())
+                .setConnectionRequestTimeout((int) timeoutPool.toMillis())
+                .build();
+
+        long keepAliveMillis = keepAlive.toMillis();
+        return HttpClients.custom()
+                .setConnectionManager(conexoes)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long informado = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return informado > 0 ? Math.min(informado, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public KeycloakAdminToken keycloakAdminToken(CloseableHttpClient keycloakHttpClient,
+            ProtecaoKeycloak protecaoKeycloak) {
+        // Cliente próprio, sem o filtro do token, para as chamadas ao endpoint de token
+        Client client = novoCliente(keycloakHttpClient, protecaoKeycloak).build();
+        TokenService tokenService = ((ResteasyWebTarget) client.target(authServerUrl)).proxy(TokenService.class);
+        return new KeycloakAdminToken(tokenService, realm, clientId, clientSecret, adminUsername, adminPassword);
+    }
+
     @Bean
-    public Keycloak keycloak() {
+    public Keycloak keycloak(CloseableHttpClient keycloakHttpClient, KeycloakAdminToken keycloakAdminToken,
+            MeterRegistry meterRegistry, ProtecaoKeycloak protecaoKeycloak) {
+        Client client = novoCliente(keycloakHttpClient, protecaoKeycloak)
+                .register(keycloakAdminToken)
+                .register(new KeycloakMetricsFilter(meterRegistry))
+                .build();
+
         return KeycloakBuilder.builder()
                 .serverUrl(authServerUrl)
                 .realm(realm)
                 .clientId(clientId)
-                .clientSecret(clientSecret)
-                .username(adminUsername)
-                .password(adminPassword)
+                .authorization(KeycloakAdminToken.TOKEN_SUBSTITUIDO)
+                .resteasyClient(client)
                 .build();
     }
-} 
\ No newline at end of file
+
+    private static ClientBuilder novoCliente(CloseableHttpClient httpClient, ProtecaoKeycloak protecaoKeycloak) {
+        return ((ResteasyClientBuilder) ResteasyClientBuilder.newBuilder())
+                .httpEngine(new KeycloakEngineProtegido(httpClient, protecaoKeycloak))
+                // Mesmo provider JSON que o KeycloakBuilder registraria no cliente padrão
+                .register(JacksonProvider.class, 100)
+                // Campos novos de servidores Keycloak mais recentes não quebram a leitura das respostas
+                .register(new ContextResolver<ObjectMapper>() {
+                    private final ObjectMapper objectMapper = new ObjectMapper()
+                            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+                    @Override
+                    public ObjectMapper getContext(Class<?> tipo) {
+                        return objectMapper;
+                    }
+                });
+    }
+
+    private static void registrarGaugePool(MeterRegistry meterRegistry, PoolingHttpClientConnectionManager cm,
+            String estado, ToDoubleFunction<PoolingHttpClientConnectionManager> valor) {
+        Gauge.builder("pointer.keycloak.http.pool", cm, valor)
+                .description("Conexões do pool HTTP do cliente admin do Keycloak")
+                .tag("estado", estado)
+                .register(meterRegistry);
+    }
+}
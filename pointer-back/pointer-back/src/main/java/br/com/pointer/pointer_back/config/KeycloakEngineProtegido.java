@@ -0,0 +1,28 @@
+package br.com.pointer.pointer_back.config;
+
+import jakarta.ws.rs.client.Invocation;
+import jakarta.ws.rs.core.Response;
+import org.apache.http.client.HttpClient;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClient43Engine;
+
+/**
+ * Engine do admin client que passa cada requisição pela {@link ProtecaoKeycloak}.
+ *
+ * Fica no engine, e não no {@code KeycloakAdminService}, para cobrir todas as chamadas (inclusive a
+ * emissão do token admin) num só lugar. É uma subclasse, e não um decorator, porque o RESTEasy converte
+ * o engine do cliente para a classe do engine Apache ao liberar as conexões das respostas.
+ */
+class KeycloakEngineProtegido extends ApacheHttpClient43Engine {
+
+    private final ProtecaoKeycloak protecao;
+
+    KeycloakEngineProtegido(HttpClient httpClient, ProtecaoKeycloak protecao) {
+        super(httpClient);
+        this.protecao = protecao;
+    }
+
+    @Override
+    public Response invoke(Invocation requisicao) {
+        return protecao.executar(() -> super.invoke(requisicao), resposta -> resposta.getStatus() >= 500);
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.pointer.pointer_back.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Mede a latência de cada chamada ao Keycloak feita pelo cliente admin.
+ *
+ * A operação é o método HTTP mais o caminho com IDs trocados por {@code {id}}, para manter a
+ * cardinalidade das tags limitada.
+ */
+public class KeycloakMetricsFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String INICIO = KeycloakMetricsFilter.class.getName() + ".inicio";
+    private static final Pattern UUID = Pattern.compile(
+            "/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(?=/|$)");
+    private static final Pattern REALM = Pattern.compile("/realms/[^/]+");
+
+    private final MeterRegistry meterRegistry;
+
+    public KeycloakMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        requestContext.setProperty(INICIO, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) {
+        Object inicio = requestContext.getProperty(INICIO);
+        if (!(inicio instanceof Long nanos)) {
+            return;
+        }
+
+        Timer.builder("pointer.keycloak.requisicao")
+                .description("Latência das chamadas ao Keycloak por operação")
+                .tag("metodo", requestContext.getMethod())
+                .tag("operacao", normalizar(requestContext.getUri().getPath()))
+                .tag("status", String.valueOf(responseContext.getStatus()))
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - nanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String normalizar(String caminho) {
+        String semIds = UUID.matcher(caminho).replaceAll("/{id}");
+        return REALM.matcher(semIds).replaceAll("/realms/{realm}");
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.pointer.pointer_back.config;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renova o token admin do Keycloak em segundo plano, antes de expirar.
+ *
+ * Sem isso o token só é renovado quando uma requisição o encontra perto do fim, e essa requisição
+ * paga a ida extra ao Keycloak.
+ */
+@Component
+public class KeycloakTokenRefresher {
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakTokenRefresher.class);
+
+    private final KeycloakAdminToken adminToken;
+    private final Duration antecedencia;
+    private final Duration intervaloFalha;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "keycloak-token");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KeycloakTokenRefresher(
+            KeycloakAdminToken adminToken,
+            @Value("${pointer.keycloak.token.renovacao-antecipada:PT60S}") Duration antecedencia,
+            @Value("${pointer.keycloak.token.intervalo-falha:PT10S}") Duration intervaloFalha) {
+        this.adminToken = adminToken;
+        this.antecedencia = antecedencia;
+        this.intervaloFalha = intervaloFalha;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        scheduler.execute(this::executar);
+    }
+
+    private void executar() {
+        try {
+            long validade = adminToken.renovar().toSeconds();
+            long proxima = Math.max(validade - antecedencia.toSeconds(), 5);
+            scheduler.schedule(this::executar, proxima, TimeUnit.SECONDS);
+            logger.debug("Token admin do Keycloak válido por {}s, próxima renovação em {}s", validade, proxima);
+        } catch (Exception e) {
+            logger.warn("Falha ao renovar o token admin do Keycloak, nova tentativa em {}s: {}",
+                    intervaloFalha.toSeconds(), e.getMessage());
+            scheduler.schedule(this::executar, intervaloFalha.toSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        scheduler.shutdownNow();
+    }
+}
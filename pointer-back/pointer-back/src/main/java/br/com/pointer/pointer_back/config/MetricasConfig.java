@@ -0,0 +1,79 @@
+package br.com.pointer.pointer_back.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Métricas expostas em {@code /actuator/prometheus}.
+ *
+ * O Boot já mede as rotas HTTP ({@code http.server.requests}, com a rota como tag), os repositórios
+ * ({@code spring.data.repository.invocations}) e o pool do Hikari ({@code hikaricp.connections.*}); aqui
+ * esses timers e os da aplicação ({@code pointer.*}) ganham histograma com faixas fixas, de onde o
+ * Prometheus tira os percentis agregando todas as instâncias. Poucas faixas mantêm o custo baixo: cada
+ * uma é um contador a mais por combinação de tags, sem nada calculado na requisição.
+ */
+@Configuration
+public class MetricasConfig {
+
+    static final List<String> TIMERS_COM_HISTOGRAMA = List.of(
+            "http.server.requests", "spring.data.repository.invocations", "pointer.");
+
+    static final Duration[] FAIXAS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10) };
+
+    /**
+     * Habilita {@code @Timed}, usado nos serviços que falam com sistemas externos.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterFilter histogramas(@Value("${pointer.metricas.histogramas:true}") boolean habilitado) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!habilitado || id.getType() != Meter.Type.TIMER || !comHistograma(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(nanos(FAIXAS))
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    /**
+     * Rotas inexistentes já caem na tag {@code UNKNOWN}; o limite protege contra qualquer outra fonte
+     * de URIs sem template.
+     */
+    @Bean
+    public MeterFilter limiteRotas(@Value("${pointer.metricas.max-rotas:200}") int maxRotas) {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxRotas, MeterFilter.deny());
+    }
+
+    static boolean comHistograma(String nome) {
+        return TIMERS_COM_HISTOGRAMA.stream().anyMatch(nome::startsWith);
+    }
+
+    private static double[] nanos(Duration[] faixas) {
+        double[] valores = new double[faixas.length];
+        for (int i = 0; i < faixas.length; i++) {
+            valores[i] = faixas[i].toNanos();
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.pointer.pointer_back.config;
+
+import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Disjuntor e bulkhead do Keycloak aplicados a uma chamada HTTP.
+ *
+ * Usado pelos dois clientes que falam com o Keycloak: o admin client ({@link KeycloakEngineProtegido})
+ * e o {@code RestTemplate} do {@code /token}. Chamadas recusadas lançam
+ * {@link KeycloakIndisponivelException} sem tocar a rede; as feitas registram no disjuntor a duração
+ * e se falharam (erro de rede ou resposta 5xx).
+ */
+@Component
+public class ProtecaoKeycloak {
+
+    private static final Duration TENTE_NOVAMENTE_BULKHEAD = Duration.ofSeconds(1);
+
+    private final CircuitBreaker disjuntor;
+    private final Bulkhead bulkhead;
+    private final Duration tenteNovamenteDisjuntor;
+
+    @Autowired
+    public ProtecaoKeycloak(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this(circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.KEYCLOAK),
+                bulkheadRegistry.bulkhead(ResilienciaConfig.KEYCLOAK));
+    }
+
+    ProtecaoKeycloak(CircuitBreaker disjuntor, Bulkhead bulkhead) {
+        this.disjuntor = disjuntor;
+        this.bulkhead = bulkhead;
+        // Teto do tempo que falta para o disjuntor aberto aceitar chamadas de teste
+        this.tenteNovamenteDisjuntor = Duration.ofMillis(
+                disjuntor.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1));
+    }
+
+    /**
+     * @param erroDoServidor se a resposta recebida conta como falha do Keycloak
+     * @throws KeycloakIndisponivelException se o disjuntor estiver aberto ou o bulkhead, cheio
+     */
+    public <T, E extends Exception> T executar(Chamada<T, E> chamada, Predicate<T> erroDoServidor) throws E {
+        // O disjuntor vem antes: aberto, recusa sem esperar por vaga no bulkhead
+        try {
+            disjuntor.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            throw new KeycloakIndisponivelException("Keycloak indisponível, tente novamente em instantes",
+                    tenteNovamenteDisjuntor);
+        }
+        try {
+            bulkhead.acquirePermission();
+        } catch (BulkheadFullException e) {
+            disjuntor.releasePermission();
+            throw new KeycloakIndisponivelException(
+                    "Muitas chamadas simultâneas ao Keycloak, tente novamente em instantes", TENTE_NOVAMENTE_BULKHEAD);
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            T resposta = chamada.executar();
+            long duracao = System.nanoTime() - inicio;
+            if (erroDoServidor.test(resposta)) {
+                disjuntor.onError(duracao, TimeUnit.NANOSECONDS, new KeycloakException("Keycloak respondeu com erro"));
+            } else {
+                disjuntor.onSuccess(duracao, TimeUnit.NANOSECONDS);
+            }
+            return resposta;
+        } catch (Exception e) {
+            disjuntor.onError(System.nanoTime() - inicio, TimeUnit.NANOSECONDS, e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Chamada<T, E extends Exception> {
+        T executar() throws E;
+    }
+}
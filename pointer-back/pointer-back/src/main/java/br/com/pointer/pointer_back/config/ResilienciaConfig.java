@@ -0,0 +1,83 @@
+package br.com.pointer.pointer_back.config;
+
+import br.com.pointer.pointer_back.service.EmailTransport;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Disjuntores e limites de concorrência por serviço externo ({@link #KEYCLOAK}, {@link #SENDGRID}).
+ *
+ * Os disjuntores compartilham {@code pointer.resiliencia.disjuntor.*}: abrem quando a taxa de falhas (ou
+ * de chamadas mais lentas que {@code chamada-lenta}) passa do limite na janela, recusam tudo por
+ * {@code aberto-por} e então deixam passar algumas chamadas de teste antes de fechar de novo.
+ *
+ * Só o Keycloak tem bulkhead, porque é o único chamado pelas threads das requisições: com no máximo
+ * {@code pointer.resiliencia.keycloak.max-chamadas} presas nele, as demais seguem atendendo as rotas
+ * que não dependem dele. O SendGrid só é chamado pelos workers do {@code EmailDispatcher}, que já são
+ * o limite.
+ */
+@Configuration
+public class ResilienciaConfig {
+
+    public static final String KEYCLOAK = "keycloak";
+    public static final String SENDGRID = "sendgrid";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${pointer.resiliencia.disjuntor.janela:20}") int janela,
+            @Value("${pointer.resiliencia.disjuntor.minimo-chamadas:10}") int minimoChamadas,
+            @Value("${pointer.resiliencia.disjuntor.taxa-falhas:50}") float taxaFalhas,
+            @Value("${pointer.resiliencia.disjuntor.chamada-lenta:PT5S}") Duration chamadaLenta,
+            @Value("${pointer.resiliencia.disjuntor.taxa-chamadas-lentas:80}") float taxaChamadasLentas,
+            @Value("${pointer.resiliencia.disjuntor.aberto-por:PT15S}") Duration abertoPor,
+            @Value("${pointer.resiliencia.disjuntor.chamadas-meio-aberto:3}") int chamadasMeioAberto) {
+        CircuitBreakerConfig padrao = CircuitBreakerConfig.custom()
+                .slidingWindowSize(janela)
+                .minimumNumberOfCalls(minimoChamadas)
+                .failureRateThreshold(taxaFalhas)
+                .slowCallDurationThreshold(chamadaLenta)
+                .slowCallRateThreshold(taxaChamadasLentas)
+                .waitDurationInOpenState(abertoPor)
+                .permittedNumberOfCallsInHalfOpenState(chamadasMeioAberto)
+                .automaticTransitionFromOpenToHalfOpenEnabled(false)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(padrao);
+
+        // No Keycloak, quem decide o que é falha é a ProtecaoKeycloak (erro de rede ou 5xx)
+        registry.circuitBreaker(KEYCLOAK);
+        registry.circuitBreaker(SENDGRID, CircuitBreakerConfig.from(padrao)
+                .recordException(erro -> !(erro instanceof EmailTransport.EnvioRecusadoException recusa)
+                        || recusa.isTemporaria())
+                .build());
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            MeterRegistry meterRegistry,
+            @Value("${pointer.resiliencia.keycloak.max-chamadas:40}") int maxChamadas,
+            @Value("${pointer.resiliencia.keycloak.espera-maxima:PT0.1S}") Duration esperaMaxima) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        registry.bulkhead(KEYCLOAK, BulkheadConfig.custom()
+                .maxConcurrentCalls(maxChamadas)
+                .maxWaitDuration(esperaMaxima)
+                .fairCallHandlingStrategyEnabled(true)
+                .build());
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
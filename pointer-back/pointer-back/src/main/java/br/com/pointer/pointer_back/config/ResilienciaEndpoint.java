@@ -0,0 +1,60 @@
+package br.com.pointer.pointer_back.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@code /actuator/resiliencia}: estado de cada disjuntor e vagas de cada bulkhead.
+ *
+ * Como os demais endpoints do actuator, só é publicado via HTTP se incluído em
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "resiliencia")
+public class ResilienciaEndpoint {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ResilienciaEndpoint(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> estado() {
+        Map<String, Object> disjuntores = new TreeMap<>();
+        for (CircuitBreaker disjuntor : circuitBreakerRegistry.getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metricas = disjuntor.getMetrics();
+            Map<String, Object> estado = new LinkedHashMap<>();
+            estado.put("estado", disjuntor.getState());
+            estado.put("taxaFalhas", metricas.getFailureRate());
+            estado.put("taxaChamadasLentas", metricas.getSlowCallRate());
+            estado.put("chamadasComFalha", metricas.getNumberOfFailedCalls());
+            estado.put("chamadasLentas", metricas.getNumberOfSlowCalls());
+            estado.put("chamadasNaoPermitidas", metricas.getNumberOfNotPermittedCalls());
+            disjuntores.put(disjuntor.getName(), estado);
+        }
+
+        Map<String, Object> bulkheads = new TreeMap<>();
+        for (Bulkhead bulkhead : bulkheadRegistry.getAllBulkheads()) {
+            bulkheads.put(bulkhead.getName(), Map.of(
+                    "chamadasDisponiveis", bulkhead.getMetrics().getAvailableConcurrentCalls(),
+                    "maxChamadas", bulkhead.getMetrics().getMaxAllowedConcurrentCalls()));
+        }
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("disjuntores", disjuntores);
+        resposta.put("bulkheads", bulkheads);
+        return resposta;
+    }
+}
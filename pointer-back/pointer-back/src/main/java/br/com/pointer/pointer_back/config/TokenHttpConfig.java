@@ -0,0 +1,50 @@
+package br.com.pointer.pointer_back.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP compartilhado do endpoint {@code /token}.
+ *
+ * Usa o {@link HttpClient} do JDK, que mantém as conexões com o Keycloak abertas entre logins. As
+ * chamadas passam pelo mesmo disjuntor e bulkhead do admin client ({@link ProtecaoKeycloak}).
+ */
+@Configuration
+public class TokenHttpConfig {
+
+    @Bean
+    public RestTemplate keycloakTokenRestTemplate(
+            RestTemplateBuilder builder,
+            ProtecaoKeycloak protecaoKeycloak,
+            @Value("${pointer.token.http.timeout-conexao:PT2S}") Duration timeoutConexao,
+            @Value("${pointer.token.http.timeout-leitura:PT10S}") Duration timeoutLeitura) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeoutConexao)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeoutLeitura);
+        return builder.requestFactory(() -> requestFactory)
+                .additionalInterceptors((request, body, execution) -> protecaoKeycloak.executar(
+                        () -> execution.execute(request, body), TokenHttpConfig::erroDoServidor))
+                .build();
+    }
+
+    private static boolean erroDoServidor(ClientHttpResponse resposta) {
+        try {
+            return resposta.getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -1,29 +1,72 @@
 package br.com.pointer.pointer_back.controller;
 
+import br.com.pointer.pointer_back.dto.AlteracaoStatusLoteDTO;
+import br.com.pointer.pointer_back.dto.BuscaLoteUsuariosDTO;
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.CursorPageDTO;
+import br.com.pointer.pointer_back.dto.EstatisticasUsuariosDTO;
+import br.com.pointer.pointer_back.dto.ImportacaoUsuariosDTO;
+import br.com.pointer.pointer_back.dto.LoteUsuariosDTO;
+import br.com.pointer.pointer_back.dto.StatusLoteUsuariosDTO;
 import br.com.pointer.pointer_back.dto.UsuarioDTO;
 import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
 import br.com.pointer.pointer_back.dto.EmailCode;
 import br.com.pointer.pointer_back.dto.EmailDTO;
 import br.com.pointer.pointer_back.dto.UpdatePasswordDTO;
+import br.com.pointer.pointer_back.exception.VersaoDesatualizadaException;
 import br.com.pointer.pointer_back.service.EmailService;
+import br.com.pointer.pointer_back.service.EstatisticasUsuariosService;
+import br.com.pointer.pointer_back.service.RevisaoUsuarios;
+import br.com.pointer.pointer_back.service.UsuarioExportacaoService;
+import br.com.pointer.pointer_back.service.UsuarioImportacaoService;
 import br.com.pointer.pointer_back.service.UsuarioService;
+import br.com.pointer.pointer_back.service.UsuarioStatusLoteService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 @RestController
 @RequestMapping("/usuarios")
 public class UsuarioController {
 
+    // Sem max-age: o navegador guarda a resposta, mas revalida com If-None-Match a cada uso
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
     private final UsuarioService usuarioService;
     private final EmailService emailService;
+    private final UsuarioImportacaoService usuarioImportacaoService;
+    private final UsuarioExportacaoService usuarioExportacaoService;
+    private final EstatisticasUsuariosService estatisticasUsuariosService;
+    private final RevisaoUsuarios revisaoUsuarios;
+    private final UsuarioStatusLoteService usuarioStatusLoteService;
 
-    public UsuarioController(UsuarioService usuarioService, EmailService emailService) {
+    public UsuarioController(UsuarioService usuarioService, EmailService emailService,
+            UsuarioImportacaoService usuarioImportacaoService, UsuarioExportacaoService usuarioExportacaoService,
+            EstatisticasUsuariosService estatisticasUsuariosService, RevisaoUsuarios revisaoUsuarios,
+            UsuarioStatusLoteService usuarioStatusLoteService) {
         this.usuarioService = usuarioService;
         this.emailService = emailService;
+        this.usuarioImportacaoService = usuarioImportacaoService;
+        this.usuarioExportacaoService = usuarioExportacaoService;
+        this.estatisticasUsuariosService = estatisticasUsuariosService;
+        this.revisaoUsuarios = revisaoUsuarios;
+        this.usuarioStatusLoteService = usuarioStatusLoteService;
     }
 
     @PostMapping
@@ -33,6 +76,49 @@ public class UsuarioController {
         return ResponseEntity.ok(novoUsuario);
     }
 
+    /**
+     * Cadastro em massa. O corpo é lido em streaming: CSV com cabeçalho ({@code text/csv}) ou um
+     * usuário em JSON por linha ({@code application/x-ndjson}).
+     */
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<ImportacaoUsuariosDTO> importarUsuarios(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) {
+        ImportacaoUsuariosDTO resultado = usuarioImportacaoService.importar(corpo, MediaType.parseMediaType(contentType));
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * Exporta todos os usuários que passam pelos filtros, escrevendo direto na resposta: CSV se o
+     * {@code Accept} pedir {@code text/csv}, senão NDJSON. Para integrações que hoje percorrem a listagem
+     * inteira página a página.
+     */
+    @GetMapping("/exportar")
+    @PreAuthorize("hasRole('admin')")
+    public void exportarUsuarios(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestParam(required = false) String setor,
+            @RequestParam(required = false) String perfil,
+            @RequestParam(required = false) String status,
+            HttpServletResponse response) throws IOException {
+        boolean csv = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(tipo -> !tipo.isWildcardType() && tipo.isCompatibleWith(UsuarioImportacaoService.TEXT_CSV));
+        MediaType formato = csv ? UsuarioImportacaoService.TEXT_CSV : UsuarioImportacaoService.APPLICATION_NDJSON;
+        StreamingResponseBody exportacao = usuarioExportacaoService.preparar(formato, setor, perfil, status);
+
+        // Escrita síncrona, nesta thread: sem o timeout de requisições assíncronas num cadastro grande
+        response.setContentType(formato + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(csv ? "usuarios.csv" : "usuarios.ndjson")
+                .build()
+                .toString());
+        exportacao.writeTo(response.getOutputStream());
+    }
+
+    /**
+     * A ETag é a revisão do cadastro: com {@code If-None-Match} igual, responde 304 sem consultar a tabela.
+     */
     @GetMapping
     @PreAuthorize("hasRole('admin')")
     public ResponseEntity<Page<UsuarioResponseDTO>> listarUsuarios(
@@ -40,24 +126,77 @@ public class UsuarioController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String setor,
             @RequestParam(required = false) String perfil,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
         PageRequest pageRequest = PageRequest.of(page, size);
-        Page<UsuarioResponseDTO> usuarios = usuarioService.listarUsuarios(pageRequest, setor, perfil, status);
-        return ResponseEntity.ok(usuarios);
+        Set<CampoUsuario> campos = CampoUsuario.parse(fields);
+        return condicional(request, etag(revisaoUsuarios.atual()),
+                () -> usuarioService.listarUsuarios(pageRequest, setor, perfil, status, campos));
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<CursorPageDTO<UsuarioResponseDTO>> listarUsuariosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String setor,
+            @RequestParam(required = false) String perfil,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<CampoUsuario> campos = CampoUsuario.parse(fields);
+        return condicional(request, etag(revisaoUsuarios.atual()),
+                () -> usuarioService.listarUsuariosPorCursor(
+                        cursor, size, setor, perfil, status, incluirTotal, campos));
+    }
+
+    /**
+     * Totais por setor, status e tipo de usuário e cadastros por mês, lidos de contadores: o custo não
+     * depende do tamanho do cadastro.
+     */
+    @GetMapping("/estatisticas")
+    @PreAuthorize("hasRole('admin') or hasRole('gestor')")
+    public ResponseEntity<EstatisticasUsuariosDTO> estatisticas() {
+        return ResponseEntity.ok(estatisticasUsuariosService.consultar());
+    }
+
+    /**
+     * Com {@code If-Match} (a ETag de {@code GET /usuarios/{email}}), só altera se o usuário ainda estiver
+     * naquela versão; senão responde 412. A ETag da resposta é a nova versão.
+     */
     @PostMapping("/alterar-status")
     @PreAuthorize("hasRole('admin')")
-    public ResponseEntity<Void> alterarStatus(@RequestBody EmailDTO emailDTO) {
-        usuarioService.alternarStatusUsuarioPorEmail(emailDTO);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Void> alterarStatus(
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody EmailDTO emailDTO) {
+        long versao = usuarioService.alternarStatusUsuarioPorEmail(emailDTO, versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(etag(versao)).build();
+    }
+
+    /**
+     * Ativa ou desativa de uma vez os usuários de um setor e/ou cargo ou de uma lista de emails, com um
+     * resultado por usuário. Sem {@code If-Match}: o critério é o filtro, não uma versão lida antes.
+     */
+    @PostMapping("/alterar-status/lote")
+    @PreAuthorize("hasRole('admin')")
+    public ResponseEntity<StatusLoteUsuariosDTO> alterarStatusEmLote(@RequestBody AlteracaoStatusLoteDTO alteracao) {
+        return ResponseEntity.ok(usuarioStatusLoteService.alterar(alteracao));
     }
 
+    /**
+     * {@code If-Match} como em {@code /alterar-status}.
+     */
     @PutMapping("/atualizar-usuario/{id}")
     @PreAuthorize("hasRole('admin')")
-    public ResponseEntity<UsuarioResponseDTO> atualizarUsuario(@PathVariable String id, @RequestBody UsuarioDTO usuarioDTO) {
-        UsuarioResponseDTO usuarioAtualizado = usuarioService.atualizarUsuarioComSincronizacaoKeycloak(usuarioDTO, id);
-        return ResponseEntity.ok(usuarioAtualizado);
+    public ResponseEntity<UsuarioResponseDTO> atualizarUsuario(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody UsuarioDTO usuarioDTO) {
+        UsuarioResponseDTO usuarioAtualizado = usuarioService.atualizarUsuarioComSincronizacaoKeycloak(
+                usuarioDTO, id, versaoEsperada(ifMatch));
+        return ResponseEntity.ok().eTag(etag(usuarioAtualizado.getVersao())).body(usuarioAtualizado);
     }
 
     @PutMapping("/atualizar-senha")
@@ -106,10 +245,63 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * Busca vários usuários de uma vez, por email e/ou ID (até 500 no total), com os mesmos papéis e o
+     * mesmo {@code fields} de {@code GET /usuarios/{email}}.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('colaborador') or hasRole('admin') or hasRole('gestor')")
+    public ResponseEntity<LoteUsuariosDTO> buscarUsuarios(
+            @RequestBody BuscaLoteUsuariosDTO busca,
+            @RequestParam(required = false) String fields) {
+        LoteUsuariosDTO usuarios = usuarioService.buscarUsuarios(
+                busca.getEmails(), busca.getIds(), CampoUsuario.parse(fields));
+        return ResponseEntity.ok(usuarios);
+    }
+
+    /**
+     * A ETag é a versão do usuário, lida do {@code UsuarioCache}; um 304 não consulta o banco se o perfil
+     * estiver em cache. A sincronização com o Keycloak também muda a versão.
+     */
     @GetMapping("/{email}")
     @PreAuthorize("hasRole('colaborador') or hasRole('admin') or hasRole('gestor')")
-    public ResponseEntity<UsuarioResponseDTO> buscarUsuario(@PathVariable String email) {
+    public ResponseEntity<UsuarioResponseDTO> buscarUsuario(
+            @PathVariable String email,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<CampoUsuario> campos = CampoUsuario.parse(fields);
         UsuarioResponseDTO usuario = usuarioService.buscarUsuario(email);
-        return ResponseEntity.ok(usuario);
+        return condicional(request, etag(usuario.getVersao()), () -> CampoUsuario.restringir(usuario, campos));
+    }
+
+    private static <T> ResponseEntity<T> condicional(WebRequest request, String etag, Supplier<T> corpo) {
+        // checkNotModified já põe a ETag no 304
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(corpo.get());
+    }
+
+    private static String etag(long valor) {
+        return "\"" + valor + "\"";
+    }
+
+    /**
+     * Versão pedida no {@code If-Match}, ou null se ausente ou {@code *}. A comparação é forte: uma ETag
+     * fraca ou que não seja de versão nunca corresponde.
+     */
+    private static Long versaoEsperada(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // cai no erro abaixo
+            }
+        }
+        throw new VersaoDesatualizadaException("If-Match não corresponde a nenhuma versão do usuário: " + ifMatch);
     }
 }
\ No newline at end of file
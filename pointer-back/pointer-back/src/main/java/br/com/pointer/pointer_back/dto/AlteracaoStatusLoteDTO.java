@@ -0,0 +1,22 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo de {@code POST /usuarios/alterar-status/lote}: o status desejado e ao menos um critério. Os
+ * critérios informados se somam (setor E cargo E email na lista).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoStatusLoteDTO {
+    private StatusUsuario status;
+    private String setor;
+    private String cargo;
+    private List<String> emails;
+}
@@ -0,0 +1,18 @@
+package br.com.pointer.pointer_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo de {@code POST /usuarios/batch}: emails, IDs ou os dois.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuscaLoteUsuariosDTO {
+    private List<String> emails;
+    private List<Long> ids;
+}
@@ -0,0 +1,111 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.exception.CampoInvalidoException;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Colunas de {@link UsuarioResponseDTO} que podem ser pedidas no parâmetro {@code fields}.
+ *
+ * O nome de cada campo é o mesmo do atributo da entidade e da propriedade no JSON.
+ */
+public enum CampoUsuario {
+    ID("id", (dto, valor) -> dto.setId((Long) valor)),
+    NOME("nome", (dto, valor) -> dto.setNome((String) valor)),
+    EMAIL("email", (dto, valor) -> dto.setEmail((String) valor)),
+    STATUS("status", (dto, valor) -> dto.setStatus((StatusUsuario) valor)),
+    CARGO("cargo", (dto, valor) -> dto.setCargo((String) valor)),
+    SETOR("setor", (dto, valor) -> dto.setSetor((String) valor)),
+    TIPO_USUARIO("tipoUsuario", (dto, valor) -> dto.setTipoUsuario((String) valor)),
+    DATA_CRIACAO("dataCriacao", (dto, valor) -> dto.setDataCriacao((LocalDateTime) valor)),
+    // Linhas anteriores à outbox não têm status de sincronização: já estavam no Keycloak
+    STATUS_SINCRONIZACAO("statusSincronizacao", (dto, valor) -> dto.setStatusSincronizacao(
+            valor == null ? StatusSincronizacao.SINCRONIZADO : (StatusSincronizacao) valor)),
+    VERSAO("versao", (dto, valor) -> dto.setVersao((Long) valor));
+
+    public static final Set<CampoUsuario> TODOS = Collections.unmodifiableSet(EnumSet.allOf(CampoUsuario.class));
+
+    private final String atributo;
+    private final BiConsumer<UsuarioResponseDTO, Object> setter;
+
+    CampoUsuario(String atributo, BiConsumer<UsuarioResponseDTO, Object> setter) {
+        this.atributo = atributo;
+        this.setter = setter;
+    }
+
+    public String getAtributo() {
+        return atributo;
+    }
+
+    public void aplicar(UsuarioResponseDTO dto, Object valor) {
+        setter.accept(dto, valor);
+    }
+
+    public Object ler(UsuarioResponseDTO dto) {
+        return switch (this) {
+            case ID -> dto.getId();
+            case NOME -> dto.getNome();
+            case EMAIL -> dto.getEmail();
+            case STATUS -> dto.getStatus();
+            case CARGO -> dto.getCargo();
+            case SETOR -> dto.getSetor();
+            case TIPO_USUARIO -> dto.getTipoUsuario();
+            case DATA_CRIACAO -> dto.getDataCriacao();
+            case STATUS_SINCRONIZACAO -> dto.getStatusSincronizacao();
+            case VERSAO -> dto.getVersao();
+        };
+    }
+
+    /**
+     * Interpreta {@code fields=id,nome,status}. Vazio ou ausente significa todos os campos.
+     */
+    public static Set<CampoUsuario> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return TODOS;
+        }
+
+        EnumSet<CampoUsuario> campos = EnumSet.noneOf(CampoUsuario.class);
+        for (String nome : fields.split(",")) {
+            String atributo = nome.trim();
+            if (atributo.isEmpty()) {
+                continue;
+            }
+            campos.add(porAtributo(atributo));
+        }
+        return campos.isEmpty() ? TODOS : Collections.unmodifiableSet(campos);
+    }
+
+    /**
+     * {@code dto} apenas com os campos pedidos. Quando todos são pedidos, retorna o próprio objeto.
+     */
+    public static UsuarioResponseDTO restringir(UsuarioResponseDTO dto, Set<CampoUsuario> campos) {
+        return campos.size() == TODOS.size() ? dto : copiar(dto, campos);
+    }
+
+    /**
+     * Cópia de {@code dto} apenas com os campos pedidos.
+     */
+    public static UsuarioResponseDTO copiar(UsuarioResponseDTO dto, Set<CampoUsuario> campos) {
+        UsuarioResponseDTO restrito = new UsuarioResponseDTO();
+        for (CampoUsuario campo : campos) {
+            campo.aplicar(restrito, campo.ler(dto));
+        }
+        return restrito;
+    }
+
+    private static CampoUsuario porAtributo(String atributo) {
+        for (CampoUsuario campo : values()) {
+            if (campo.atributo.equals(atributo)) {
+                return campo;
+            }
+        }
+        throw new CampoInvalidoException("Campo inválido: " + atributo);
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor. {@code total} só é preenchido quando o cliente pede a contagem.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> conteudo;
+    private String proximoCursor;
+    private boolean temProximo;
+    private Long total;
+}
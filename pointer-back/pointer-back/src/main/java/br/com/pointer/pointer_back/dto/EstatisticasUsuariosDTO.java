@@ -0,0 +1,22 @@
+package br.com.pointer.pointer_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Contagens do cadastro de usuários para os dashboards. {@code cadastrosPorMes} usa chaves {@code AAAA-MM},
+ * em ordem cronológica.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasUsuariosDTO {
+    private long total;
+    private Map<String, Long> porSetor;
+    private Map<String, Long> porStatus;
+    private Map<String, Long> porTipoUsuario;
+    private Map<String, Long> cadastrosPorMes;
+}
@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Relatório de uma importação em massa, com o resultado de cada linha do arquivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoUsuariosDTO {
+    private int total;
+    private int importados;
+    private int falhas;
+    private List<LinhaImportacaoDTO> linhas;
+}
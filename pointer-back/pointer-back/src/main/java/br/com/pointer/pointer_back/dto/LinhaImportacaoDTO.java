@@ -0,0 +1,29 @@
+package br.com.pointer.pointer_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma linha da importação. {@code id} só vem quando o usuário foi criado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LinhaImportacaoDTO {
+    private int linha;
+    private String email;
+    private boolean sucesso;
+    private Long id;
+    private String erro;
+
+    public static LinhaImportacaoDTO sucesso(int linha, String email, Long id) {
+        return new LinhaImportacaoDTO(linha, email, true, id, null);
+    }
+
+    public static LinhaImportacaoDTO falha(int linha, String email, String erro) {
+        return new LinhaImportacaoDTO(linha, email, false, null, erro);
+    }
+}
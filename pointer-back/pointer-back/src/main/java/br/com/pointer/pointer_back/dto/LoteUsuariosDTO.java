@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de uma busca em lote. {@code usuarios} é chaveado pelo identificador pedido (o email, ou o ID
+ * como texto), na ordem do pedido; os que não existem aparecem em {@code naoEncontrados}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoteUsuariosDTO {
+    private Map<String, UsuarioResponseDTO> usuarios;
+    private List<String> naoEncontrados;
+}
@@ -0,0 +1,22 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Relatório de uma troca de status em lote. Com lista de emails, traz um resultado por email pedido; só com
+ * setor ou cargo, só os usuários que mudaram.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusLoteUsuariosDTO {
+    private StatusUsuario status;
+    private int alterados;
+    private int sincronizacaoPendente;
+    private List<UsuarioStatusLoteDTO> usuarios;
+}
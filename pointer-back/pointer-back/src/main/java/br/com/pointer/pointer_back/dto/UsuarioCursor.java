@@ -0,0 +1,38 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição na listagem de usuários: o último (dt_criacao, id) entregue ao cliente.
+ *
+ * Serializado em base64url para que o cliente trate o valor como opaco.
+ */
+public record UsuarioCursor(LocalDateTime dataCriacao, Long id) {
+
+    private static final char SEPARADOR = '|';
+
+    public String codificar() {
+        String valor = dataCriacao.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UsuarioCursor decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new CursorInvalidoException("Cursor inválido: " + cursor);
+            }
+            return new UsuarioCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
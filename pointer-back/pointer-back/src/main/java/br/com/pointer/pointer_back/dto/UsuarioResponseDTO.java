@@ -1,10 +1,13 @@
 package br.com.pointer.pointer_back.dto;
 
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
 import br.com.pointer.pointer_back.model.StatusUsuario;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UsuarioResponseDTO {
     private Long id;
     private String nome;
@@ -14,4 +17,6 @@ public class UsuarioResponseDTO {
     private String setor;
     private String tipoUsuario;
     private LocalDateTime dataCriacao;
+    private StatusSincronizacao statusSincronizacao;
+    private Long versao;
 }
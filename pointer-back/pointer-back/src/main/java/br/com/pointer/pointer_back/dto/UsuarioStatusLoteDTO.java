@@ -0,0 +1,31 @@
+package br.com.pointer.pointer_back.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de um usuário na troca de status em lote. {@code erro} só vem quando a chamada ao Keycloak
+ * falhou e a alteração ficou com a outbox.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UsuarioStatusLoteDTO {
+    private String email;
+    private Long id;
+    private Situacao situacao;
+    private String erro;
+
+    public enum Situacao {
+        // Alterado no banco e no Keycloak
+        ALTERADO,
+        // Alterado no banco; a outbox leva o status ao Keycloak
+        SINCRONIZACAO_PENDENTE,
+        // Já estava no status pedido ou não atende aos demais critérios
+        INALTERADO,
+        NAO_ENCONTRADO
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.pointer.pointer_back.exception;
+
+public class CampoInvalidoException extends RuntimeException {
+    public CampoInvalidoException(String message) {
+        super(message);
+    }
+
+    public CampoInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
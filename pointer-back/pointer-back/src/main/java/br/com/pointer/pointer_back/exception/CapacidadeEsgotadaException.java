@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.exception;
+
+import java.time.Duration;
+
+/**
+ * O servidor recusou a operação para não se sobrecarregar; o cliente pode repetir depois de
+ * {@link #getTenteNovamenteEm()}.
+ */
+public class CapacidadeEsgotadaException extends RuntimeException {
+    private final Duration tenteNovamenteEm;
+
+    public CapacidadeEsgotadaException(String message, Duration tenteNovamenteEm) {
+        super(message);
+        this.tenteNovamenteEm = tenteNovamenteEm;
+    }
+
+    public Duration getTenteNovamenteEm() {
+        return tenteNovamenteEm;
+    }
+}
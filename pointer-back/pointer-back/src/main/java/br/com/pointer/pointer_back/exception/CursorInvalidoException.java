@@ -0,0 +1,11 @@
+package br.com.pointer.pointer_back.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+    public CursorInvalidoException(String message) {
+        super(message);
+    }
+
+    public CursorInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
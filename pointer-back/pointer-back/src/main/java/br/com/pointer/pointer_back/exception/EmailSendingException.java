@@ -0,0 +1,11 @@
+package br.com.pointer.pointer_back.exception;
+
+public class EmailSendingException extends RuntimeException {
+    public EmailSendingException(String message) {
+        super(message);
+    }
+
+    public EmailSendingException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.pointer.pointer_back.exception;
+
+public class FiltroInvalidoException extends RuntimeException {
+    public FiltroInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.pointer.pointer_back.exception;
+
+public class ImportacaoInvalidaException extends RuntimeException {
+    public ImportacaoInvalidaException(String message) {
+        super(message);
+    }
+
+    public ImportacaoInvalidaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
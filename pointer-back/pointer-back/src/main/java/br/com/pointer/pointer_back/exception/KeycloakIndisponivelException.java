@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.exception;
+
+import java.time.Duration;
+
+/**
+ * A chamada ao Keycloak foi recusada sem ser feita: o disjuntor está aberto ou o limite de chamadas
+ * simultâneas foi atingido. O cliente pode repetir depois de {@link #getTenteNovamenteEm()}.
+ */
+public class KeycloakIndisponivelException extends KeycloakException {
+    private final Duration tenteNovamenteEm;
+
+    public KeycloakIndisponivelException(String message, Duration tenteNovamenteEm) {
+        super(message);
+        this.tenteNovamenteEm = tenteNovamenteEm;
+    }
+
+    public Duration getTenteNovamenteEm() {
+        return tenteNovamenteEm;
+    }
+}
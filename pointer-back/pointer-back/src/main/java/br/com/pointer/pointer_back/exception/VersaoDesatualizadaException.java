@@ -0,0 +1,10 @@
+package br.com.pointer.pointer_back.exception;
+
+/**
+ * O {@code If-Match} de uma alteração não corresponde à versão atual do usuário.
+ */
+public class VersaoDesatualizadaException extends RuntimeException {
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package br.com.pointer.pointer_back.mapper;
 
 import br.com.pointer.pointer_back.dto.UsuarioDTO;
 import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
 import br.com.pointer.pointer_back.model.Usuario;
 import org.springframework.stereotype.Component;
 import org.slf4j.Logger;
@@ -49,6 +50,11 @@ public class UsuarioMapper {
             dto.setSetor(usuario.getSetor());
             dto.setTipoUsuario(usuario.getTipoUsuario());
             dto.setDataCriacao(usuario.getDataCriacao());
+            // Linhas anteriores à outbox não têm status de sincronização e já estão no Keycloak
+            dto.setStatusSincronizacao(usuario.getStatusSincronizacao() != null
+                    ? usuario.getStatusSincronizacao()
+                    : StatusSincronizacao.SINCRONIZADO);
+            dto.setVersao(usuario.getVersao());
             return dto;
         } catch (Exception e) {
             logger.error("Erro ao converter entidade para DTO: ", e);
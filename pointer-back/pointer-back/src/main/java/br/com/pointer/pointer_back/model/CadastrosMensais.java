@@ -0,0 +1,20 @@
+package br.com.pointer.pointer_back.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Usuários cadastrados em cada mês, pela data de criação. {@code mes} é o primeiro dia do mês.
+ */
+@Data
+@Entity
+@Table(name = "usuarios_cadastros_mensais")
+public class CadastrosMensais {
+    @Id
+    private LocalDate mes;
+
+    @Column(nullable = false)
+    private long total;
+}
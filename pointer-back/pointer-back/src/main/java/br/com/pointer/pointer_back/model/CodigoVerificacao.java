@@ -0,0 +1,24 @@
+package br.com.pointer.pointer_back.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "codigos_verificacao", indexes = {
+        @Index(name = "idx_codigos_verificacao_expira_em", columnList = "expira_em")
+})
+public class CodigoVerificacao {
+    @Id
+    private String email;
+
+    @Column(name = "codigo_hash", nullable = false, length = 64)
+    private String codigoHash;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+}
@@ -0,0 +1,32 @@
+package br.com.pointer.pointer_back.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * Quantos usuários têm cada valor de uma {@link DimensaoUsuario}.
+ *
+ * Mantido incrementalmente na mesma transação que grava o usuário e reconciliado periodicamente com a
+ * tabela {@code usuarios}.
+ */
+@Data
+@Entity
+@Table(name = "usuarios_contadores")
+@IdClass(ContadorUsuarios.Chave.class)
+public class ContadorUsuarios {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private DimensaoUsuario dimensao;
+
+    @Id
+    private String valor;
+
+    @Column(nullable = false)
+    private long total;
+
+    public record Chave(DimensaoUsuario dimensao, String valor) implements Serializable {
+    }
+}
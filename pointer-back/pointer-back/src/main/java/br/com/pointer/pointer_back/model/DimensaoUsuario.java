@@ -0,0 +1,10 @@
+package br.com.pointer.pointer_back.model;
+
+/**
+ * Atributos de {@link Usuario} contados em {@link ContadorUsuarios}.
+ */
+public enum DimensaoUsuario {
+    SETOR,
+    STATUS,
+    TIPO_USUARIO
+}
@@ -0,0 +1,70 @@
+package br.com.pointer.pointer_back.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Evento da outbox de sincronização com o Keycloak.
+ *
+ * Gravado na mesma transação que a linha de {@link Usuario} e drenado em segundo plano pelo
+ * dispatcher. A senha de uma criação fica cifrada na linha até o evento ser concluído (ou falhar de vez),
+ * para que uma queda durante a tentativa não a perca.
+ */
+@Data
+@Entity
+@Table(name = "keycloak_outbox", indexes = {
+        @Index(name = "idx_keycloak_outbox_status_proxima", columnList = "status, proxima_tentativa"),
+        @Index(name = "idx_keycloak_outbox_usuario", columnList = "usuario_id, id")
+})
+public class SincronizacaoKeycloak {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "keycloak_outbox_seq")
+    @SequenceGenerator(name = "keycloak_outbox_seq", sequenceName = "keycloak_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoSincronizacao tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusEventoSincronizacao status;
+
+    // Cifrada pelo CifradorSenhaOutbox
+    @Column(length = 1000)
+    private String senha;
+
+    // Senha lida na reserva; se a da linha for outra na conclusão, ela foi trocada durante a tentativa
+    @Transient
+    private String senhaReservada;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    @Column(name = "dt_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    @Column(name = "dt_processamento")
+    private LocalDateTime dataProcessamento;
+
+    @PrePersist
+    protected void onCreate() {
+        dataCriacao = LocalDateTime.now();
+        if (status == null) {
+            status = StatusEventoSincronizacao.PENDENTE;
+        }
+        if (proximaTentativa == null) {
+            proximaTentativa = dataCriacao;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.pointer.pointer_back.model;
+
+public enum StatusEventoSincronizacao {
+    PENDENTE,
+    PROCESSANDO,
+    CONCLUIDO,
+    FALHA
+}
@@ -0,0 +1,7 @@
+package br.com.pointer.pointer_back.model;
+
+public enum StatusSincronizacao {
+    PENDENTE,
+    SINCRONIZADO,
+    FALHA
+}
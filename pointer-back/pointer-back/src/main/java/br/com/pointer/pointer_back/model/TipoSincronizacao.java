@@ -0,0 +1,6 @@
+package br.com.pointer.pointer_back.model;
+
+public enum TipoSincronizacao {
+    CRIAR,
+    ATUALIZAR
+}
@@ -2,14 +2,23 @@ package br.com.pointer.pointer_back.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios", indexes = {
+        @Index(name = "idx_usuarios_dt_criacao_id", columnList = "dt_criacao DESC, id DESC"),
+        @Index(name = "idx_usuarios_setor_dt_criacao_id", columnList = "setor, dt_criacao DESC, id DESC"),
+        @Index(name = "idx_usuarios_tipo_dt_criacao_id", columnList = "tipo_usuario, dt_criacao DESC, id DESC"),
+        @Index(name = "idx_usuarios_status_dt_criacao_id", columnList = "status, dt_criacao DESC, id DESC")
+})
 public class Usuario {
+    // Sequência com alocação em blocos: permite inserts em lote (IDENTITY desativa o batch do Hibernate)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,11 +46,28 @@ public class Usuario {
     @Column(name = "dt_criacao", nullable = false)
     private LocalDateTime dataCriacao;
 
+    @Column(name = "keycloak_id", unique = true)
+    private String keycloakId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status_sincronizacao")
+    private StatusSincronizacao statusSincronizacao;
+
+    // Incrementada a cada gravação da linha, inclusive pelos updates em massa do UsuarioRepository; é a ETag
+    // de GET /usuarios/{email} e o que o If-Match das alterações compara. Linhas antigas começam em 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @PrePersist
     protected void onCreate() {
         dataCriacao = LocalDateTime.now();
         if (status == null) {
             status = StatusUsuario.ATIVO;
         }
+        if (statusSincronizacao == null) {
+            statusSincronizacao = StatusSincronizacao.PENDENTE;
+        }
     }
 }
@@ -0,0 +1,11 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.model.CadastrosMensais;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface CadastrosMensaisRepository extends JpaRepository<CadastrosMensais, LocalDate> {
+}
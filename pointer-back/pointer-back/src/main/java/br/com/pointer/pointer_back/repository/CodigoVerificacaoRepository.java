@@ -0,0 +1,25 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.model.CodigoVerificacao;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CodigoVerificacaoRepository extends JpaRepository<CodigoVerificacao, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CodigoVerificacao c WHERE c.email = :email")
+    Optional<CodigoVerificacao> buscarParaAtualizacao(@Param("email") String email);
+
+    @Modifying
+    @Query("DELETE FROM CodigoVerificacao c WHERE c.expiraEm < :agora")
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,9 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.model.ContadorUsuarios;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ContadorUsuariosRepository extends JpaRepository<ContadorUsuarios, ContadorUsuarios.Chave> {
+}
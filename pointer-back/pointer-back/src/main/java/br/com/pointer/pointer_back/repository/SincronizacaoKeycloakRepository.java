@@ -0,0 +1,54 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.model.SincronizacaoKeycloak;
+import br.com.pointer.pointer_back.model.StatusEventoSincronizacao;
+import br.com.pointer.pointer_back.model.TipoSincronizacao;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SincronizacaoKeycloakRepository extends JpaRepository<SincronizacaoKeycloak, Long> {
+
+    /**
+     * Busca eventos prontos para envio, travando-os com SKIP LOCKED para que várias réplicas
+     * possam drenar a outbox sem disputar as mesmas linhas. Um evento só é elegível quando não
+     * existe evento anterior em aberto (pendente ou em processamento) para o mesmo usuário, o que
+     * garante ordem por usuário. Um evento em falha não bloqueia os seguintes: como a sincronização
+     * é baseada em estado, o próximo evento já envia os dados atuais.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM SincronizacaoKeycloak e WHERE " +
+           "e.status IN (br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PENDENTE, " +
+           "br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PROCESSANDO) AND " +
+           "e.proximaTentativa <= :agora AND " +
+           "NOT EXISTS (SELECT 1 FROM SincronizacaoKeycloak a WHERE a.usuarioId = e.usuarioId AND a.id < e.id " +
+           "AND a.status IN (br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PENDENTE, " +
+           "br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PROCESSANDO)) " +
+           "ORDER BY e.id")
+    List<SincronizacaoKeycloak> buscarProntosParaEnvio(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    boolean existsByUsuarioIdAndStatusIn(Long usuarioId, Collection<StatusEventoSincronizacao> status);
+
+    boolean existsByUsuarioIdAndTipo(Long usuarioId, TipoSincronizacao tipo);
+
+    @Modifying
+    @Query("UPDATE SincronizacaoKeycloak e SET e.senha = :senha WHERE e.usuarioId = :usuarioId " +
+           "AND e.tipo = :tipo AND e.status IN (br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PENDENTE, " +
+           "br.com.pointer.pointer_back.model.StatusEventoSincronizacao.PROCESSANDO)")
+    int atualizarSenhaPendente(@Param("usuarioId") Long usuarioId,
+                               @Param("tipo") TipoSincronizacao tipo,
+                               @Param("senha") String senha);
+}
@@ -1,22 +1,60 @@
 package br.com.pointer.pointer_back.repository;
 
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
 import br.com.pointer.pointer_back.model.Usuario;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario>,
+        UsuarioRepositoryCustom {
     Optional<Usuario> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT u.email FROM Usuario u WHERE u.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.keycloakId FROM Usuario u WHERE u.email = :email")
+    Optional<String> findKeycloakIdByEmail(@Param("email") String email);
+
+    List<Usuario> findByKeycloakIdIsNullAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // O ID do Keycloak é dado interno de sincronização, invisível ao cliente: gravá-lo não muda a versão,
+    // para não derrubar com conflito a entidade que já estava carregada na mesma transação.
+    // Só linhas já sincronizadas (ou anteriores à outbox) adotam a conta pelo email: numa criação pendente ou
+    // que falhou, a conta com esse email pode ser de outra pessoa
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.keycloakId = :keycloakId WHERE u.email = :email AND u.keycloakId IS NULL "
+            + "AND (u.statusSincronizacao IS NULL "
+            + "OR u.statusSincronizacao = br.com.pointer.pointer_back.model.StatusSincronizacao.SINCRONIZADO)")
+    int atualizarKeycloakIdPorEmail(@Param("email") String email, @Param("keycloakId") String keycloakId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.keycloakId = :keycloakId WHERE u.id = :id")
+    int atualizarKeycloakId(@Param("id") Long id, @Param("keycloakId") String keycloakId);
+
+    // Os updates em massa não passam pelo @Version: o status de sincronização aparece na resposta, então a
+    // versão é incrementada explicitamente para que uma edição que carregou a linha antes falhe em vez de
+    // sobrescrevê-lo
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.statusSincronizacao = :status, u.versao = u.versao + 1 WHERE u.id = :id")
+    int atualizarStatusSincronizacao(@Param("id") Long id, @Param("status") StatusSincronizacao status);
+
     @Query("SELECT u FROM Usuario u WHERE " +
            "(:setor IS NULL OR u.setor = :setor) AND " +
            "(:cargo IS NULL OR u.cargo = :cargo) AND " +
@@ -0,0 +1,29 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.Usuario;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Leituras que selecionam só as colunas da resposta, sem carregar entidades no contexto de persistência.
+ */
+public interface UsuarioRepositoryCustom {
+
+    Page<UsuarioResponseDTO> listarProjetado(Specification<Usuario> spec, Set<CampoUsuario> campos, Pageable pageable);
+
+    /**
+     * Além dos campos pedidos, preenche {@code id} e {@code dataCriacao}, usados para montar o cursor.
+     */
+    List<UsuarioResponseDTO> listarProjetado(Specification<Usuario> spec, Set<CampoUsuario> campos, Sort sort,
+            int limite);
+
+    Optional<UsuarioResponseDTO> buscarProjetadoPorEmail(String email, Set<CampoUsuario> campos);
+}
@@ -0,0 +1,110 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UsuarioResponseDTO> listarProjetado(Specification<Usuario> spec, Set<CampoUsuario> campos,
+            Pageable pageable) {
+        TypedQuery<Tuple> query = criarConsulta(spec, campos, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<UsuarioResponseDTO> conteudo = converter(query.getResultList(), campos);
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> contar(spec));
+    }
+
+    @Override
+    public List<UsuarioResponseDTO> listarProjetado(Specification<Usuario> spec, Set<CampoUsuario> campos, Sort sort,
+            int limite) {
+        Set<CampoUsuario> selecionados = EnumSet.copyOf(campos);
+        selecionados.add(CampoUsuario.ID);
+        selecionados.add(CampoUsuario.DATA_CRIACAO);
+
+        TypedQuery<Tuple> query = criarConsulta(spec, selecionados, sort);
+        query.setMaxResults(limite);
+        return converter(query.getResultList(), selecionados);
+    }
+
+    @Override
+    public Optional<UsuarioResponseDTO> buscarProjetadoPorEmail(String email, Set<CampoUsuario> campos) {
+        Specification<Usuario> spec = (root, query, cb) -> cb.equal(root.get("email"), email);
+        TypedQuery<Tuple> query = criarConsulta(spec, campos, Sort.unsorted());
+        query.setMaxResults(1);
+        return converter(query.getResultList(), campos).stream().findFirst();
+    }
+
+    private TypedQuery<Tuple> criarConsulta(Specification<Usuario> spec, Set<CampoUsuario> campos, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Usuario> root = query.from(Usuario.class);
+
+        List<Selection<?>> selecoes = new ArrayList<>(campos.size());
+        for (CampoUsuario campo : campos) {
+            selecoes.add(root.get(campo.getAtributo()).alias(campo.getAtributo()));
+        }
+        query.multiselect(selecoes);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long contar(Specification<Usuario> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Usuario> root = query.from(Usuario.class);
+        query.select(cb.count(root));
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static List<UsuarioResponseDTO> converter(List<Tuple> linhas, Set<CampoUsuario> campos) {
+        List<UsuarioResponseDTO> resultado = new ArrayList<>(linhas.size());
+        for (Tuple linha : linhas) {
+            UsuarioResponseDTO dto = new UsuarioResponseDTO();
+            for (CampoUsuario campo : campos) {
+                campo.aplicar(dto, linha.get(campo.getAtributo()));
+            }
+            resultado.add(dto);
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.exception.FiltroInvalidoException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Filtros da listagem de usuários, compartilhados pela paginação por offset e por cursor.
+ *
+ * Cada filtro casa com um índice (coluna, dt_criacao, id) em {@link Usuario}.
+ */
+public final class UsuarioSpecifications {
+
+    private UsuarioSpecifications() {
+    }
+
+    public static Specification<Usuario> comFiltros(String setor, String perfil, String status) {
+        Specification<Usuario> spec = Specification.where(null);
+
+        if (StringUtils.hasText(setor)) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("setor"), setor));
+        }
+
+        if (StringUtils.hasText(perfil)) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("tipoUsuario"), perfil));
+        }
+
+        if (StringUtils.hasText(status)) {
+            StatusUsuario statusUsuario = status(status);
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), statusUsuario));
+        }
+
+        return spec;
+    }
+
+    /**
+     * Status de um filtro de listagem, sem diferenciar maiúsculas.
+     *
+     * @throws FiltroInvalidoException se não for um {@link StatusUsuario}
+     */
+    public static StatusUsuario status(String status) {
+        try {
+            return StatusUsuario.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new FiltroInvalidoException("Status inválido: " + status + "; use "
+                    + Arrays.toString(StatusUsuario.values()));
+        }
+    }
+
+    public static Specification<Usuario> comEmails(Collection<String> emails) {
+        return (root, query, cb) -> root.get("email").in(emails);
+    }
+
+    public static Specification<Usuario> comIds(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Registros estritamente depois de (dataCriacao, id) na ordem decrescente da listagem.
+     *
+     * O {@code dataCriacao <= ?} é redundante com o OR, mas é o que o Postgres usa como limite do range no
+     * índice (…, dt_criacao, id); só com o OR, páginas profundas varreriam tudo o que vem antes do cursor.
+     */
+    public static Specification<Usuario> depoisDe(LocalDateTime dataCriacao, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("dataCriacao"), dataCriacao),
+                cb.or(
+                        cb.lessThan(root.get("dataCriacao"), dataCriacao),
+                        cb.and(
+                                cb.equal(root.get("dataCriacao"), dataCriacao),
+                                cb.lessThan(root.get("id"), id))));
+    }
+}
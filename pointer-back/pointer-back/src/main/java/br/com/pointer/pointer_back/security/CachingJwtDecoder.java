@@ -0,0 +1,105 @@
+package br.com.pointer.pointer_back.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Guarda tokens já verificados, para que a assinatura RSA seja checada uma vez por token e não a cada
+ * requisição.
+ *
+ * A chave é o SHA-256 do token, então o cache nunca guarda o bearer em si. Cada entrada expira no
+ * {@code exp} do token (ou antes, em {@code ttlMaximo}). Tokens rejeitados não são guardados.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> verificados;
+    private final Clock clock;
+    private final Timer verificacao;
+
+    public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, long tamanhoMaximo,
+            Duration ttlMaximo) {
+        this(delegate, meterRegistry, tamanhoMaximo, ttlMaximo, Ticker.systemTicker(), Clock.systemUTC());
+        CaffeineCacheMetrics.monitor(meterRegistry, verificados, "jwt.verificados");
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, long tamanhoMaximo, Duration ttlMaximo,
+            Ticker ticker, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.verificacao = Timer.builder("pointer.jwt.verificacao")
+                .description("Tempo de verificação de assinatura e claims de tokens fora do cache")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        long ttlMaximoNanos = ttlMaximo.toNanos();
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .ticker(ticker)
+                .recordStats()
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String chave, Jwt jwt, long agora) {
+                        return Math.min(restante(jwt), ttlMaximoNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, Jwt jwt, long agora, long restante) {
+                        return restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, Jwt jwt, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String chave = hash(token);
+        Jwt jwt = verificados.getIfPresent(chave);
+        if (jwt != null) {
+            return jwt;
+        }
+
+        jwt = verificacao.record(() -> delegate.decode(token));
+        if (restante(jwt) > 0) {
+            verificados.put(chave, jwt);
+        }
+        return jwt;
+    }
+
+    private long restante(Jwt jwt) {
+        Instant expiraEm = jwt.getExpiresAt();
+        if (expiraEm == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(clock.instant(), expiraEm).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.pointer.pointer_back.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Escolhe o custo do BCrypt pela latência medida nesta máquina.
+ *
+ * Mede o custo {@value #CUSTO_BASE} e extrapola: cada ponto de custo dobra o tempo do hash. O resultado
+ * é o maior custo cujo hash estimado cabe na latência alvo, dentro dos limites informados.
+ */
+public final class CalibradorBCrypt {
+    private static final Logger logger = LoggerFactory.getLogger(CalibradorBCrypt.class);
+
+    static final int CUSTO_BASE = 10;
+    private static final int AQUECIMENTO = 2;
+    private static final int MEDICOES = 3;
+
+    private CalibradorBCrypt() {
+    }
+
+    public static int calibrar(Duration latenciaAlvo, int custoMinimo, int custoMaximo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(CUSTO_BASE);
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            encoder.encode("calibracao");
+        }
+
+        // O menor tempo é o menos afetado por ruído (GC, outras threads)
+        long menor = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode("calibracao");
+            menor = Math.min(menor, System.nanoTime() - inicio);
+        }
+
+        int custo = escolherCusto(menor, latenciaAlvo, custoMinimo, custoMaximo);
+        logger.info("BCrypt calibrado: custo {} ({} ms no custo {}, alvo {} ms)", custo,
+                menor / 1_000_000, CUSTO_BASE, latenciaAlvo.toMillis());
+        return custo;
+    }
+
+    static int escolherCusto(long nanosNoCustoBase, Duration latenciaAlvo, int custoMinimo, int custoMaximo) {
+        long alvo = latenciaAlvo.toNanos();
+        int custo = CUSTO_BASE;
+        long estimado = nanosNoCustoBase;
+
+        while (custo < custoMaximo && estimado * 2 <= alvo) {
+            custo++;
+            estimado *= 2;
+        }
+        while (custo > custoMinimo && estimado > alvo) {
+            custo--;
+            estimado /= 2;
+        }
+        return Math.max(custoMinimo, Math.min(custoMaximo, custo));
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.pointer.pointer_back.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Cifra as senhas que esperam na outbox do Keycloak (AES-GCM), para que a tabela nunca guarde senha em
+ * texto puro.
+ *
+ * A chave vem de {@code pointer.keycloak.outbox.chave-senha} (Base64 de 16, 24 ou 32 bytes) e precisa ser
+ * a mesma em todas as réplicas e entre reinícios. É obrigatória: uma chave gerada por processo deixaria
+ * ilegíveis as senhas cifradas por outra réplica ou antes de um reinício, e as criações pendentes falhariam.
+ */
+@Component
+public class CifradorSenhaOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(CifradorSenhaOutbox.class);
+
+    private static final String ALGORITMO = "AES/GCM/NoPadding";
+    private static final int TAMANHO_IV = 12;
+    private static final int TAMANHO_TAG_BITS = 128;
+
+    private final SecretKey chave;
+    private final SecureRandom random = new SecureRandom();
+
+    public CifradorSenhaOutbox(@Value("${pointer.keycloak.outbox.chave-senha:}") String chaveBase64) {
+        this.chave = lerChave(chaveBase64);
+    }
+
+    public String cifrar(String senha) {
+        if (senha == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[TAMANHO_IV];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(ALGORITMO);
+            cipher.init(Cipher.ENCRYPT_MODE, chave, new GCMParameterSpec(TAMANHO_TAG_BITS, iv));
+            byte[] cifrada = cipher.doFinal(senha.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(
+                    ByteBuffer.allocate(iv.length + cifrada.length).put(iv).put(cifrada).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Não foi possível cifrar a senha da outbox", e);
+        }
+    }
+
+    /**
+     * @return a senha, ou vazio se o valor não puder ser decifrado com a chave atual
+     */
+    public Optional<String> decifrar(String cifrada) {
+        if (cifrada == null) {
+            return Optional.empty();
+        }
+        try {
+            byte[] dados = Base64.getDecoder().decode(cifrada);
+            Cipher cipher = Cipher.getInstance(ALGORITMO);
+            cipher.init(Cipher.DECRYPT_MODE, chave, new GCMParameterSpec(TAMANHO_TAG_BITS, dados, 0, TAMANHO_IV));
+            byte[] senha = cipher.doFinal(dados, TAMANHO_IV, dados.length - TAMANHO_IV);
+            return Optional.of(new String(senha, StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            logger.warn("Senha da outbox não pôde ser decifrada: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static SecretKey lerChave(String chaveBase64) {
+        if (chaveBase64.isBlank()) {
+            throw new IllegalStateException("pointer.keycloak.outbox.chave-senha não configurada: informe uma chave AES "
+                    + "em Base64 (16, 24 ou 32 bytes), a mesma em todas as réplicas");
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(chaveBase64.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("pointer.keycloak.outbox.chave-senha não está em Base64", e);
+        }
+        if (bytes.length != 16 && bytes.length != 24 && bytes.length != 32) {
+            throw new IllegalStateException("pointer.keycloak.outbox.chave-senha deve ter 16, 24 ou 32 bytes, não "
+                    + bytes.length);
+        }
+        return new SecretKeySpec(bytes, "AES");
+    }
+}
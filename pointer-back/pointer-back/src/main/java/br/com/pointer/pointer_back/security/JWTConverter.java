@@ -2,11 +2,12 @@ package br.com.pointer.pointer_back.security;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public class JWTConverter implements Converter<Jwt, AbstractAuthenticationToken> {
@@ -15,11 +16,31 @@ public class JWTConverter implements Converter<Jwt, AbstractAuthenticationToken>
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
         Map<String, Collection<String>> realm_access = jwt.getClaim("realm_access");
-        Collection<String> roles = realm_access.get("roles");
-        var grants = roles
-                .stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList();
-        return new JwtAuthenticationToken(jwt, grants);
+        Collection<String> roles = realm_access == null ? List.of() : realm_access.get("roles");
+        if (roles == null) {
+            roles = List.of();
+        }
+
+        int papeis = 0;
+        List<GrantedAuthority> externas = null;
+        for (String role : roles) {
+            Papel papel = Papel.doNome(role);
+            if (papel != null) {
+                papeis |= papel.getBit();
+            } else {
+                if (externas == null) {
+                    externas = new ArrayList<>();
+                }
+                externas.add(Papel.autoridadeExterna(role));
+            }
+        }
+
+        List<GrantedAuthority> grants = Papel.autoridades(papeis);
+        if (externas != null) {
+            externas.addAll(0, grants);
+            grants = externas;
+        }
+        return new PapelAuthenticationToken(jwt, grants, papeis);
     }
 
 }
@@ -0,0 +1,107 @@
+package br.com.pointer.pointer_back.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Decodificador de JWT do resource server.
+ *
+ * O JWKS do Keycloak é baixado na subida e renovado em segundo plano antes de expirar, então nenhuma
+ * requisição espera pelo download das chaves (a não ser diante de um {@code kid} desconhecido, após
+ * uma rotação). Tokens já verificados ficam no {@link CachingJwtDecoder}.
+ */
+@Configuration
+public class JwtDecoderConfig {
+    private static final Logger logger = LoggerFactory.getLogger(JwtDecoderConfig.class);
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri:}")
+    private String issuerUri;
+
+    @Value("${pointer.jwt.jwks.ttl:PT5M}")
+    private Duration jwksTtl;
+
+    @Value("${pointer.jwt.jwks.renovacao-antecipada:PT30S}")
+    private Duration jwksRenovacaoAntecipada;
+
+    @Value("${pointer.jwt.jwks.timeout:PT2S}")
+    private Duration jwksTimeout;
+
+    @Value("${pointer.jwt.cache.tamanho-maximo:10000}")
+    private long cacheTamanhoMaximo;
+
+    @Value("${pointer.jwt.cache.ttl-maximo:PT5M}")
+    private Duration cacheTtlMaximo;
+
+    private JWKSource<SecurityContext> jwkSource;
+
+    @Bean
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) throws MalformedURLException {
+        int timeout = (int) jwksTimeout.toMillis();
+        jwkSource = JWKSourceBuilder.<SecurityContext>create(
+                        URI.create(jwkSetUri).toURL(), new DefaultResourceRetriever(timeout, timeout, 512 * 1024))
+                .cache(jwksTtl.toMillis(), jwksTimeout.toMillis())
+                .refreshAheadCache(jwksRenovacaoAntecipada.toMillis(), true)
+                .retrying(true)
+                .build();
+
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // As claims são validadas pelo Spring (JwtValidators), como no decodificador padrão
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder nimbus = new NimbusJwtDecoder(jwtProcessor);
+        nimbus.setJwtValidator(StringUtils.hasText(issuerUri)
+                ? JwtValidators.createDefaultWithIssuer(issuerUri)
+                : JwtValidators.createDefault());
+
+        return new CachingJwtDecoder(nimbus, meterRegistry, cacheTamanhoMaximo, cacheTtlMaximo);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aquecerJwks() {
+        try {
+            int chaves = jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null).size();
+            logger.info("JWKS carregado na subida: {} chave(s)", chaves);
+        } catch (Exception e) {
+            logger.warn("Não foi possível carregar o JWKS na subida, será buscado na primeira requisição: {}",
+                    e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() throws IOException {
+        if (jwkSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.pointer.pointer_back.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket por chave (IP, email), sem locks.
+ *
+ * Cada balde é um único {@link AtomicLong} com o instante em que ele estaria cheio de novo (GCRA): uma
+ * requisição avança esse instante em {@code periodo / capacidade} e é recusada se ele passar de
+ * {@code periodo} à frente do relógio. Equivale a um balde de {@code capacidade} fichas reposto
+ * continuamente ao longo do {@code periodo}, mas atualizado com um único compare-and-set.
+ *
+ * Um balde ocioso por um {@code periodo} inteiro está cheio e pode ser esquecido sem mudar o resultado;
+ * é o que a expiração do cache faz. O tamanho máximo limita a memória sob uma enxurrada de chaves novas.
+ */
+public class LimitadorTaxa {
+
+    private final Cache<String, AtomicLong> baldes;
+    private final Ticker ticker;
+    private final long intervalo;
+    private final long periodo;
+
+    public LimitadorTaxa(Taxa taxa, long maxChaves, Ticker ticker) {
+        this.ticker = ticker;
+        this.periodo = taxa.periodo().toNanos();
+        this.intervalo = periodo / taxa.capacidade();
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterAccess(taxa.periodo())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Consome uma ficha do balde de {@code chave}.
+     *
+     * @return {@link Duration#ZERO} se a requisição passou, ou quanto falta para a próxima ficha
+     */
+    public Duration consumir(String chave) {
+        AtomicLong cheioEm = baldes.get(chave, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long agora = ticker.read();
+            long atual = cheioEm.get();
+            long novo = Math.max(atual, agora) + intervalo;
+            long excesso = novo - agora - periodo;
+            if (excesso > 0) {
+                return Duration.ofNanos(excesso);
+            }
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    long chaves() {
+        baldes.cleanUp();
+        return baldes.estimatedSize();
+    }
+
+    /**
+     * {@code capacidade} requisições por {@code periodo}, escrita como {@code "10/PT1M"}.
+     */
+    public record Taxa(int capacidade, Duration periodo) {
+
+        public Taxa {
+            if (capacidade <= 0 || periodo.isNegative() || periodo.isZero()) {
+                throw new IllegalArgumentException("Taxa inválida: " + capacidade + "/" + periodo);
+            }
+        }
+
+        public static Taxa parse(String taxa) {
+            String[] partes = taxa.split("/", 2);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Taxa inválida, use capacidade/periodo (ex.: 10/PT1M): " + taxa);
+            }
+            return new Taxa(Integer.parseInt(partes[0].trim()), Duration.parse(partes[1].trim()));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package br.com.pointer.pointer_back.security;
+
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import br.com.pointer.pointer_back.security.LimitesTaxa.Regra;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Aplica {@link LimitesTaxa} aos endpoints públicos antes de qualquer chamada ao Keycloak ou ao SendGrid.
+ *
+ * O limite por IP vem primeiro, porque não custa nada; só depois o corpo é lido para achar o email. O
+ * corpo fica guardado e é entregue de novo ao controller. Recusas viram {@link CapacidadeEsgotadaException}
+ * e passam pelo {@code GlobalExceptionHandler} (429 com {@code Retry-After}).
+ */
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    /** Os corpos dessas rotas têm poucos campos; maior que isso não é um cliente legítimo. */
+    static final int TAMANHO_MAXIMO_CORPO = 16 * 1024;
+
+    private final LimitesTaxa limites;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final ObjectMapper objectMapper;
+
+    public LimiteTaxaFilter(LimitesTaxa limites, HandlerExceptionResolver exceptionResolver, ObjectMapper objectMapper) {
+        this.limites = limites;
+        this.exceptionResolver = exceptionResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Optional<Regra> regra = "POST".equals(request.getMethod())
+                ? limites.regra(request.getRequestURI().substring(request.getContextPath().length()))
+                : Optional.empty();
+        if (regra.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Duration espera = regra.get().consumirIp(request.getRemoteAddr());
+        if (!espera.isZero()) {
+            recusar(request, response, espera);
+            return;
+        }
+        if (regra.get().getCampoEmail() == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] corpo = request.getInputStream().readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+        if (corpo.length > TAMANHO_MAXIMO_CORPO) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        String email = extrairEmail(corpo, regra.get().getCampoEmail());
+        if (email != null) {
+            espera = regra.get().consumirEmail(email);
+            if (!espera.isZero()) {
+                recusar(request, response, espera);
+                return;
+            }
+        }
+        chain.doFilter(new CorpoRelido(request, corpo), response);
+    }
+
+    private String extrairEmail(byte[] corpo, String campo) {
+        try {
+            JsonNode valor = objectMapper.readTree(corpo).path(campo);
+            return valor.isTextual() ? valor.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // JSON inválido: o controller responde 400, sem chegar ao Keycloak
+            return null;
+        }
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response, Duration espera) {
+        exceptionResolver.resolveException(request, response, null, new CapacidadeEsgotadaException(
+                "Muitas tentativas, tente novamente em instantes", espera));
+    }
+
+    /**
+     * A requisição com o corpo já lido pelo filtro, para ser lido de novo pelo controller.
+     */
+    private static final class CorpoRelido extends HttpServletRequestWrapper {
+        private final byte[] corpo;
+
+        CorpoRelido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String charset = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset)));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.pointer.pointer_back.security;
+
+import br.com.pointer.pointer_back.security.LimitadorTaxa.Taxa;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Limites de taxa dos endpoints públicos, por IP e por email, configurados em {@code pointer.limite.*}.
+ *
+ * Cada taxa é {@code capacidade/periodo} (ex.: {@code 3/PT15M}). Os limites por email valem para
+ * qualquer IP, o que segura quem distribui tentativas contra a mesma conta.
+ */
+@Component
+public class LimitesTaxa {
+
+    private final boolean habilitado;
+    private final Map<String, Regra> regras;
+
+    @Autowired
+    public LimitesTaxa(
+            MeterRegistry meterRegistry,
+            @Value("${pointer.limite.habilitado:true}") boolean habilitado,
+            @Value("${pointer.limite.max-chaves:100000}") long maxChaves,
+            @Value("${pointer.limite.token.ip:30/PT1M}") String tokenIp,
+            @Value("${pointer.limite.token.email:10/PT1M}") String tokenEmail,
+            @Value("${pointer.limite.token-refresh.ip:60/PT1M}") String refreshIp,
+            @Value("${pointer.limite.esqueceu-senha.ip:10/PT1M}") String esqueceuSenhaIp,
+            @Value("${pointer.limite.esqueceu-senha.email:3/PT15M}") String esqueceuSenhaEmail,
+            @Value("${pointer.limite.verificar-codigo.ip:20/PT1M}") String verificarCodigoIp,
+            @Value("${pointer.limite.verificar-codigo.email:5/PT15M}") String verificarCodigoEmail,
+            @Value("${pointer.limite.redefinir-senha.ip:10/PT1M}") String redefinirSenhaIp,
+            @Value("${pointer.limite.redefinir-senha.email:3/PT15M}") String redefinirSenhaEmail) {
+        this.habilitado = habilitado;
+
+        Fabrica fabrica = new Fabrica(meterRegistry, maxChaves, Ticker.systemTicker());
+        this.regras = Map.of(
+                "/token", fabrica.regra("token", tokenIp, "username", tokenEmail),
+                "/token/refresh", fabrica.regra("token-refresh", refreshIp, null, null),
+                "/usuarios/esqueceu-senha", fabrica.regra("esqueceu-senha", esqueceuSenhaIp, "email", esqueceuSenhaEmail),
+                "/usuarios/verificar-codigo", fabrica.regra("verificar-codigo", verificarCodigoIp, "email", verificarCodigoEmail),
+                "/usuarios/redefinir-senha", fabrica.regra("redefinir-senha", redefinirSenhaIp, "email", redefinirSenhaEmail));
+    }
+
+    LimitesTaxa(Map<String, Regra> regras) {
+        this.habilitado = true;
+        this.regras = regras;
+    }
+
+    public Optional<Regra> regra(String caminho) {
+        return habilitado ? Optional.ofNullable(regras.get(caminho)) : Optional.empty();
+    }
+
+    /**
+     * Limites de uma rota. {@code campoEmail} é o campo do corpo JSON com o email, ou null se a rota só é
+     * limitada por IP.
+     */
+    public static final class Regra {
+        private final String campoEmail;
+        private final LimitadorTaxa porIp;
+        private final LimitadorTaxa porEmail;
+        private final Counter rejeitadasIp;
+        private final Counter rejeitadasEmail;
+
+        Regra(String campoEmail, LimitadorTaxa porIp, LimitadorTaxa porEmail, Counter rejeitadasIp,
+                Counter rejeitadasEmail) {
+            this.campoEmail = campoEmail;
+            this.porIp = porIp;
+            this.porEmail = porEmail;
+            this.rejeitadasIp = rejeitadasIp;
+            this.rejeitadasEmail = rejeitadasEmail;
+        }
+
+        public String getCampoEmail() {
+            return campoEmail;
+        }
+
+        public Duration consumirIp(String ip) {
+            return consumir(porIp, rejeitadasIp, ip);
+        }
+
+        public Duration consumirEmail(String email) {
+            return consumir(porEmail, rejeitadasEmail, email);
+        }
+
+        private static Duration consumir(LimitadorTaxa limitador, Counter rejeitadas, String chave) {
+            Duration espera = limitador.consumir(chave);
+            if (!espera.isZero()) {
+                rejeitadas.increment();
+            }
+            return espera;
+        }
+    }
+
+    record Fabrica(MeterRegistry meterRegistry, long maxChaves, Ticker ticker) {
+
+        Regra regra(String rota, String taxaIp, String campoEmail, String taxaEmail) {
+            return new Regra(
+                    campoEmail,
+                    limitador(rota, "ip", taxaIp),
+                    campoEmail == null ? null : limitador(rota, "email", taxaEmail),
+                    rejeitadas(rota, "ip"),
+                    rejeitadas(rota, "email"));
+        }
+
+        private LimitadorTaxa limitador(String rota, String chave, String taxa) {
+            LimitadorTaxa limitador = new LimitadorTaxa(Taxa.parse(taxa), maxChaves, ticker);
+            Gauge.builder("pointer.limite.chaves", limitador, LimitadorTaxa::chaves)
+                    .description("IPs ou emails com balde ativo no limite de taxa")
+                    .tag("rota", rota)
+                    .tag("chave", chave)
+                    .register(meterRegistry);
+            return limitador;
+        }
+
+        private Counter rejeitadas(String rota, String chave) {
+            return Counter.builder("pointer.limite.rejeitadas")
+                    .description("Requisições recusadas pelo limite de taxa")
+                    .tag("rota", rota)
+                    .tag("chave", chave)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.pointer.pointer_back.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Papéis do realm conhecidos pela aplicação.
+ *
+ * Cada papel tem um bit na máscara carregada por {@link PapelAuthenticationToken} e uma única instância
+ * de {@link GrantedAuthority}. As listas de autoridades de todas as combinações são montadas uma vez,
+ * então converter e autorizar um token com papéis conhecidos não aloca strings nem autoridades.
+ */
+public enum Papel {
+    ADMIN("admin"),
+    GESTOR("gestor"),
+    COLABORADOR("colaborador"),
+    USER("user");
+
+    private static final String PREFIXO = "ROLE_";
+    private static final List<List<GrantedAuthority>> AUTORIDADES_POR_MASCARA = montarAutoridades();
+    private static final Map<String, GrantedAuthority> AUTORIDADES_EXTERNAS = new ConcurrentHashMap<>();
+
+    private final String nome;
+    private final int bit;
+    private final GrantedAuthority autoridade;
+
+    Papel(String nome) {
+        this.nome = nome;
+        this.bit = 1 << ordinal();
+        this.autoridade = new SimpleGrantedAuthority(PREFIXO + nome);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public GrantedAuthority getAutoridade() {
+        return autoridade;
+    }
+
+    /**
+     * Papel com o nome do realm, ou {@code null} se não for um papel conhecido.
+     */
+    public static Papel doNome(String nome) {
+        return switch (nome) {
+            case "admin" -> ADMIN;
+            case "gestor" -> GESTOR;
+            case "colaborador" -> COLABORADOR;
+            case "user" -> USER;
+            default -> null;
+        };
+    }
+
+    /**
+     * Lista imutável e compartilhada com as autoridades dos papéis presentes em {@code mascara}.
+     */
+    public static List<GrantedAuthority> autoridades(int mascara) {
+        return AUTORIDADES_POR_MASCARA.get(mascara);
+    }
+
+    /**
+     * Autoridade de um papel do realm que a aplicação não usa (ex.: {@code offline_access}).
+     *
+     * Mantida por compatibilidade; a instância é reaproveitada entre requisições.
+     */
+    public static GrantedAuthority autoridadeExterna(String nome) {
+        return AUTORIDADES_EXTERNAS.computeIfAbsent(nome, n -> new SimpleGrantedAuthority(PREFIXO + n));
+    }
+
+    /**
+     * Máscara a partir das autoridades de uma autenticação qualquer.
+     */
+    public static int mascara(Collection<? extends GrantedAuthority> autoridades) {
+        int mascara = 0;
+        for (GrantedAuthority autoridade : autoridades) {
+            String nome = autoridade.getAuthority();
+            if (nome != null && nome.startsWith(PREFIXO)) {
+                Papel papel = doNome(nome.substring(PREFIXO.length()));
+                if (papel != null) {
+                    mascara |= papel.bit;
+                }
+            }
+        }
+        return mascara;
+    }
+
+    private static List<List<GrantedAuthority>> montarAutoridades() {
+        Papel[] papeis = values();
+        List<List<GrantedAuthority>> todas = new ArrayList<>(1 << papeis.length);
+        for (int mascara = 0; mascara < (1 << papeis.length); mascara++) {
+            List<GrantedAuthority> autoridades = new ArrayList<>();
+            for (Papel papel : papeis) {
+                if ((mascara & papel.bit) != 0) {
+                    autoridades.add(papel.autoridade);
+                }
+            }
+            todas.add(Collections.unmodifiableList(autoridades));
+        }
+        return Collections.unmodifiableList(todas);
+    }
+}
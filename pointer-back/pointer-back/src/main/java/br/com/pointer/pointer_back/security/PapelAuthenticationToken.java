@@ -0,0 +1,38 @@
+package br.com.pointer.pointer_back.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * {@link JwtAuthenticationToken} que carrega também a máscara de {@link Papel} do usuário.
+ */
+public class PapelAuthenticationToken extends JwtAuthenticationToken {
+
+    private final int papeis;
+
+    public PapelAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, int papeis) {
+        super(jwt, authorities);
+        this.papeis = papeis;
+    }
+
+    public int getPapeis() {
+        return papeis;
+    }
+
+    public boolean possuiAlgum(int mascara) {
+        return (papeis & mascara) != 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj) && obj instanceof PapelAuthenticationToken outro && outro.papeis == papeis;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + papeis;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.pointer.pointer_back.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Avalia {@code @PreAuthorize} por máscara de {@link Papel}.
+ *
+ * Expressões do tipo {@code hasRole('a') or hasRole('b')} (e {@code hasAnyRole('a', 'b')}) com papéis
+ * conhecidos são traduzidas uma vez por método numa máscara; a checagem por requisição é um AND de bits.
+ * Qualquer outra expressão segue para o {@link PreAuthorizeAuthorizationManager} padrão do Spring.
+ */
+public class PapelAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision PERMITIDO = new AuthorizationDecision(true);
+    private static final AuthorizationDecision NEGADO = new AuthorizationDecision(false);
+    private static final Pattern HAS_ROLE = Pattern.compile("hasRole\\('([\\w-]+)'\\)");
+    private static final Pattern HAS_ANY_ROLE = Pattern.compile("hasAnyRole\\(([^)]*)\\)");
+    private static final Pattern ROLE_ENTRE_ASPAS = Pattern.compile("\\s*'([\\w-]+)'\\s*");
+
+    /** Marca métodos cuja expressão não é só de papéis. */
+    private static final int EXPRESSAO_GENERICA = -1;
+
+    private final AuthorizationManager<MethodInvocation> fallback;
+    private final Map<Method, Integer> mascaras = new ConcurrentHashMap<>();
+
+    public PapelAuthorizationManager() {
+        this(new PreAuthorizeAuthorizationManager());
+    }
+
+    PapelAuthorizationManager(AuthorizationManager<MethodInvocation> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Integer mascara = mascaras.get(method);
+        if (mascara == null) {
+            mascara = mascaras.computeIfAbsent(method, m -> compilar(m, invocation.getThis()));
+        }
+
+        if (mascara == EXPRESSAO_GENERICA) {
+            return fallback.authorize(authentication, invocation);
+        }
+
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated()) {
+            return NEGADO;
+        }
+        int papeis = auth instanceof PapelAuthenticationToken token
+                ? token.getPapeis()
+                : Papel.mascara(auth.getAuthorities());
+        return (papeis & mascara) != 0 ? PERMITIDO : NEGADO;
+    }
+
+    /**
+     * Ainda abstrato na interface; o Spring Security chama {@link #authorize}.
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        AuthorizationResult resultado = authorize(authentication, invocation);
+        if (resultado == null || resultado instanceof AuthorizationDecision) {
+            return (AuthorizationDecision) resultado;
+        }
+        return new AuthorizationDecision(resultado.isGranted());
+    }
+
+    static int compilar(Method method, Object alvo) {
+        Method especifico = alvo == null ? method : AopUtils.getMostSpecificMethod(method, alvo.getClass());
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(especifico, PreAuthorize.class);
+        if (preAuthorize == null) {
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(especifico.getDeclaringClass(), PreAuthorize.class);
+        }
+        return preAuthorize == null ? EXPRESSAO_GENERICA : compilar(preAuthorize.value());
+    }
+
+    /**
+     * Máscara equivalente à expressão, ou {@link #EXPRESSAO_GENERICA} se ela não for só de papéis.
+     */
+    static int compilar(String expressao) {
+        int mascara = 0;
+        for (String termo : expressao.trim().split("\\s+or\\s+")) {
+            int termoMascara = compilarTermo(termo.trim());
+            if (termoMascara == EXPRESSAO_GENERICA) {
+                return EXPRESSAO_GENERICA;
+            }
+            mascara |= termoMascara;
+        }
+        return mascara == 0 ? EXPRESSAO_GENERICA : mascara;
+    }
+
+    private static int compilarTermo(String termo) {
+        Matcher hasRole = HAS_ROLE.matcher(termo);
+        if (hasRole.matches()) {
+            return bit(hasRole.group(1));
+        }
+
+        Matcher hasAnyRole = HAS_ANY_ROLE.matcher(termo);
+        if (hasAnyRole.matches()) {
+            int mascara = 0;
+            for (String argumento : hasAnyRole.group(1).split(",")) {
+                Matcher role = ROLE_ENTRE_ASPAS.matcher(argumento);
+                if (!role.matches()) {
+                    return EXPRESSAO_GENERICA;
+                }
+                int bit = bit(role.group(1));
+                if (bit == EXPRESSAO_GENERICA) {
+                    return EXPRESSAO_GENERICA;
+                }
+                mascara |= bit;
+            }
+            return mascara;
+        }
+
+        return EXPRESSAO_GENERICA;
+    }
+
+    private static int bit(String role) {
+        Papel papel = Papel.doNome(role);
+        return papel == null ? EXPRESSAO_GENERICA : papel.getBit();
+    }
+}
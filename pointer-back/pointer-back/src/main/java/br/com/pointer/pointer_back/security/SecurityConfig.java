@@ -1,39 +1,75 @@
 package br.com.pointer.pointer_back.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationManagerAfterMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.PostFilterAuthorizationMethodInterceptor;
+import org.springframework.security.authorization.method.PreFilterAuthorizationMethodInterceptor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity
+@EnableMethodSecurity(prePostEnabled = false)
 public class SecurityConfig {
 
+    /**
+     * Os endpoints públicos passam por {@link LimiteTaxaFilter} antes da autenticação, para que excessos
+     * sejam recusados antes de virar chamadas ao Keycloak ou ao SendGrid.
+     *
+     * Com {@code pointer.metricas.scrape-publico}, {@code /actuator/prometheus} dispensa o token, para
+     * coletores que não falam OAuth; nesse caso a porta de gerenciamento não deve ficar exposta fora da
+     * rede interna.
+     */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            LimitesTaxa limitesTaxa,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            ObjectMapper objectMapper,
+            @Value("${pointer.metricas.scrape-publico:false}") boolean scrapePublico) throws Exception {
         http
                 .cors().and()
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/token/**").permitAll()
-                        .requestMatchers("/usuarios/verificar-codigo").permitAll()
-                        .requestMatchers("/usuarios/redefinir-senha").permitAll()
-                        .requestMatchers("/usuarios/esqueceu-senha").permitAll()
-                        .anyRequest().authenticated())
+                .authorizeHttpRequests(auth -> {
+                    if (scrapePublico) {
+                        auth.requestMatchers(EndpointRequest.to("prometheus")).permitAll();
+                    }
+                    auth
+                            .requestMatchers("/token/**").permitAll()
+                            .requestMatchers("/usuarios/verificar-codigo").permitAll()
+                            .requestMatchers("/usuarios/redefinir-senha").permitAll()
+                            .requestMatchers("/usuarios/esqueceu-senha").permitAll()
+                            .anyRequest().authenticated();
+                })
+                .addFilterBefore(new LimiteTaxaFilter(limitesTaxa, exceptionResolver, objectMapper),
+                        BearerTokenAuthenticationFilter.class)
                 .oauth2ResourceServer(oauth2 -> oauth2
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(new JWTConverter())));
 
@@ -46,7 +82,10 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000")); // URL do frontend
         configuration.setAllowedMethods(
                 Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "TRACE", "CONNECT"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
+        configuration.setAllowedHeaders(
+                Arrays.asList("Authorization", "Content-Type", "Accept", "If-None-Match", "If-Match"));
+        // Sem isso o frontend não consegue ler a ETag para mandá-la de volta
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -55,8 +94,54 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * {@code @PreAuthorize} avaliado por {@link PapelAuthorizationManager} em vez de SpEL a cada chamada.
+     *
+     * Com {@code prePostEnabled = true} o Spring registraria também o próprio interceptor de
+     * {@code @PreAuthorize} e as duas checagens rodariam em toda chamada; por isso a anotação fica desligada
+     * e os interceptores de {@code @PostAuthorize}, {@code @PreFilter} e {@code @PostFilter} são registrados
+     * abaixo, na ordem padrão.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preAuthorizeAdvisor() {
+        return AuthorizationManagerBeforeMethodInterceptor.preAuthorize(new PapelAuthorizationManager());
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postAuthorizeAdvisor() {
+        return AuthorizationManagerAfterMethodInterceptor.postAuthorize();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor preFilterAdvisor() {
+        return new PreFilterAuthorizationMethodInterceptor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor postFilterAdvisor() {
+        return new PostFilterAuthorizationMethodInterceptor();
+    }
+
+    /**
+     * BCrypt com o custo calibrado na subida ({@code pointer.senha.custo} fixa o custo e pula a calibração).
+     *
+     * Os hashes novos levam o prefixo {@code {bcrypt}}; os antigos, sem prefixo, continuam válidos e são
+     * regravados no custo atual na próxima troca de senha.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${pointer.senha.custo:0}") int custo,
+            @Value("${pointer.senha.latencia-alvo:PT0.1S}") Duration latenciaAlvo,
+            @Value("${pointer.senha.custo-minimo:10}") int custoMinimo,
+            @Value("${pointer.senha.custo-maximo:14}") int custoMaximo) {
+        int custoEfetivo = custo > 0 ? custo : CalibradorBCrypt.calibrar(latenciaAlvo, custoMinimo, custoMaximo);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(custoEfetivo)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 }
\ No newline at end of file
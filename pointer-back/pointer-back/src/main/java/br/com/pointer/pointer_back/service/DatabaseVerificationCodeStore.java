@@ -0,0 +1,111 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.model.CodigoVerificacao;
+import br.com.pointer.pointer_back.repository.CodigoVerificacaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Armazenamento no Postgres, compartilhado entre réplicas atrás do balanceador.
+ *
+ * Guarda só o hash do código. A verificação trava a linha do email, então tentativas simultâneas
+ * em réplicas diferentes contam corretamente. Códigos expirados são apagados periodicamente.
+ */
+@Component
+@ConditionalOnProperty(name = "pointer.verificacao.store", havingValue = "banco")
+public class DatabaseVerificationCodeStore implements VerificationCodeStore {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseVerificationCodeStore.class);
+
+    private final CodigoVerificacaoRepository codigoVerificacaoRepository;
+    private final Duration ttl;
+    private final int maxTentativas;
+
+    public DatabaseVerificationCodeStore(
+            CodigoVerificacaoRepository codigoVerificacaoRepository,
+            @Value("${pointer.verificacao.ttl:PT10M}") Duration ttl,
+            @Value("${pointer.verificacao.max-tentativas:5}") int maxTentativas) {
+        this.codigoVerificacaoRepository = codigoVerificacaoRepository;
+        this.ttl = ttl;
+        this.maxTentativas = maxTentativas;
+    }
+
+    @Override
+    @Transactional
+    public void salvar(String email, String codigo) {
+        CodigoVerificacao registro = codigoVerificacaoRepository.findById(email).orElseGet(CodigoVerificacao::new);
+        registro.setEmail(email);
+        registro.setCodigoHash(hash(codigo));
+        registro.setExpiraEm(LocalDateTime.now().plus(ttl));
+        registro.setTentativas(0);
+        codigoVerificacaoRepository.save(registro);
+    }
+
+    @Override
+    @Transactional
+    public boolean verificar(String email, String codigo) {
+        if (codigo == null) {
+            return false;
+        }
+
+        Optional<CodigoVerificacao> encontrado = codigoVerificacaoRepository.buscarParaAtualizacao(email);
+        if (encontrado.isEmpty()) {
+            return false;
+        }
+
+        CodigoVerificacao registro = encontrado.get();
+        if (registro.getExpiraEm().isBefore(LocalDateTime.now())) {
+            codigoVerificacaoRepository.delete(registro);
+            return false;
+        }
+
+        if (MessageDigest.isEqual(
+                registro.getCodigoHash().getBytes(StandardCharsets.US_ASCII),
+                hash(codigo).getBytes(StandardCharsets.US_ASCII))) {
+            codigoVerificacaoRepository.delete(registro);
+            return true;
+        }
+
+        registro.setTentativas(registro.getTentativas() + 1);
+        if (registro.getTentativas() >= maxTentativas) {
+            codigoVerificacaoRepository.delete(registro);
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public void remover(String email) {
+        codigoVerificacaoRepository.deleteById(email);
+    }
+
+    @Scheduled(fixedDelayString = "${pointer.verificacao.limpeza-intervalo-ms:60000}")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = codigoVerificacaoRepository.removerExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            logger.debug("{} código(s) de verificação expirado(s) removido(s)", removidos);
+        }
+    }
+
+    private static String hash(String codigo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(codigo.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.config.ResilienciaConfig;
+import br.com.pointer.pointer_back.exception.EmailSendingException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila limitada de envio de emails, drenada por um pequeno grupo de workers.
+ *
+ * Quem chama só enfileira e volta; cada worker junta o que estiver na fila (até o tamanho de lote)
+ * e faz uma chamada por template ao {@link EmailTransport}, repetindo com backoff em falhas temporárias.
+ * Se o provedor recusar um lote de forma definitiva, as mensagens são reenviadas uma a uma, para que
+ * só as inválidas se percam.
+ *
+ * As chamadas passam pelo disjuntor do SendGrid: aberto, os workers esperam sem gastar tentativas, a fila
+ * enche e os novos emails passam a ser recusados na hora, em vez de prenderem as requisições.
+ */
+@Component
+public class EmailDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final Duration ESPERA_DISJUNTOR_ABERTO = Duration.ofSeconds(1);
+
+    private final EmailTransport transport;
+    private final CircuitBreaker disjuntor;
+    private final BlockingQueue<EmailMensagem> fila;
+    private final ExecutorService workers;
+    private final int tamanhoLote;
+    private final Duration janelaAgrupamento;
+    private final int maxTentativas;
+    private final Duration backoffInicial;
+    private final Duration prazoEncerramento;
+    private volatile boolean encerrando;
+
+    private final Timer tempoEnvio;
+    private final Timer tempoNaFila;
+    private final DistributionSummary mensagensPorChamada;
+    private final Counter enviadas;
+    private final Counter falhas;
+    private final Counter rejeitadas;
+
+    public EmailDispatcher(
+            EmailTransport transport,
+            MeterRegistry meterRegistry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Value("${pointer.email.fila.capacidade:1000}") int capacidade,
+            @Value("${pointer.email.workers:2}") int quantidadeWorkers,
+            @Value("${pointer.email.tamanho-lote:100}") int tamanhoLote,
+            @Value("${pointer.email.janela-agrupamento:PT0.1S}") Duration janelaAgrupamento,
+            @Value("${pointer.email.max-tentativas:3}") int maxTentativas,
+            @Value("${pointer.email.backoff-inicial:PT1S}") Duration backoffInicial,
+            @Value("${pointer.email.prazo-encerramento:PT10S}") Duration prazoEncerramento,
+            FabricaExecutores fabricaExecutores) {
+        this.transport = transport;
+        this.disjuntor = circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.SENDGRID);
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.janelaAgrupamento = janelaAgrupamento;
+        this.maxTentativas = maxTentativas;
+        this.backoffInicial = backoffInicial;
+        this.prazoEncerramento = prazoEncerramento;
+
+        meterRegistry.gauge("pointer.email.fila.tamanho", fila, BlockingQueue::size);
+        this.tempoEnvio = Timer.builder("pointer.email.envio")
+                .description("Duração de cada chamada ao transporte de email")
+                .register(meterRegistry);
+        this.tempoNaFila = Timer.builder("pointer.email.fila.espera")
+                .description("Tempo entre enfileirar e entregar um email")
+                .register(meterRegistry);
+        this.mensagensPorChamada = DistributionSummary.builder("pointer.email.lote.tamanho")
+                .description("Mensagens agrupadas por chamada ao transporte")
+                .register(meterRegistry);
+        this.enviadas = meterRegistry.counter("pointer.email.mensagens", "resultado", "enviada");
+        this.falhas = meterRegistry.counter("pointer.email.mensagens", "resultado", "falha");
+        this.rejeitadas = meterRegistry.counter("pointer.email.mensagens", "resultado", "rejeitada");
+
+        this.workers = fabricaExecutores.limitado("email-worker", quantidadeWorkers);
+        for (int i = 0; i < quantidadeWorkers; i++) {
+            workers.execute(this::executarWorker);
+        }
+    }
+
+    /**
+     * Enfileira o email para envio assíncrono.
+     *
+     * @throws EmailSendingException se a fila estiver cheia
+     */
+    public void enfileirar(EmailMensagem mensagem) {
+        if (encerrando || !fila.offer(mensagem)) {
+            rejeitadas.increment();
+            throw new EmailSendingException("Fila de emails cheia, tente novamente em instantes");
+        }
+    }
+
+    /**
+     * Enfileira o email esperando até {@code espera} por espaço na fila. Usado por operações em massa,
+     * que preferem desacelerar a perder mensagens.
+     *
+     * @throws EmailSendingException se a fila continuar cheia após a espera
+     */
+    public void enfileirar(EmailMensagem mensagem, Duration espera) {
+        boolean aceita;
+        try {
+            aceita = !encerrando && fila.offer(mensagem, espera.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aceita = false;
+        }
+        if (!aceita) {
+            rejeitadas.increment();
+            throw new EmailSendingException("Fila de emails cheia, tente novamente em instantes");
+        }
+    }
+
+    private void executarWorker() {
+        List<EmailMensagem> lote = new ArrayList<>(tamanhoLote);
+        while (true) {
+            try {
+                EmailMensagem primeira = fila.poll(1, TimeUnit.SECONDS);
+                if (primeira == null) {
+                    if (encerrando) {
+                        return;
+                    }
+                    continue;
+                }
+
+                lote.add(primeira);
+                aguardarAgrupamento(lote);
+                enviarAgrupado(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erro inesperado no worker de email: ", e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void aguardarAgrupamento(List<EmailMensagem> lote) throws InterruptedException {
+        long limite = System.nanoTime() + janelaAgrupamento.toNanos();
+        while (lote.size() < tamanhoLote) {
+            fila.drainTo(lote, tamanhoLote - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= tamanhoLote || restante <= 0) {
+                return;
+            }
+            EmailMensagem proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proxima == null) {
+                return;
+            }
+            lote.add(proxima);
+        }
+    }
+
+    private void enviarAgrupado(List<EmailMensagem> lote) throws InterruptedException {
+        Map<String, List<EmailMensagem>> porTemplate = new LinkedHashMap<>();
+        for (EmailMensagem mensagem : lote) {
+            porTemplate.computeIfAbsent(mensagem.templateId(), t -> new ArrayList<>()).add(mensagem);
+        }
+
+        for (Map.Entry<String, List<EmailMensagem>> grupo : porTemplate.entrySet()) {
+            enviarComRetentativa(grupo.getKey(), grupo.getValue());
+        }
+    }
+
+    private void enviarComRetentativa(String templateId, List<EmailMensagem> mensagens) throws InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            while (!disjuntor.tryAcquirePermission()) {
+                Thread.sleep(ESPERA_DISJUNTOR_ABERTO.toMillis());
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                transport.enviar(templateId, mensagens);
+                long duracao = System.nanoTime() - inicio;
+                disjuntor.onSuccess(duracao, TimeUnit.NANOSECONDS);
+                tempoEnvio.record(duracao, TimeUnit.NANOSECONDS);
+                registrarEntrega(mensagens);
+                return;
+            } catch (Exception e) {
+                long duracao = System.nanoTime() - inicio;
+                disjuntor.onError(duracao, TimeUnit.NANOSECONDS, e);
+                tempoEnvio.record(duracao, TimeUnit.NANOSECONDS);
+                boolean temporaria = !(e instanceof EmailTransport.EnvioRecusadoException recusa) || recusa.isTemporaria();
+                if (!temporaria && mensagens.size() > 1) {
+                    // Uma mensagem inválida recusa o lote inteiro: reenvia uma a uma para que só ela falhe
+                    logger.warn("Lote de {} email(s) do template {} recusado ({}); reenviando individualmente",
+                            mensagens.size(), templateId, e.getMessage());
+                    for (EmailMensagem mensagem : mensagens) {
+                        enviarComRetentativa(templateId, List.of(mensagem));
+                    }
+                    return;
+                }
+                if (!temporaria || tentativa >= maxTentativas) {
+                    falhas.increment(mensagens.size());
+                    logger.error("Falha ao enviar {} email(s) do template {} após {} tentativa(s): {}",
+                            mensagens.size(), templateId, tentativa, e.getMessage());
+                    return;
+                }
+                logger.warn("Falha temporária ao enviar emails do template {} (tentativa {}): {}",
+                        templateId, tentativa, e.getMessage());
+                Thread.sleep(backoffInicial.multipliedBy(1L << (tentativa - 1)).toMillis());
+            }
+        }
+    }
+
+    private void registrarEntrega(List<EmailMensagem> mensagens) {
+        long agora = System.nanoTime();
+        mensagensPorChamada.record(mensagens.size());
+        enviadas.increment(mensagens.size());
+        for (EmailMensagem mensagem : mensagens) {
+            tempoNaFila.record(agora - mensagem.enfileiradoEmNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void encerrar() throws InterruptedException {
+        encerrando = true;
+        workers.shutdown();
+        if (!workers.awaitTermination(prazoEncerramento.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.warn("{} email(s) ainda na fila ao encerrar", fila.size());
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.pointer.pointer_back.service;
+
+import java.util.Map;
+
+/**
+ * Email aguardando envio pela fila do {@link EmailDispatcher}.
+ */
+public record EmailMensagem(String destinatario, String templateId, Map<String, String> dadosDinamicos,
+        long enfileiradoEmNanos) {
+
+    public EmailMensagem(String destinatario, String templateId, Map<String, String> dadosDinamicos) {
+        this(destinatario, templateId, dadosDinamicos, System.nanoTime());
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.pointer.pointer_back.service;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Meio de entrega usado pelo {@link EmailDispatcher}.
+ *
+ * Recebe mensagens de um mesmo template, que devem ser entregues numa única chamada quando o
+ * provedor permitir.
+ */
+public interface EmailTransport {
+
+    void enviar(String templateId, List<EmailMensagem> mensagens) throws IOException;
+
+    /**
+     * Falha informada pelo provedor. Só vale a pena tentar de novo em limite de taxa ou erro do servidor.
+     */
+    class EnvioRecusadoException extends IOException {
+        private final int status;
+
+        public EnvioRecusadoException(int status, String corpo) {
+            super("Envio de email recusado. Status: " + status + ". Resposta: " + corpo);
+            this.status = status;
+        }
+
+        public boolean isTemporaria() {
+            return status == 429 || status >= 500;
+        }
+    }
+}
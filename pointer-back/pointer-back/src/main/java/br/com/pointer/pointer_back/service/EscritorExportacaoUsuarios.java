@@ -0,0 +1,120 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escreve a exportação de usuários registro a registro, sem acumular nada na memória.
+ *
+ * O CSV usa as mesmas colunas que {@link LeitorImportacaoUsuarios} reconhece (as demais são ignoradas na
+ * importação), com aspas no padrão RFC 4180. O NDJSON tem um {@link UsuarioResponseDTO} por linha.
+ */
+public abstract class EscritorExportacaoUsuarios {
+
+    protected final Writer writer;
+
+    protected EscritorExportacaoUsuarios(Writer writer) {
+        this.writer = writer;
+    }
+
+    public static EscritorExportacaoUsuarios csv(Writer writer) {
+        return new Csv(writer);
+    }
+
+    public static EscritorExportacaoUsuarios ndjson(Writer writer, ObjectMapper objectMapper) {
+        return new Ndjson(writer, objectMapper);
+    }
+
+    /**
+     * Escreve o que vem antes do primeiro registro (o cabeçalho, no CSV).
+     */
+    public void iniciar() throws IOException {
+    }
+
+    public abstract void escrever(UsuarioResponseDTO usuario) throws IOException;
+
+    private static final class Csv extends EscritorExportacaoUsuarios {
+        private static final String CABECALHO =
+                "id,nome,email,status,cargo,setor,tipoUsuario,dataCriacao,statusSincronizacao\r\n";
+
+        private Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        public void iniciar() throws IOException {
+            writer.write(CABECALHO);
+        }
+
+        @Override
+        public void escrever(UsuarioResponseDTO usuario) throws IOException {
+            campo(usuario.getId());
+            writer.write(',');
+            campo(usuario.getNome());
+            writer.write(',');
+            campo(usuario.getEmail());
+            writer.write(',');
+            campo(usuario.getStatus());
+            writer.write(',');
+            campo(usuario.getCargo());
+            writer.write(',');
+            campo(usuario.getSetor());
+            writer.write(',');
+            campo(usuario.getTipoUsuario());
+            writer.write(',');
+            campo(usuario.getDataCriacao());
+            writer.write(',');
+            campo(usuario.getStatusSincronizacao());
+            writer.write("\r\n");
+        }
+
+        private void campo(Object valor) throws IOException {
+            if (valor == null) {
+                return;
+            }
+            String texto = valor.toString();
+            if (precisaAspas(texto)) {
+                writer.write('"');
+                writer.write(texto.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(texto);
+            }
+        }
+
+        private static boolean precisaAspas(String texto) {
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Ndjson extends EscritorExportacaoUsuarios {
+        private final ObjectWriter objectWriter;
+
+        private Ndjson(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            // Sem fechar nem descarregar o writer a cada registro: quem escreve decide quando enviar o buffer
+            this.objectWriter = objectMapper.writerFor(UsuarioResponseDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void escrever(UsuarioResponseDTO usuario) throws IOException {
+            objectWriter.writeValue(writer, usuario);
+            writer.write('\n');
+        }
+    }
+}
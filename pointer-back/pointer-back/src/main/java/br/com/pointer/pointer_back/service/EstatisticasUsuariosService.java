@@ -0,0 +1,222 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.EstatisticasUsuariosDTO;
+import br.com.pointer.pointer_back.model.CadastrosMensais;
+import br.com.pointer.pointer_back.model.ContadorUsuarios;
+import br.com.pointer.pointer_back.model.DimensaoUsuario;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.CadastrosMensaisRepository;
+import br.com.pointer.pointer_back.repository.ContadorUsuariosRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas do cadastro de usuários servidas a partir de contadores, sem varrer a tabela {@code usuarios}.
+ *
+ * Cada cadastro, troca de status e atualização ajusta os contadores ({@link ContadorUsuarios}, por setor,
+ * status e tipo) e o total do mês de criação ({@link CadastrosMensais}) na mesma transação que grava o
+ * usuário: se a gravação for desfeita, o ajuste também é. A consulta lê só os contadores, cujo tamanho
+ * depende do número de setores, tipos e meses, não do número de usuários.
+ *
+ * Os ajustes são feitos sempre na mesma ordem (contadores por dimensão e valor, depois os meses), para que
+ * transações concorrentes esperem umas pelas outras em vez de entrarem em deadlock. Uma reconciliação
+ * periódica recalcula tudo a partir de {@code usuarios} e corrige qualquer desvio (gravações fora deste
+ * serviço, bancos anteriores aos contadores).
+ */
+@Service
+public class EstatisticasUsuariosService {
+    private static final Logger logger = LoggerFactory.getLogger(EstatisticasUsuariosService.class);
+
+    private static final String INCREMENTAR_CONTADOR = "INSERT INTO usuarios_contadores (dimensao, valor, total) "
+            + "VALUES (?, ?, ?) ON CONFLICT (dimensao, valor) "
+            + "DO UPDATE SET total = usuarios_contadores.total + EXCLUDED.total";
+    private static final String INCREMENTAR_MES = "INSERT INTO usuarios_cadastros_mensais (mes, total) "
+            + "VALUES (?, ?) ON CONFLICT (mes) "
+            + "DO UPDATE SET total = usuarios_cadastros_mensais.total + EXCLUDED.total";
+
+    private static final Comparator<ContadorUsuarios.Chave> ORDEM_CONTADORES =
+            Comparator.comparing(ContadorUsuarios.Chave::dimensao).thenComparing(ContadorUsuarios.Chave::valor);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContadorUsuariosRepository contadorUsuariosRepository;
+    private final CadastrosMensaisRepository cadastrosMensaisRepository;
+
+    public EstatisticasUsuariosService(
+            JdbcTemplate jdbcTemplate,
+            ContadorUsuariosRepository contadorUsuariosRepository,
+            CadastrosMensaisRepository cadastrosMensaisRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contadorUsuariosRepository = contadorUsuariosRepository;
+        this.cadastrosMensaisRepository = cadastrosMensaisRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacao(Usuario usuario) {
+        registrarCriacoes(List.of(usuario));
+    }
+
+    /**
+     * Deve ser chamado depois de os usuários serem persistidos, quando a data de criação já foi preenchida.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacoes(Collection<Usuario> usuarios) {
+        Map<ContadorUsuarios.Chave, Long> contadores = new TreeMap<>(ORDEM_CONTADORES);
+        Map<LocalDate, Long> meses = new TreeMap<>();
+        for (Usuario usuario : usuarios) {
+            Perfil.de(usuario).somar(contadores, 1);
+            meses.merge(usuario.getDataCriacao().toLocalDate().withDayOfMonth(1), 1L, Long::sum);
+        }
+        aplicar(contadores, meses);
+    }
+
+    /**
+     * @param antes os atributos contados do usuário antes da alteração
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlteracao(Perfil antes, Usuario depois) {
+        registrarAlteracoes(List.of(antes), List.of(Perfil.de(depois)));
+    }
+
+    /**
+     * Versão em lote de {@link #registrarAlteracao}: um só ajuste por contador para todas as alterações.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAlteracoes(Collection<Perfil> antes, Collection<Perfil> depois) {
+        Map<ContadorUsuarios.Chave, Long> contadores = new TreeMap<>(ORDEM_CONTADORES);
+        antes.forEach(perfil -> perfil.somar(contadores, -1));
+        depois.forEach(perfil -> perfil.somar(contadores, 1));
+        contadores.values().removeIf(delta -> delta == 0);
+        aplicar(contadores, Map.of());
+    }
+
+    @Transactional(readOnly = true)
+    public EstatisticasUsuariosDTO consultar() {
+        Map<DimensaoUsuario, Map<String, Long>> porDimensao = new EnumMap<>(DimensaoUsuario.class);
+        for (DimensaoUsuario dimensao : DimensaoUsuario.values()) {
+            porDimensao.put(dimensao, new TreeMap<>());
+        }
+        for (ContadorUsuarios contador : contadorUsuariosRepository.findAll()) {
+            if (contador.getTotal() > 0) {
+                porDimensao.get(contador.getDimensao()).put(contador.getValor(), contador.getTotal());
+            }
+        }
+
+        Map<String, Long> porMes = new LinkedHashMap<>();
+        cadastrosMensaisRepository.findAll().stream()
+                .filter(mes -> mes.getTotal() > 0)
+                .sorted(Comparator.comparing(CadastrosMensais::getMes))
+                .forEach(mes -> porMes.put(YearMonth.from(mes.getMes()).toString(), mes.getTotal()));
+
+        // Todo usuário tem exatamente um status
+        long total = porDimensao.get(DimensaoUsuario.STATUS).values().stream().mapToLong(Long::longValue).sum();
+        return new EstatisticasUsuariosDTO(total,
+                porDimensao.get(DimensaoUsuario.SETOR),
+                porDimensao.get(DimensaoUsuario.STATUS),
+                porDimensao.get(DimensaoUsuario.TIPO_USUARIO),
+                porMes);
+    }
+
+    /**
+     * Recalcula os contadores a partir de {@code usuarios}.
+     *
+     * As tabelas de contadores ficam bloqueadas para escrita durante o recálculo. Uma transação que já
+     * ajustou um contador termina antes de o recálculo começar (e é contada por ele); uma que ainda não
+     * ajustou espera o recálculo terminar e aplica seu ajuste sobre o resultado. Nos dois casos nada se perde.
+     */
+    @Scheduled(fixedDelayString = "${pointer.usuarios.estatisticas.reconciliacao-ms:3600000}",
+            initialDelayString = "${pointer.usuarios.estatisticas.reconciliacao-inicial-ms:0}")
+    @Transactional
+    public void reconciliar() {
+        jdbcTemplate.execute("LOCK TABLE usuarios_contadores, usuarios_cadastros_mensais IN EXCLUSIVE MODE");
+
+        Map<ContadorUsuarios.Chave, Long> contadores = new TreeMap<>(ORDEM_CONTADORES);
+        jdbcTemplate.query("SELECT 'SETOR', setor, COUNT(*) FROM usuarios GROUP BY setor "
+                        + "UNION ALL SELECT 'STATUS', status, COUNT(*) FROM usuarios GROUP BY status "
+                        + "UNION ALL SELECT 'TIPO_USUARIO', tipo_usuario, COUNT(*) FROM usuarios GROUP BY tipo_usuario",
+                linha -> {
+                    contadores.put(new ContadorUsuarios.Chave(DimensaoUsuario.valueOf(linha.getString(1)),
+                            linha.getString(2)), linha.getLong(3));
+                });
+        Map<LocalDate, Long> meses = new TreeMap<>();
+        jdbcTemplate.query("SELECT CAST(date_trunc('month', dt_criacao) AS date), COUNT(*) FROM usuarios GROUP BY 1",
+                linha -> {
+                    meses.put(linha.getDate(1).toLocalDate(), linha.getLong(2));
+                });
+
+        Map<ContadorUsuarios.Chave, Long> contadoresAtuais = new HashMap<>();
+        contadorUsuariosRepository.findAll().stream()
+                .filter(contador -> contador.getTotal() != 0)
+                .forEach(contador -> contadoresAtuais.put(
+                        new ContadorUsuarios.Chave(contador.getDimensao(), contador.getValor()), contador.getTotal()));
+        Map<LocalDate, Long> mesesAtuais = new HashMap<>();
+        cadastrosMensaisRepository.findAll().stream()
+                .filter(mes -> mes.getTotal() != 0)
+                .forEach(mes -> mesesAtuais.put(mes.getMes(), mes.getTotal()));
+        if (contadoresAtuais.equals(contadores) && mesesAtuais.equals(meses)) {
+            return;
+        }
+
+        logger.info("Estatísticas de usuários reconciliadas: contadores {} -> {}, meses {} -> {}",
+                contadoresAtuais.size(), contadores.size(), mesesAtuais.size(), meses.size());
+        jdbcTemplate.update("DELETE FROM usuarios_contadores");
+        jdbcTemplate.update("DELETE FROM usuarios_cadastros_mensais");
+        aplicar(contadores, meses);
+    }
+
+    private void aplicar(Map<ContadorUsuarios.Chave, Long> contadores, Map<LocalDate, Long> meses) {
+        if (!contadores.isEmpty()) {
+            List<Object[]> argumentos = new ArrayList<>(contadores.size());
+            contadores.forEach((chave, delta) -> argumentos.add(
+                    new Object[]{chave.dimensao().name(), chave.valor(), delta}));
+            jdbcTemplate.batchUpdate(INCREMENTAR_CONTADOR, argumentos);
+        }
+        if (!meses.isEmpty()) {
+            List<Object[]> argumentos = new ArrayList<>(meses.size());
+            meses.forEach((mes, delta) -> argumentos.add(new Object[]{Date.valueOf(mes), delta}));
+            jdbcTemplate.batchUpdate(INCREMENTAR_MES, argumentos);
+        }
+    }
+
+    /**
+     * Os atributos de um usuário que entram nos contadores. Guardado antes de uma alteração para calcular
+     * o ajuste.
+     */
+    public record Perfil(String setor, StatusUsuario status, String tipoUsuario) {
+
+        public static Perfil de(Usuario usuario) {
+            return new Perfil(usuario.getSetor(), usuario.getStatus(), usuario.getTipoUsuario());
+        }
+
+        private void somar(Map<ContadorUsuarios.Chave, Long> contadores, long delta) {
+            somar(contadores, DimensaoUsuario.SETOR, setor, delta);
+            somar(contadores, DimensaoUsuario.STATUS, status == null ? null : status.name(), delta);
+            somar(contadores, DimensaoUsuario.TIPO_USUARIO, tipoUsuario, delta);
+        }
+
+        private static void somar(Map<ContadorUsuarios.Chave, Long> contadores, DimensaoUsuario dimensao,
+                String valor, long delta) {
+            if (valor != null) {
+                contadores.merge(new ContadorUsuarios.Chave(dimensao, valor), delta, Long::sum);
+            }
+        }
+    }
+}
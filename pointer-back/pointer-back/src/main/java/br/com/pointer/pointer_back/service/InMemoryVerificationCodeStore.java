@@ -0,0 +1,108 @@
+package br.com.pointer.pointer_back.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+
+/**
+ * Armazenamento em memória, para instalações com uma única réplica.
+ *
+ * Cada código expira individualmente (roda de tempo do Caffeine, sem threads por entrada) e o total de
+ * entradas é limitado, então o heap não cresce sob uma enxurrada de pedidos de recuperação de senha.
+ */
+@Component
+@ConditionalOnProperty(name = "pointer.verificacao.store", havingValue = "memoria", matchIfMissing = true)
+public class InMemoryVerificationCodeStore implements VerificationCodeStore {
+
+    private final Cache<String, Entrada> codigos;
+    private final int maxTentativas;
+
+    @Autowired
+    public InMemoryVerificationCodeStore(
+            MeterRegistry meterRegistry,
+            @Value("${pointer.verificacao.ttl:PT10M}") Duration ttl,
+            @Value("${pointer.verificacao.max-tentativas:5}") int maxTentativas,
+            @Value("${pointer.verificacao.tamanho-maximo:100000}") long tamanhoMaximo) {
+        this(ttl, maxTentativas, tamanhoMaximo, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, codigos, "verificacao.codigos");
+    }
+
+    InMemoryVerificationCodeStore(Duration ttl, int maxTentativas, long tamanhoMaximo, Ticker ticker) {
+        this.maxTentativas = maxTentativas;
+        long ttlNanos = ttl.toNanos();
+        this.codigos = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Entrada>() {
+                    @Override
+                    public long expireAfterCreate(String email, Entrada entrada, long agora) {
+                        return ttlNanos;
+                    }
+
+                    // Tentativas erradas não renovam o prazo do código
+                    @Override
+                    public long expireAfterUpdate(String email, Entrada entrada, long agora, long restante) {
+                        return entrada.tentativas() == 0 ? ttlNanos : restante;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Entrada entrada, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void salvar(String email, String codigo) {
+        codigos.put(email, new Entrada(codigo, 0));
+    }
+
+    @Override
+    public boolean verificar(String email, String codigo) {
+        if (codigo == null) {
+            return false;
+        }
+
+        boolean[] valido = {false};
+        codigos.asMap().computeIfPresent(email, (chave, entrada) -> {
+            if (iguais(entrada.codigo(), codigo)) {
+                valido[0] = true;
+                return null;
+            }
+            int tentativas = entrada.tentativas() + 1;
+            return tentativas >= maxTentativas ? null : new Entrada(entrada.codigo(), tentativas);
+        });
+        return valido[0];
+    }
+
+    @Override
+    public void remover(String email) {
+        codigos.invalidate(email);
+    }
+
+    long tamanho() {
+        codigos.cleanUp();
+        return codigos.estimatedSize();
+    }
+
+    private static boolean iguais(String esperado, String informado) {
+        return MessageDigest.isEqual(
+                esperado.getBytes(StandardCharsets.UTF_8), informado.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record Entrada(String codigo, int tentativas) {
+    }
+}
@@ -2,33 +2,47 @@ package br.com.pointer.pointer_back.service;
 
 import br.com.pointer.pointer_back.exception.EmailInvalidoException;
 import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
 import br.com.pointer.pointer_back.exception.SenhaInvalidaException;
 import br.com.pointer.pointer_back.exception.UsuarioJaExisteException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.ws.rs.core.Response;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.admin.client.resource.RealmResource;
 import org.keycloak.admin.client.resource.UserResource;
-import org.keycloak.admin.client.resource.UsersResource;
 import org.keycloak.representations.idm.CredentialRepresentation;
 import org.keycloak.representations.idm.RoleRepresentation;
 import org.keycloak.representations.idm.UserRepresentation;
+import org.keycloak.representations.idm.UserSessionRepresentation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "pointer.keycloak.admin", description = "Duração de cada operação do cliente admin do Keycloak")
 public class KeycloakAdminService {
 
     private Keycloak keycloak;
     private final String realm;
+    private final long ttlRolesNanos;
+
+    // Roles do realm mudam raramente: uma única listagem serve todas as atribuições até o TTL vencer
+    private volatile RolesDoRealm rolesDoRealm;
 
     public KeycloakAdminService(
             Keycloak keycloak,
-            @Value("${keycloak.realm}") String realm) {
+            @Value("${keycloak.realm}") String realm,
+            @Value("${pointer.keycloak.roles.ttl:PT10M}") Duration ttlRoles) {
         this.keycloak = keycloak;
         this.realm = realm;
+        this.ttlRolesNanos = ttlRoles.toNanos();
     }
 
     // Método para testes
@@ -42,58 +56,76 @@ public class KeycloakAdminService {
      * @throws KeycloakException se houver erro na criação do usuário
      */
     public String createUserAndReturnId(String nome, String email, String senha) {
-        if (nome == null || nome.trim().isEmpty()) {
-            throw new IllegalArgumentException("Nome não pode ser vazio");
-        }
-        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
-            throw new EmailInvalidoException("Email inválido");
-        }
-        if (senha == null || senha.length() < 8) {
-            throw new SenhaInvalidaException("Senha deve ter pelo menos 8 caracteres");
-        }
+        validarNovoUsuario(nome, email, senha);
 
-        try {
-            RealmResource realmResource = keycloak.realm(realm);
-            UsersResource usersResource = realmResource.users();
+        String[] nomeRealArray = nome.trim().split(" ", 2);
+        String nomeReal = nomeRealArray[0];
+        String sobrenomeReal = nomeRealArray.length > 1 ? nomeRealArray[1] : "";
 
-            // Verifica se já existe usuário com este email
-            if (!usersResource.search(email).isEmpty()) {
-                throw new UsuarioJaExisteException("Já existe um usuário com este email");
-            }
+        UserRepresentation user = new UserRepresentation();
+        user.setUsername(email);
+        user.setEmail(email);
+        user.setFirstName(nomeReal);
+        user.setLastName(sobrenomeReal);
+        user.setEnabled(true);
 
-            String[] nomeRealArray = nome.split(" ");
-            String nomeReal = nomeRealArray[0];
-            String sobrenomeReal = nomeRealArray[1];
+        return criarUsuario(user, senha);
+    }
 
-            UserRepresentation user = new UserRepresentation();
-            user.setUsername(email);
-            user.setEmail(email);
-            user.setFirstName(nomeReal);
-            user.setLastName(sobrenomeReal);
-            user.setEnabled(true);
+    /**
+     * Cria o usuário com a senha na mesma requisição e retorna o ID. Não há busca prévia: um email
+     * já cadastrado é detectado pelo 409 do próprio Keycloak.
+     *
+     * @throws UsuarioJaExisteException se já existir usuário com o mesmo username ou email
+     * @throws KeycloakException se houver erro na criação do usuário
+     */
+    public String criarUsuario(UserRepresentation user, String senha) {
+        validarNovoUsuario(user.getFirstName(), user.getEmail(), senha);
+
+        CredentialRepresentation credential = new CredentialRepresentation();
+        credential.setType(CredentialRepresentation.PASSWORD);
+        credential.setValue(senha);
+        credential.setTemporary(false);
+        user.setCredentials(List.of(credential));
+        if (user.isEmailVerified() == null) {
             user.setEmailVerified(false);
+        }
 
-            try (Response response = usersResource.create(user)) {
-                if (response.getStatus() == 201) {
-                    String location = response.getHeaderString("Location");
-                    String userId = location.substring(location.lastIndexOf('/') + 1);
-
-                    // Define a senha do usuário
-                    setUserPassword(userId, senha);
-
-                    return userId;
-                } else {
-                    String error = response.readEntity(String.class);
-                    throw new KeycloakException(
-                            "Erro ao criar usuário no Keycloak. Status: " + response.getStatus() + ". Erro: " + error);
-                }
+        try (Response response = keycloak.realm(realm).users().create(user)) {
+            if (response.getStatus() == 201) {
+                String location = response.getHeaderString("Location");
+                return location.substring(location.lastIndexOf('/') + 1);
             }
-        } catch (Exception e) {
-            if (e instanceof KeycloakException || e instanceof UsuarioJaExisteException ||
-                    e instanceof EmailInvalidoException || e instanceof SenhaInvalidaException) {
-                throw e;
+            if (response.getStatus() == 409) {
+                throw new UsuarioJaExisteException("Já existe um usuário com este email");
             }
-            throw new KeycloakException("Erro ao criar usuário: " + e.getMessage(), e);
+            String error = response.readEntity(String.class);
+            throw new KeycloakException(
+                    "Erro ao criar usuário no Keycloak. Status: " + response.getStatus() + ". Erro: " + error);
+        } catch (KeycloakException | UsuarioJaExisteException e) {
+            throw e;
+        } catch (Exception e) {
+            throw falha("Erro ao criar usuário", e);
+        } finally {
+            user.setCredentials(null);
+        }
+    }
+
+    /**
+     * Valida os dados exigidos pelo Keycloak para criar um usuário, sem chamá-lo
+     *
+     * @throws EmailInvalidoException se o email for inválido
+     * @throws SenhaInvalidaException se a senha não atender ao tamanho mínimo
+     */
+    public void validarNovoUsuario(String nome, String email, String senha) {
+        if (nome == null || nome.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nome não pode ser vazio");
+        }
+        if (email == null || !email.matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
+            throw new EmailInvalidoException("Email inválido");
+        }
+        if (senha == null || senha.length() < 8) {
+            throw new SenhaInvalidaException("Senha deve ter pelo menos 8 caracteres");
         }
     }
 
@@ -122,7 +154,7 @@ public class KeycloakAdminService {
             if (e instanceof SenhaInvalidaException) {
                 throw e;
             }
-            throw new KeycloakException("Erro ao definir senha do usuário: " + e.getMessage(), e);
+            throw falha("Erro ao definir senha do usuário", e);
         }
     }
 
@@ -141,60 +173,130 @@ public class KeycloakAdminService {
 
         try {
             RealmResource realmResource = keycloak.realm(realm);
-            List<RoleRepresentation> roleRepresentations = roles.stream()
-                    .map(roleName -> {
-                        RoleRepresentation role = realmResource.roles().get(roleName).toRepresentation();
-                        if (role == null) {
-                            throw new IllegalArgumentException("Role não encontrada: " + roleName);
-                        }
-                        return role;
-                    })
-                    .collect(Collectors.toList());
+            List<RoleRepresentation> roleRepresentations = resolverRoles(realmResource, roles);
 
             realmResource.users().get(userId).roles().realmLevel().add(roleRepresentations);
         } catch (Exception e) {
             if (e instanceof IllegalArgumentException) {
                 throw e;
             }
-            throw new KeycloakException("Erro ao atribuir roles ao usuário: " + e.getMessage(), e);
+            throw falha("Erro ao atribuir roles ao usuário", e);
         }
     }
 
-    public void disableUser(String email) {
+    /**
+     * Busca o ID do usuário no Keycloak pelo email (busca exata)
+     *
+     * @throws KeycloakException se houver erro na consulta
+     */
+    public Optional<String> buscarIdPorEmail(String email) {
+        return buscarPorEmail(email).map(UserRepresentation::getId);
+    }
+
+    /**
+     * Busca o usuário no Keycloak pelo email (busca exata), com os atributos
+     *
+     * @throws KeycloakException se houver erro na consulta
+     */
+    public Optional<UserRepresentation> buscarPorEmail(String email) {
         if (email == null || email.trim().isEmpty()) {
             throw new IllegalArgumentException("Email não pode ser vazio");
         }
 
         try {
             RealmResource realmResource = keycloak.realm(realm);
-            UserRepresentation user = realmResource.users().search(email).stream()
-                    .findFirst()
-                    .orElseThrow(() -> new KeycloakException("Usuário não encontrado: " + email));
+            return realmResource.users().searchByEmail(email, true).stream().findFirst();
+        } catch (Exception e) {
+            throw falha("Erro ao buscar usuário por email", e);
+        }
+    }
 
-            user.setEnabled(false);
-            
-            realmResource.users().get(user.getId()).update(user);
-            realmResource.users().get(user.getId()).logout();
+    /**
+     * Lista os nomes das roles de realm atribuídas ao usuário
+     *
+     * @throws KeycloakException se houver erro na consulta
+     */
+    public Set<String> listarRolesDoUsuario(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do usuário não pode ser vazio");
+        }
+
+        try {
+            return keycloak.realm(realm).users().get(userId).roles().realmLevel().listAll().stream()
+                    .map(RoleRepresentation::getName)
+                    .collect(Collectors.toSet());
         } catch (Exception e) {
-            throw new KeycloakException("Erro ao desativar usuário: " + e.getMessage(), e);
+            throw falha("Erro ao obter roles do usuário", e);
         }
     }
 
-    public void enableUser(String email) {
-        if (email == null || email.trim().isEmpty()) {
-            throw new IllegalArgumentException("Email não pode ser vazio");
+    public void disableUser(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do usuário não pode ser vazio");
         }
 
         try {
-            RealmResource realmResource = keycloak.realm(realm);
-            UserRepresentation user = realmResource.users().search(email).stream()
-                    .findFirst()
-                    .orElseThrow(() -> new KeycloakException("Usuário não encontrado: " + email));
+            UserRepresentation user = new UserRepresentation();
+            user.setEnabled(false);
 
+            UserResource userResource = keycloak.realm(realm).users().get(userId);
+            userResource.update(user);
+            userResource.logout();
+        } catch (Exception e) {
+            throw falha("Erro ao desativar usuário", e);
+        }
+    }
+
+    public void enableUser(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do usuário não pode ser vazio");
+        }
+
+        try {
+            UserRepresentation user = new UserRepresentation();
             user.setEnabled(true);
-            realmResource.users().get(user.getId()).update(user);
+
+            keycloak.realm(realm).users().get(userId).update(user);
         } catch (Exception e) {
-            throw new KeycloakException("Erro ao ativar usuário: " + e.getMessage(), e);
+            throw falha("Erro ao ativar usuário", e);
+        }
+    }
+
+    public void logoutUser(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do usuário não pode ser vazio");
+        }
+
+        try {
+            keycloak.realm(realm).users().get(userId).logout();
+        } catch (Exception e) {
+            throw falha("Erro ao encerrar sessões do usuário", e);
+        }
+    }
+
+    /**
+     * Encerra as sessões do usuário, exceto {@code sessaoMantida}
+     *
+     * @return quantidade de sessões encerradas
+     * @throws KeycloakException se houver erro na operação
+     */
+    public int encerrarOutrasSessoes(String userId, String sessaoMantida) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("ID do usuário não pode ser vazio");
+        }
+
+        try {
+            RealmResource realmResource = keycloak.realm(realm);
+            int encerradas = 0;
+            for (UserSessionRepresentation sessao : realmResource.users().get(userId).getUserSessions()) {
+                if (!sessao.getId().equals(sessaoMantida)) {
+                    realmResource.deleteSession(sessao.getId());
+                    encerradas++;
+                }
+            }
+            return encerradas;
+        } catch (Exception e) {
+            throw falha("Erro ao encerrar sessões do usuário", e);
         }
     }
 
@@ -207,7 +309,7 @@ public class KeycloakAdminService {
             RealmResource realmResource = keycloak.realm(realm);
             realmResource.users().get(userId).update(user);
         } catch (Exception e) {
-            throw new KeycloakException("Erro ao atualizar usuário: " + e.getMessage(), e);
+            throw falha("Erro ao atualizar usuário", e);
         }
 
     }
@@ -222,22 +324,14 @@ public class KeycloakAdminService {
 
         try {
             RealmResource realmResource = keycloak.realm(realm);
-            List<RoleRepresentation> roleRepresentations = roles.stream()
-                    .map(roleName -> {
-                        RoleRepresentation role = realmResource.roles().get(roleName).toRepresentation();
-                        if (role == null) {
-                            throw new IllegalArgumentException("Role não encontrada: " + roleName);
-                        }
-                        return role;
-                    })
-                    .collect(Collectors.toList());
+            List<RoleRepresentation> roleRepresentations = resolverRoles(realmResource, roles);
 
             realmResource.users().get(userId).roles().realmLevel().remove(roleRepresentations);
         } catch (Exception e) {
             if (e instanceof IllegalArgumentException) {
                 throw e;
             }
-            throw new KeycloakException("Erro ao remover roles do usuário: " + e.getMessage(), e);
+            throw falha("Erro ao remover roles do usuário", e);
         }
     }
 
@@ -252,12 +346,6 @@ public class KeycloakAdminService {
         try {
             RealmResource realmResource = keycloak.realm(realm);
             UserResource userResource = realmResource.users().get(userId);
-            
-            // Verifica se o usuário existe
-            UserRepresentation user = userResource.toRepresentation();
-            if (user == null) {
-                throw new KeycloakException("Usuário não encontrado com o ID: " + userId);
-            }
 
             // Cria o objeto de credenciais com a nova senha
             CredentialRepresentation credential = new CredentialRepresentation();
@@ -268,6 +356,9 @@ public class KeycloakAdminService {
             // Tenta resetar a senha e captura a resposta
             try {
                 userResource.resetPassword(credential);
+            } catch (jakarta.ws.rs.NotFoundException nfe) {
+                // Usuário inexistente: o reset responde 404, sem precisar de uma consulta antes
+                throw new KeycloakException("Usuário não encontrado com o ID: " + userId);
             } catch (jakarta.ws.rs.WebApplicationException wae) {
                 String errorMessage = wae.getResponse().readEntity(String.class);
                 throw new KeycloakException("Erro ao resetar senha: Status " + wae.getResponse().getStatus() + " - " + errorMessage);
@@ -277,8 +368,53 @@ public class KeycloakAdminService {
             if (e instanceof KeycloakException) {
                 throw e;
             }
-            throw new KeycloakException("Erro ao atualizar senha: " + e.getMessage(), e);
+            throw falha("Erro ao atualizar senha", e);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Erro do Keycloak com o contexto da operação. Recusas do disjuntor ou do bulkhead passam adiante como
+     * estão, para que virem 503 e não sejam confundidas com erros da própria chamada.
+     */
+    private static KeycloakException falha(String operacao, Exception e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof KeycloakIndisponivelException indisponivel) {
+                return indisponivel;
+            }
+        }
+        return new KeycloakException(operacao + ": " + e.getMessage(), e);
+    }
+
+    /**
+     * Representações das roles pedidas, vindas do cache de roles do realm. Um nome desconhecido força
+     * uma nova listagem antes de ser rejeitado, para enxergar roles criadas depois do carregamento.
+     */
+    private List<RoleRepresentation> resolverRoles(RealmResource realmResource, Set<String> nomes) {
+        RolesDoRealm roles = rolesDoRealm;
+        if (roles == null || System.nanoTime() - roles.carregadasEm() > ttlRolesNanos
+                || !roles.porNome().keySet().containsAll(nomes)) {
+            roles = carregarRoles(realmResource);
+        }
+
+        List<RoleRepresentation> representacoes = new ArrayList<>(nomes.size());
+        for (String nome : nomes) {
+            RoleRepresentation role = roles.porNome().get(nome);
+            if (role == null) {
+                throw new IllegalArgumentException("Role não encontrada: " + nome);
+            }
+            representacoes.add(role);
+        }
+        return representacoes;
+    }
+
+    private RolesDoRealm carregarRoles(RealmResource realmResource) {
+        Map<String, RoleRepresentation> porNome = realmResource.roles().list().stream()
+                .collect(Collectors.toUnmodifiableMap(RoleRepresentation::getName, Function.identity()));
+        RolesDoRealm roles = new RolesDoRealm(porNome, System.nanoTime());
+        rolesDoRealm = roles;
+        return roles;
+    }
+
+    private record RolesDoRealm(Map<String, RoleRepresentation> porNome, long carregadasEm) {
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Preenche, uma única vez, o ID do Keycloak dos usuários cadastrados antes da coluna existir.
+ *
+ * Roda em segundo plano após a inicialização e percorre apenas as linhas com keycloak_id nulo,
+ * então nas execuções seguintes custa uma única consulta vazia. Linhas com criação pendente ou em falha
+ * são ignoradas: o ID delas vem da outbox, nunca de uma conta encontrada pelo email.
+ */
+@Component
+public class KeycloakIdBackfillJob {
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakIdBackfillJob.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final KeycloakAdminService keycloakAdminService;
+    private final KeycloakIdResolver keycloakIdResolver;
+    private final boolean habilitado;
+    private final int tamanhoLote;
+    private final FabricaExecutores fabricaExecutores;
+
+    public KeycloakIdBackfillJob(
+            UsuarioRepository usuarioRepository,
+            KeycloakAdminService keycloakAdminService,
+            KeycloakIdResolver keycloakIdResolver,
+            @Value("${pointer.keycloak.backfill.habilitado:true}") boolean habilitado,
+            @Value("${pointer.keycloak.backfill.tamanho-lote:100}") int tamanhoLote,
+            FabricaExecutores fabricaExecutores) {
+        this.usuarioRepository = usuarioRepository;
+        this.keycloakAdminService = keycloakAdminService;
+        this.keycloakIdResolver = keycloakIdResolver;
+        this.habilitado = habilitado;
+        this.tamanhoLote = tamanhoLote;
+        this.fabricaExecutores = fabricaExecutores;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        fabricaExecutores.iniciar("keycloak-id-backfill", this::executar);
+    }
+
+    void executar() {
+        long ultimoId = 0L;
+        int preenchidos = 0;
+        int naoEncontrados = 0;
+        int ignorados = 0;
+
+        try {
+            List<Usuario> lote;
+            do {
+                lote = usuarioRepository.findByKeycloakIdIsNullAndIdGreaterThanOrderByIdAsc(
+                        ultimoId, PageRequest.of(0, tamanhoLote));
+
+                for (Usuario usuario : lote) {
+                    ultimoId = usuario.getId();
+                    if (!KeycloakIdResolver.podeAdotarPorEmail(usuario)) {
+                        ignorados++;
+                        continue;
+                    }
+                    var userId = keycloakAdminService.buscarIdPorEmail(usuario.getEmail());
+                    if (userId.isEmpty()) {
+                        naoEncontrados++;
+                    } else if (usuarioRepository.atualizarKeycloakIdPorEmail(usuario.getEmail(), userId.get()) > 0) {
+                        keycloakIdResolver.registrar(usuario.getEmail(), userId.get());
+                        preenchidos++;
+                    } else {
+                        ignorados++;
+                    }
+                }
+            } while (lote.size() == tamanhoLote);
+        } catch (Exception e) {
+            logger.error("Erro ao preencher IDs do Keycloak, o processo será retomado na próxima inicialização: ", e);
+        }
+
+        if (preenchidos > 0 || naoEncontrados > 0 || ignorados > 0) {
+            logger.info("Backfill de IDs do Keycloak concluído: {} preenchidos, {} não encontrados no Keycloak, "
+                    + "{} deixados para a outbox", preenchidos, naoEncontrados, ignorados);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Resolve o ID do usuário no Keycloak a partir do email.
+ *
+ * Usa o ID persistido em {@link Usuario#getKeycloakId()} sempre que possível. Para linhas
+ * ainda não preenchidas, consulta um cache email → ID e, em último caso, faz uma busca
+ * exata no Keycloak, gravando o resultado no banco para as próximas chamadas.
+ *
+ * A busca por email só vale para usuários já sincronizados (ou anteriores à outbox). Com a criação pendente
+ * ou em falha, uma conta com o mesmo email não é necessariamente deste usuário e nunca é adotada; o ID vem
+ * apenas da outbox, que o grava ao criar a conta.
+ */
+@Service
+public class KeycloakIdResolver {
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakIdResolver.class);
+
+    private final UsuarioRepository usuarioRepository;
+    private final KeycloakAdminService keycloakAdminService;
+    private final Cache<String, String> cache;
+
+    public KeycloakIdResolver(
+            UsuarioRepository usuarioRepository,
+            KeycloakAdminService keycloakAdminService,
+            MeterRegistry meterRegistry,
+            @Value("${pointer.keycloak.id-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${pointer.keycloak.id-cache.ttl:PT1H}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.keycloakAdminService = keycloakAdminService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "keycloak.ids");
+    }
+
+    /**
+     * Retorna o ID do usuário no Keycloak, preenchendo a entidade quando ainda não estava persistido.
+     */
+    public Optional<String> resolver(Usuario usuario) {
+        if (usuario.getKeycloakId() != null) {
+            return Optional.of(usuario.getKeycloakId());
+        }
+
+        Optional<String> userId = podeAdotarPorEmail(usuario)
+                ? resolverPorEmail(usuario.getEmail())
+                : usuarioRepository.findKeycloakIdByEmail(usuario.getEmail());
+        userId.ifPresent(usuario::setKeycloakId);
+        return userId;
+    }
+
+    static boolean podeAdotarPorEmail(Usuario usuario) {
+        return usuario.getStatusSincronizacao() == null
+                || usuario.getStatusSincronizacao() == StatusSincronizacao.SINCRONIZADO;
+    }
+
+    public Optional<String> resolverPorEmail(String email) {
+        return Optional.ofNullable(cache.get(email, this::carregar));
+    }
+
+    public void registrar(String email, String keycloakId) {
+        cache.put(email, keycloakId);
+    }
+
+    public void invalidar(String email) {
+        cache.invalidate(email);
+    }
+
+    private String carregar(String email) {
+        return usuarioRepository.findKeycloakIdByEmail(email)
+                .or(() -> buscarNoKeycloak(email))
+                .orElse(null);
+    }
+
+    // A conta só é devolvida se a linha a adotou; sem isso (linha inexistente, não sincronizada ou preenchida
+    // por outra thread) vale o que estiver gravado no banco
+    private Optional<String> buscarNoKeycloak(String email) {
+        Optional<String> userId = keycloakAdminService.buscarIdPorEmail(email);
+        if (userId.isEmpty()) {
+            return userId;
+        }
+        if (usuarioRepository.atualizarKeycloakIdPorEmail(email, userId.get()) > 0) {
+            logger.info("ID do Keycloak preenchido sob demanda para o usuário {}", email);
+            return userId;
+        }
+        return usuarioRepository.findKeycloakIdByEmail(email);
+    }
+}
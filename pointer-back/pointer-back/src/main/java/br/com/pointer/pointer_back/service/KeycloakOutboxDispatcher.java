@@ -0,0 +1,469 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.exception.EmailInvalidoException;
+import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import br.com.pointer.pointer_back.exception.SenhaInvalidaException;
+import br.com.pointer.pointer_back.exception.UsuarioJaExisteException;
+import br.com.pointer.pointer_back.model.SincronizacaoKeycloak;
+import br.com.pointer.pointer_back.model.StatusEventoSincronizacao;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.TipoSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.SincronizacaoKeycloakRepository;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import br.com.pointer.pointer_back.security.CifradorSenhaOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drena a outbox de sincronização com o Keycloak.
+ *
+ * Os eventos são reservados em lote numa transação curta, enviados ao Keycloak fora de qualquer
+ * transação e marcados como concluídos (ou reagendados com backoff exponencial) em outra transação
+ * curta. Nenhuma conexão do pool fica presa enquanto o Keycloak responde.
+ *
+ * Cada lote é enviado com paralelismo limitado ({@code pointer.keycloak.outbox.paralelismo}), o que
+ * torna viável provisionar milhares de usuários de uma importação em massa.
+ *
+ * A sincronização é baseada em estado: o evento só indica o que fazer, e os dados enviados são
+ * lidos da linha de {@link Usuario} no momento do envio. Assim, eventos repetidos ou reprocessados
+ * após uma queda produzem o mesmo resultado.
+ *
+ * Eventos que esgotam as tentativas vão para falha e são contados em {@code pointer.keycloak.outbox.falhas};
+ * eles não bloqueiam os eventos seguintes do mesmo usuário.
+ */
+@Component
+public class KeycloakOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(KeycloakOutboxDispatcher.class);
+
+    // Roles atribuídas a partir do tipo de usuário; as demais (ex.: default-roles do realm) não são tocadas
+    private static final Set<String> ROLES_GERENCIADAS = Set.of("admin", "gestor", "colaborador");
+    // Marca as contas criadas pela aplicação; só uma conta com o ID do próprio usuário pode ser assumida
+    static final String ATRIBUTO_USUARIO_ID = "pointerUsuarioId";
+    private static final Set<StatusEventoSincronizacao> EM_ABERTO =
+            Set.of(StatusEventoSincronizacao.PENDENTE, StatusEventoSincronizacao.PROCESSANDO);
+
+    private final SincronizacaoKeycloakRepository sincronizacaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final KeycloakAdminService keycloakAdminService;
+    private final KeycloakIdResolver keycloakIdResolver;
+    private final UsuarioCache usuarioCache;
+    private final RevisaoUsuarios revisaoUsuarios;
+    private final CifradorSenhaOutbox cifrador;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter falhas;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Duration reserva;
+
+    private final ExecutorService executor;
+    private final ExecutorService workers;
+    private final ExecutorService chamadas;
+    private final int paralelismo;
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+    private final AtomicBoolean despertarAgendado = new AtomicBoolean();
+    private final AtomicBoolean novosEventos = new AtomicBoolean();
+
+    public KeycloakOutboxDispatcher(
+            SincronizacaoKeycloakRepository sincronizacaoRepository,
+            UsuarioRepository usuarioRepository,
+            KeycloakAdminService keycloakAdminService,
+            KeycloakIdResolver keycloakIdResolver,
+            UsuarioCache usuarioCache,
+            RevisaoUsuarios revisaoUsuarios,
+            CifradorSenhaOutbox cifrador,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${pointer.keycloak.outbox.tamanho-lote:50}") int tamanhoLote,
+            @Value("${pointer.keycloak.outbox.max-tentativas:8}") int maxTentativas,
+            @Value("${pointer.keycloak.outbox.backoff-inicial:PT2S}") Duration backoffInicial,
+            @Value("${pointer.keycloak.outbox.backoff-maximo:PT5M}") Duration backoffMaximo,
+            @Value("${pointer.keycloak.outbox.reserva:PT5M}") Duration reserva,
+            @Value("${pointer.keycloak.outbox.paralelismo:8}") int paralelismo,
+            FabricaExecutores fabricaExecutores) {
+        this.sincronizacaoRepository = sincronizacaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.keycloakAdminService = keycloakAdminService;
+        this.keycloakIdResolver = keycloakIdResolver;
+        this.usuarioCache = usuarioCache;
+        this.revisaoUsuarios = revisaoUsuarios;
+        this.cifrador = cifrador;
+        this.transactionTemplate = transactionTemplate;
+        this.falhas = meterRegistry.counter("pointer.keycloak.outbox.falhas");
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.backoffInicial = backoffInicial;
+        this.backoffMaximo = backoffMaximo;
+        this.reserva = reserva;
+        this.paralelismo = paralelismo;
+
+        this.executor = fabricaExecutores.limitado("keycloak-outbox", 1);
+        this.workers = fabricaExecutores.limitado("keycloak-outbox-worker", paralelismo);
+        // Chamadas independentes de um mesmo evento; as tarefas daqui nunca esperam outras, então não há deadlock
+        this.chamadas = fabricaExecutores.limitado("keycloak-outbox-chamada", paralelismo);
+    }
+
+    /**
+     * Pede uma drenagem imediata, sem esperar o próximo ciclo agendado.
+     */
+    public void acordar() {
+        novosEventos.set(true);
+        if (despertarAgendado.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                despertarAgendado.set(false);
+                drenar();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pointer.keycloak.outbox.intervalo-ms:5000}")
+    public void drenarPeriodicamente() {
+        drenar();
+    }
+
+    void drenar() {
+        if (!emExecucao.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            boolean continuar;
+            do {
+                novosEventos.set(false);
+                List<SincronizacaoKeycloak> lote = reservarLote();
+                processarLote(lote);
+                continuar = lote.size() == tamanhoLote || (!lote.isEmpty() && novosEventos.get());
+            } while (continuar);
+        } catch (Exception e) {
+            logger.error("Erro ao drenar a outbox do Keycloak: ", e);
+        } finally {
+            emExecucao.set(false);
+        }
+    }
+
+    private List<SincronizacaoKeycloak> reservarLote() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now();
+            List<SincronizacaoKeycloak> lote = sincronizacaoRepository.buscarProntosParaEnvio(
+                    agora, PageRequest.of(0, tamanhoLote));
+            lote.forEach(evento -> {
+                evento.setStatus(StatusEventoSincronizacao.PROCESSANDO);
+                evento.setProximaTentativa(agora.plus(reserva));
+                // A senha continua na linha até a conclusão, para sobreviver a uma queda no meio da tentativa;
+                // a cópia serve para perceber, ao concluir, se outra senha foi gravada nesse meio-tempo
+                evento.setSenhaReservada(evento.getSenha());
+            });
+            return lote;
+        });
+    }
+
+    /**
+     * Processa o lote com até {@code paralelismo} usuários ao mesmo tempo. Eventos do mesmo usuário
+     * seguem em ordem, na mesma thread.
+     */
+    private void processarLote(List<SincronizacaoKeycloak> lote) {
+        if (paralelismo <= 1 || lote.size() <= 1) {
+            lote.forEach(this::processar);
+            return;
+        }
+
+        Map<Long, List<SincronizacaoKeycloak>> porUsuario = new LinkedHashMap<>();
+        lote.forEach(evento -> porUsuario.computeIfAbsent(evento.getUsuarioId(), id -> new ArrayList<>()).add(evento));
+
+        CompletableFuture<?>[] tarefas = porUsuario.values().stream()
+                .map(eventos -> CompletableFuture.runAsync(() -> eventos.forEach(this::processar), workers))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(tarefas).join();
+    }
+
+    private void processar(SincronizacaoKeycloak evento) {
+        try {
+            aplicar(evento);
+            concluir(evento);
+        } catch (Exception e) {
+            registrarFalha(evento, e);
+        }
+    }
+
+    private void aplicar(SincronizacaoKeycloak evento) {
+        Usuario usuario = usuarioRepository.findById(evento.getUsuarioId()).orElse(null);
+        if (usuario == null) {
+            logger.warn("Usuário {} não existe mais, evento {} descartado", evento.getUsuarioId(), evento.getId());
+            return;
+        }
+
+        switch (evento.getTipo()) {
+            case CRIAR -> criarNoKeycloak(usuario, evento);
+            case ATUALIZAR -> atualizarNoKeycloak(usuario);
+        }
+    }
+
+    /**
+     * Duas chamadas no caminho normal: criação (com senha, status e atributos no mesmo corpo) e
+     * atribuição das roles, resolvidas pelo cache de roles do {@link KeycloakAdminService}.
+     */
+    private void criarNoKeycloak(Usuario usuario, SincronizacaoKeycloak evento) {
+        String senhaCifrada = evento.getSenhaReservada();
+        if (usuario.getKeycloakId() != null) {
+            // Já criado: a senha é reaplicada (trocada durante a criação, ou a conclusão não chegou a ser gravada)
+            if (senhaCifrada != null) {
+                keycloakAdminService.setUserPassword(usuario.getKeycloakId(), decifrar(senhaCifrada));
+            }
+            return;
+        }
+
+        String senha = decifrar(senhaCifrada);
+        UserRepresentation user = criarUserRepresentation(usuario);
+        String userId;
+        try {
+            userId = keycloakAdminService.criarUsuario(user, senha);
+        } catch (UsuarioJaExisteException e) {
+            // Uma tentativa anterior pode ter criado o usuário sem chegar a gravar o ID; qualquer outra conta
+            // com o mesmo email é de outra pessoa ou foi criada à mão, e não é assumida
+            userId = keycloakAdminService.buscarPorEmail(usuario.getEmail())
+                    .filter(existente -> criadaPorEsteEvento(existente, usuario, evento))
+                    .map(UserRepresentation::getId)
+                    .orElseThrow(() -> new UsuarioJaExisteException("Já existe no Keycloak uma conta com o email "
+                            + usuario.getEmail() + " que não foi criada pela aplicação"));
+            keycloakAdminService.updateUser(userId, user);
+            keycloakAdminService.setUserPassword(userId, senha);
+        }
+
+        keycloakAdminService.assignRolesToUser(userId, obterRolesPorTipo(usuario.getTipoUsuario()));
+
+        usuarioRepository.atualizarKeycloakId(usuario.getId(), userId);
+        keycloakIdResolver.registrar(usuario.getEmail(), userId);
+    }
+
+    private String decifrar(String senhaCifrada) {
+        return cifrador.decifrar(senhaCifrada)
+                .orElseThrow(() -> new SenhaInvalidaException("Senha da criação indisponível na outbox"));
+    }
+
+    /**
+     * A conta é nossa se trouxer o ID do usuário no atributo {@value #ATRIBUTO_USUARIO_ID}. Realms que
+     * descartam atributos fora do perfil de usuário não o guardam; nesse caso vale a data: uma conta criada
+     * antes do evento não pode ter sido criada por ele.
+     */
+    static boolean criadaPorEsteEvento(UserRepresentation existente, Usuario usuario, SincronizacaoKeycloak evento) {
+        List<String> ids = existente.getAttributes() == null ? null
+                : existente.getAttributes().get(ATRIBUTO_USUARIO_ID);
+        if (ids != null) {
+            return ids.contains(String.valueOf(usuario.getId()));
+        }
+        Long criacao = existente.getCreatedTimestamp();
+        return criacao != null && evento.getDataCriacao() != null
+                && criacao >= evento.getDataCriacao().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Atualiza o perfil e a leitura das roles atuais em paralelo; depois só remove ou adiciona as roles
+     * gerenciadas pela aplicação que de fato mudaram.
+     */
+    private void atualizarNoKeycloak(Usuario usuario) {
+        String userId = obterKeycloakId(usuario);
+
+        CompletableFuture<Set<String>> rolesAtuais = CompletableFuture.supplyAsync(
+                () -> keycloakAdminService.listarRolesDoUsuario(userId), chamadas);
+        keycloakAdminService.updateUser(userId, criarUserRepresentation(usuario));
+
+        Set<String> atuais = aguardar(rolesAtuais);
+        Set<String> desejadas = obterRolesPorTipo(usuario.getTipoUsuario());
+
+        Set<String> remover = new HashSet<>(atuais);
+        remover.retainAll(ROLES_GERENCIADAS);
+        remover.removeAll(desejadas);
+        Set<String> adicionar = new HashSet<>(desejadas);
+        adicionar.removeAll(atuais);
+
+        CompletableFuture<Void> remocao = remover.isEmpty()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(() -> keycloakAdminService.removeRolesFromUser(userId, remover), chamadas);
+        if (!adicionar.isEmpty()) {
+            keycloakAdminService.assignRolesToUser(userId, adicionar);
+        }
+        aguardar(remocao);
+    }
+
+    /**
+     * Sem ID gravado, a conta só é procurada pelo email se o usuário é anterior à outbox (nunca teve evento de
+     * criação). Com criação registrada, ela falhou: a conta com o email não é deste usuário e não é tocada.
+     */
+    private String obterKeycloakId(Usuario usuario) {
+        if (usuario.getKeycloakId() != null) {
+            return usuario.getKeycloakId();
+        }
+        if (sincronizacaoRepository.existsByUsuarioIdAndTipo(usuario.getId(), TipoSincronizacao.CRIAR)) {
+            throw new IllegalStateException("Criação do usuário " + usuario.getEmail()
+                    + " no Keycloak não foi concluída; não há conta a atualizar");
+        }
+        String userId = keycloakAdminService.buscarIdPorEmail(usuario.getEmail())
+                .orElseThrow(() -> new KeycloakException("Usuário não encontrado no Keycloak: " + usuario.getEmail()));
+        usuarioRepository.atualizarKeycloakId(usuario.getId(), userId);
+        keycloakIdResolver.registrar(usuario.getEmail(), userId);
+        return userId;
+    }
+
+    private static <T> T aguardar(CompletableFuture<T> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private UserRepresentation criarUserRepresentation(Usuario usuario) {
+        UserRepresentation user = new UserRepresentation();
+        user.setEmail(usuario.getEmail());
+        user.setUsername(usuario.getEmail());
+        user.setEnabled(usuario.getStatus() == StatusUsuario.ATIVO);
+
+        // Configurar nome e sobrenome
+        String[] nomeCompleto = usuario.getNome().split(" ", 2);
+        user.setFirstName(nomeCompleto[0]);
+        user.setLastName(nomeCompleto.length > 1 ? nomeCompleto[1] : "");
+
+        Map<String, List<String>> attributes = new HashMap<>();
+        attributes.put("setor", Collections.singletonList(usuario.getSetor()));
+        attributes.put("tipoUsuario", Collections.singletonList(usuario.getTipoUsuario()));
+        attributes.put(ATRIBUTO_USUARIO_ID, Collections.singletonList(String.valueOf(usuario.getId())));
+        user.setAttributes(attributes);
+
+        return user;
+    }
+
+    private static Set<String> obterRolesPorTipo(String tipoUsuario) {
+        return switch (tipoUsuario) {
+            case "ADMIN" -> Set.of("colaborador", "admin");
+            case "GESTOR" -> Set.of("gestor", "colaborador");
+            default -> Set.of("colaborador");
+        };
+    }
+
+    private void concluir(SincronizacaoKeycloak evento) {
+        transactionTemplate.executeWithoutResult(status -> {
+            sincronizacaoRepository.findById(evento.getId()).ifPresent(atual -> {
+                if (atual.getSenha() != null && !atual.getSenha().equals(evento.getSenhaReservada())) {
+                    // Senha trocada durante a tentativa: o evento volta para a fila para aplicá-la
+                    atual.setStatus(StatusEventoSincronizacao.PENDENTE);
+                    atual.setProximaTentativa(LocalDateTime.now());
+                    return;
+                }
+                atual.setStatus(StatusEventoSincronizacao.CONCLUIDO);
+                atual.setSenha(null);
+                atual.setUltimoErro(null);
+                atual.setDataProcessamento(LocalDateTime.now());
+            });
+
+            if (!sincronizacaoRepository.existsByUsuarioIdAndStatusIn(evento.getUsuarioId(), EM_ABERTO)) {
+                usuarioRepository.atualizarStatusSincronizacao(evento.getUsuarioId(), StatusSincronizacao.SINCRONIZADO);
+                usuarioCache.invalidarPorId(evento.getUsuarioId());
+                revisaoUsuarios.registrarAlteracao();
+            }
+        });
+    }
+
+    private void registrarFalha(SincronizacaoKeycloak evento, Exception erro) {
+        if (erro instanceof KeycloakIndisponivelException indisponivel) {
+            adiar(evento, indisponivel);
+            return;
+        }
+
+        boolean definitiva = erro instanceof EmailInvalidoException
+                || erro instanceof SenhaInvalidaException
+                || erro instanceof UsuarioJaExisteException
+                || erro instanceof IllegalArgumentException
+                || erro instanceof IllegalStateException;
+
+        transactionTemplate.executeWithoutResult(status -> sincronizacaoRepository.findById(evento.getId())
+                .ifPresent(atual -> {
+                    int tentativas = atual.getTentativas() + 1;
+                    atual.setTentativas(tentativas);
+                    atual.setUltimoErro(truncar(erro.getMessage()));
+
+                    if (definitiva || tentativas >= maxTentativas) {
+                        atual.setStatus(StatusEventoSincronizacao.FALHA);
+                        atual.setSenha(null);
+                        atual.setDataProcessamento(LocalDateTime.now());
+                        usuarioRepository.atualizarStatusSincronizacao(atual.getUsuarioId(), StatusSincronizacao.FALHA);
+                        usuarioCache.invalidarPorId(atual.getUsuarioId());
+                        revisaoUsuarios.registrarAlteracao();
+                        falhas.increment();
+                        logger.error("Sincronização {} do usuário {} falhou definitivamente após {} tentativa(s): {}",
+                                atual.getTipo(), atual.getUsuarioId(), tentativas, erro.getMessage());
+                    } else {
+                        atual.setStatus(StatusEventoSincronizacao.PENDENTE);
+                        atual.setProximaTentativa(LocalDateTime.now().plus(calcularBackoff(tentativas)));
+                        logger.warn("Sincronização {} do usuário {} falhou (tentativa {}), reagendada: {}",
+                                atual.getTipo(), atual.getUsuarioId(), tentativas, erro.getMessage());
+                    }
+                }));
+    }
+
+    /**
+     * A chamada nem chegou ao Keycloak (disjuntor aberto ou bulkhead cheio): o evento volta para a fila
+     * sem contar tentativa, para que uma queda do Keycloak não esgote as tentativas de todos os eventos.
+     */
+    private void adiar(SincronizacaoKeycloak evento, KeycloakIndisponivelException erro) {
+        transactionTemplate.executeWithoutResult(status -> sincronizacaoRepository.findById(evento.getId())
+                .ifPresent(atual -> {
+                    atual.setStatus(StatusEventoSincronizacao.PENDENTE);
+                    atual.setProximaTentativa(LocalDateTime.now().plus(erro.getTenteNovamenteEm()));
+                    atual.setUltimoErro(truncar(erro.getMessage()));
+                }));
+        logger.debug("Sincronização {} do usuário {} adiada: {}", evento.getTipo(), evento.getUsuarioId(),
+                erro.getMessage());
+    }
+
+    private Duration calcularBackoff(int tentativas) {
+        Duration backoff = backoffInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return backoff.compareTo(backoffMaximo) > 0 ? backoffMaximo : backoff;
+    }
+
+    private static String truncar(String mensagem) {
+        if (mensagem == null) {
+            return null;
+        }
+        return mensagem.length() > 1000 ? mensagem.substring(0, 1000) : mensagem;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+        workers.shutdownNow();
+        chamadas.shutdownNow();
+    }
+}
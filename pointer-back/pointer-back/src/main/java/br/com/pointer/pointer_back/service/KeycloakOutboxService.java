@@ -0,0 +1,75 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.model.SincronizacaoKeycloak;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.TipoSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.SincronizacaoKeycloakRepository;
+import br.com.pointer.pointer_back.security.CifradorSenhaOutbox;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Registra alterações de usuário que precisam ser refletidas no Keycloak.
+ *
+ * Os eventos entram na transação de quem chama, de modo que só existem se a linha de
+ * {@link Usuario} for gravada. O envio acontece depois do commit, pelo {@link KeycloakOutboxDispatcher}.
+ */
+@Service
+public class KeycloakOutboxService {
+
+    private final SincronizacaoKeycloakRepository sincronizacaoRepository;
+    private final KeycloakOutboxDispatcher dispatcher;
+    private final CifradorSenhaOutbox cifrador;
+
+    public KeycloakOutboxService(
+            SincronizacaoKeycloakRepository sincronizacaoRepository,
+            KeycloakOutboxDispatcher dispatcher,
+            CifradorSenhaOutbox cifrador) {
+        this.sincronizacaoRepository = sincronizacaoRepository;
+        this.dispatcher = dispatcher;
+        this.cifrador = cifrador;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void agendarCriacao(Usuario usuario, String senha) {
+        agendar(usuario, TipoSincronizacao.CRIAR, senha);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void agendarAtualizacao(Usuario usuario) {
+        agendar(usuario, TipoSincronizacao.ATUALIZAR, null);
+    }
+
+    /**
+     * Substitui a senha de uma criação que ainda não chegou ao Keycloak. Se a criação estiver em
+     * andamento, o dispatcher aplica a nova senha logo depois dela.
+     *
+     * @return true se havia criação pendente para o usuário
+     */
+    @Transactional
+    public boolean atualizarSenhaPendente(Usuario usuario, String senha) {
+        return sincronizacaoRepository.atualizarSenhaPendente(
+                usuario.getId(), TipoSincronizacao.CRIAR, cifrador.cifrar(senha)) > 0;
+    }
+
+    private void agendar(Usuario usuario, TipoSincronizacao tipo, String senha) {
+        SincronizacaoKeycloak evento = new SincronizacaoKeycloak();
+        evento.setUsuarioId(usuario.getId());
+        evento.setTipo(tipo);
+        evento.setSenha(cifrador.cifrar(senha));
+        sincronizacaoRepository.save(evento);
+
+        usuario.setStatusSincronizacao(StatusSincronizacao.PENDENTE);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.acordar();
+            }
+        });
+    }
+}
@@ -0,0 +1,259 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.UsuarioDTO;
+import br.com.pointer.pointer_back.exception.ImportacaoInvalidaException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê um arquivo de importação de usuários registro a registro, sem carregá-lo inteiro na memória.
+ *
+ * Aceita CSV com cabeçalho (separado por vírgula ou ponto e vírgula, aspas no padrão RFC 4180) e
+ * NDJSON, um {@link UsuarioDTO} por linha. Um registro malformado vira um {@link Registro} com erro,
+ * sem interromper a leitura dos demais.
+ */
+public abstract class LeitorImportacaoUsuarios implements Iterator<LeitorImportacaoUsuarios.Registro> {
+
+    protected final BufferedReader reader;
+    protected int linhaAtual;
+    private Registro proximo;
+
+    protected LeitorImportacaoUsuarios(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    public static LeitorImportacaoUsuarios csv(InputStream entrada) {
+        return new Csv(entrada);
+    }
+
+    public static LeitorImportacaoUsuarios ndjson(InputStream entrada, ObjectMapper objectMapper) {
+        return new Ndjson(entrada, objectMapper);
+    }
+
+    /**
+     * @return o próximo registro, ou null no fim do arquivo
+     */
+    protected abstract Registro ler() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (proximo == null) {
+            try {
+                proximo = ler();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao ler o arquivo de importação", e);
+            }
+        }
+        return proximo != null;
+    }
+
+    @Override
+    public Registro next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Registro registro = proximo;
+        proximo = null;
+        return registro;
+    }
+
+    protected String lerLinha() throws IOException {
+        String linha = reader.readLine();
+        if (linha != null) {
+            linhaAtual++;
+            if (linhaAtual == 1 && linha.startsWith("\uFEFF")) {
+                linha = linha.substring(1);
+            }
+        }
+        return linha;
+    }
+
+    /**
+     * Registro lido do arquivo. {@code linha} é a linha física onde o registro começa.
+     */
+    public record Registro(int linha, UsuarioDTO usuario, String erro) {
+
+        static Registro valido(int linha, UsuarioDTO usuario) {
+            return new Registro(linha, usuario, null);
+        }
+
+        static Registro invalido(int linha, UsuarioDTO usuario, String erro) {
+            return new Registro(linha, usuario, erro);
+        }
+    }
+
+    private static final class Csv extends LeitorImportacaoUsuarios {
+        private Map<String, Integer> colunas;
+        private char separador;
+
+        private Csv(InputStream entrada) {
+            super(entrada);
+        }
+
+        @Override
+        protected Registro ler() throws IOException {
+            if (colunas == null) {
+                lerCabecalho();
+            }
+
+            List<String> campos;
+            int inicio;
+            do {
+                inicio = linhaAtual + 1;
+                campos = lerCampos();
+                if (campos == null) {
+                    return null;
+                }
+            } while (campos.size() == 1 && campos.get(0).isBlank());
+
+            UsuarioDTO usuario = new UsuarioDTO();
+            usuario.setNome(campo(campos, "nome"));
+            usuario.setEmail(campo(campos, "email"));
+            usuario.setSenha(campo(campos, "senha"));
+            usuario.setCargo(campo(campos, "cargo"));
+            usuario.setSetor(campo(campos, "setor"));
+            usuario.setTipoUsuario(campo(campos, "tipousuario"));
+
+            String status = campo(campos, "status");
+            if (status != null) {
+                try {
+                    usuario.setStatus(StatusUsuario.valueOf(status.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    return Registro.invalido(inicio, usuario, "Status inválido: " + status);
+                }
+            }
+            return Registro.valido(inicio, usuario);
+        }
+
+        private void lerCabecalho() throws IOException {
+            String cabecalho = lerLinha();
+            if (cabecalho == null || cabecalho.isBlank()) {
+                throw new ImportacaoInvalidaException("Arquivo CSV sem cabeçalho");
+            }
+
+            separador = cabecalho.indexOf(';') >= 0 && cabecalho.indexOf(',') < 0 ? ';' : ',';
+            colunas = new HashMap<>();
+            List<String> nomes = separar(cabecalho);
+            for (int i = 0; i < nomes.size(); i++) {
+                colunas.putIfAbsent(normalizar(nomes.get(i)), i);
+            }
+
+            if (!colunas.containsKey("nome") || !colunas.containsKey("email")) {
+                throw new ImportacaoInvalidaException("O cabeçalho do CSV precisa das colunas nome e email");
+            }
+        }
+
+        /**
+         * Lê os campos de um registro, continuando nas linhas seguintes enquanto houver aspas abertas.
+         */
+        private List<String> lerCampos() throws IOException {
+            String linha = lerLinha();
+            if (linha == null) {
+                return null;
+            }
+
+            StringBuilder registro = new StringBuilder(linha);
+            while (aspasAbertas(registro)) {
+                String continuacao = lerLinha();
+                if (continuacao == null) {
+                    break;
+                }
+                registro.append('\n').append(continuacao);
+            }
+            return separar(registro);
+        }
+
+        private List<String> separar(CharSequence registro) {
+            List<String> campos = new ArrayList<>();
+            StringBuilder atual = new StringBuilder();
+            boolean entreAspas = false;
+
+            for (int i = 0; i < registro.length(); i++) {
+                char c = registro.charAt(i);
+                if (entreAspas) {
+                    if (c == '"' && i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        entreAspas = false;
+                    } else {
+                        atual.append(c);
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == separador) {
+                    campos.add(atual.toString());
+                    atual.setLength(0);
+                } else {
+                    atual.append(c);
+                }
+            }
+            campos.add(atual.toString());
+            return campos;
+        }
+
+        private static boolean aspasAbertas(CharSequence registro) {
+            int aspas = 0;
+            for (int i = 0; i < registro.length(); i++) {
+                if (registro.charAt(i) == '"') {
+                    aspas++;
+                }
+            }
+            return aspas % 2 != 0;
+        }
+
+        private String campo(List<String> campos, String coluna) {
+            Integer indice = colunas.get(coluna);
+            if (indice == null || indice >= campos.size()) {
+                return null;
+            }
+            String valor = campos.get(indice).trim();
+            return valor.isEmpty() ? null : valor;
+        }
+
+        private static String normalizar(String coluna) {
+            return coluna.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final class Ndjson extends LeitorImportacaoUsuarios {
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream entrada, ObjectMapper objectMapper) {
+            super(entrada);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected Registro ler() throws IOException {
+            String linha;
+            do {
+                linha = lerLinha();
+                if (linha == null) {
+                    return null;
+                }
+            } while (linha.isBlank());
+
+            try {
+                return Registro.valido(linhaAtual, objectMapper.readValue(linha, UsuarioDTO.class));
+            } catch (JsonProcessingException e) {
+                return Registro.invalido(linhaAtual, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.pointer.pointer_back.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transporte local para desenvolvimento e testes de carga: grava cada email como uma linha JSON
+ * num arquivo (pointer.email.arquivo) ou no log, sem chamar o SendGrid.
+ *
+ * O conteúdo inclui os dados do template (senhas e códigos), então não deve ser usado em produção.
+ */
+@Component
+@ConditionalOnProperty(name = "pointer.email.transporte", havingValue = "log")
+public class LogEmailTransport implements EmailTransport {
+    private static final Logger logger = LoggerFactory.getLogger(LogEmailTransport.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path arquivo;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public LogEmailTransport(ObjectMapper objectMapper, @Value("${pointer.email.arquivo:}") String arquivo) {
+        this.objectMapper = objectMapper;
+        this.arquivo = StringUtils.hasText(arquivo) ? Path.of(arquivo) : null;
+        logger.warn("Transporte de email local ativo: nenhum email será enviado ao SendGrid");
+    }
+
+    @Override
+    public void enviar(String templateId, List<EmailMensagem> mensagens) throws IOException {
+        StringBuilder linhas = new StringBuilder();
+        for (EmailMensagem mensagem : mensagens) {
+            Map<String, Object> registro = new LinkedHashMap<>();
+            registro.put("timestamp", Instant.now().toString());
+            registro.put("templateId", templateId);
+            registro.put("destinatario", mensagem.destinatario());
+            registro.put("dados", mensagem.dadosDinamicos());
+            linhas.append(objectMapper.writeValueAsString(registro)).append('\n');
+        }
+
+        if (arquivo == null) {
+            logger.info("Emails ({} mensagem(ns)):\n{}", mensagens.size(), linhas);
+            return;
+        }
+
+        lock.lock();
+        try {
+            Files.writeString(arquivo, linhas, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Codifica senhas num executor próprio, com uma thread por núcleo e fila limitada.
+ *
+ * O hash é CPU puro e caro de propósito: feito na thread da requisição, uma rajada de trocas de senha
+ * ocupa todos os núcleos e atrasa requisições que nada têm a ver com senha. Aqui as rajadas esperam na
+ * fila; com a fila cheia (ou a espera acima de {@code pointer.senha.espera-maxima}) a operação é
+ * recusada com {@link CapacidadeEsgotadaException}, que vira 429.
+ */
+@Service
+public class PasswordHashingService {
+    private static final Duration TENTE_NOVAMENTE_EM = Duration.ofSeconds(1);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService executor;
+    private final int threads;
+    private final Duration esperaMaxima;
+    private final Timer tempoHash;
+    private final Counter rejeitadas;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            FabricaExecutores fabricaExecutores,
+            MeterRegistry meterRegistry,
+            @Value("${pointer.senha.threads:0}") int threads,
+            @Value("${pointer.senha.fila:0}") int capacidadeFila,
+            @Value("${pointer.senha.espera-maxima:PT5S}") Duration esperaMaxima) {
+        this.passwordEncoder = passwordEncoder;
+        this.esperaMaxima = esperaMaxima;
+
+        // Por padrão, uma thread por núcleo e uma fila de quatro hashes por thread
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = fabricaExecutores.cpu("senha-hash", this.threads,
+                capacidadeFila > 0 ? capacidadeFila : this.threads * 4);
+
+        this.tempoHash = Timer.builder("pointer.senha.hash")
+                .description("Duração de cada hash de senha")
+                .register(meterRegistry);
+        this.rejeitadas = meterRegistry.counter("pointer.senha.rejeitadas");
+    }
+
+    /**
+     * @throws CapacidadeEsgotadaException se o executor estiver saturado
+     */
+    public String codificar(String senha) {
+        Future<String> hash;
+        try {
+            hash = executor.submit(() -> medir(senha));
+        } catch (RejectedExecutionException e) {
+            throw recusar();
+        }
+
+        try {
+            return hash.get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            hash.cancel(true);
+            throw recusar();
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido enquanto aguardava o hash da senha", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Codifica um lote em paralelo, com no máximo uma senha por thread em andamento, para que o lote não
+     * ocupe a fila e recuse as requisições avulsas. Operações em massa preferem desacelerar a falhar:
+     * quando o executor está cheio, o hash é feito na própria thread chamadora.
+     *
+     * @return os hashes, na ordem das senhas
+     */
+    public List<String> codificarTodos(List<String> senhas) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(senhas.size());
+        for (String senha : senhas) {
+            if (hashes.size() >= threads) {
+                hashes.get(hashes.size() - threads).join();
+            }
+
+            CompletableFuture<String> hash;
+            try {
+                hash = CompletableFuture.supplyAsync(() -> medir(senha), executor);
+            } catch (RejectedExecutionException e) {
+                hash = CompletableFuture.completedFuture(medir(senha));
+            }
+            hashes.add(hash);
+        }
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    private String medir(String senha) {
+        return tempoHash.record(() -> passwordEncoder.encode(senha));
+    }
+
+    private CapacidadeEsgotadaException recusar() {
+        rejeitadas.increment();
+        return new CapacidadeEsgotadaException(
+                "Muitas alterações de senha em andamento, tente novamente em instantes", TENTE_NOVAMENTE_EM);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.pointer.pointer_back.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Revisão do cadastro de usuários como um todo, de onde saem as ETags das listagens.
+ *
+ * É o último valor da sequência {@code usuarios_revisao_seq}, avançada depois do commit de cada alteração
+ * que aparece na listagem. Quem lê a revisão antes de consultar os dados nunca recebe dados mais antigos
+ * que ela: no pior caso uma ETag antiga acompanha dados novos, e o cliente baixa a página de novo na
+ * próxima vez. Sequências não são transacionais nem seguram bloqueio, então gravações concorrentes não
+ * disputam uma linha de contador, e a revisão vale para todas as instâncias que usam o mesmo banco.
+ */
+@Component
+public class RevisaoUsuarios {
+    private static final Logger logger = LoggerFactory.getLogger(RevisaoUsuarios.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevisaoUsuarios(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Fora do ddl-auto: nenhuma entidade usa a sequência
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS usuarios_revisao_seq");
+    }
+
+    public long atual() {
+        // Antes do primeiro nextval, last_value já vale 1; is_called distingue os dois casos
+        return jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM usuarios_revisao_seq", Long.class);
+    }
+
+    /**
+     * Avança a revisão depois do commit da transação corrente, ou na hora se não houver transação.
+     */
+    public void registrarAlteracao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            avancar();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                avancar();
+            }
+        });
+    }
+
+    private void avancar() {
+        try {
+            jdbcTemplate.queryForObject("SELECT nextval('usuarios_revisao_seq')", Long.class);
+        } catch (RuntimeException e) {
+            // A alteração já foi gravada; sem o avanço, as listagens ficam em cache até a próxima alteração
+            logger.warn("Falha ao avançar a revisão de usuários: {}", e.getMessage());
+        }
+    }
+}
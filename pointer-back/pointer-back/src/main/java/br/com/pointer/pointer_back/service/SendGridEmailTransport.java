@@ -0,0 +1,95 @@
+package br.com.pointer.pointer_back.service;
+
+import com.sendgrid.Client;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Email;
+import com.sendgrid.helpers.mail.objects.Personalization;
+import jakarta.annotation.PreDestroy;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia emails pela API do SendGrid usando um único cliente com pool de conexões.
+ *
+ * Mensagens do mesmo template viram uma única chamada com uma personalization por destinatário.
+ * {@code pointer.email.sendgrid.url} troca o endereço da API (ex.: um SendGrid simulado em testes de carga).
+ */
+@Component
+@ConditionalOnProperty(name = "pointer.email.transporte", havingValue = "sendgrid", matchIfMissing = true)
+public class SendGridEmailTransport implements EmailTransport {
+
+    private static final String REMETENTE = "no-replypointer@bol.com.br";
+
+    private final CloseableHttpClient httpClient;
+    private final SendGrid sendGrid;
+
+    public SendGridEmailTransport(
+            @Value("${sendgrid.api.key}") String sendGridApiKey,
+            @Value("${pointer.email.sendgrid.max-conexoes:20}") int maxConexoes,
+            @Value("${pointer.email.sendgrid.timeout:PT10S}") Duration timeout,
+            @Value("${pointer.email.sendgrid.url:https://api.sendgrid.com}") URI url) {
+        PoolingHttpClientConnectionManager gerenciador = new PoolingHttpClientConnectionManager();
+        gerenciador.setMaxTotal(maxConexoes);
+        gerenciador.setDefaultMaxPerRoute(maxConexoes);
+
+        int timeoutMs = (int) timeout.toMillis();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(timeoutMs)
+                .setSocketTimeout(timeoutMs)
+                .setConnectionRequestTimeout(timeoutMs)
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(gerenciador)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+        // O cliente do SendGrid só distingue https (padrão) de http ("test")
+        this.sendGrid = new SendGrid(sendGridApiKey, new Client(httpClient, "http".equals(url.getScheme())));
+        this.sendGrid.setHost(url.getAuthority());
+    }
+
+    @Override
+    public void enviar(String templateId, List<EmailMensagem> mensagens) throws IOException {
+        Mail mail = new Mail();
+        mail.setFrom(new Email(REMETENTE));
+        mail.setTemplateId(templateId);
+
+        for (EmailMensagem mensagem : mensagens) {
+            Personalization personalization = new Personalization();
+            personalization.addTo(new Email(mensagem.destinatario()));
+            mensagem.dadosDinamicos().forEach(personalization::addDynamicTemplateData);
+            mail.addPersonalization(personalization);
+        }
+
+        Request request = new Request();
+        request.setMethod(Method.POST);
+        request.setEndpoint("mail/send");
+        request.setBody(mail.build());
+
+        Response response = sendGrid.api(request);
+        if (response.getStatusCode() >= 400) {
+            throw new EnvioRecusadoException(response.getStatusCode(), response.getBody());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() throws IOException {
+        httpClient.close();
+    }
+}
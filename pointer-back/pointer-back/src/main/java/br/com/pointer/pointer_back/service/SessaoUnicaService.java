@@ -0,0 +1,69 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Mantém uma única sessão por usuário no Keycloak.
+ *
+ * Depois de um login, as demais sessões do usuário são encerradas em segundo plano, fora do caminho
+ * da resposta do {@code /token}. Se a fila estiver cheia, o encerramento é descartado: as sessões
+ * antigas expiram sozinhas no Keycloak.
+ */
+@Service
+public class SessaoUnicaService {
+    private static final Logger logger = LoggerFactory.getLogger(SessaoUnicaService.class);
+
+    private final KeycloakAdminService keycloakAdminService;
+    private final boolean habilitado;
+    private final ExecutorService executor;
+
+    public SessaoUnicaService(
+            KeycloakAdminService keycloakAdminService,
+            @Value("${pointer.auth.sessao-unica.habilitado:true}") boolean habilitado,
+            @Value("${pointer.auth.sessao-unica.threads:2}") int threads,
+            @Value("${pointer.auth.sessao-unica.fila:1000}") int capacidadeFila,
+            FabricaExecutores fabricaExecutores) {
+        this.keycloakAdminService = keycloakAdminService;
+        this.habilitado = habilitado;
+
+        this.executor = fabricaExecutores.limitado("sessao-unica", threads, capacidadeFila);
+    }
+
+    /**
+     * Agenda o encerramento das sessões de {@code userId} diferentes de {@code sessaoAtual}.
+     */
+    public void encerrarOutrasSessoes(String userId, String sessaoAtual) {
+        if (!habilitado || userId == null || sessaoAtual == null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    int encerradas = keycloakAdminService.encerrarOutrasSessoes(userId, sessaoAtual);
+                    if (encerradas > 0) {
+                        logger.debug("{} sessão(ões) anterior(es) do usuário {} encerrada(s)", encerradas, userId);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Não foi possível encerrar as sessões anteriores do usuário {}: {}",
+                            userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de encerramento de sessões cheia, sessões anteriores do usuário {} mantidas", userId);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache local dos perfis servidos por {@code GET /usuarios/{email}}, chaveado por email.
+ *
+ * Limitado por tamanho e por TTL. Toda alteração de usuário invalida a entrada explicitamente, na hora
+ * e de novo depois do commit, para que uma leitura concorrente não recoloque no cache o valor antigo.
+ * As estatísticas (acertos, faltas, remoções) são publicadas como {@code cache.*{cache=usuarios.perfil}}.
+ */
+@Component
+public class UsuarioCache {
+
+    private final Cache<String, UsuarioResponseDTO> cache;
+
+    @Autowired
+    public UsuarioCache(
+            MeterRegistry meterRegistry,
+            @Value("${pointer.usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${pointer.usuarios.cache.ttl:PT5M}") Duration ttl) {
+        this(tamanhoMaximo, ttl, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios.perfil");
+    }
+
+    UsuarioCache(long tamanhoMaximo, Duration ttl, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna o perfil do cache ou o carrega com {@code carregador}. Perfis inexistentes não são guardados.
+     *
+     * O objeto devolvido é sempre uma cópia, restrita a {@code campos}.
+     */
+    public Optional<UsuarioResponseDTO> buscar(String email, Set<CampoUsuario> campos,
+            Function<String, Optional<UsuarioResponseDTO>> carregador) {
+        UsuarioResponseDTO perfil = cache.get(email, chave -> carregador.apply(chave).orElse(null));
+        return Optional.ofNullable(perfil).map(dto -> CampoUsuario.copiar(dto, campos));
+    }
+
+    /**
+     * Versão em lote de {@link #buscar}: os perfis fora do cache são carregados juntos numa só chamada a
+     * {@code carregador}, que recebe só os emails ausentes. Emails sem perfil ficam fora do retorno.
+     */
+    public Map<String, UsuarioResponseDTO> buscarTodos(Collection<String> emails, Set<CampoUsuario> campos,
+            Function<Set<? extends String>, Map<String, UsuarioResponseDTO>> carregador) {
+        Map<String, UsuarioResponseDTO> perfis = cache.getAll(emails, carregador);
+        Map<String, UsuarioResponseDTO> copias = new LinkedHashMap<>(perfis.size() * 2);
+        perfis.forEach((email, dto) -> copias.put(email, CampoUsuario.copiar(dto, campos)));
+        return copias;
+    }
+
+    public void invalidar(String email) {
+        if (email != null) {
+            invalidarAgoraEAposTransacao(() -> cache.invalidate(email));
+        }
+    }
+
+    /**
+     * Para quem só conhece o ID (a outbox). Percorre o cache, então não deve ser usado em caminhos quentes.
+     */
+    public void invalidarPorId(Long id) {
+        invalidarAgoraEAposTransacao(() -> cache.asMap().values().removeIf(dto -> id.equals(dto.getId())));
+    }
+
+    private static void invalidarAgoraEAposTransacao(Runnable invalidacao) {
+        invalidacao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidacao.run();
+                }
+            });
+        }
+    }
+
+    long tamanho() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
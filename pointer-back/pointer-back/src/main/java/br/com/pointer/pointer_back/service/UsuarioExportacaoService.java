@@ -0,0 +1,159 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.repository.UsuarioSpecifications;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exportação do cadastro de usuários em CSV ou NDJSON, com os mesmos filtros da listagem.
+ *
+ * Os registros vêm de um cursor JDBC (só para frente, com fetch size) numa transação somente leitura e são
+ * escritos direto na saída conforme chegam: a memória usada não depende do tamanho do cadastro e nenhuma
+ * entidade passa pelo contexto de persistência. Ao contrário de percorrer {@code GET /usuarios} página a
+ * página, é uma única consulta, sem COUNT nem OFFSET.
+ */
+@Service
+public class UsuarioExportacaoService {
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioExportacaoService.class);
+
+    private static final String CONSULTA = "SELECT id, nome, email, status, cargo, setor, tipo_usuario, "
+            + "dt_criacao, status_sincronizacao FROM usuarios";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public UsuarioExportacaoService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${pointer.usuarios.exportacao.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Prepara a exportação dos usuários que passam pelos filtros, em ordem de id.
+     *
+     * Os filtros são validados aqui, antes de qualquer byte ser escrito, para que um filtro inválido ainda
+     * possa virar uma resposta de erro. A consulta só roda quando o retorno é chamado; se o cliente
+     * desconectar no meio, ela é interrompida.
+     */
+    public StreamingResponseBody preparar(MediaType formato, String setor, String perfil, String status) {
+        List<Object> parametros = new ArrayList<>(3);
+        String sql = montarConsulta(setor, perfil, status, parametros);
+        return saida -> exportar(saida, formato, sql, parametros);
+    }
+
+    private void exportar(OutputStream saida, MediaType formato, String sql, List<Object> parametros) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        EscritorExportacaoUsuarios escritor = UsuarioImportacaoService.TEXT_CSV.isCompatibleWith(formato)
+                ? EscritorExportacaoUsuarios.csv(writer)
+                : EscritorExportacaoUsuarios.ndjson(writer, objectMapper);
+
+        AtomicLong exportados = new AtomicLong();
+        long inicio = System.nanoTime();
+        try {
+            escritor.iniciar();
+            transactionTemplate.executeWithoutResult(transacao -> jdbcTemplate.query(
+                    conexao -> {
+                        // O driver do Postgres só usa cursor com fetch size, ResultSet só para frente e
+                        // autocommit desligado (garantido pela transação)
+                        PreparedStatement consulta = conexao.prepareStatement(sql,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        consulta.setFetchSize(fetchSize);
+                        for (int i = 0; i < parametros.size(); i++) {
+                            consulta.setObject(i + 1, parametros.get(i));
+                        }
+                        return consulta;
+                    },
+                    linha -> {
+                        try {
+                            escritor.escrever(converter(linha));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        exportados.incrementAndGet();
+                    }));
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            // Escrita na resposta falhou: em geral o cliente desistiu do download
+            logger.info("Exportação de usuários interrompida após {} registro(s): {}", exportados.get(),
+                    e.getMessage());
+            return;
+        }
+
+        logger.debug("Exportação de usuários concluída: {} registro(s) em {} ms", exportados.get(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private static String montarConsulta(String setor, String perfil, String status, List<Object> parametros) {
+        List<String> condicoes = new ArrayList<>(3);
+        if (StringUtils.hasText(setor)) {
+            condicoes.add("setor = ?");
+            parametros.add(setor);
+        }
+        if (StringUtils.hasText(perfil)) {
+            condicoes.add("tipo_usuario = ?");
+            parametros.add(perfil);
+        }
+        if (StringUtils.hasText(status)) {
+            condicoes.add("status = ?");
+            parametros.add(UsuarioSpecifications.status(status).name());
+        }
+
+        StringBuilder sql = new StringBuilder(CONSULTA);
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        return sql.append(" ORDER BY id").toString();
+    }
+
+    private static UsuarioResponseDTO converter(ResultSet linha) throws SQLException {
+        UsuarioResponseDTO dto = new UsuarioResponseDTO();
+        dto.setId(linha.getLong("id"));
+        dto.setNome(linha.getString("nome"));
+        dto.setEmail(linha.getString("email"));
+        dto.setStatus(StatusUsuario.valueOf(linha.getString("status")));
+        dto.setCargo(linha.getString("cargo"));
+        dto.setSetor(linha.getString("setor"));
+        dto.setTipoUsuario(linha.getString("tipo_usuario"));
+        dto.setDataCriacao(linha.getObject("dt_criacao", LocalDateTime.class));
+        String sincronizacao = linha.getString("status_sincronizacao");
+        CampoUsuario.STATUS_SINCRONIZACAO.aplicar(dto,
+                sincronizacao == null ? null : StatusSincronizacao.valueOf(sincronizacao));
+        return dto;
+    }
+}
@@ -0,0 +1,277 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.ImportacaoUsuariosDTO;
+import br.com.pointer.pointer_back.dto.LinhaImportacaoDTO;
+import br.com.pointer.pointer_back.dto.UsuarioDTO;
+import br.com.pointer.pointer_back.exception.EmailInvalidoException;
+import br.com.pointer.pointer_back.exception.EmailSendingException;
+import br.com.pointer.pointer_back.exception.SenhaInvalidaException;
+import br.com.pointer.pointer_back.mapper.UsuarioMapper;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cadastro de usuários em massa a partir de um arquivo CSV ou NDJSON.
+ *
+ * O arquivo é lido em streaming e processado em lotes. Cada lote é validado, consultado no banco
+ * com uma única query, tem as senhas codificadas em paralelo e é gravado numa transação própria,
+ * com inserts em lote (usuários e eventos da outbox). A criação no Keycloak segue pela outbox,
+ * depois do commit, como no cadastro individual.
+ *
+ * A importação não é atômica: lotes já gravados permanecem mesmo que um lote seguinte falhe. O
+ * relatório indica o resultado de cada linha.
+ */
+@Service
+public class UsuarioImportacaoService {
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioImportacaoService.class);
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioService usuarioService;
+    private final KeycloakAdminService keycloakAdminService;
+    private final KeycloakOutboxService keycloakOutboxService;
+    private final EmailService emailService;
+    private final UsuarioMapper usuarioMapper;
+    private final UsuarioCache usuarioCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PasswordHashingService passwordHashingService;
+    private final EstatisticasUsuariosService estatisticasUsuariosService;
+    private final RevisaoUsuarios revisaoUsuarios;
+    private final int tamanhoLote;
+    private final Duration esperaEmail;
+
+    public UsuarioImportacaoService(
+            UsuarioRepository usuarioRepository,
+            UsuarioService usuarioService,
+            KeycloakAdminService keycloakAdminService,
+            KeycloakOutboxService keycloakOutboxService,
+            EmailService emailService,
+            UsuarioMapper usuarioMapper,
+            UsuarioCache usuarioCache,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            PasswordHashingService passwordHashingService,
+            EstatisticasUsuariosService estatisticasUsuariosService,
+            RevisaoUsuarios revisaoUsuarios,
+            @Value("${pointer.usuarios.importacao.tamanho-lote:500}") int tamanhoLote,
+            @Value("${pointer.usuarios.importacao.espera-email:PT30S}") Duration esperaEmail) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuarioService = usuarioService;
+        this.keycloakAdminService = keycloakAdminService;
+        this.keycloakOutboxService = keycloakOutboxService;
+        this.emailService = emailService;
+        this.usuarioMapper = usuarioMapper;
+        this.usuarioCache = usuarioCache;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.passwordHashingService = passwordHashingService;
+        this.estatisticasUsuariosService = estatisticasUsuariosService;
+        this.revisaoUsuarios = revisaoUsuarios;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaEmail = esperaEmail;
+    }
+
+    public ImportacaoUsuariosDTO importar(InputStream entrada, MediaType tipo) {
+        LeitorImportacaoUsuarios leitor = TEXT_CSV.isCompatibleWith(tipo)
+                ? LeitorImportacaoUsuarios.csv(entrada)
+                : LeitorImportacaoUsuarios.ndjson(entrada, objectMapper);
+
+        List<LinhaImportacaoDTO> linhas = new ArrayList<>();
+        Set<String> emailsDoArquivo = new HashSet<>();
+        List<LeitorImportacaoUsuarios.Registro> lote = new ArrayList<>(tamanhoLote);
+
+        while (leitor.hasNext()) {
+            lote.add(leitor.next());
+            if (lote.size() == tamanhoLote) {
+                processarLote(lote, emailsDoArquivo, linhas);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            processarLote(lote, emailsDoArquivo, linhas);
+        }
+
+        linhas.sort(Comparator.comparingInt(LinhaImportacaoDTO::getLinha));
+        int importados = (int) linhas.stream().filter(LinhaImportacaoDTO::isSucesso).count();
+        logger.info("Importação de usuários concluída: {} importado(s), {} falha(s)",
+                importados, linhas.size() - importados);
+        return new ImportacaoUsuariosDTO(linhas.size(), importados, linhas.size() - importados, linhas);
+    }
+
+    private void processarLote(List<LeitorImportacaoUsuarios.Registro> registros, Set<String> emailsDoArquivo,
+            List<LinhaImportacaoDTO> linhas) {
+        List<Candidato> candidatos = new ArrayList<>(registros.size());
+        for (LeitorImportacaoUsuarios.Registro registro : registros) {
+            Candidato candidato = validar(registro, emailsDoArquivo, linhas);
+            if (candidato != null) {
+                candidatos.add(candidato);
+            }
+        }
+        if (candidatos.isEmpty()) {
+            return;
+        }
+
+        Set<String> existentes = new HashSet<>(usuarioRepository.findEmailsExistentes(
+                candidatos.stream().map(c -> c.dto().getEmail()).toList()));
+        candidatos.removeIf(candidato -> {
+            if (existentes.contains(candidato.dto().getEmail())) {
+                linhas.add(LinhaImportacaoDTO.falha(candidato.linha(), candidato.dto().getEmail(),
+                        "Já existe um usuário com este email"));
+                return true;
+            }
+            return false;
+        });
+
+        codificarSenhas(candidatos);
+        List<Candidato> gravados = gravar(candidatos, linhas);
+        if (!gravados.isEmpty()) {
+            revisaoUsuarios.registrarAlteracao();
+        }
+
+        for (Candidato candidato : gravados) {
+            usuarioCache.invalidar(candidato.usuario().getEmail());
+            linhas.add(new LinhaImportacaoDTO(candidato.linha(), candidato.usuario().getEmail(), true,
+                    candidato.usuario().getId(), enviarSenhaGerada(candidato)));
+        }
+    }
+
+    /**
+     * @return o candidato a gravação, ou null se a linha foi rejeitada (já registrada em {@code linhas})
+     */
+    private Candidato validar(LeitorImportacaoUsuarios.Registro registro, Set<String> emailsDoArquivo,
+            List<LinhaImportacaoDTO> linhas) {
+        UsuarioDTO dto = registro.usuario();
+        String email = dto != null ? dto.getEmail() : null;
+        if (registro.erro() != null) {
+            linhas.add(LinhaImportacaoDTO.falha(registro.linha(), email, registro.erro()));
+            return null;
+        }
+
+        boolean senhaGerada = dto.getSenha() == null;
+        String senha = senhaGerada ? usuarioService.gerarSenhaAleatoria() : dto.getSenha();
+        try {
+            keycloakAdminService.validarNovoUsuario(dto.getNome(), email, senha);
+        } catch (IllegalArgumentException | EmailInvalidoException | SenhaInvalidaException e) {
+            linhas.add(LinhaImportacaoDTO.falha(registro.linha(), email, e.getMessage()));
+            return null;
+        }
+
+        String campoAusente = dto.getCargo() == null ? "cargo"
+                : dto.getSetor() == null ? "setor"
+                : dto.getTipoUsuario() == null ? "tipoUsuario"
+                : null;
+        if (campoAusente != null) {
+            linhas.add(LinhaImportacaoDTO.falha(registro.linha(), email, "Campo obrigatório ausente: " + campoAusente));
+            return null;
+        }
+
+        if (!emailsDoArquivo.add(email)) {
+            linhas.add(LinhaImportacaoDTO.falha(registro.linha(), email, "Email repetido no arquivo"));
+            return null;
+        }
+
+        return new Candidato(registro.linha(), dto, senha, senhaGerada, usuarioMapper.toEntity(dto));
+    }
+
+    private void codificarSenhas(List<Candidato> candidatos) {
+        List<String> hashes = passwordHashingService.codificarTodos(candidatos.stream().map(Candidato::senha).toList());
+        for (int i = 0; i < candidatos.size(); i++) {
+            candidatos.get(i).usuario().setSenha(hashes.get(i));
+        }
+    }
+
+    /**
+     * Grava o lote numa transação. Se outro cadastro gravar um dos emails no meio tempo, o lote é
+     * refeito linha a linha para isolar as que conflitam.
+     *
+     * @return os candidatos gravados, já com a entidade persistida
+     */
+    private List<Candidato> gravar(List<Candidato> candidatos, List<LinhaImportacaoDTO> linhas) {
+        try {
+            return transactionTemplate.execute(status -> inserir(candidatos));
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Conflito ao gravar lote da importação, gravando linha a linha: {}", e.getMessage());
+        }
+
+        List<Candidato> gravados = new ArrayList<>();
+        for (Candidato candidato : candidatos) {
+            // A tentativa em lote deixou id e versão na entidade; reaproveitá-la viraria merge de uma cópia
+            Candidato novo = candidato.comUsuario(novaEntidade(candidato));
+            try {
+                gravados.addAll(transactionTemplate.execute(status -> inserir(List.of(novo))));
+            } catch (DataIntegrityViolationException e) {
+                linhas.add(LinhaImportacaoDTO.falha(candidato.linha(), candidato.dto().getEmail(),
+                        "Já existe um usuário com este email"));
+            } catch (DataAccessException e) {
+                logger.error("Erro ao gravar a linha {} da importação: ", candidato.linha(), e);
+                linhas.add(LinhaImportacaoDTO.falha(candidato.linha(), candidato.dto().getEmail(),
+                        "Erro ao gravar usuário"));
+            }
+        }
+        return gravados;
+    }
+
+    private List<Candidato> inserir(List<Candidato> candidatos) {
+        List<Usuario> usuarios = candidatos.stream().map(Candidato::usuario).toList();
+        usuarios.forEach(usuario -> usuario.setStatusSincronizacao(StatusSincronizacao.PENDENTE));
+        List<Usuario> salvos = usuarioRepository.saveAll(usuarios);
+        estatisticasUsuariosService.registrarCriacoes(salvos);
+
+        // O Keycloak é atualizado pela outbox depois do commit
+        List<Candidato> gravados = new ArrayList<>(candidatos.size());
+        for (int i = 0; i < candidatos.size(); i++) {
+            Candidato gravado = candidatos.get(i).comUsuario(salvos.get(i));
+            keycloakOutboxService.agendarCriacao(gravado.usuario(), gravado.senha());
+            gravados.add(gravado);
+        }
+        return gravados;
+    }
+
+    private Usuario novaEntidade(Candidato candidato) {
+        Usuario usuario = usuarioMapper.toEntity(candidato.dto());
+        usuario.setSenha(candidato.usuario().getSenha());
+        return usuario;
+    }
+
+    /**
+     * @return aviso para o relatório, ou null se não havia email a enviar ou ele foi enfileirado
+     */
+    private String enviarSenhaGerada(Candidato candidato) {
+        if (!candidato.senhaGerada()) {
+            return null;
+        }
+        try {
+            emailService.sendPasswordEmail(candidato.usuario().getEmail(), candidato.senha(),
+                    candidato.usuario().getNome(), esperaEmail);
+            return null;
+        } catch (EmailSendingException e) {
+            return "Usuário criado, mas o email com a senha não foi enviado";
+        }
+    }
+
+    private record Candidato(int linha, UsuarioDTO dto, String senha, boolean senhaGerada, Usuario usuario) {
+        Candidato comUsuario(Usuario outro) {
+            return new Candidato(linha, dto, senha, senhaGerada, outro);
+        }
+    }
+}
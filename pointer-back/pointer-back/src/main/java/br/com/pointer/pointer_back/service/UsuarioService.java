@@ -1,86 +1,130 @@
 package br.com.pointer.pointer_back.service;
 
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.CursorPageDTO;
+import br.com.pointer.pointer_back.dto.LoteUsuariosDTO;
+import br.com.pointer.pointer_back.dto.UsuarioCursor;
 import br.com.pointer.pointer_back.dto.UsuarioDTO;
 import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
 import br.com.pointer.pointer_back.dto.EmailDTO;
 import br.com.pointer.pointer_back.dto.UpdatePasswordDTO;
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.LoteInvalidoException;
 import br.com.pointer.pointer_back.exception.UsuarioNaoEncontradoException;
+import br.com.pointer.pointer_back.exception.VersaoDesatualizadaException;
 import br.com.pointer.pointer_back.mapper.UsuarioMapper;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
 import br.com.pointer.pointer_back.model.StatusUsuario;
 import br.com.pointer.pointer_back.model.Usuario;
 import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import br.com.pointer.pointer_back.repository.UsuarioSpecifications;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.keycloak.representations.idm.UserRepresentation;
-import org.keycloak.representations.idm.RoleRepresentation;
-import org.keycloak.admin.client.Keycloak;
-import org.keycloak.admin.client.resource.RealmResource;
-
-import java.util.List;
-import java.util.Set;
-import java.util.Random;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class UsuarioService {
     private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
+    private static final Sort ORDEM_LISTAGEM = Sort.by(Sort.Direction.DESC, "dataCriacao", "id");
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final int TAMANHO_MAXIMO_LOTE = 500;
+    // Identificadores por consulta nas buscas em lote; o IN é arredondado para potência de 2 (JpaConfig)
+    private static final int TAMANHO_CONSULTA_LOTE = 100;
 
     private final UsuarioRepository usuarioRepository;
     private final KeycloakAdminService keycloakAdminService;
     private final UsuarioMapper usuarioMapper;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
     private final EmailService emailService;
-    private final Keycloak keycloak;
-    private final String realm;
+    private final KeycloakIdResolver keycloakIdResolver;
+    private final KeycloakOutboxService keycloakOutboxService;
+    private final UsuarioCache usuarioCache;
+    private final EstatisticasUsuariosService estatisticasUsuariosService;
+    private final RevisaoUsuarios revisaoUsuarios;
 
     public UsuarioService(
             UsuarioRepository usuarioRepository,
             KeycloakAdminService keycloakAdminService,
             UsuarioMapper usuarioMapper,
             EmailService emailService,
-            Keycloak keycloak,
-            @Value("${keycloak.realm}") String realm) {
+            KeycloakIdResolver keycloakIdResolver,
+            KeycloakOutboxService keycloakOutboxService,
+            UsuarioCache usuarioCache,
+            PasswordHashingService passwordHashingService,
+            TransactionTemplate transactionTemplate,
+            EstatisticasUsuariosService estatisticasUsuariosService,
+            RevisaoUsuarios revisaoUsuarios) {
         this.usuarioRepository = usuarioRepository;
         this.keycloakAdminService = keycloakAdminService;
         this.usuarioMapper = usuarioMapper;
         this.emailService = emailService;
-        this.keycloak = keycloak;
-        this.realm = realm;
+        this.keycloakIdResolver = keycloakIdResolver;
+        this.keycloakOutboxService = keycloakOutboxService;
+        this.usuarioCache = usuarioCache;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
+        this.estatisticasUsuariosService = estatisticasUsuariosService;
+        this.revisaoUsuarios = revisaoUsuarios;
     }
 
-    @Transactional
+    /**
+     * O hash da senha é feito antes da transação, para que a espera pelo {@link PasswordHashingService}
+     * não segure uma conexão do banco.
+     */
     public UsuarioResponseDTO criarUsuario(UsuarioDTO dto) {
         try {
             String senhaPura = dto.getSenha();
-            if (senhaPura == null) {
+            boolean senhaGerada = senhaPura == null;
+            if (senhaGerada) {
                 senhaPura = gerarSenhaAleatoria();
-                enviarSenhaPorEmail(dto.getEmail(), senhaPura, dto.getNome());
             }
 
-            Usuario usuario = usuarioMapper.toEntity(dto);
-            usuario.setSenha(passwordEncoder.encode(senhaPura));
-                
-            usuario = usuarioRepository.save(usuario);
-
-            String userId = keycloakAdminService.createUserAndReturnId(
-                    usuario.getNome(), usuario.getEmail(), senhaPura);
+            keycloakAdminService.validarNovoUsuario(dto.getNome(), dto.getEmail(), senhaPura);
+            String hash = passwordHashingService.codificar(senhaPura);
+            if (senhaGerada) {
+                enviarSenhaPorEmail(dto.getEmail(), senhaPura, dto.getNome());
+            }
 
-            keycloakAdminService.setUserPassword(userId, senhaPura);
-            keycloakAdminService.assignRolesToUser(userId, obterRolesPorTipo(dto.getTipoUsuario()));
+            String senhaKeycloak = senhaPura;
+            Usuario usuario = transactionTemplate.execute(status -> {
+                Usuario novo = usuarioMapper.toEntity(dto);
+                novo.setSenha(hash);
+                novo.setStatusSincronizacao(StatusSincronizacao.PENDENTE);
+                novo = usuarioRepository.save(novo);
+                estatisticasUsuariosService.registrarCriacao(novo);
+
+                // O Keycloak é atualizado pela outbox depois do commit
+                keycloakOutboxService.agendarCriacao(novo, senhaKeycloak);
+                return novo;
+            });
+            usuarioCache.invalidar(usuario.getEmail());
+            revisaoUsuarios.registrarAlteracao();
 
             return usuarioMapper.toResponseDTO(usuario);
+        } catch (CapacidadeEsgotadaException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Erro ao criar usuário: ", e);
             throw new RuntimeException("Erro ao criar usuário: " + e.getMessage());
@@ -90,49 +134,125 @@ public class UsuarioService {
     @Transactional(readOnly = true)
     public Page<UsuarioResponseDTO> listarUsuarios(PageRequest pageRequest, String setor, String perfil,
             String status) {
-        Specification<Usuario> spec = Specification.where(null);
-        
-        spec = spec.and((root, query, cb) -> {
-            assert query != null;
-            query.orderBy(cb.desc(root.get("dataCriacao")));
-            return null;
-        });
-
-        if (StringUtils.hasText(setor)) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("setor"), setor));
-        }
+        return listarUsuarios(pageRequest, setor, perfil, status, CampoUsuario.TODOS);
+    }
 
-        if (StringUtils.hasText(perfil)) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("tipoUsuario"), perfil));
+    /**
+     * Seleciona só as colunas pedidas em {@code campos}; nenhuma entidade é carregada.
+     */
+    @Transactional(readOnly = true)
+    public Page<UsuarioResponseDTO> listarUsuarios(PageRequest pageRequest, String setor, String perfil,
+            String status, Set<CampoUsuario> campos) {
+        Specification<Usuario> spec = UsuarioSpecifications.comFiltros(setor, perfil, status);
+        return usuarioRepository.listarProjetado(spec, campos, pageRequest.withSort(ORDEM_LISTAGEM));
+    }
+
+    /**
+     * Listagem por cursor: busca a partir do último (dt_criacao, id) entregue, sem OFFSET, então qualquer
+     * página custa o mesmo que a primeira. O COUNT só roda quando {@code incluirTotal} é verdadeiro.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UsuarioResponseDTO> listarUsuariosPorCursor(String cursor, int size, String setor,
+            String perfil, String status, boolean incluirTotal, Set<CampoUsuario> campos) {
+        int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+        Specification<Usuario> filtros = UsuarioSpecifications.comFiltros(setor, perfil, status);
+
+        Specification<Usuario> spec = filtros;
+        if (StringUtils.hasText(cursor)) {
+            UsuarioCursor posicao = UsuarioCursor.decodificar(cursor);
+            spec = spec.and(UsuarioSpecifications.depoisDe(posicao.dataCriacao(), posicao.id()));
         }
 
-        if (StringUtils.hasText(status)) {
-            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        // Um registro a mais indica se existe próxima página sem precisar de COUNT
+        List<UsuarioResponseDTO> encontrados = usuarioRepository.listarProjetado(
+                spec, campos, ORDEM_LISTAGEM, tamanho + 1);
+
+        boolean temProximo = encontrados.size() > tamanho;
+        List<UsuarioResponseDTO> pagina = temProximo ? encontrados.subList(0, tamanho) : encontrados;
+
+        String proximoCursor = null;
+        if (temProximo) {
+            UsuarioResponseDTO ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new UsuarioCursor(ultimo.getDataCriacao(), ultimo.getId()).codificar();
         }
 
-        return usuarioRepository.findAll(spec, pageRequest).map(usuarioMapper::toResponseDTO);
+        Long total = incluirTotal ? usuarioRepository.count(filtros) : null;
+
+        return new CursorPageDTO<>(
+                pagina.stream().map(dto -> CampoUsuario.restringir(dto, campos)).toList(),
+                proximoCursor,
+                temProximo,
+                total);
     }
 
+    /**
+     * @param versaoEsperada a versão em que o cliente se baseou ({@code If-Match}), ou null para não conferir
+     * @return a nova versão do usuário
+     */
     @Transactional
-    public void alternarStatusUsuarioPorEmail(EmailDTO emailDTO) {
+    public long alternarStatusUsuarioPorEmail(EmailDTO emailDTO, Long versaoEsperada) {
         Usuario usuario = usuarioRepository.findByEmail(emailDTO.getEmail())
                 .orElseThrow(() -> new UsuarioNaoEncontradoException(emailDTO.getEmail()));
+        conferirVersao(usuario, versaoEsperada);
+        usuarioCache.invalidar(usuario.getEmail());
+        revisaoUsuarios.registrarAlteracao();
 
+        EstatisticasUsuariosService.Perfil antes = EstatisticasUsuariosService.Perfil.de(usuario);
         if (usuario.getStatus().equals(StatusUsuario.ATIVO)) {
             desativarUsuario(usuario);
         } else {
             ativarUsuario(usuario);
         }
+        estatisticasUsuariosService.registrarAlteracao(antes, usuario);
+        return usuario.getVersao();
     }
 
+    // O ID é resolvido antes da gravação local e o flush confere a versão antes de o Keycloak ser alterado:
+    // uma alteração concorrente falha aqui, sem deixar o Keycloak diferente do banco
     private void desativarUsuario(Usuario usuario) {
+        boolean criacaoPendente = criacaoPendenteNoKeycloak(usuario);
+        String keycloakId = criacaoPendente ? null : obterKeycloakId(usuario);
         usuario.setStatus(StatusUsuario.INATIVO);
-        keycloakAdminService.disableUser(usuario.getEmail());
+        if (criacaoPendente) {
+            keycloakOutboxService.agendarAtualizacao(usuario);
+        }
+        usuarioRepository.saveAndFlush(usuario);
+        if (keycloakId != null) {
+            keycloakAdminService.disableUser(keycloakId);
+        }
     }
 
     private void ativarUsuario(Usuario usuario) {
+        boolean criacaoPendente = criacaoPendenteNoKeycloak(usuario);
+        String keycloakId = criacaoPendente ? null : obterKeycloakId(usuario);
         usuario.setStatus(StatusUsuario.ATIVO);
-        keycloakAdminService.enableUser(usuario.getEmail());
+        if (criacaoPendente) {
+            keycloakOutboxService.agendarAtualizacao(usuario);
+        }
+        usuarioRepository.saveAndFlush(usuario);
+        if (keycloakId != null) {
+            keycloakAdminService.enableUser(keycloakId);
+        }
+    }
+
+    /**
+     * Usuário ainda não criado no Keycloak. A criação pode já estar em andamento com o status antigo, então o
+     * novo status vai por um evento de atualização, que a outbox só aplica depois da criação.
+     */
+    private boolean criacaoPendenteNoKeycloak(Usuario usuario) {
+        return usuario.getKeycloakId() == null && usuario.getStatusSincronizacao() == StatusSincronizacao.PENDENTE;
+    }
+
+    private static void conferirVersao(Usuario usuario, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(usuario.getVersao())) {
+            throw new VersaoDesatualizadaException("O usuário foi alterado desde a versão " + versaoEsperada
+                    + "; a versão atual é " + usuario.getVersao());
+        }
+    }
+
+    private String obterKeycloakId(Usuario usuario) {
+        return keycloakIdResolver.resolver(usuario)
+                .orElseThrow(() -> new KeycloakException("Usuário não encontrado no Keycloak: " + usuario.getEmail()));
     }
 
     @Transactional
@@ -147,89 +267,34 @@ public class UsuarioService {
         return senha.toString();
     }
 
+    /**
+     * @param versaoEsperada a versão em que o cliente se baseou ({@code If-Match}), ou null para não conferir
+     */
     @Transactional
-    public UsuarioResponseDTO atualizarUsuarioComSincronizacaoKeycloak(UsuarioDTO dto, String id) {
+    public UsuarioResponseDTO atualizarUsuarioComSincronizacaoKeycloak(UsuarioDTO dto, String id,
+            Long versaoEsperada) {
         Usuario usuario = usuarioRepository.findById(Long.parseLong(id))
                 .orElseThrow(() -> new UsuarioNaoEncontradoException(id));
+        conferirVersao(usuario, versaoEsperada);
 
-        try {
-            UserRepresentation userRepresentation = criarUserRepresentation(dto);
-            atualizarUsuarioNoKeycloak(userRepresentation);
-        } catch (Exception e) {
-            logger.error("Erro ao atualizar usuário no Keycloak: ", e);
-            throw new RuntimeException("Erro ao atualizar usuário no Keycloak: " + e.getMessage());
-        }
-        
+        String emailAnterior = usuario.getEmail();
+        EstatisticasUsuariosService.Perfil antes = EstatisticasUsuariosService.Perfil.de(usuario);
         usuarioMapper.updateEntityFromDTO(dto, usuario);
-        usuario = usuarioRepository.save(usuario);
-
-        return usuarioMapper.toResponseDTO(usuario);
-    }
 
-    private UserRepresentation criarUserRepresentation(UsuarioDTO dto) {
-        UserRepresentation user = new UserRepresentation();
-        user.setEmail(dto.getEmail());
-        user.setUsername(dto.getEmail());
-        user.setEnabled(dto.getStatus() == StatusUsuario.ATIVO);
-        
-        // Configurar nome e sobrenome
-        String[] nomeCompleto = dto.getNome().split(" ", 2);
-        user.setFirstName(nomeCompleto[0]);
-        user.setLastName(nomeCompleto.length > 1 ? nomeCompleto[1] : "");
-        
-        // Configurar atributos adicionais se necessário
-        Map<String, List<String>> attributes = new HashMap<>();
-        attributes.put("setor", Collections.singletonList(dto.getSetor()));
-        attributes.put("tipoUsuario", Collections.singletonList(dto.getTipoUsuario()));
-        user.setAttributes(attributes);
-        
-        return user;
-    }
-
-    private void atualizarUsuarioNoKeycloak(UserRepresentation userRepresentation) {
-        // Busca o usuário no Keycloak pelo email que está no DTO (email atual)
-        List<UserRepresentation> users = keycloak.realm(realm).users().search(userRepresentation.getEmail());
-        
-        if (users.isEmpty()) {
-            logger.error("Usuário não encontrado no Keycloak com email: {}", userRepresentation.getEmail());
-            throw new RuntimeException("Usuário não encontrado no Keycloak");
-        }
+        // O Keycloak é atualizado pela outbox depois do commit
+        keycloakOutboxService.agendarAtualizacao(usuario);
 
-        String userId = users.get(0).getId();
-        logger.info("Usuário encontrado no Keycloak com ID: {}", userId);
-        
-        // Atualizar informações básicas do usuário
-        keycloakAdminService.updateUser(userId, userRepresentation);
-        
-        // Atualizar roles
-        Set<String> rolesAtuais = obterRolesAtuaisDoUsuario(userId);
-        if (!rolesAtuais.isEmpty()) {
-            keycloakAdminService.removeRolesFromUser(userId, rolesAtuais);
+        // Flush aqui para que a versão devolvida já seja a gravada
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        estatisticasUsuariosService.registrarAlteracao(antes, usuario);
+        usuarioCache.invalidar(emailAnterior);
+        if (!emailAnterior.equals(usuario.getEmail())) {
+            keycloakIdResolver.invalidar(emailAnterior);
+            usuarioCache.invalidar(usuario.getEmail());
         }
-        
-        Set<String> novasRoles = obterRolesPorTipo(userRepresentation.getAttributes().get("tipoUsuario").get(0));
-        keycloakAdminService.assignRolesToUser(userId, novasRoles);
-    }
+        revisaoUsuarios.registrarAlteracao();
 
-    private Set<String> obterRolesAtuaisDoUsuario(String userId) {
-        try {
-            RealmResource realmResource = keycloak.realm(realm);
-            List<RoleRepresentation> roles = realmResource.users().get(userId).roles().realmLevel().listAll();
-            return roles.stream()
-                    .map(RoleRepresentation::getName)
-                    .collect(Collectors.toSet());
-        } catch (Exception e) {
-            logger.error("Erro ao obter roles atuais do usuário: ", e);
-            return Set.of();
-        }
-    }
-
-    private Set<String> obterRolesPorTipo(String tipoUsuario) {
-        return switch (tipoUsuario) {
-            case "ADMIN" -> Set.of("colaborador", "admin");
-            case "GESTOR" -> Set.of("gestor", "colaborador");
-            default -> Set.of("colaborador");
-        };
+        return usuarioMapper.toResponseDTO(usuario);
     }
 
     public void resetarSenhaComEmailEKeycloak(String email) {
@@ -237,9 +302,10 @@ public class UsuarioService {
                 .orElseThrow(() -> new UsuarioNaoEncontradoException(email));
 
         String novaSenha = gerarSenhaAleatoria();
+        String hash = passwordHashingService.codificar(novaSenha);
         enviarSenhaPorEmail(email, novaSenha, usuario.getNome());
-        atualizarSenhaNoBanco(usuario, novaSenha);
-        atualizarSenhaNoKeycloak(email, novaSenha);
+        gravarSenha(usuario, hash);
+        atualizarSenhaNoKeycloak(usuario, novaSenha);
     }
 
     private void enviarSenhaPorEmail(String email, String senha, String nome) {
@@ -249,22 +315,27 @@ public class UsuarioService {
     public void atualizarSenhaUsuario(UpdatePasswordDTO updatePasswordDTO) {
         Usuario usuario = usuarioRepository.findByEmail(updatePasswordDTO.getEmail())
                 .orElseThrow(() -> new UsuarioNaoEncontradoException(updatePasswordDTO.getEmail()));
-        atualizarSenhaNoBanco(usuario, updatePasswordDTO.getSenha());
-        atualizarSenhaNoKeycloak(updatePasswordDTO.getEmail(), updatePasswordDTO.getSenha());
+        gravarSenha(usuario, passwordHashingService.codificar(updatePasswordDTO.getSenha()));
+        atualizarSenhaNoKeycloak(usuario, updatePasswordDTO.getSenha());
     }
 
-    private void atualizarSenhaNoKeycloak(String email, String senha) {
-        List<UserRepresentation> users = keycloak.realm(realm).users().search(email);
-        if (users.isEmpty())
+    private void atualizarSenhaNoKeycloak(Usuario usuario, String senha) {
+        if (usuario.getKeycloakId() == null && keycloakOutboxService.atualizarSenhaPendente(usuario, senha)) {
             return;
-
-        String userId = users.get(0).getId();
-        keycloakAdminService.updatePassword(userId, senha);
+        }
+        keycloakIdResolver.resolver(usuario)
+                .ifPresent(userId -> keycloakAdminService.updatePassword(userId, senha));
     }
 
-    private void atualizarSenhaNoBanco(Usuario usuario, String senha) {
-        usuario.setSenha(passwordEncoder.encode(senha));
+    /**
+     * Grava o hash no formato atual do encoder; hashes antigos (sem prefixo ou de custo menor) são
+     * substituídos aqui. A gravação incrementa a versão, então a revisão das listagens também avança.
+     */
+    private void gravarSenha(Usuario usuario, String hash) {
+        usuario.setSenha(hash);
         usuarioRepository.save(usuario);
+        usuarioCache.invalidar(usuario.getEmail());
+        revisaoUsuarios.registrarAlteracao();
     }
 
     public boolean existsByEmail(String email) {
@@ -277,8 +348,86 @@ public class UsuarioService {
     }
 
     public UsuarioResponseDTO buscarUsuario(String email) {
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        return buscarUsuario(email, CampoUsuario.TODOS);
+    }
+
+    /**
+     * Vários usuários numa requisição só, em vez de um {@code GET /usuarios/{email}} por usuário.
+     *
+     * Os emails passam pelo {@link UsuarioCache} e os ausentes são carregados juntos; os IDs vão direto ao
+     * banco. As consultas são feitas em partes, um {@code IN} por parte, selecionando só as colunas da
+     * resposta. Sem transação, como {@link #buscarUsuario(String, Set)}.
+     */
+    public LoteUsuariosDTO buscarUsuarios(Collection<String> emails, Collection<Long> ids, Set<CampoUsuario> campos) {
+        Set<String> emailsPedidos = new LinkedHashSet<>();
+        if (emails != null) {
+            emails.stream().filter(StringUtils::hasText).forEach(emailsPedidos::add);
+        }
+        Set<Long> idsPedidos = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(idsPedidos::add);
+        }
+        if (emailsPedidos.size() + idsPedidos.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new LoteInvalidoException("No máximo " + TAMANHO_MAXIMO_LOTE + " usuários por lote");
+        }
+
+        Map<String, UsuarioResponseDTO> porEmail = emailsPedidos.isEmpty() ? Map.of()
+                : usuarioCache.buscarTodos(emailsPedidos, campos, this::carregarPorEmail);
+        Map<Long, UsuarioResponseDTO> porId = idsPedidos.isEmpty() ? Map.of()
+                : carregarEmPartes(idsPedidos, UsuarioSpecifications::comIds, campos, UsuarioResponseDTO::getId);
+
+        Map<String, UsuarioResponseDTO> usuarios = new LinkedHashMap<>();
+        List<String> naoEncontrados = new ArrayList<>();
+        for (String email : emailsPedidos) {
+            adicionar(email, porEmail.get(email), usuarios, naoEncontrados);
+        }
+        for (Long id : idsPedidos) {
+            UsuarioResponseDTO usuario = porId.get(id);
+            adicionar(id.toString(), usuario == null ? null : CampoUsuario.restringir(usuario, campos),
+                    usuarios, naoEncontrados);
+        }
+        return new LoteUsuariosDTO(usuarios, naoEncontrados);
+    }
+
+    private Map<String, UsuarioResponseDTO> carregarPorEmail(Set<? extends String> emails) {
+        return carregarEmPartes(emails, UsuarioSpecifications::comEmails, CampoUsuario.TODOS,
+                UsuarioResponseDTO::getEmail);
+    }
+
+    private <K> Map<K, UsuarioResponseDTO> carregarEmPartes(Collection<? extends K> chaves,
+            Function<List<K>, Specification<Usuario>> filtro, Set<CampoUsuario> campos,
+            Function<UsuarioResponseDTO, K> chaveDe) {
+        Set<CampoUsuario> selecionados = EnumSet.copyOf(campos);
+        selecionados.add(CampoUsuario.ID);
+        selecionados.add(CampoUsuario.EMAIL);
+
+        List<K> todas = new ArrayList<>(chaves);
+        Map<K, UsuarioResponseDTO> encontrados = new HashMap<>(todas.size() * 2);
+        for (int inicio = 0; inicio < todas.size(); inicio += TAMANHO_CONSULTA_LOTE) {
+            List<K> parte = todas.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA_LOTE, todas.size()));
+            for (UsuarioResponseDTO usuario : usuarioRepository.listarProjetado(
+                    filtro.apply(parte), selecionados, Sort.unsorted(), parte.size())) {
+                encontrados.put(chaveDe.apply(usuario), usuario);
+            }
+        }
+        return encontrados;
+    }
+
+    private static void adicionar(String chave, UsuarioResponseDTO usuario, Map<String, UsuarioResponseDTO> usuarios,
+            List<String> naoEncontrados) {
+        if (usuario != null) {
+            usuarios.put(chave, usuario);
+        } else {
+            naoEncontrados.add(chave);
+        }
+    }
+
+    /**
+     * Servido pelo {@link UsuarioCache}; sem transação, para que um acerto não ocupe conexão do pool.
+     */
+    public UsuarioResponseDTO buscarUsuario(String email, Set<CampoUsuario> campos) {
+        return usuarioCache.buscar(email, campos,
+                        chave -> usuarioRepository.buscarProjetadoPorEmail(chave, CampoUsuario.TODOS))
                 .orElseThrow(() -> new UsuarioNaoEncontradoException(email));
-        return usuarioMapper.toResponseDTO(usuario);
     }
 }
\ No newline at end of file
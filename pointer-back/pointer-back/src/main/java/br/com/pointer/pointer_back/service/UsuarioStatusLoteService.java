@@ -0,0 +1,241 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.dto.AlteracaoStatusLoteDTO;
+import br.com.pointer.pointer_back.dto.StatusLoteUsuariosDTO;
+import br.com.pointer.pointer_back.dto.UsuarioStatusLoteDTO;
+import br.com.pointer.pointer_back.exception.LoteInvalidoException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Troca de status de muitos usuários de uma vez, por setor e/ou cargo ou por lista de emails.
+ *
+ * O banco é alterado num único {@code UPDATE ... RETURNING}, que trava as linhas em ordem de id e devolve
+ * só as que de fato mudaram; contadores, cache e revisão são ajustados na mesma transação. Depois do
+ * commit, cada usuário é ativado ou desativado no Keycloak (desativar também encerra as sessões) com até
+ * {@code pointer.usuarios.status-lote.paralelismo} chamadas simultâneas. Se a chamada falhar, a alteração
+ * fica agendada na outbox, que leva o status ao Keycloak quando ele voltar: o banco é a fonte da verdade.
+ * Usuários sem ID do Keycloak gravado vão direto para a outbox, que decide se há conta a alterar.
+ */
+@Service
+public class UsuarioStatusLoteService {
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioStatusLoteService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UsuarioRepository usuarioRepository;
+    private final KeycloakAdminService keycloakAdminService;
+    private final KeycloakOutboxService keycloakOutboxService;
+    private final UsuarioCache usuarioCache;
+    private final EstatisticasUsuariosService estatisticasUsuariosService;
+    private final RevisaoUsuarios revisaoUsuarios;
+    private final int maximoEmails;
+    private final ExecutorService chamadas;
+
+    public UsuarioStatusLoteService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            UsuarioRepository usuarioRepository,
+            KeycloakAdminService keycloakAdminService,
+            KeycloakOutboxService keycloakOutboxService,
+            UsuarioCache usuarioCache,
+            EstatisticasUsuariosService estatisticasUsuariosService,
+            RevisaoUsuarios revisaoUsuarios,
+            FabricaExecutores fabricaExecutores,
+            @Value("${pointer.usuarios.status-lote.paralelismo:8}") int paralelismo,
+            @Value("${pointer.usuarios.status-lote.maximo-emails:1000}") int maximoEmails) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.usuarioRepository = usuarioRepository;
+        this.keycloakAdminService = keycloakAdminService;
+        this.keycloakOutboxService = keycloakOutboxService;
+        this.usuarioCache = usuarioCache;
+        this.estatisticasUsuariosService = estatisticasUsuariosService;
+        this.revisaoUsuarios = revisaoUsuarios;
+        this.maximoEmails = maximoEmails;
+        // Compartilhado entre requisições: dois lotes simultâneos não dobram a carga no Keycloak
+        this.chamadas = fabricaExecutores.limitado("usuarios-status-lote", paralelismo);
+    }
+
+    public StatusLoteUsuariosDTO alterar(AlteracaoStatusLoteDTO alteracao) {
+        StatusUsuario status = alteracao.getStatus();
+        if (status == null) {
+            throw new LoteInvalidoException("Informe o status desejado");
+        }
+        Set<String> emails = new LinkedHashSet<>();
+        if (alteracao.getEmails() != null) {
+            alteracao.getEmails().stream().filter(StringUtils::hasText).forEach(emails::add);
+        }
+        if (emails.size() > maximoEmails) {
+            throw new LoteInvalidoException("No máximo " + maximoEmails + " emails por lote");
+        }
+
+        List<String> condicoes = new ArrayList<>(4);
+        List<Object> parametros = new ArrayList<>(emails.size() + 4);
+        parametros.add(status.name());
+        if (StringUtils.hasText(alteracao.getSetor())) {
+            condicoes.add("setor = ?");
+            parametros.add(alteracao.getSetor());
+        }
+        if (StringUtils.hasText(alteracao.getCargo())) {
+            condicoes.add("cargo = ?");
+            parametros.add(alteracao.getCargo());
+        }
+        if (!emails.isEmpty()) {
+            condicoes.add("email IN (" + String.join(", ", Collections.nCopies(emails.size(), "?")) + ")");
+            parametros.addAll(emails);
+        }
+        if (condicoes.isEmpty()) {
+            // Sem critério, o lote seria o cadastro inteiro
+            throw new LoteInvalidoException("Informe setor, cargo ou emails");
+        }
+        condicoes.add("status <> ?");
+        parametros.add(status.name());
+
+        List<Alterado> alterados = transactionTemplate.execute(transacao -> gravar(condicoes, parametros, status));
+
+        List<CompletableFuture<UsuarioStatusLoteDTO>> sincronizacoes = alterados.stream()
+                .map(alterado -> CompletableFuture.supplyAsync(() -> sincronizar(alterado, status), chamadas))
+                .toList();
+        Map<String, UsuarioStatusLoteDTO> porEmail = new HashMap<>(alterados.size() * 2);
+        List<UsuarioStatusLoteDTO> resultados = new ArrayList<>(Math.max(alterados.size(), emails.size()));
+        int pendentes = 0;
+        for (CompletableFuture<UsuarioStatusLoteDTO> sincronizacao : sincronizacoes) {
+            UsuarioStatusLoteDTO resultado = sincronizacao.join();
+            if (resultado.getSituacao() == UsuarioStatusLoteDTO.Situacao.SINCRONIZACAO_PENDENTE) {
+                pendentes++;
+            }
+            porEmail.put(resultado.getEmail(), resultado);
+            resultados.add(resultado);
+        }
+
+        if (!emails.isEmpty()) {
+            resultados = relatarPorEmail(emails, porEmail);
+        }
+        logger.info("Status {} aplicado em lote a {} usuário(s), {} com sincronização pendente",
+                status, alterados.size(), pendentes);
+        return new StatusLoteUsuariosDTO(status, alterados.size(), pendentes, resultados);
+    }
+
+    private List<Alterado> gravar(List<String> condicoes, List<Object> parametros, StatusUsuario status) {
+        // A subconsulta trava as linhas em ordem de id (lotes concorrentes esperam em vez de entrar em
+        // deadlock) e guarda o status anterior, que o RETURNING sozinho não devolve
+        String sql = "UPDATE usuarios u SET status = ?, versao = u.versao + 1 "
+                + "FROM (SELECT id, status AS anterior FROM usuarios WHERE " + String.join(" AND ", condicoes)
+                + " ORDER BY id FOR UPDATE) a "
+                + "WHERE u.id = a.id "
+                + "RETURNING u.id, u.email, u.keycloak_id, u.setor, u.tipo_usuario, a.anterior";
+        List<Alterado> alterados = new ArrayList<>(jdbcTemplate.query(sql, (linha, numero) -> {
+            return new Alterado(
+                    linha.getLong("id"),
+                    linha.getString("email"),
+                    linha.getString("keycloak_id"),
+                    new EstatisticasUsuariosService.Perfil(linha.getString("setor"),
+                            StatusUsuario.valueOf(linha.getString("anterior")), linha.getString("tipo_usuario")));
+        }, parametros.toArray()));
+        if (alterados.isEmpty()) {
+            return alterados;
+        }
+        alterados.sort(Comparator.comparing(Alterado::id));
+
+        List<EstatisticasUsuariosService.Perfil> antes = new ArrayList<>(alterados.size());
+        List<EstatisticasUsuariosService.Perfil> depois = new ArrayList<>(alterados.size());
+        for (Alterado alterado : alterados) {
+            antes.add(alterado.antes());
+            depois.add(new EstatisticasUsuariosService.Perfil(
+                    alterado.antes().setor(), status, alterado.antes().tipoUsuario()));
+            usuarioCache.invalidar(alterado.email());
+        }
+        estatisticasUsuariosService.registrarAlteracoes(antes, depois);
+        revisaoUsuarios.registrarAlteracao();
+        return alterados;
+    }
+
+    private UsuarioStatusLoteDTO sincronizar(Alterado alterado, StatusUsuario status) {
+        // Sem ID gravado a conta com o email pode não ser deste usuário, e uma criação em andamento já leu o
+        // status antigo: a atualização vai pela outbox, que só a aplica depois da criação
+        if (alterado.keycloakId() == null) {
+            reagendar(alterado);
+            return resultado(alterado, UsuarioStatusLoteDTO.Situacao.SINCRONIZACAO_PENDENTE, null);
+        }
+
+        try {
+            if (status == StatusUsuario.INATIVO) {
+                keycloakAdminService.disableUser(alterado.keycloakId());
+            } else {
+                keycloakAdminService.enableUser(alterado.keycloakId());
+            }
+            return resultado(alterado, UsuarioStatusLoteDTO.Situacao.ALTERADO, null);
+        } catch (Exception e) {
+            logger.warn("Status do usuário {} não aplicado no Keycloak, agendado na outbox: {}",
+                    alterado.email(), e.getMessage());
+            reagendar(alterado);
+            return resultado(alterado, UsuarioStatusLoteDTO.Situacao.SINCRONIZACAO_PENDENTE, e.getMessage());
+        }
+    }
+
+    private void reagendar(Alterado alterado) {
+        try {
+            transactionTemplate.execute(transacao -> {
+                usuarioRepository.findById(alterado.id()).ifPresent(keycloakOutboxService::agendarAtualizacao);
+                usuarioCache.invalidar(alterado.email());
+                revisaoUsuarios.registrarAlteracao();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Falha ao agendar na outbox a atualização do usuário {}: ", alterado.email(), e);
+        }
+    }
+
+    private List<UsuarioStatusLoteDTO> relatarPorEmail(Set<String> emails, Map<String, UsuarioStatusLoteDTO> porEmail) {
+        List<String> restantes = emails.stream().filter(email -> !porEmail.containsKey(email)).toList();
+        Set<String> existentes = restantes.isEmpty() ? Set.of()
+                : new HashSet<>(usuarioRepository.findEmailsExistentes(restantes));
+
+        List<UsuarioStatusLoteDTO> resultados = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            UsuarioStatusLoteDTO resultado = porEmail.get(email);
+            if (resultado == null) {
+                resultado = new UsuarioStatusLoteDTO(email, null, existentes.contains(email)
+                        ? UsuarioStatusLoteDTO.Situacao.INALTERADO
+                        : UsuarioStatusLoteDTO.Situacao.NAO_ENCONTRADO, null);
+            }
+            resultados.add(resultado);
+        }
+        return resultados;
+    }
+
+    private static UsuarioStatusLoteDTO resultado(Alterado alterado, UsuarioStatusLoteDTO.Situacao situacao,
+            String erro) {
+        return new UsuarioStatusLoteDTO(alterado.email(), alterado.id(), situacao, erro);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        chamadas.shutdownNow();
+    }
+
+    private record Alterado(Long id, String email, String keycloakId, EstatisticasUsuariosService.Perfil antes) {
+    }
+}
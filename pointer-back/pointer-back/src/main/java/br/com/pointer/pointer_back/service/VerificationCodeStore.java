@@ -0,0 +1,19 @@
+package br.com.pointer.pointer_back.service;
+
+/**
+ * Armazena os códigos de verificação enviados no fluxo de recuperação de senha.
+ *
+ * Implementações devem expirar os códigos, consumi-los após um uso bem-sucedido e invalidá-los
+ * depois de um número máximo de tentativas erradas.
+ */
+public interface VerificationCodeStore {
+
+    void salvar(String email, String codigo);
+
+    /**
+     * Verifica o código informado. Um acerto consome o código; erros contam como tentativa.
+     */
+    boolean verificar(String email, String codigo);
+
+    void remover(String email);
+}
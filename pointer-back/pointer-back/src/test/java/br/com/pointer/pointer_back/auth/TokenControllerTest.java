@@ -0,0 +1,74 @@
+package br.com.pointer.pointer_back.auth;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenControllerTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenController controller = new TokenController();
+
+    TokenControllerTest() {
+        ReflectionTestUtils.setField(controller, "clientSecret", "segredo");
+        ReflectionTestUtils.setField(controller, "authServerUrl", "http://keycloak");
+        ReflectionTestUtils.setField(controller, "realm", "pointer");
+        ReflectionTestUtils.setField(controller, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(controller, "meterRegistry", meterRegistry);
+    }
+
+    @Test
+    void token_GrantNaoSuportado_DeveRecusarSemChamarOKeycloak() {
+        // Act
+        ResponseEntity<String> resposta = controller.token(
+                new TokenController.User("senha", "pointer", "ana@pointer.com", "client_credentials"));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode());
+        assertTrue(resposta.getBody().contains("unsupported_grant_type"));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void token_GrantsArbitrarios_NaoDevemCriarSeriesNovas() {
+        // Act
+        for (int i = 0; i < 50; i++) {
+            controller.token(new TokenController.User("senha", "pointer", "ana@pointer.com", "grant-" + i));
+        }
+
+        // Assert
+        assertEquals(1, meterRegistry.find("pointer.token.requisicao").timers().size());
+        Timer timer = meterRegistry.get("pointer.token.requisicao").tag("grant", "outro").timer();
+        assertEquals(50, timer.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void token_GrantSenha_DeveRepassarAoKeycloakComTagPassword() {
+        // Arrange
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("{\"error\":\"invalid_grant\"}"));
+
+        // Act
+        ResponseEntity<String> resposta = controller.token(
+                new TokenController.User("errada", "pointer", "ana@pointer.com", "password"));
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, resposta.getStatusCode());
+        verify(restTemplate).postForEntity(eq("http://keycloak/realms/pointer/protocol/openid-connect/token"),
+                argThat((HttpEntity<MultiValueMap<String, String>> entidade) ->
+                        "password".equals(entidade.getBody().getFirst("grant_type"))), eq(String.class));
+        assertEquals(1, meterRegistry.get("pointer.token.requisicao").tag("grant", "password").timer().count());
+    }
+}
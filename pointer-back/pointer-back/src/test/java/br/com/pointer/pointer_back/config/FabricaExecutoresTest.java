@@ -0,0 +1,124 @@
+package br.com.pointer.pointer_back.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FabricaExecutoresTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitado_ModoVirtual_DeveRespeitarConcorrencia() throws Exception {
+        // Arrange
+        ExecutorService executor = new FabricaExecutores(true, meterRegistry).limitado("teste", 2);
+        AtomicInteger simultaneas = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        AtomicBoolean virtual = new AtomicBoolean(true);
+        CountDownLatch concluidas = new CountDownLatch(20);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> {
+                virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+                maximo.accumulateAndGet(simultaneas.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                simultaneas.decrementAndGet();
+                concluidas.countDown();
+            });
+        }
+
+        // Assert
+        assertTrue(concluidas.await(5, TimeUnit.SECONDS));
+        assertTrue(maximo.get() <= 2);
+        assertTrue(virtual.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void limitado_FilaCheia_DeveRejeitarNosDoisModos() throws Exception {
+        for (boolean virtuais : new boolean[] { false, true }) {
+            // Arrange
+            ExecutorService executor = new FabricaExecutores(virtuais, meterRegistry).limitado("teste", 1, 1);
+            CountDownLatch bloqueio = new CountDownLatch(1);
+            CountDownLatch iniciou = new CountDownLatch(1);
+
+            try {
+                // Act
+                executor.execute(() -> {
+                    iniciou.countDown();
+                    aguardar(bloqueio);
+                });
+                assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+                executor.execute(() -> aguardar(bloqueio));
+
+                // Assert
+                assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+            } finally {
+                bloqueio.countDown();
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void cpu_ModoVirtual_DeveUsarThreadsDePlataforma() throws Exception {
+        // Arrange
+        ExecutorService executor = new FabricaExecutores(true, meterRegistry).cpu("teste", 1, -1);
+
+        // Act
+        boolean virtual = executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(virtual);
+        executor.shutdown();
+    }
+
+    @Test
+    void limitado_NosDoisModos_DevePublicarAtivasEEnfileiradas() throws Exception {
+        for (boolean virtuais : new boolean[] { false, true }) {
+            // Arrange
+            String nome = virtuais ? "teste-virtual" : "teste-plataforma";
+            ExecutorService executor = new FabricaExecutores(virtuais, meterRegistry).limitado(nome, 1);
+            CountDownLatch bloqueio = new CountDownLatch(1);
+            CountDownLatch iniciou = new CountDownLatch(1);
+
+            try {
+                // Act
+                executor.execute(() -> {
+                    iniciou.countDown();
+                    aguardar(bloqueio);
+                });
+                assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+                executor.execute(() -> aguardar(bloqueio));
+
+                // Assert
+                assertEquals(1.0, meterRegistry.get("executor.active").tag("name", nome).gauge().value());
+                assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", nome).gauge().value());
+            } finally {
+                bloqueio.countDown();
+                executor.shutdown();
+            }
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.pointer.pointer_back.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeycloakMetricsFilterTest {
+
+    @Test
+    void normalizar_CaminhoComIdERealm_DeveSubstituirPorMarcadores() {
+        // Act
+        String operacao = KeycloakMetricsFilter.normalizar(
+                "/admin/realms/pointer/users/cbd83ba9-b34f-428e-9245-4142350245e8/role-mappings/realm");
+
+        // Assert
+        assertEquals("/admin/realms/{realm}/users/{id}/role-mappings/realm", operacao);
+    }
+
+    @Test
+    void normalizar_CaminhoSemId_DeveManterOperacao() {
+        // Act
+        String operacao = KeycloakMetricsFilter.normalizar("/realms/pointer/protocol/openid-connect/token");
+
+        // Assert
+        assertEquals("/realms/{realm}/protocol/openid-connect/token", operacao);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.pointer.pointer_back.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasConfigTest {
+
+    private final MetricasConfig config = new MetricasConfig();
+
+    @Test
+    void histogramas_TimerDaRota_DeveContarPorFaixa() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(config.histogramas(true));
+        Timer timer = Timer.builder("http.server.requests").tag("uri", "/usuarios").register(meterRegistry);
+
+        // Act
+        timer.record(Duration.ofMillis(30));
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+
+        // Assert
+        assertEquals(MetricasConfig.FAIXAS.length, snapshot.histogramCounts().length);
+        assertEquals(0, snapshot.histogramCounts()[2].count());
+        assertEquals(1, snapshot.histogramCounts()[3].count());
+    }
+
+    @Test
+    void histogramas_TimerDeTerceiros_NaoDeveCriarFaixas() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(config.histogramas(true));
+        Timer timer = Timer.builder("jvm.gc.pause").register(meterRegistry);
+
+        // Act
+        timer.record(Duration.ofMillis(30));
+
+        // Assert
+        assertEquals(0, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void histogramas_Desabilitado_NaoDeveCriarFaixas() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(config.histogramas(false));
+        Timer timer = Timer.builder("pointer.keycloak.admin").register(meterRegistry);
+
+        // Act
+        timer.record(Duration.ofMillis(30));
+
+        // Assert
+        assertEquals(0, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void limiteRotas_AcimaDoMaximo_DeveDescartarNovasRotas() {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(config.limiteRotas(2));
+
+        // Act
+        for (String uri : new String[] { "/a", "/b", "/c" }) {
+            Timer.builder("http.server.requests").tag("uri", uri).register(meterRegistry).record(Duration.ofMillis(1));
+        }
+
+        // Assert
+        assertEquals(2, meterRegistry.find("http.server.requests").timers().size());
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.pointer.pointer_back.config;
+
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtecaoKeycloakTest {
+
+    private final CircuitBreaker disjuntor = CircuitBreaker.of("keycloak", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofSeconds(30))
+            .permittedNumberOfCallsInHalfOpenState(1)
+            .build());
+    private final Bulkhead bulkhead = Bulkhead.of("keycloak", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+    private final ProtecaoKeycloak protecao = new ProtecaoKeycloak(disjuntor, bulkhead);
+
+    @Test
+    void executar_RespostasComErroDoServidor_DeveAbrirDisjuntorERecusarSemChamar() {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            protecao.executar(() -> {
+                chamadas.incrementAndGet();
+                return 503;
+            }, status -> status >= 500);
+        }
+
+        // Act
+        KeycloakIndisponivelException ex = assertThrows(KeycloakIndisponivelException.class,
+                () -> protecao.executar(chamadas::incrementAndGet, status -> false));
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, disjuntor.getState());
+        assertEquals(4, chamadas.get());
+        assertEquals(Duration.ofSeconds(30), ex.getTenteNovamenteEm());
+    }
+
+    @Test
+    void executar_ErrosDoPedido_NaoDevemAbrirDisjuntor() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            protecao.executar(() -> 404, status -> status >= 500);
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, disjuntor.getState());
+    }
+
+    @Test
+    void executar_ExcecaoDaChamada_DevePropagarERegistrarFalha() {
+        // Act & Assert
+        assertThrows(IOException.class, () -> protecao.executar(() -> {
+            throw new IOException("Connection refused");
+        }, resposta -> false));
+        assertEquals(1, disjuntor.getMetrics().getNumberOfFailedCalls());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    void executar_BulkheadCheio_DeveRecusarSemEsperar() throws Exception {
+        // Arrange
+        CountDownLatch ocupado = new CountDownLatch(1);
+        CountDownLatch bloqueio = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Integer> primeira = executor.submit(() -> protecao.executar(() -> {
+            ocupado.countDown();
+            bloqueio.await(5, TimeUnit.SECONDS);
+            return 200;
+        }, status -> false));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+
+        try {
+            // Act & Assert
+            assertThrows(KeycloakIndisponivelException.class, () -> protecao.executar(() -> 200, status -> false));
+        } finally {
+            bloqueio.countDown();
+            executor.shutdown();
+        }
+        assertEquals(200, primeira.get(5, TimeUnit.SECONDS));
+        assertEquals(0, disjuntor.getMetrics().getNumberOfFailedCalls());
+    }
+}
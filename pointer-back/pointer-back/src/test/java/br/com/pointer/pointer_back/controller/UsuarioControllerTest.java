@@ -0,0 +1,118 @@
+package br.com.pointer.pointer_back.controller;
+
+import br.com.pointer.pointer_back.dto.CursorPageDTO;
+import br.com.pointer.pointer_back.dto.EmailDTO;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.exception.GlobalExceptionHandler;
+import br.com.pointer.pointer_back.exception.VersaoDesatualizadaException;
+import br.com.pointer.pointer_back.service.RevisaoUsuarios;
+import br.com.pointer.pointer_back.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class UsuarioControllerTest {
+
+    private static final String CORPO_STATUS = "{\"email\":\"ana@pointer.com\"}";
+
+    private final UsuarioService usuarioService = mock(UsuarioService.class);
+    private final RevisaoUsuarios revisaoUsuarios = mock(RevisaoUsuarios.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new UsuarioController(usuarioService, null, null, null, null, revisaoUsuarios, null))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void buscarUsuario_IfNoneMatchDaVersaoAtual_DeveResponder304SemCorpo() throws Exception {
+        // Arrange
+        when(usuarioService.buscarUsuario("ana@pointer.com")).thenReturn(usuario(3L));
+
+        // Act & Assert
+        mockMvc.perform(get("/usuarios/ana@pointer.com").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void buscarUsuario_IfNoneMatchDeVersaoAntiga_DeveResponder200ComNovaETag() throws Exception {
+        // Arrange
+        when(usuarioService.buscarUsuario("ana@pointer.com")).thenReturn(usuario(4L));
+
+        // Act & Assert
+        mockMvc.perform(get("/usuarios/ana@pointer.com").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.versao").value(4));
+    }
+
+    @Test
+    void listarUsuariosPorCursor_RevisaoAvancouDepoisDeUmaEscrita_DeveTrocarDe304Para200() throws Exception {
+        // Arrange
+        when(revisaoUsuarios.atual()).thenReturn(7L, 8L);
+        when(usuarioService.listarUsuariosPorCursor(any(), anyInt(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new CursorPageDTO<>(List.of(usuario(1L)), null, false, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/usuarios/cursor").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified());
+        verifyNoInteractions(usuarioService);
+
+        mockMvc.perform(get("/usuarios/cursor").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""));
+    }
+
+    @Test
+    void alterarStatus_IfMatchDesatualizado_DeveResponder412() throws Exception {
+        // Arrange
+        when(usuarioService.alternarStatusUsuarioPorEmail(any(EmailDTO.class), eq(3L)))
+                .thenThrow(new VersaoDesatualizadaException("O usuário foi alterado desde a versão 3"));
+
+        // Act & Assert
+        mockMvc.perform(post("/usuarios/alterar-status").header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(CORPO_STATUS))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Versão Desatualizada"));
+    }
+
+    @Test
+    void alterarStatus_IfMatchFraco_DeveResponder412SemChamarOServico() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/usuarios/alterar-status").header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(CORPO_STATUS))
+                .andExpect(status().isPreconditionFailed());
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    void alterarStatus_SemIfMatch_NaoDeveConferirVersaoEDeveDevolverANova() throws Exception {
+        // Arrange
+        when(usuarioService.alternarStatusUsuarioPorEmail(any(EmailDTO.class), isNull())).thenReturn(5L);
+
+        // Act & Assert
+        mockMvc.perform(post("/usuarios/alterar-status")
+                        .contentType(MediaType.APPLICATION_JSON).content(CORPO_STATUS))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""));
+        verify(usuarioService).alternarStatusUsuarioPorEmail(any(EmailDTO.class), isNull());
+    }
+
+    private static UsuarioResponseDTO usuario(Long versao) {
+        UsuarioResponseDTO usuario = new UsuarioResponseDTO();
+        usuario.setId(1L);
+        usuario.setEmail("ana@pointer.com");
+        usuario.setVersao(versao);
+        return usuario;
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.exception.CampoInvalidoException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CampoUsuarioTest {
+
+    @Test
+    void parse_SemCampos_DeveRetornarTodos() {
+        // Act & Assert
+        assertEquals(CampoUsuario.TODOS, CampoUsuario.parse(null));
+        assertEquals(CampoUsuario.TODOS, CampoUsuario.parse(" "));
+    }
+
+    @Test
+    void parse_ListaDeCampos_DeveRetornarApenasOsPedidos() {
+        // Act
+        Set<CampoUsuario> campos = CampoUsuario.parse("id, nome,status");
+
+        // Assert
+        assertEquals(EnumSet.of(CampoUsuario.ID, CampoUsuario.NOME, CampoUsuario.STATUS), campos);
+    }
+
+    @Test
+    void parse_CampoDesconhecido_DeveLancarCampoInvalidoException() {
+        // Act & Assert
+        CampoInvalidoException ex = assertThrows(CampoInvalidoException.class,
+                () -> CampoUsuario.parse("id,senha"));
+        assertEquals("Campo inválido: senha", ex.getMessage());
+    }
+
+    @Test
+    void restringir_DeveManterApenasOsCamposPedidos() {
+        // Arrange
+        UsuarioResponseDTO dto = new UsuarioResponseDTO();
+        dto.setId(1L);
+        dto.setNome("Ana");
+        dto.setEmail("ana@pointer.com");
+        dto.setStatus(StatusUsuario.ATIVO);
+
+        // Act
+        UsuarioResponseDTO restrito = CampoUsuario.restringir(dto, EnumSet.of(CampoUsuario.NOME, CampoUsuario.STATUS));
+
+        // Assert
+        assertNull(restrito.getId());
+        assertNull(restrito.getEmail());
+        assertEquals("Ana", restrito.getNome());
+        assertEquals(StatusUsuario.ATIVO, restrito.getStatus());
+    }
+}
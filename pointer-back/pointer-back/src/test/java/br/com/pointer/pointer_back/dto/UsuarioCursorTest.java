@@ -0,0 +1,42 @@
+package br.com.pointer.pointer_back.dto;
+
+import br.com.pointer.pointer_back.exception.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsuarioCursorTest {
+
+    @Test
+    void decodificar_CursorCodificado_DeveRetornarMesmaPosicao() {
+        // Arrange
+        UsuarioCursor cursor = new UsuarioCursor(LocalDateTime.of(2024, 5, 10, 14, 30, 15, 123456000), 42L);
+
+        // Act
+        UsuarioCursor decodificado = UsuarioCursor.decodificar(cursor.codificar());
+
+        // Assert
+        assertEquals(cursor, decodificado);
+    }
+
+    @Test
+    void codificar_DeveGerarValorSeguroParaUrl() {
+        // Arrange
+        UsuarioCursor cursor = new UsuarioCursor(LocalDateTime.of(2024, 5, 10, 14, 30), 7L);
+
+        // Act
+        String codificado = cursor.codificar();
+
+        // Assert
+        assertTrue(codificado.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decodificar_CursorMalFormado_DeveLancarCursorInvalidoException() {
+        // Act & Assert
+        assertThrows(CursorInvalidoException.class, () -> UsuarioCursor.decodificar("não-é-base64!"));
+        assertThrows(CursorInvalidoException.class, () -> UsuarioCursor.decodificar("c2VtLXNlcGFyYWRvcg"));
+    }
+}
@@ -1,9 +1,13 @@
 package br.com.pointer.pointer_back.exception;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -77,6 +81,148 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody().get("timestamp"));
     }
 
+    @Test
+    void handleFiltroInvalidoException_DeveRetornarResponseEntityComStatus400() {
+        // Arrange
+        FiltroInvalidoException ex = new FiltroInvalidoException("Status inválido: bloqueado");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleFiltroInvalidoException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Status inválido: bloqueado", response.getBody().get("message"));
+        assertEquals("Filtro Inválido", response.getBody().get("error"));
+    }
+
+    @Test
+    void handleAccessDeniedException_DeveRetornarResponseEntityComStatus403() {
+        // Arrange
+        AccessDeniedException ex = new AccessDeniedException("Access Denied");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleAccessDeniedException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertEquals(403, response.getBody().get("status"));
+        assertEquals("Acesso Negado", response.getBody().get("error"));
+    }
+
+    @Test
+    void handleEmailSendingException_DeveRetornarResponseEntityComStatus503() {
+        // Arrange
+        EmailSendingException ex = new EmailSendingException("Fila de emails cheia");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleEmailSendingException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(503, response.getBody().get("status"));
+        assertEquals("Fila de emails cheia", response.getBody().get("message"));
+        assertEquals("Serviço de Email Indisponível", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleCursorInvalidoException_DeveRetornarResponseEntityComStatus400() {
+        // Arrange
+        CursorInvalidoException ex = new CursorInvalidoException("Cursor inválido: abc");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleCursorInvalidoException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Cursor inválido: abc", response.getBody().get("message"));
+        assertEquals("Cursor Inválido", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleCampoInvalidoException_DeveRetornarResponseEntityComStatus400() {
+        // Arrange
+        CampoInvalidoException ex = new CampoInvalidoException("Campo inválido: senha");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleCampoInvalidoException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(400, response.getBody().get("status"));
+        assertEquals("Campo inválido: senha", response.getBody().get("message"));
+        assertEquals("Campo Inválido", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleKeycloakIndisponivelException_DeveRetornarStatus503ComRetryAfter() {
+        // Arrange
+        KeycloakIndisponivelException ex = new KeycloakIndisponivelException("Keycloak indisponível", Duration.ofSeconds(15));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleKeycloakIndisponivelException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("15", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(503, response.getBody().get("status"));
+        assertEquals("Keycloak indisponível", response.getBody().get("message"));
+        assertEquals("Keycloak Indisponível", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleCapacidadeEsgotadaException_DeveRetornarStatus429ComRetryAfter() {
+        // Arrange
+        CapacidadeEsgotadaException ex = new CapacidadeEsgotadaException("Tente novamente", Duration.ofMillis(1500));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleCapacidadeEsgotadaException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(429, response.getBody().get("status"));
+        assertEquals("Tente novamente", response.getBody().get("message"));
+        assertEquals("Muitas Requisições", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleVersaoDesatualizadaException_DeveRetornarResponseEntityComStatus412() {
+        // Arrange
+        VersaoDesatualizadaException ex = new VersaoDesatualizadaException("O usuário está na versão 3");
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleVersaoDesatualizadaException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals(412, response.getBody().get("status"));
+        assertEquals("O usuário está na versão 3", response.getBody().get("message"));
+        assertEquals("Versão Desatualizada", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
+    @Test
+    void handleOptimisticLockingFailureException_DeveRetornarResponseEntityComStatus409() {
+        // Arrange
+        ObjectOptimisticLockingFailureException ex = new ObjectOptimisticLockingFailureException("Usuario", 1L);
+
+        // Act
+        ResponseEntity<Map<String, Object>> response = handler.handleOptimisticLockingFailureException(ex);
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(409, response.getBody().get("status"));
+        assertEquals("Conflito", response.getBody().get("error"));
+        assertNotNull(response.getBody().get("timestamp"));
+    }
+
     @Test
     void handleGlobalException_DeveRetornarResponseEntityComStatus500() {
         // Arrange
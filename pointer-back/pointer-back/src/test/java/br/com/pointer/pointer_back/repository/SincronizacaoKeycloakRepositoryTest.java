@@ -0,0 +1,53 @@
+package br.com.pointer.pointer_back.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SincronizacaoKeycloakRepositoryTest {
+
+    @Test
+    void buscarProntosParaEnvio_DeveReservarComSkipLocked() throws NoSuchMethodException {
+        // Arrange
+        Method metodo = metodoDeReserva();
+
+        // Act
+        Lock lock = metodo.getAnnotation(Lock.class);
+        QueryHint[] hints = metodo.getAnnotation(QueryHints.class).value();
+
+        // Assert
+        assertEquals(LockModeType.PESSIMISTIC_WRITE, lock.value());
+        // -2 é o timeout que o Hibernate traduz para SKIP LOCKED
+        assertEquals("jakarta.persistence.lock.timeout", hints[0].name());
+        assertEquals("-2", hints[0].value());
+    }
+
+    @Test
+    void buscarProntosParaEnvio_SoEventosEmAbertoDevemBloquearOsSeguintes() throws NoSuchMethodException {
+        // Arrange
+        String consulta = metodoDeReserva().getAnnotation(Query.class).value();
+
+        // Act
+        String bloqueio = consulta.substring(consulta.indexOf("NOT EXISTS"));
+
+        // Assert
+        assertTrue(bloqueio.contains("StatusEventoSincronizacao.PENDENTE"));
+        assertTrue(bloqueio.contains("StatusEventoSincronizacao.PROCESSANDO"));
+        assertFalse(bloqueio.contains("FALHA"));
+        assertFalse(bloqueio.contains("<>"));
+    }
+
+    private static Method metodoDeReserva() throws NoSuchMethodException {
+        return SincronizacaoKeycloakRepository.class.getMethod(
+                "buscarProntosParaEnvio", LocalDateTime.class, Pageable.class);
+    }
+}
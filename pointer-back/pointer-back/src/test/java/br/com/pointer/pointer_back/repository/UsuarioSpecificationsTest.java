@@ -0,0 +1,61 @@
+package br.com.pointer.pointer_back.repository;
+
+import br.com.pointer.pointer_back.exception.FiltroInvalidoException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioSpecificationsTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void depoisDe_DeveLimitarDataCriacaoComAndParaOIndiceUsarORange() {
+        // Arrange
+        LocalDateTime data = LocalDateTime.of(2025, 3, 10, 9, 0);
+        Root<Usuario> root = mock(Root.class);
+        CriteriaBuilder cb = mock(CriteriaBuilder.class);
+        Path<LocalDateTime> dataCriacao = mock(Path.class);
+        Path<Long> id = mock(Path.class);
+        when(root.<LocalDateTime>get("dataCriacao")).thenReturn(dataCriacao);
+        when(root.<Long>get("id")).thenReturn(id);
+        Predicate limite = mock(Predicate.class);
+        Predicate desempate = mock(Predicate.class);
+        Predicate esperado = mock(Predicate.class);
+        when(cb.lessThanOrEqualTo(dataCriacao, data)).thenReturn(limite);
+        when(cb.or(any(), any())).thenReturn(desempate);
+        when(cb.and(limite, desempate)).thenReturn(esperado);
+
+        // Act
+        Predicate predicado = UsuarioSpecifications.depoisDe(data, 42L)
+                .toPredicate(root, mock(CriteriaQuery.class), cb);
+
+        // Assert
+        assertSame(esperado, predicado);
+        verify(cb).lessThan(id, 42L);
+    }
+
+    @Test
+    void status_ValorDeOutraCaixa_DeveConverter() {
+        // Act & Assert
+        assertEquals(StatusUsuario.INATIVO, UsuarioSpecifications.status(" inativo "));
+    }
+
+    @Test
+    void comFiltros_StatusInvalido_DeveLancarFiltroInvalido() {
+        // Act & Assert
+        FiltroInvalidoException ex = assertThrows(FiltroInvalidoException.class,
+                () -> UsuarioSpecifications.comFiltros(null, null, "bloqueado"));
+        assertTrue(ex.getMessage().contains("bloqueado"));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.pointer.pointer_back.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private static final Instant AGORA = Instant.parse("2024-05-10T12:00:00Z");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final Clock clock = Clock.fixed(AGORA, ZoneOffset.UTC);
+    private final AtomicInteger verificacoes = new AtomicInteger();
+
+    @Test
+    void decode_MesmoToken_DeveVerificarUmaUnicaVez() {
+        // Arrange
+        CachingJwtDecoder decoder = criarDecoder(token -> {
+            verificacoes.incrementAndGet();
+            return jwt(token, AGORA.plusSeconds(300));
+        });
+
+        // Act
+        Jwt primeiro = decoder.decode("token-a");
+        Jwt segundo = decoder.decode("token-a");
+
+        // Assert
+        assertSame(primeiro, segundo);
+        assertEquals(1, verificacoes.get());
+        assertEquals(1, meterRegistry.timer("pointer.jwt.verificacao").count());
+    }
+
+    @Test
+    void decode_AposExpiracaoDoToken_DeveVerificarNovamente() {
+        // Arrange
+        CachingJwtDecoder decoder = criarDecoder(token -> {
+            verificacoes.incrementAndGet();
+            return jwt(token, AGORA.plusSeconds(60));
+        });
+        decoder.decode("token-a");
+
+        // Act
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        decoder.decode("token-a");
+
+        // Assert
+        assertEquals(2, verificacoes.get());
+    }
+
+    @Test
+    void decode_TokenInvalido_NaoDeveGuardarNoCache() {
+        // Arrange
+        CachingJwtDecoder decoder = criarDecoder(token -> {
+            verificacoes.incrementAndGet();
+            throw new BadJwtException("assinatura inválida");
+        });
+
+        // Act & Assert
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("token-a"));
+        assertEquals(2, verificacoes.get());
+    }
+
+    private CachingJwtDecoder criarDecoder(JwtDecoder delegate) {
+        return new CachingJwtDecoder(delegate, meterRegistry, 100, Duration.ofMinutes(5), ticker, clock);
+    }
+
+    private static Jwt jwt(String token, Instant expiraEm) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("usuario")
+                .issuedAt(AGORA)
+                .expiresAt(expiraEm)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.pointer.pointer_back.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibradorBCryptTest {
+
+    @Test
+    void escolherCusto_HashRapido_DeveSubirAteCaberNoAlvo() {
+        // Act (25 ms no custo 10: 50 ms no 11, 100 ms no 12)
+        int custo = CalibradorBCrypt.escolherCusto(Duration.ofMillis(25).toNanos(), Duration.ofMillis(100), 10, 14);
+
+        // Assert
+        assertEquals(12, custo);
+    }
+
+    @Test
+    void escolherCusto_HashLento_DeveRespeitarCustoMinimo() {
+        // Act
+        int custo = CalibradorBCrypt.escolherCusto(Duration.ofMillis(400).toNanos(), Duration.ofMillis(100), 10, 14);
+
+        // Assert
+        assertEquals(10, custo);
+    }
+
+    @Test
+    void escolherCusto_HashMuitoRapido_DeveRespeitarCustoMaximo() {
+        // Act
+        int custo = CalibradorBCrypt.escolherCusto(Duration.ofMillis(1).toNanos(), Duration.ofSeconds(1), 10, 14);
+
+        // Assert
+        assertEquals(14, custo);
+    }
+
+    @Test
+    void escolherCusto_MinimoAbaixoDaBase_DeveDescerAteCaberNoAlvo() {
+        // Act (80 ms no custo 10: 20 ms no 8)
+        int custo = CalibradorBCrypt.escolherCusto(Duration.ofMillis(80).toNanos(), Duration.ofMillis(25), 4, 14);
+
+        // Assert
+        assertEquals(8, custo);
+    }
+}
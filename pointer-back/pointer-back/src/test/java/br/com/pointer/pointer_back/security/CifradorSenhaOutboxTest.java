@@ -0,0 +1,51 @@
+package br.com.pointer.pointer_back.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CifradorSenhaOutboxTest {
+
+    private static final String CHAVE = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final String OUTRA_CHAVE = Base64.getEncoder().encodeToString(new byte[16]);
+
+    @Test
+    void cifrar_MesmaSenha_DeveGerarValoresDiferentesQueVoltamASenha() {
+        // Arrange
+        CifradorSenhaOutbox cifrador = new CifradorSenhaOutbox(CHAVE);
+
+        // Act
+        String primeira = cifrador.cifrar("Senha@123");
+        String segunda = cifrador.cifrar("Senha@123");
+
+        // Assert
+        assertNotEquals(primeira, segunda);
+        assertFalse(primeira.contains("Senha@123"));
+        assertEquals(Optional.of("Senha@123"), cifrador.decifrar(primeira));
+        assertEquals(Optional.of("Senha@123"), new CifradorSenhaOutbox(CHAVE).decifrar(segunda));
+    }
+
+    @Test
+    void decifrar_OutraChave_DeveRetornarVazio() {
+        // Arrange
+        String cifrada = new CifradorSenhaOutbox(CHAVE).cifrar("Senha@123");
+
+        // Act
+        Optional<String> senha = new CifradorSenhaOutbox(OUTRA_CHAVE).decifrar(cifrada);
+
+        // Assert
+        assertTrue(senha.isEmpty());
+    }
+
+    @Test
+    void construtor_SemChaveOuComChaveInvalida_DeveImpedirAInicializacao() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> new CifradorSenhaOutbox(""));
+        assertThrows(IllegalStateException.class, () -> new CifradorSenhaOutbox("não é base64"));
+        assertThrows(IllegalStateException.class,
+                () -> new CifradorSenhaOutbox(Base64.getEncoder().encodeToString(new byte[10])));
+    }
+}
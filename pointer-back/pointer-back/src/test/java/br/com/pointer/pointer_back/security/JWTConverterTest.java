@@ -0,0 +1,63 @@
+package br.com.pointer.pointer_back.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTConverterTest {
+
+    private final JWTConverter converter = new JWTConverter();
+
+    @Test
+    void convert_PapeisConhecidos_DeveMontarMascaraEAutoridades() {
+        // Arrange
+        Jwt jwt = jwt(List.of("admin", "colaborador"));
+
+        // Act
+        AbstractAuthenticationToken token = converter.convert(jwt);
+
+        // Assert
+        PapelAuthenticationToken papelToken = assertInstanceOf(PapelAuthenticationToken.class, token);
+        assertEquals(Papel.ADMIN.getBit() | Papel.COLABORADOR.getBit(), papelToken.getPapeis());
+        assertEquals(List.of("ROLE_admin", "ROLE_colaborador"),
+                token.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void convert_PapelDesconhecido_DeveManterAutoridadeSemAlterarMascara() {
+        // Arrange
+        Jwt jwt = jwt(List.of("offline_access", "gestor"));
+
+        // Act
+        PapelAuthenticationToken token = (PapelAuthenticationToken) converter.convert(jwt);
+
+        // Assert
+        assertEquals(Papel.GESTOR.getBit(), token.getPapeis());
+        assertTrue(token.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_offline_access")));
+    }
+
+    @Test
+    void convert_MesmosPapeis_DeveReutilizarAsMesmasAutoridades() {
+        // Act
+        AbstractAuthenticationToken primeiro = converter.convert(jwt(List.of("user")));
+        AbstractAuthenticationToken segundo = converter.convert(jwt(List.of("user")));
+
+        // Assert
+        assertSame(primeiro.getAuthorities().iterator().next(), segundo.getAuthorities().iterator().next());
+        assertSame(Papel.USER.getAutoridade(), primeiro.getAuthorities().iterator().next());
+    }
+
+    private static Jwt jwt(List<String> roles) {
+        return Jwt.withTokenValue("t")
+                .header("alg", "RS256")
+                .subject("ana")
+                .claim("realm_access", Map.of("roles", roles))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.pointer.pointer_back.security;
+
+import br.com.pointer.pointer_back.security.LimitadorTaxa.Taxa;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorTaxaTest {
+
+    private final AtomicLong relogio = new AtomicLong(Duration.ofHours(1).toNanos());
+    private final LimitadorTaxa limitador = new LimitadorTaxa(Taxa.parse("3/PT1M"), 100, relogio::get);
+
+    @Test
+    void consumir_RajadaAteACapacidade_DevePermitir() {
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Duration.ZERO, limitador.consumir("10.0.0.1"));
+        }
+    }
+
+    @Test
+    void consumir_AcimaDaCapacidade_DeveRetornarEsperaAteProximaFicha() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+
+        // Act
+        Duration espera = limitador.consumir("10.0.0.1");
+
+        // Assert
+        assertEquals(Duration.ofSeconds(20), espera);
+    }
+
+    @Test
+    void consumir_AposReposicao_DevePermitirNovamente() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+        relogio.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, limitador.consumir("10.0.0.1"));
+        assertFalse(limitador.consumir("10.0.0.1").isZero());
+    }
+
+    @Test
+    void consumir_ChavesDiferentes_DeveUsarBaldesSeparados() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("10.0.0.1");
+        }
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, limitador.consumir("10.0.0.2"));
+    }
+
+    @Test
+    void consumir_BaldeOciosoPorUmPeriodo_DeveSerDescartado() {
+        // Arrange
+        limitador.consumir("10.0.0.1");
+        relogio.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        // Act
+        limitador.consumir("10.0.0.2");
+
+        // Assert
+        assertEquals(1, limitador.chaves());
+    }
+
+    @Test
+    void parse_TaxaInvalida_DeveLancarExcecao() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Taxa.parse("10"));
+        assertThrows(IllegalArgumentException.class, () -> Taxa.parse("0/PT1M"));
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.pointer.pointer_back.security;
+
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import br.com.pointer.pointer_back.security.LimitadorTaxa.Taxa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class LimiteTaxaFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+    private final FilterChain chain = mock(FilterChain.class);
+    private final LimiteTaxaFilter filter = new LimiteTaxaFilter(new LimitesTaxa(Map.of(
+            "/usuarios/esqueceu-senha", regra("email", "2/PT1M", "1/PT15M"),
+            "/token/refresh", regra(null, "1/PT1M", null))),
+            exceptionResolver, new ObjectMapper());
+
+    @Test
+    void doFilter_DentroDoLimite_DeveRepassarCorpoAoController() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = requisicao("/usuarios/esqueceu-senha", "10.0.0.1", "ana@pointer.com");
+        ArgumentCaptor<ServletRequest> repassada = ArgumentCaptor.forClass(ServletRequest.class);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain).doFilter(repassada.capture(), any());
+        String corpo = new String(repassada.getValue().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals("{\"email\":\"ana@pointer.com\"}", corpo);
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void doFilter_MesmoEmailDeOutroIp_DeveRecusar() throws Exception {
+        // Arrange
+        filter.doFilter(requisicao("/usuarios/esqueceu-senha", "10.0.0.1", "ana@pointer.com"),
+                new MockHttpServletResponse(), chain);
+        MockHttpServletRequest request = requisicao("/usuarios/esqueceu-senha", "10.0.0.2", "ANA@pointer.com");
+        ArgumentCaptor<Exception> recusa = ArgumentCaptor.forClass(Exception.class);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain, times(1)).doFilter(any(), any());
+        verify(exceptionResolver).resolveException(eq(request), any(), isNull(), recusa.capture());
+        assertInstanceOf(CapacidadeEsgotadaException.class, recusa.getValue());
+        assertEquals(1.0, meterRegistry.get("pointer.limite.rejeitadas").tag("chave", "email").counter().count());
+    }
+
+    @Test
+    void doFilter_IpAcimaDoLimite_DeveRecusarSemLerCorpo() throws Exception {
+        // Arrange
+        filter.doFilter(requisicao("/token/refresh", "10.0.0.1", null), new MockHttpServletResponse(), chain);
+        MockHttpServletRequest request = requisicao("/token/refresh", "10.0.0.1", null);
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        verify(chain, times(1)).doFilter(any(), any());
+        verify(exceptionResolver).resolveException(eq(request), any(), isNull(), any(CapacidadeEsgotadaException.class));
+        assertEquals(1.0, meterRegistry.get("pointer.limite.rejeitadas").tag("chave", "ip").counter().count());
+    }
+
+    @Test
+    void doFilter_RotaSemLimite_DeveApenasRepassar() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = requisicao("/usuarios", "10.0.0.1", "ana@pointer.com");
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+
+        // Assert
+        verify(chain, times(5)).doFilter(eq(request), any());
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void doFilter_CorpoAcimaDoMaximo_DeveResponder413() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = requisicao("/usuarios/esqueceu-senha", "10.0.0.1", null);
+        request.setContent(new byte[LimiteTaxaFilter.TAMANHO_MAXIMO_CORPO + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertEquals(413, response.getStatus());
+        verifyNoInteractions(chain);
+    }
+
+    private LimitesTaxa.Regra regra(String campoEmail, String taxaIp, String taxaEmail) {
+        AtomicLong relogio = new AtomicLong();
+        return new LimitesTaxa.Regra(campoEmail,
+                new LimitadorTaxa(Taxa.parse(taxaIp), 100, relogio::get),
+                taxaEmail == null ? null : new LimitadorTaxa(Taxa.parse(taxaEmail), 100, relogio::get),
+                Counter.builder("pointer.limite.rejeitadas").tag("chave", "ip").register(meterRegistry),
+                Counter.builder("pointer.limite.rejeitadas").tag("chave", "email").register(meterRegistry));
+    }
+
+    private static MockHttpServletRequest requisicao(String caminho, String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", caminho);
+        request.setRemoteAddr(ip);
+        if (email != null) {
+            request.setContent(("{\"email\":\"" + email + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.pointer.pointer_back.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PapelAuthorizationManagerTest {
+
+    private final AtomicInteger chamadasFallback = new AtomicInteger();
+    private final PapelAuthorizationManager manager = new PapelAuthorizationManager((auth, invocation) -> {
+        chamadasFallback.incrementAndGet();
+        return new AuthorizationDecision(true);
+    });
+    private final Alvo alvo = new Alvo();
+
+    @Test
+    void compilar_ExpressoesDePapeis_DeveGerarMascara() {
+        // Act & Assert
+        assertEquals(Papel.ADMIN.getBit(), PapelAuthorizationManager.compilar("hasRole('admin')"));
+        assertEquals(Papel.ADMIN.getBit() | Papel.USER.getBit(),
+                PapelAuthorizationManager.compilar("hasRole('admin') or hasRole('user')"));
+        assertEquals(Papel.GESTOR.getBit() | Papel.COLABORADOR.getBit(),
+                PapelAuthorizationManager.compilar("hasAnyRole('gestor', 'colaborador')"));
+    }
+
+    @Test
+    void compilar_ExpressaoNaoSuportada_DeveRetornarMarcadorGenerico() {
+        // Act & Assert
+        assertEquals(-1, PapelAuthorizationManager.compilar("hasRole('admin') and hasRole('user')"));
+        assertEquals(-1, PapelAuthorizationManager.compilar("hasRole('auditor')"));
+        assertEquals(-1, PapelAuthorizationManager.compilar("#email == authentication.name"));
+    }
+
+    @Test
+    void authorize_TokenComPapelExigido_DevePermitir() throws NoSuchMethodException {
+        // Arrange
+        Authentication auth = token(Papel.COLABORADOR);
+
+        // Act
+        AuthorizationResult decisao = manager.authorize(() -> auth, invocacao("colaboradorOuAdmin"));
+
+        // Assert
+        assertTrue(decisao.isGranted());
+        assertEquals(0, chamadasFallback.get());
+    }
+
+    @Test
+    void authorize_TokenSemPapelExigido_DeveNegar() throws NoSuchMethodException {
+        // Arrange
+        Authentication auth = token(Papel.USER);
+
+        // Act
+        AuthorizationResult decisao = manager.authorize(() -> auth, invocacao("somenteAdmin"));
+
+        // Assert
+        assertFalse(decisao.isGranted());
+    }
+
+    @Test
+    void authorize_OutroTipoDeAutenticacao_DeveUsarAutoridades() throws NoSuchMethodException {
+        // Arrange
+        TestingAuthenticationToken auth = new TestingAuthenticationToken("ana", null, "ROLE_admin");
+
+        // Act
+        AuthorizationResult decisao = manager.authorize(() -> auth, invocacao("somenteAdmin"));
+
+        // Assert
+        assertTrue(decisao.isGranted());
+    }
+
+    @Test
+    void authorize_ExpressaoGenerica_DeveDelegarAoFallback() throws NoSuchMethodException {
+        // Arrange
+        Authentication auth = token(Papel.ADMIN);
+
+        // Act
+        manager.authorize(() -> auth, invocacao("expressaoGenerica"));
+
+        // Assert
+        assertEquals(1, chamadasFallback.get());
+    }
+
+    private MethodInvocation invocacao(String metodo) throws NoSuchMethodException {
+        return new SimpleMethodInvocation(alvo, Alvo.class.getMethod(metodo));
+    }
+
+    private static Authentication token(Papel papel) {
+        Jwt jwt = Jwt.withTokenValue("t").header("alg", "RS256").subject("ana").build();
+        return new PapelAuthenticationToken(jwt, Papel.autoridades(papel.getBit()), papel.getBit());
+    }
+
+    static class Alvo {
+        @PreAuthorize("hasRole('admin')")
+        public void somenteAdmin() {
+        }
+
+        @PreAuthorize("hasRole('colaborador') or hasRole('admin') or hasRole('gestor')")
+        public void colaboradorOuAdmin() {
+        }
+
+        @PreAuthorize("isAuthenticated()")
+        public void expressaoGenerica() {
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.pointer.pointer_back.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityConfigTest {
+
+    private final List<Advisor> advisors = List.of(SecurityConfig.preAuthorizeAdvisor(),
+            SecurityConfig.postAuthorizeAdvisor(), SecurityConfig.preFilterAdvisor(), SecurityConfig.postFilterAdvisor());
+
+    @Test
+    void advisors_DevemCobrirAsQuatroAnotacoesDeMetodo() {
+        // Act & Assert
+        assertTrue(algumAplica(ComPreAuthorize.class));
+        assertTrue(algumAplica(ComPostAuthorize.class));
+        assertTrue(algumAplica(ComPreFilter.class));
+        assertTrue(algumAplica(ComPostFilter.class));
+        assertFalse(algumAplica(SemAnotacao.class));
+    }
+
+    @Test
+    void advisors_DevemManterAOrdemPadraoDoSpring() {
+        // Act
+        List<Integer> ordens = advisors.stream()
+                .map(advisor -> ((Ordered) advisor).getOrder())
+                .toList();
+
+        // Assert: PreFilter < PreAuthorize < PostAuthorize < PostFilter
+        assertTrue(ordens.get(2) < ordens.get(0));
+        assertTrue(ordens.get(0) < ordens.get(1));
+        assertTrue(ordens.get(1) < ordens.get(3));
+    }
+
+    private boolean algumAplica(Class<?> alvo) {
+        return advisors.stream().anyMatch(advisor -> AopUtils.canApply(advisor, alvo));
+    }
+
+    static class ComPreAuthorize {
+        @PreAuthorize("hasRole('admin')")
+        public void metodo() {
+        }
+    }
+
+    static class ComPostAuthorize {
+        @PostAuthorize("returnObject != null")
+        public Object metodo() {
+            return null;
+        }
+    }
+
+    static class ComPreFilter {
+        @PreFilter("filterObject != null")
+        public void metodo(List<String> valores) {
+        }
+    }
+
+    static class ComPostFilter {
+        @PostFilter("filterObject != null")
+        public List<String> metodo() {
+            return List.of();
+        }
+    }
+
+    static class SemAnotacao {
+        public void metodo() {
+        }
+    }
+}
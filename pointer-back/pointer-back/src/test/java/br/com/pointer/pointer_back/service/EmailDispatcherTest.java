@@ -0,0 +1,197 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.config.ResilienciaConfig;
+import br.com.pointer.pointer_back.exception.EmailSendingException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private EmailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.encerrar();
+    }
+
+    @Test
+    void enfileirar_MesmoTemplate_DeveAgruparNumaUnicaChamada() throws InterruptedException {
+        // Arrange
+        List<Integer> chamadas = new CopyOnWriteArrayList<>();
+        CountDownLatch entregues = new CountDownLatch(3);
+        EmailTransport transport = (templateId, mensagens) -> {
+            chamadas.add(mensagens.size());
+            mensagens.forEach(m -> entregues.countDown());
+        };
+        dispatcher = criarDispatcher(transport, 10, Duration.ofMillis(300));
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+        dispatcher.enfileirar(new EmailMensagem("b@pointer.com", "t-1", Map.of()));
+        dispatcher.enfileirar(new EmailMensagem("c@pointer.com", "t-1", Map.of()));
+
+        // Assert
+        assertTrue(entregues.await(5, TimeUnit.SECONDS));
+        dispatcher.encerrar();
+        assertEquals(List.of(3), chamadas);
+        assertEquals(3.0, meterRegistry.counter("pointer.email.mensagens", "resultado", "enviada").count());
+    }
+
+    @Test
+    void enfileirar_FalhaTemporaria_DeveTentarNovamente() throws InterruptedException {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+        CountDownLatch entregue = new CountDownLatch(1);
+        EmailTransport transport = (templateId, mensagens) -> {
+            if (tentativas.incrementAndGet() == 1) {
+                throw new EmailTransport.EnvioRecusadoException(503, "indisponível");
+            }
+            entregue.countDown();
+        };
+        dispatcher = criarDispatcher(transport, 10, Duration.ZERO);
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+
+        // Assert
+        assertTrue(entregue.await(5, TimeUnit.SECONDS));
+        assertEquals(2, tentativas.get());
+    }
+
+    @Test
+    void enfileirar_FalhaDefinitiva_NaoDeveTentarNovamente() throws InterruptedException {
+        // Arrange
+        AtomicInteger tentativas = new AtomicInteger();
+        EmailTransport transport = (templateId, mensagens) -> {
+            tentativas.incrementAndGet();
+            throw new EmailTransport.EnvioRecusadoException(400, "template inválido");
+        };
+        dispatcher = criarDispatcher(transport, 10, Duration.ZERO);
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+        dispatcher.encerrar();
+
+        // Assert
+        assertEquals(1, tentativas.get());
+        assertEquals(1.0, meterRegistry.counter("pointer.email.mensagens", "resultado", "falha").count());
+    }
+
+    @Test
+    void enfileirar_LoteRecusadoDefinitivamente_DeveReenviarUmaAUmaEFalharSoAInvalida() throws InterruptedException {
+        // Arrange
+        List<Integer> chamadas = new CopyOnWriteArrayList<>();
+        List<String> entregues = new CopyOnWriteArrayList<>();
+        EmailTransport transport = (templateId, mensagens) -> {
+            chamadas.add(mensagens.size());
+            if (mensagens.stream().anyMatch(m -> m.destinatario().equals("invalido"))) {
+                throw new EmailTransport.EnvioRecusadoException(400, "destinatário inválido");
+            }
+            mensagens.forEach(m -> entregues.add(m.destinatario()));
+        };
+        dispatcher = criarDispatcher(transport, 10, Duration.ofMillis(300));
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+        dispatcher.enfileirar(new EmailMensagem("invalido", "t-1", Map.of()));
+        dispatcher.enfileirar(new EmailMensagem("c@pointer.com", "t-1", Map.of()));
+        dispatcher.encerrar();
+
+        // Assert
+        assertEquals(List.of(3, 1, 1, 1), chamadas);
+        assertEquals(List.of("a@pointer.com", "c@pointer.com"), entregues);
+        assertEquals(2.0, meterRegistry.counter("pointer.email.mensagens", "resultado", "enviada").count());
+        assertEquals(1.0, meterRegistry.counter("pointer.email.mensagens", "resultado", "falha").count());
+    }
+
+    @Test
+    void enfileirar_LoteComFalhaTemporariaEsgotada_NaoDeveReenviarIndividualmente() throws InterruptedException {
+        // Arrange
+        List<Integer> chamadas = new CopyOnWriteArrayList<>();
+        EmailTransport transport = (templateId, mensagens) -> {
+            chamadas.add(mensagens.size());
+            throw new EmailTransport.EnvioRecusadoException(503, "indisponível");
+        };
+        dispatcher = criarDispatcher(transport, 10, Duration.ofMillis(300));
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+        dispatcher.enfileirar(new EmailMensagem("b@pointer.com", "t-1", Map.of()));
+        dispatcher.encerrar();
+
+        // Assert
+        assertEquals(List.of(2, 2, 2), chamadas);
+        assertEquals(2.0, meterRegistry.counter("pointer.email.mensagens", "resultado", "falha").count());
+    }
+
+    @Test
+    void enfileirar_FilaCheia_DeveLancarEmailSendingException() {
+        // Arrange
+        CountDownLatch bloqueio = new CountDownLatch(1);
+        EmailTransport transport = (templateId, mensagens) -> {
+            try {
+                bloqueio.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        dispatcher = criarDispatcher(transport, 1, Duration.ZERO);
+
+        // Act & Assert
+        try {
+            assertThrows(EmailSendingException.class, () -> {
+                for (int i = 0; i < 10; i++) {
+                    dispatcher.enfileirar(new EmailMensagem(i + "@pointer.com", "t-1", Map.of()));
+                }
+            });
+        } finally {
+            bloqueio.countDown();
+        }
+    }
+
+    @Test
+    void enfileirar_DisjuntorAberto_DeveAguardarSemGastarTentativas() throws InterruptedException {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        CountDownLatch entregue = new CountDownLatch(1);
+        EmailTransport transport = (templateId, mensagens) -> {
+            chamadas.incrementAndGet();
+            entregue.countDown();
+        };
+        CircuitBreaker disjuntor = circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.SENDGRID);
+        disjuntor.transitionToForcedOpenState();
+        dispatcher = criarDispatcher(transport, 10, Duration.ofMillis(10));
+
+        // Act
+        dispatcher.enfileirar(new EmailMensagem("a@pointer.com", "t-1", Map.of()));
+        Thread.sleep(300);
+        int chamadasComDisjuntorAberto = chamadas.get();
+        disjuntor.transitionToClosedState();
+
+        // Assert
+        assertEquals(0, chamadasComDisjuntorAberto);
+        assertTrue(entregue.await(5, TimeUnit.SECONDS));
+        assertEquals(1, chamadas.get());
+    }
+
+    private EmailDispatcher criarDispatcher(EmailTransport transport, int capacidade, Duration janela) {
+        return new EmailDispatcher(transport, meterRegistry, circuitBreakerRegistry, capacidade, 1, 100, janela, 3,
+                Duration.ofMillis(10), Duration.ofSeconds(5), new FabricaExecutores(false, meterRegistry));
+    }
+}
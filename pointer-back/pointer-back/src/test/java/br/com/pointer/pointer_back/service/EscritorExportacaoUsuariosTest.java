@@ -0,0 +1,95 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EscritorExportacaoUsuariosTest {
+
+    @Test
+    void csv_ComAspasEQuebraDeLinha_DeveSerLidoDeVoltaPelaImportacao() throws IOException {
+        // Arrange
+        StringWriter saida = new StringWriter();
+        EscritorExportacaoUsuarios escritor = EscritorExportacaoUsuarios.csv(saida);
+
+        // Act
+        escritor.iniciar();
+        escritor.escrever(usuario(1L, "Ana \"Aninha\", Souza", "Analista\nSênior"));
+        escritor.escrever(usuario(2L, "Bia", "Analista"));
+
+        // Assert
+        List<LeitorImportacaoUsuarios.Registro> registros = new ArrayList<>();
+        LeitorImportacaoUsuarios.csv(new ByteArrayInputStream(saida.toString().getBytes(StandardCharsets.UTF_8)))
+                .forEachRemaining(registros::add);
+        assertEquals(2, registros.size());
+        assertEquals("Ana \"Aninha\", Souza", registros.get(0).usuario().getNome());
+        assertEquals("Analista\nSênior", registros.get(0).usuario().getCargo());
+        assertEquals("colaborador", registros.get(0).usuario().getTipoUsuario());
+        assertEquals(StatusUsuario.ATIVO, registros.get(0).usuario().getStatus());
+        assertEquals("bia@pointer.com", registros.get(1).usuario().getEmail());
+        assertTrue(saida.toString().startsWith("id,nome,email,status,cargo,setor,tipoUsuario,dataCriacao,"));
+    }
+
+    @Test
+    void csv_SemRegistros_DeveEscreverSoOCabecalho() throws IOException {
+        // Arrange
+        StringWriter saida = new StringWriter();
+
+        // Act
+        EscritorExportacaoUsuarios.csv(saida).iniciar();
+
+        // Assert
+        assertEquals("id,nome,email,status,cargo,setor,tipoUsuario,dataCriacao,statusSincronizacao\r\n",
+                saida.toString());
+    }
+
+    @Test
+    void ndjson_DoisUsuarios_DeveEscreverUmObjetoPorLinha() throws IOException {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        StringWriter saida = new StringWriter();
+        EscritorExportacaoUsuarios escritor = EscritorExportacaoUsuarios.ndjson(saida, objectMapper);
+
+        // Act
+        escritor.iniciar();
+        escritor.escrever(usuario(1L, "Ana", "Analista"));
+        escritor.escrever(usuario(2L, "Bia\nSouza", "Analista"));
+
+        // Assert
+        String[] linhas = saida.toString().split("\n");
+        assertEquals(2, linhas.length);
+        JsonNode segunda = objectMapper.readTree(linhas[1]);
+        assertEquals(2, segunda.get("id").asLong());
+        assertEquals("Bia\nSouza", segunda.get("nome").asText());
+        assertEquals("SINCRONIZADO", segunda.get("statusSincronizacao").asText());
+        assertTrue(saida.toString().endsWith("}\n"));
+    }
+
+    private static UsuarioResponseDTO usuario(Long id, String nome, String cargo) {
+        UsuarioResponseDTO usuario = new UsuarioResponseDTO();
+        usuario.setId(id);
+        usuario.setNome(nome);
+        usuario.setEmail(nome.substring(0, 3).toLowerCase() + "@pointer.com");
+        usuario.setStatus(StatusUsuario.ATIVO);
+        usuario.setCargo(cargo);
+        usuario.setSetor("TI");
+        usuario.setTipoUsuario("colaborador");
+        usuario.setDataCriacao(LocalDateTime.of(2025, 3, 1, 10, 30));
+        usuario.setStatusSincronizacao(StatusSincronizacao.SINCRONIZADO);
+        return usuario;
+    }
+}
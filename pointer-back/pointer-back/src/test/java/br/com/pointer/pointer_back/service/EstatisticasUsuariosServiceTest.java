@@ -0,0 +1,135 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.EstatisticasUsuariosDTO;
+import br.com.pointer.pointer_back.model.CadastrosMensais;
+import br.com.pointer.pointer_back.model.ContadorUsuarios;
+import br.com.pointer.pointer_back.model.DimensaoUsuario;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.CadastrosMensaisRepository;
+import br.com.pointer.pointer_back.repository.ContadorUsuariosRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EstatisticasUsuariosServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ContadorUsuariosRepository contadorUsuariosRepository = mock(ContadorUsuariosRepository.class);
+    private final CadastrosMensaisRepository cadastrosMensaisRepository = mock(CadastrosMensaisRepository.class);
+    private final EstatisticasUsuariosService service = new EstatisticasUsuariosService(
+            jdbcTemplate, contadorUsuariosRepository, cadastrosMensaisRepository);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarCriacoes_MesmoSetor_DeveSomarUmIncrementoPorContadorEmOrdem() {
+        // Arrange
+        Usuario ana = usuario("TI", StatusUsuario.ATIVO, "colaborador", LocalDateTime.of(2025, 3, 10, 9, 0));
+        Usuario bia = usuario("TI", StatusUsuario.ATIVO, "gestor", LocalDateTime.of(2025, 3, 31, 23, 0));
+
+        // Act
+        service.registrarCriacoes(List.of(ana, bia));
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> contadores = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Object[]>> meses = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO usuarios_contadores"), contadores.capture());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO usuarios_cadastros_mensais"), meses.capture());
+        assertArrayEquals(new Object[]{"SETOR", "TI", 2L}, contadores.getValue().get(0));
+        assertArrayEquals(new Object[]{"STATUS", "ATIVO", 2L}, contadores.getValue().get(1));
+        assertArrayEquals(new Object[]{"TIPO_USUARIO", "colaborador", 1L}, contadores.getValue().get(2));
+        assertArrayEquals(new Object[]{"TIPO_USUARIO", "gestor", 1L}, contadores.getValue().get(3));
+        assertArrayEquals(new Object[]{Date.valueOf(LocalDate.of(2025, 3, 1)), 2L}, meses.getValue().get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarAlteracao_TrocaDeStatus_DeveAjustarSoOStatus() {
+        // Arrange
+        Usuario usuario = usuario("TI", StatusUsuario.ATIVO, "colaborador", LocalDateTime.now());
+        EstatisticasUsuariosService.Perfil antes = EstatisticasUsuariosService.Perfil.de(usuario);
+        usuario.setStatus(StatusUsuario.INATIVO);
+
+        // Act
+        service.registrarAlteracao(antes, usuario);
+
+        // Assert
+        ArgumentCaptor<List<Object[]>> contadores = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO usuarios_contadores"), contadores.capture());
+        assertEquals(2, contadores.getValue().size());
+        assertArrayEquals(new Object[]{"STATUS", "ATIVO", -1L}, contadores.getValue().get(0));
+        assertArrayEquals(new Object[]{"STATUS", "INATIVO", 1L}, contadores.getValue().get(1));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void registrarAlteracao_SemMudancaNosAtributosContados_NaoDeveGravar() {
+        // Arrange
+        Usuario usuario = usuario("TI", StatusUsuario.ATIVO, "colaborador", LocalDateTime.now());
+        EstatisticasUsuariosService.Perfil antes = EstatisticasUsuariosService.Perfil.de(usuario);
+        usuario.setNome("Outro nome");
+
+        // Act
+        service.registrarAlteracao(antes, usuario);
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void consultar_ComContadores_DeveMontarTotaisSemZerosEMesesEmOrdem() {
+        // Arrange
+        when(contadorUsuariosRepository.findAll()).thenReturn(List.of(
+                contador(DimensaoUsuario.STATUS, "ATIVO", 7),
+                contador(DimensaoUsuario.STATUS, "INATIVO", 3),
+                contador(DimensaoUsuario.SETOR, "TI", 10),
+                contador(DimensaoUsuario.SETOR, "RH", 0),
+                contador(DimensaoUsuario.TIPO_USUARIO, "colaborador", 10)));
+        when(cadastrosMensaisRepository.findAll()).thenReturn(List.of(
+                mes(LocalDate.of(2025, 4, 1), 6),
+                mes(LocalDate.of(2025, 3, 1), 4)));
+
+        // Act
+        EstatisticasUsuariosDTO estatisticas = service.consultar();
+
+        // Assert
+        assertEquals(10, estatisticas.getTotal());
+        assertEquals(Map.of("TI", 10L), estatisticas.getPorSetor());
+        assertEquals(Map.of("ATIVO", 7L, "INATIVO", 3L), estatisticas.getPorStatus());
+        assertEquals(List.of("2025-03", "2025-04"), List.copyOf(estatisticas.getCadastrosPorMes().keySet()));
+    }
+
+    private static Usuario usuario(String setor, StatusUsuario status, String tipo, LocalDateTime criacao) {
+        Usuario usuario = new Usuario();
+        usuario.setSetor(setor);
+        usuario.setStatus(status);
+        usuario.setTipoUsuario(tipo);
+        usuario.setDataCriacao(criacao);
+        return usuario;
+    }
+
+    private static ContadorUsuarios contador(DimensaoUsuario dimensao, String valor, long total) {
+        ContadorUsuarios contador = new ContadorUsuarios();
+        contador.setDimensao(dimensao);
+        contador.setValor(valor);
+        contador.setTotal(total);
+        return contador;
+    }
+
+    private static CadastrosMensais mes(LocalDate mes, long total) {
+        CadastrosMensais cadastros = new CadastrosMensais();
+        cadastros.setMes(mes);
+        cadastros.setTotal(total);
+        return cadastros;
+    }
+}
@@ -0,0 +1,74 @@
+package br.com.pointer.pointer_back.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryVerificationCodeStoreTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final Ticker ticker = agora::get;
+    private final InMemoryVerificationCodeStore store =
+            new InMemoryVerificationCodeStore(Duration.ofMinutes(10), 3, 1_000, ticker);
+
+    @Test
+    void verificar_CodigoCorreto_DeveConsumirCodigo() {
+        // Arrange
+        store.salvar("ana@pointer.com", "123456");
+
+        // Act
+        boolean primeira = store.verificar("ana@pointer.com", "123456");
+        boolean segunda = store.verificar("ana@pointer.com", "123456");
+
+        // Assert
+        assertTrue(primeira);
+        assertFalse(segunda);
+    }
+
+    @Test
+    void verificar_AposExpirar_DeveRetornarFalse() {
+        // Arrange
+        store.salvar("ana@pointer.com", "123456");
+
+        // Act
+        agora.addAndGet(Duration.ofMinutes(11).toNanos());
+        boolean valido = store.verificar("ana@pointer.com", "123456");
+
+        // Assert
+        assertFalse(valido);
+    }
+
+    @Test
+    void verificar_AposMaximoDeTentativasErradas_DeveInvalidarCodigo() {
+        // Arrange
+        store.salvar("ana@pointer.com", "123456");
+
+        // Act
+        store.verificar("ana@pointer.com", "000000");
+        store.verificar("ana@pointer.com", "111111");
+        store.verificar("ana@pointer.com", "222222");
+        boolean valido = store.verificar("ana@pointer.com", "123456");
+
+        // Assert
+        assertFalse(valido);
+    }
+
+    @Test
+    void salvar_AcimaDoTamanhoMaximo_DeveManterTamanhoLimitado() {
+        // Arrange
+        InMemoryVerificationCodeStore pequeno =
+                new InMemoryVerificationCodeStore(Duration.ofMinutes(10), 3, 100, ticker);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            pequeno.salvar("usuario" + i + "@pointer.com", "123456");
+        }
+
+        // Assert
+        assertTrue(pequeno.tamanho() <= 100);
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import br.com.pointer.pointer_back.exception.UsuarioJaExisteException;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.RealmResource;
+import org.keycloak.representations.idm.RoleRepresentation;
+import org.keycloak.representations.idm.UserRepresentation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class KeycloakAdminServiceTest {
+
+    private final Keycloak keycloak = mock(Keycloak.class, RETURNS_DEEP_STUBS);
+    private final RealmResource realmResource = keycloak.realm("pointer");
+    private final KeycloakAdminService service = new KeycloakAdminService(keycloak, "pointer", Duration.ofMinutes(10));
+
+    @Test
+    void assignRolesToUser_VariasChamadas_DeveListarRolesDoRealmUmaUnicaVez() {
+        // Arrange
+        when(realmResource.roles().list()).thenReturn(List.of(role("admin"), role("gestor"), role("colaborador")));
+
+        // Act
+        service.assignRolesToUser("kc-1", Set.of("gestor", "colaborador"));
+        service.assignRolesToUser("kc-2", Set.of("admin"));
+
+        // Assert
+        verify(realmResource.roles(), times(1)).list();
+        verify(realmResource.roles(), never()).get(anyString());
+    }
+
+    @Test
+    void assignRolesToUser_RoleInexistente_DeveLancarIllegalArgumentException() {
+        // Arrange
+        when(realmResource.roles().list()).thenReturn(List.of(role("colaborador")));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.assignRolesToUser("kc-1", Set.of("auditor")));
+    }
+
+    @Test
+    void buscarIdPorEmail_KeycloakIndisponivel_DevePropagarSemEmbrulhar() {
+        // Arrange
+        KeycloakIndisponivelException indisponivel = new KeycloakIndisponivelException("Keycloak indisponível",
+                Duration.ofSeconds(15));
+        when(realmResource.users().searchByEmail(anyString(), eq(true)))
+                .thenThrow(new ProcessingException(indisponivel));
+
+        // Act & Assert
+        assertSame(indisponivel, assertThrows(KeycloakIndisponivelException.class,
+                () -> service.buscarIdPorEmail("ana@pointer.com")));
+    }
+
+    @Test
+    void criarUsuario_EmailJaCadastrado_DeveLancarUsuarioJaExisteException() {
+        // Arrange
+        Response conflito = mock(Response.class);
+        when(conflito.getStatus()).thenReturn(409);
+        when(realmResource.users().create(any(UserRepresentation.class))).thenReturn(conflito);
+
+        UserRepresentation user = new UserRepresentation();
+        user.setFirstName("Ana");
+        user.setEmail("ana@pointer.com");
+
+        // Act & Assert
+        assertThrows(UsuarioJaExisteException.class, () -> service.criarUsuario(user, "Senha@123"));
+        verify(realmResource.users(), never()).search(anyString());
+    }
+
+    @Test
+    void criarUsuario_Sucesso_DeveEnviarSenhaNaMesmaRequisicao() {
+        // Arrange
+        Response criado = mock(Response.class);
+        when(criado.getStatus()).thenReturn(201);
+        when(criado.getHeaderString("Location")).thenReturn("http://kc/admin/realms/pointer/users/kc-1");
+        when(realmResource.users().create(argThat(u -> u.getCredentials() != null
+                && "Senha@123".equals(u.getCredentials().get(0).getValue())))).thenReturn(criado);
+
+        UserRepresentation user = new UserRepresentation();
+        user.setFirstName("Ana");
+        user.setEmail("ana@pointer.com");
+
+        // Act
+        String userId = service.criarUsuario(user, "Senha@123");
+
+        // Assert
+        assertEquals("kc-1", userId);
+        verify(realmResource.users(), never()).get(anyString());
+    }
+
+    private static RoleRepresentation role(String nome) {
+        RoleRepresentation role = new RoleRepresentation();
+        role.setName(nome);
+        return role;
+    }
+}
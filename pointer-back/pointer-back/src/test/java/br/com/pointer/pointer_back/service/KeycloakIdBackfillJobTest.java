@@ -0,0 +1,56 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KeycloakIdBackfillJobTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final KeycloakIdResolver keycloakIdResolver = mock(KeycloakIdResolver.class);
+    private final KeycloakIdBackfillJob job = new KeycloakIdBackfillJob(usuarioRepository, keycloakAdminService,
+            keycloakIdResolver, true, 100, new FabricaExecutores(false, new SimpleMeterRegistry()));
+
+    @Test
+    void executar_SoDeveAdotarContasDeUsuariosJaSincronizados() {
+        // Arrange
+        Usuario antigo = usuario(1L, "ana@pointer.com", null);
+        Usuario sincronizado = usuario(2L, "bia@pointer.com", StatusSincronizacao.SINCRONIZADO);
+        Usuario emFalha = usuario(3L, "caio@pointer.com", StatusSincronizacao.FALHA);
+        Usuario pendente = usuario(4L, "davi@pointer.com", StatusSincronizacao.PENDENTE);
+        when(usuarioRepository.findByKeycloakIdIsNullAndIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(antigo, sincronizado, emFalha, pendente));
+        when(keycloakAdminService.buscarIdPorEmail(anyString()))
+                .thenAnswer(invocacao -> Optional.of("kc-" + invocacao.getArgument(0)));
+        when(usuarioRepository.atualizarKeycloakIdPorEmail(anyString(), anyString())).thenReturn(1);
+
+        // Act
+        job.executar();
+
+        // Assert
+        verify(keycloakIdResolver).registrar("ana@pointer.com", "kc-ana@pointer.com");
+        verify(keycloakIdResolver).registrar("bia@pointer.com", "kc-bia@pointer.com");
+        verify(keycloakAdminService, never()).buscarIdPorEmail("caio@pointer.com");
+        verify(keycloakAdminService, never()).buscarIdPorEmail("davi@pointer.com");
+        verify(usuarioRepository, never()).atualizarKeycloakIdPorEmail(eq("caio@pointer.com"), any());
+        verify(usuarioRepository, never()).atualizarKeycloakIdPorEmail(eq("davi@pointer.com"), any());
+    }
+
+    private static Usuario usuario(Long id, String email, StatusSincronizacao statusSincronizacao) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setEmail(email);
+        usuario.setStatusSincronizacao(statusSincronizacao);
+        return usuario;
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class KeycloakIdResolverTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final KeycloakIdResolver resolver = new KeycloakIdResolver(
+            usuarioRepository, keycloakAdminService, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @Test
+    void resolver_ComIdPersistido_NaoDeveConsultarBancoNemKeycloak() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setEmail("ana@pointer.com");
+        usuario.setKeycloakId("kc-1");
+
+        // Act
+        Optional<String> userId = resolver.resolver(usuario);
+
+        // Assert
+        assertEquals(Optional.of("kc-1"), userId);
+        verifyNoInteractions(usuarioRepository, keycloakAdminService);
+    }
+
+    @Test
+    void resolverPorEmail_SemIdNoBanco_DeveBuscarNoKeycloakEPreencherLinha() {
+        // Arrange
+        when(usuarioRepository.findKeycloakIdByEmail("ana@pointer.com")).thenReturn(Optional.empty());
+        when(keycloakAdminService.buscarIdPorEmail("ana@pointer.com")).thenReturn(Optional.of("kc-1"));
+        when(usuarioRepository.atualizarKeycloakIdPorEmail("ana@pointer.com", "kc-1")).thenReturn(1);
+
+        // Act
+        Optional<String> primeira = resolver.resolverPorEmail("ana@pointer.com");
+        Optional<String> segunda = resolver.resolverPorEmail("ana@pointer.com");
+
+        // Assert
+        assertEquals(Optional.of("kc-1"), primeira);
+        assertEquals(Optional.of("kc-1"), segunda);
+        verify(usuarioRepository).atualizarKeycloakIdPorEmail("ana@pointer.com", "kc-1");
+        verify(keycloakAdminService, times(1)).buscarIdPorEmail(anyString());
+    }
+
+    @Test
+    void resolverPorEmail_UsuarioInexistente_DeveRetornarVazioSemCachear() {
+        // Arrange
+        when(usuarioRepository.findKeycloakIdByEmail("x@pointer.com")).thenReturn(Optional.empty());
+        when(keycloakAdminService.buscarIdPorEmail("x@pointer.com")).thenReturn(Optional.empty());
+
+        // Act
+        resolver.resolverPorEmail("x@pointer.com");
+        Optional<String> userId = resolver.resolverPorEmail("x@pointer.com");
+
+        // Assert
+        assertTrue(userId.isEmpty());
+        verify(keycloakAdminService, times(2)).buscarIdPorEmail("x@pointer.com");
+    }
+
+    @Test
+    void resolver_CriacaoEmFalha_NaoDeveAdotarContaEncontradaPeloEmail() {
+        // Arrange
+        Usuario usuario = new Usuario();
+        usuario.setEmail("ana@pointer.com");
+        usuario.setStatusSincronizacao(StatusSincronizacao.FALHA);
+        when(usuarioRepository.findKeycloakIdByEmail("ana@pointer.com")).thenReturn(Optional.empty());
+        when(keycloakAdminService.buscarIdPorEmail("ana@pointer.com")).thenReturn(Optional.of("kc-alheia"));
+
+        // Act
+        Optional<String> userId = resolver.resolver(usuario);
+
+        // Assert
+        assertTrue(userId.isEmpty());
+        assertNull(usuario.getKeycloakId());
+        verifyNoInteractions(keycloakAdminService);
+        verify(usuarioRepository, never()).atualizarKeycloakIdPorEmail(anyString(), anyString());
+    }
+
+    @Test
+    void resolverPorEmail_LinhaNaoAdotouAConta_DeveRetornarVazio() {
+        // Arrange
+        when(usuarioRepository.findKeycloakIdByEmail("ana@pointer.com")).thenReturn(Optional.empty());
+        when(keycloakAdminService.buscarIdPorEmail("ana@pointer.com")).thenReturn(Optional.of("kc-alheia"));
+        when(usuarioRepository.atualizarKeycloakIdPorEmail("ana@pointer.com", "kc-alheia")).thenReturn(0);
+
+        // Act
+        Optional<String> userId = resolver.resolverPorEmail("ana@pointer.com");
+
+        // Assert
+        assertTrue(userId.isEmpty());
+    }
+}
@@ -0,0 +1,381 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.KeycloakIndisponivelException;
+import br.com.pointer.pointer_back.exception.UsuarioJaExisteException;
+import br.com.pointer.pointer_back.model.SincronizacaoKeycloak;
+import br.com.pointer.pointer_back.model.StatusEventoSincronizacao;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.TipoSincronizacao;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.SincronizacaoKeycloakRepository;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import br.com.pointer.pointer_back.security.CifradorSenhaOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.representations.idm.UserRepresentation;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class KeycloakOutboxDispatcherTest {
+
+    private static final String SENHA = "Senha@123";
+
+    private final SincronizacaoKeycloakRepository sincronizacaoRepository = mock(SincronizacaoKeycloakRepository.class);
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final KeycloakIdResolver keycloakIdResolver = mock(KeycloakIdResolver.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final CifradorSenhaOutbox cifrador = new CifradorSenhaOutbox(
+            Base64.getEncoder().encodeToString(new byte[32]));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private KeycloakOutboxDispatcher dispatcher = criarDispatcher(1);
+
+    KeycloakOutboxDispatcherTest() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocacao -> invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doAnswer(invocacao -> {
+            invocacao.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void encerrar() {
+        dispatcher.encerrar();
+    }
+
+    @Test
+    void drenar_CriacaoComSucesso_DeveGravarOIdEConcluirSemDeixarSenha() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), eq(SENHA))).thenReturn("kc-1");
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(usuarioRepository).atualizarKeycloakId(1L, "kc-1");
+        verify(keycloakAdminService).assignRolesToUser("kc-1", Set.of("colaborador"));
+        verify(usuarioRepository).atualizarStatusSincronizacao(1L, StatusSincronizacao.SINCRONIZADO);
+        assertEquals(StatusEventoSincronizacao.CONCLUIDO, evento.getStatus());
+        assertNull(evento.getSenha());
+    }
+
+    @Test
+    void drenar_DuranteATentativa_ASenhaDeveContinuarNaTabelaParaSobreviverAUmaQueda() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        String cifrada = evento.getSenha();
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), eq(SENHA))).thenAnswer(invocacao -> {
+            assertEquals(StatusEventoSincronizacao.PROCESSANDO, evento.getStatus());
+            assertEquals(cifrada, evento.getSenha());
+            return "kc-1";
+        });
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService).criarUsuario(any(), eq(SENHA));
+        assertNull(evento.getSenha());
+    }
+
+    @Test
+    void drenar_ReservaRetomadaDepoisDeQuedaComIdJaGravado_DeveReaplicarASenhaEConcluir() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        ana.setKeycloakId("kc-1");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        // Reserva anterior expirada: o processo caiu depois de gravar o ID e antes de concluir
+        evento.setStatus(StatusEventoSincronizacao.PROCESSANDO);
+        reservar(evento);
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService, never()).criarUsuario(any(), any());
+        verify(keycloakAdminService).setUserPassword("kc-1", SENHA);
+        assertEquals(StatusEventoSincronizacao.CONCLUIDO, evento.getStatus());
+        assertNull(evento.getSenha());
+    }
+
+    @Test
+    void drenar_FalhaTemporaria_DeveReagendarComBackoffEDevolverASenha() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 1);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), any())).thenThrow(new KeycloakException("Erro 500"));
+        LocalDateTime antes = LocalDateTime.now();
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        assertEquals(StatusEventoSincronizacao.PENDENTE, evento.getStatus());
+        assertEquals(2, evento.getTentativas());
+        // Segunda tentativa: backoff inicial (2s) dobrado
+        assertFalse(evento.getProximaTentativa().isBefore(antes.plusSeconds(4)));
+        assertTrue(evento.getProximaTentativa().isBefore(antes.plusSeconds(5)));
+        assertEquals(Optional.of(SENHA), cifrador.decifrar(evento.getSenha()));
+        verify(usuarioRepository, never()).atualizarStatusSincronizacao(any(), any());
+    }
+
+    @Test
+    void drenar_UltimaTentativa_DeveMarcarFalhaApagarASenhaEContar() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 2);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), any())).thenThrow(new KeycloakException("Erro 500"));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        assertEquals(StatusEventoSincronizacao.FALHA, evento.getStatus());
+        assertNull(evento.getSenha());
+        verify(usuarioRepository).atualizarStatusSincronizacao(1L, StatusSincronizacao.FALHA);
+        assertEquals(1.0, meterRegistry.counter("pointer.keycloak.outbox.falhas").count());
+    }
+
+    @Test
+    void drenar_KeycloakIndisponivel_DeveAdiarSemContarTentativa() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), any()))
+                .thenThrow(new KeycloakIndisponivelException("Disjuntor aberto", Duration.ofSeconds(30)));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        assertEquals(StatusEventoSincronizacao.PENDENTE, evento.getStatus());
+        assertEquals(0, evento.getTentativas());
+        assertNotNull(evento.getSenha());
+    }
+
+    @Test
+    void drenar_EmailJaUsadoPorContaDeOutraPessoa_NaoDeveAssumirAContaEDeveMarcarFalha() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), any())).thenThrow(new UsuarioJaExisteException("409"));
+        // Conta sem o atributo e anterior ao evento: criada à mão ou por outra pessoa
+        UserRepresentation alheia = conta("kc-x", null);
+        alheia.setCreatedTimestamp(System.currentTimeMillis() - Duration.ofDays(30).toMillis());
+        when(keycloakAdminService.buscarPorEmail("ana@pointer.com")).thenReturn(Optional.of(alheia));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService, never()).updateUser(any(), any());
+        verify(keycloakAdminService, never()).setUserPassword(any(), any());
+        verify(usuarioRepository, never()).atualizarKeycloakId(any(), any());
+        assertEquals(StatusEventoSincronizacao.FALHA, evento.getStatus());
+    }
+
+    @Test
+    void drenar_ContaCriadaPorTentativaAnterior_DeveAssumirAConta() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), any())).thenThrow(new UsuarioJaExisteException("409"));
+        when(keycloakAdminService.buscarPorEmail("ana@pointer.com")).thenReturn(Optional.of(conta("kc-1", "1")));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService).setUserPassword("kc-1", SENHA);
+        verify(usuarioRepository).atualizarKeycloakId(1L, "kc-1");
+        assertEquals(StatusEventoSincronizacao.CONCLUIDO, evento.getStatus());
+    }
+
+    @Test
+    void criadaPorEsteEvento_RealmSemOAtributo_DeveDecidirPelaDataDeCriacaoDaConta() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        evento.setDataCriacao(LocalDateTime.now().minusMinutes(1));
+        UserRepresentation anterior = conta("kc-x", null);
+        anterior.setCreatedTimestamp(System.currentTimeMillis() - Duration.ofMinutes(5).toMillis());
+        UserRepresentation posterior = conta("kc-1", null);
+        posterior.setCreatedTimestamp(System.currentTimeMillis());
+
+        // Act & Assert
+        assertFalse(KeycloakOutboxDispatcher.criadaPorEsteEvento(anterior, ana, evento));
+        assertTrue(KeycloakOutboxDispatcher.criadaPorEsteEvento(posterior, ana, evento));
+        assertFalse(KeycloakOutboxDispatcher.criadaPorEsteEvento(conta("kc-y", "2"), ana, evento));
+    }
+
+    @Test
+    void drenar_SenhaTrocadaDuranteACriacao_DeveVoltarParaAFilaEAplicarANovaSenha() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.CRIAR, 0);
+        reservar(evento);
+        when(keycloakAdminService.criarUsuario(any(), eq(SENHA))).thenAnswer(invocacao -> {
+            evento.setSenha(cifrador.cifrar("OutraSenha@1"));
+            return "kc-1";
+        });
+        when(sincronizacaoRepository.existsByUsuarioIdAndStatusIn(eq(1L), any()))
+                .thenAnswer(invocacao -> evento.getStatus() != StatusEventoSincronizacao.CONCLUIDO);
+
+        // Act
+        dispatcher.drenar();
+        ana.setKeycloakId("kc-1");
+        reservar(evento);
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService).setUserPassword("kc-1", "OutraSenha@1");
+        assertEquals(StatusEventoSincronizacao.CONCLUIDO, evento.getStatus());
+        verify(usuarioRepository).atualizarStatusSincronizacao(1L, StatusSincronizacao.SINCRONIZADO);
+    }
+
+    @Test
+    void drenar_EventosDoMesmoUsuario_DevemSerAplicadosEmOrdemMesmoEmParalelo() {
+        // Arrange
+        dispatcher.encerrar();
+        dispatcher = criarDispatcher(4);
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        Usuario bia = usuario(2L, "bia@pointer.com");
+        reservar(evento(10L, ana, TipoSincronizacao.CRIAR, 0), evento(11L, bia, TipoSincronizacao.CRIAR, 0),
+                evento(12L, ana, TipoSincronizacao.ATUALIZAR, 0));
+        when(keycloakAdminService.criarUsuario(argThat(u -> u != null && "ana@pointer.com".equals(u.getEmail())), any()))
+                .thenAnswer(invocacao -> {
+                    Thread.sleep(100);
+                    return "kc-1";
+                });
+        when(keycloakAdminService.criarUsuario(argThat(u -> u != null && "bia@pointer.com".equals(u.getEmail())), any()))
+                .thenReturn("kc-2");
+        doAnswer(invocacao -> {
+            ana.setKeycloakId(invocacao.getArgument(1));
+            return 1;
+        }).when(usuarioRepository).atualizarKeycloakId(eq(1L), any());
+        when(keycloakAdminService.listarRolesDoUsuario("kc-1")).thenReturn(Set.of("colaborador"));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        InOrder ordem = inOrder(keycloakAdminService);
+        ordem.verify(keycloakAdminService).criarUsuario(argThat(u -> "ana@pointer.com".equals(u.getEmail())), any());
+        ordem.verify(keycloakAdminService).updateUser(eq("kc-1"), any());
+    }
+
+    @Test
+    void drenar_AtualizacaoDeUsuarioAnteriorAOutbox_DeveAdotarAContaPeloEmail() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        ana.setStatusSincronizacao(StatusSincronizacao.PENDENTE);
+        reservar(evento(10L, ana, TipoSincronizacao.ATUALIZAR, 0));
+        when(sincronizacaoRepository.existsByUsuarioIdAndTipo(1L, TipoSincronizacao.CRIAR)).thenReturn(false);
+        when(keycloakAdminService.buscarIdPorEmail("ana@pointer.com")).thenReturn(Optional.of("kc-1"));
+        when(keycloakAdminService.listarRolesDoUsuario("kc-1")).thenReturn(Set.of("colaborador"));
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(usuarioRepository).atualizarKeycloakId(1L, "kc-1");
+        verify(keycloakAdminService).updateUser(eq("kc-1"), any());
+    }
+
+    @Test
+    void drenar_AtualizacaoDepoisDeCriacaoQueFalhou_NaoDeveTocarNaContaDoEmailEDeveFalharDeVez() {
+        // Arrange
+        Usuario ana = usuario(1L, "ana@pointer.com");
+        SincronizacaoKeycloak evento = evento(10L, ana, TipoSincronizacao.ATUALIZAR, 0);
+        reservar(evento);
+        when(sincronizacaoRepository.existsByUsuarioIdAndTipo(1L, TipoSincronizacao.CRIAR)).thenReturn(true);
+
+        // Act
+        dispatcher.drenar();
+
+        // Assert
+        verify(keycloakAdminService, never()).buscarIdPorEmail(any());
+        verify(keycloakAdminService, never()).updateUser(any(), any());
+        verify(usuarioRepository, never()).atualizarKeycloakId(any(), any());
+        assertEquals(StatusEventoSincronizacao.FALHA, evento.getStatus());
+    }
+
+    private KeycloakOutboxDispatcher criarDispatcher(int paralelismo) {
+        return new KeycloakOutboxDispatcher(sincronizacaoRepository, usuarioRepository, keycloakAdminService,
+                keycloakIdResolver, mock(UsuarioCache.class), mock(RevisaoUsuarios.class), cifrador,
+                transactionTemplate, meterRegistry, 50, 3, Duration.ofSeconds(2), Duration.ofMinutes(5),
+                Duration.ofMinutes(5), paralelismo, new FabricaExecutores(false, new SimpleMeterRegistry()));
+    }
+
+    private void reservar(SincronizacaoKeycloak... eventos) {
+        when(sincronizacaoRepository.buscarProntosParaEnvio(any(), any()))
+                .thenReturn(Arrays.asList(eventos), List.of());
+        for (SincronizacaoKeycloak evento : eventos) {
+            when(sincronizacaoRepository.findById(evento.getId())).thenReturn(Optional.of(evento));
+        }
+    }
+
+    private SincronizacaoKeycloak evento(Long id, Usuario usuario, TipoSincronizacao tipo, int tentativas) {
+        SincronizacaoKeycloak evento = new SincronizacaoKeycloak();
+        evento.setId(id);
+        evento.setUsuarioId(usuario.getId());
+        evento.setTipo(tipo);
+        evento.setStatus(StatusEventoSincronizacao.PENDENTE);
+        evento.setTentativas(tentativas);
+        if (tipo == TipoSincronizacao.CRIAR) {
+            evento.setSenha(cifrador.cifrar(SENHA));
+        }
+        return evento;
+    }
+
+    private Usuario usuario(Long id, String email) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setEmail(email);
+        usuario.setNome("Nome Sobrenome");
+        usuario.setStatus(StatusUsuario.ATIVO);
+        usuario.setSetor("TI");
+        usuario.setTipoUsuario("colaborador");
+        when(usuarioRepository.findById(id)).thenReturn(Optional.of(usuario));
+        return usuario;
+    }
+
+    private static UserRepresentation conta(String id, String usuarioId) {
+        UserRepresentation conta = new UserRepresentation();
+        conta.setId(id);
+        if (usuarioId != null) {
+            conta.setAttributes(Map.of(KeycloakOutboxDispatcher.ATRIBUTO_USUARIO_ID, List.of(usuarioId)));
+        }
+        return conta;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.exception.ImportacaoInvalidaException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeitorImportacaoUsuariosTest {
+
+    @Test
+    void csv_ComAspasEPontoEVirgula_DeveLerCamposPeloCabecalho() {
+        // Arrange
+        String csv = "\uFEFFEmail;Nome;Tipo_Usuario;setor;cargo;status\n"
+                + "ana@pointer.com;\"Ana \"\"Aninha\"\" Souza\";GESTOR;TI;\"Analista;\nSênior\";inativo\n"
+                + "\n"
+                + "bia@pointer.com;Bia;COLABORADOR;RH;Analista;\n";
+
+        // Act
+        List<LeitorImportacaoUsuarios.Registro> registros = ler(LeitorImportacaoUsuarios.csv(entrada(csv)));
+
+        // Assert
+        assertEquals(2, registros.size());
+        LeitorImportacaoUsuarios.Registro ana = registros.get(0);
+        assertEquals(2, ana.linha());
+        assertNull(ana.erro());
+        assertEquals("Ana \"Aninha\" Souza", ana.usuario().getNome());
+        assertEquals("Analista;\nSênior", ana.usuario().getCargo());
+        assertEquals("GESTOR", ana.usuario().getTipoUsuario());
+        assertEquals(StatusUsuario.INATIVO, ana.usuario().getStatus());
+        assertNull(ana.usuario().getSenha());
+        assertEquals(5, registros.get(1).linha());
+        assertEquals("bia@pointer.com", registros.get(1).usuario().getEmail());
+    }
+
+    @Test
+    void csv_StatusInvalido_DeveRetornarRegistroComErro() {
+        // Arrange
+        String csv = "nome,email,status\nAna,ana@pointer.com,FERIAS\n";
+
+        // Act
+        List<LeitorImportacaoUsuarios.Registro> registros = ler(LeitorImportacaoUsuarios.csv(entrada(csv)));
+
+        // Assert
+        assertEquals("Status inválido: FERIAS", registros.get(0).erro());
+    }
+
+    @Test
+    void csv_SemColunaEmail_DeveLancarImportacaoInvalidaException() {
+        // Arrange
+        LeitorImportacaoUsuarios leitor = LeitorImportacaoUsuarios.csv(entrada("nome,cargo\nAna,Analista\n"));
+
+        // Act & Assert
+        assertThrows(ImportacaoInvalidaException.class, leitor::hasNext);
+    }
+
+    @Test
+    void ndjson_LinhaMalformada_DeveContinuarLendoAsDemais() {
+        // Arrange
+        String ndjson = "{\"nome\":\"Ana\",\"email\":\"ana@pointer.com\"}\n"
+                + "{quebrado\n"
+                + "{\"nome\":\"Bia\",\"email\":\"bia@pointer.com\"}\n";
+
+        // Act
+        List<LeitorImportacaoUsuarios.Registro> registros =
+                ler(LeitorImportacaoUsuarios.ndjson(entrada(ndjson), new ObjectMapper()));
+
+        // Assert
+        assertEquals(3, registros.size());
+        assertNull(registros.get(0).erro());
+        assertNotNull(registros.get(1).erro());
+        assertEquals(2, registros.get(1).linha());
+        assertEquals("bia@pointer.com", registros.get(2).usuario().getEmail());
+    }
+
+    private static InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<LeitorImportacaoUsuarios.Registro> ler(LeitorImportacaoUsuarios leitor) {
+        List<LeitorImportacaoUsuarios.Registro> registros = new ArrayList<>();
+        leitor.forEachRemaining(registros::add);
+        return registros;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.exception.CapacidadeEsgotadaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch bloqueio = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        bloqueio.countDown();
+        service.encerrar();
+    }
+
+    @Test
+    void codificar_ExecutorLivre_DeveRetornarHash() {
+        // Arrange
+        when(passwordEncoder.encode("Senha@123")).thenReturn("{bcrypt}hash");
+        service = criarService(1, 1, Duration.ofSeconds(5));
+
+        // Act
+        String hash = service.codificar("Senha@123");
+
+        // Assert
+        assertEquals("{bcrypt}hash", hash);
+        assertEquals(1, meterRegistry.get("pointer.senha.hash").timer().count());
+    }
+
+    @Test
+    void codificar_FilaCheia_DeveLancarCapacidadeEsgotada() throws Exception {
+        // Arrange
+        CountDownLatch ocupado = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            ocupado.countDown();
+            bloqueio.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        service = criarService(1, 1, Duration.ofSeconds(5));
+        CompletableFuture.runAsync(() -> service.codificar("primeira"));
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> service.codificar("na fila"));
+        Thread.sleep(100);
+
+        // Act & Assert
+        CapacidadeEsgotadaException ex = assertThrows(CapacidadeEsgotadaException.class,
+                () -> service.codificar("recusada"));
+        assertEquals(Duration.ofSeconds(1), ex.getTenteNovamenteEm());
+        assertEquals(1.0, meterRegistry.get("pointer.senha.rejeitadas").counter().count());
+    }
+
+    @Test
+    void codificar_EsperaAcimaDoMaximo_DeveLancarCapacidadeEsgotada() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            bloqueio.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        service = criarService(1, 10, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThrows(CapacidadeEsgotadaException.class, () -> service.codificar("demorada"));
+    }
+
+    @Test
+    void codificarTodos_DeveManterOrdemDasSenhas() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+        service = criarService(2, 1, Duration.ofSeconds(5));
+
+        // Act
+        List<String> hashes = service.codificarTodos(List.of("a", "b", "c", "d", "e"));
+
+        // Assert
+        assertEquals(List.of("hash-a", "hash-b", "hash-c", "hash-d", "hash-e"), hashes);
+        verify(passwordEncoder, times(5)).encode(anyString());
+    }
+
+    private PasswordHashingService criarService(int threads, int fila, Duration esperaMaxima) {
+        return new PasswordHashingService(passwordEncoder, new FabricaExecutores(false, meterRegistry), meterRegistry,
+                threads, fila, esperaMaxima);
+    }
+}
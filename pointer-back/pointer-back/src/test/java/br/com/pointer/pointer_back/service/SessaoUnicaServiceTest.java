@@ -0,0 +1,59 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.*;
+
+class SessaoUnicaServiceTest {
+
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final FabricaExecutores fabricaExecutores = new FabricaExecutores(false, new SimpleMeterRegistry());
+    private SessaoUnicaService service;
+
+    @AfterEach
+    void tearDown() {
+        service.encerrar();
+    }
+
+    @Test
+    void encerrarOutrasSessoes_Habilitado_DeveEncerrarEmSegundoPlano() {
+        // Arrange
+        service = new SessaoUnicaService(keycloakAdminService, true, 1, 10, fabricaExecutores);
+
+        // Act
+        service.encerrarOutrasSessoes("kc-1", "sessao-1");
+
+        // Assert
+        verify(keycloakAdminService, timeout(5_000)).encerrarOutrasSessoes("kc-1", "sessao-1");
+    }
+
+    @Test
+    void encerrarOutrasSessoes_Desabilitado_NaoDeveChamarKeycloak() {
+        // Arrange
+        service = new SessaoUnicaService(keycloakAdminService, false, 1, 10, fabricaExecutores);
+
+        // Act
+        service.encerrarOutrasSessoes("kc-1", "sessao-1");
+
+        // Assert
+        verify(keycloakAdminService, after(200).never()).encerrarOutrasSessoes(anyString(), anyString());
+    }
+
+    @Test
+    void encerrarOutrasSessoes_FalhaNoKeycloak_NaoDevePropagarErro() {
+        // Arrange
+        when(keycloakAdminService.encerrarOutrasSessoes("kc-1", "sessao-1"))
+                .thenThrow(new RuntimeException("indisponível"));
+        service = new SessaoUnicaService(keycloakAdminService, true, 1, 10, fabricaExecutores);
+
+        // Act
+        service.encerrarOutrasSessoes("kc-1", "sessao-1");
+        service.encerrarOutrasSessoes("kc-1", "sessao-1");
+
+        // Assert
+        verify(keycloakAdminService, timeout(5_000).times(2)).encerrarOutrasSessoes("kc-1", "sessao-1");
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.CampoUsuario;
+import br.com.pointer.pointer_back.dto.UsuarioResponseDTO;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UsuarioCacheTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final Ticker ticker = agora::get;
+    private final UsuarioCache cache = new UsuarioCache(100, Duration.ofMinutes(5), ticker);
+    private final AtomicInteger carregamentos = new AtomicInteger();
+    private final Function<String, Optional<UsuarioResponseDTO>> carregador = email -> {
+        carregamentos.incrementAndGet();
+        return Optional.of(perfil(1L, email));
+    };
+
+    @Test
+    void buscar_SegundaLeitura_DeveServirDoCache() {
+        // Act
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+        Optional<UsuarioResponseDTO> segunda = cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Assert
+        assertEquals(1, carregamentos.get());
+        assertEquals("ana@pointer.com", segunda.orElseThrow().getEmail());
+    }
+
+    @Test
+    void buscar_AposInvalidar_DeveRecarregar() {
+        // Arrange
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Act
+        cache.invalidar("ana@pointer.com");
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Assert
+        assertEquals(2, carregamentos.get());
+    }
+
+    @Test
+    void buscar_AposInvalidarPorId_DeveRecarregar() {
+        // Arrange
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Act
+        cache.invalidarPorId(1L);
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Assert
+        assertEquals(2, carregamentos.get());
+    }
+
+    @Test
+    void buscar_AposTtl_DeveRecarregar() {
+        // Arrange
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Act
+        agora.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+
+        // Assert
+        assertEquals(2, carregamentos.get());
+    }
+
+    @Test
+    void buscar_UsuarioInexistente_NaoDeveGuardarNoCache() {
+        // Act
+        Optional<UsuarioResponseDTO> resultado = cache.buscar("x@pointer.com", CampoUsuario.TODOS, email -> Optional.empty());
+
+        // Assert
+        assertTrue(resultado.isEmpty());
+        assertEquals(0, cache.tamanho());
+    }
+
+    @Test
+    void buscar_ComCampos_DeveRetornarCopiaRestrita() {
+        // Act
+        UsuarioResponseDTO restrito = cache.buscar("ana@pointer.com",
+                EnumSet.of(CampoUsuario.NOME, CampoUsuario.STATUS), carregador).orElseThrow();
+        restrito.setNome("Alterado");
+        UsuarioResponseDTO completo = cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador).orElseThrow();
+
+        // Assert
+        assertNull(restrito.getEmail());
+        assertEquals("Ana", completo.getNome());
+    }
+
+    @Test
+    void buscarTodos_ParteEmCache_DeveCarregarSoOsAusentesNumaChamada() {
+        // Arrange
+        cache.buscar("ana@pointer.com", CampoUsuario.TODOS, carregador);
+        List<Set<? extends String>> chamadas = new ArrayList<>();
+
+        // Act
+        Map<String, UsuarioResponseDTO> perfis = cache.buscarTodos(
+                List.of("ana@pointer.com", "bia@pointer.com", "x@pointer.com"), EnumSet.of(CampoUsuario.EMAIL),
+                emails -> {
+                    chamadas.add(Set.copyOf(emails));
+                    Map<String, UsuarioResponseDTO> encontrados = new HashMap<>();
+                    encontrados.put("bia@pointer.com", perfil(2L, "bia@pointer.com"));
+                    return encontrados;
+                });
+
+        // Assert
+        assertEquals(List.of(Set.of("bia@pointer.com", "x@pointer.com")), chamadas);
+        assertEquals(Set.of("ana@pointer.com", "bia@pointer.com"), perfis.keySet());
+        assertNull(perfis.get("bia@pointer.com").getNome());
+        assertEquals(2, cache.tamanho());
+    }
+
+    private static UsuarioResponseDTO perfil(Long id, String email) {
+        UsuarioResponseDTO dto = new UsuarioResponseDTO();
+        dto.setId(id);
+        dto.setNome("Ana");
+        dto.setEmail(email);
+        dto.setStatus(StatusUsuario.ATIVO);
+        return dto;
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.ImportacaoUsuariosDTO;
+import br.com.pointer.pointer_back.dto.LinhaImportacaoDTO;
+import br.com.pointer.pointer_back.mapper.UsuarioMapper;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioImportacaoServiceTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final UsuarioService usuarioService = mock(UsuarioService.class);
+    private final KeycloakOutboxService keycloakOutboxService = mock(KeycloakOutboxService.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final UsuarioImportacaoService service = new UsuarioImportacaoService(usuarioRepository, usuarioService,
+            mock(KeycloakAdminService.class), keycloakOutboxService, mock(EmailService.class), new UsuarioMapper(),
+            mock(UsuarioCache.class), transactionTemplate, new ObjectMapper(), passwordHashingService,
+            mock(EstatisticasUsuariosService.class), mock(RevisaoUsuarios.class), 500, Duration.ofSeconds(1));
+
+    UsuarioImportacaoServiceTest() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocacao -> invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(usuarioService.gerarSenhaAleatoria()).thenReturn("Senha@1234");
+        when(passwordHashingService.codificarTodos(anyList()))
+                .thenAnswer(invocacao -> invocacao.<List<String>>getArgument(0).stream().map(s -> "hash").toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importar_ConflitoNoLote_DeveGravarLinhaALinhaComIdsEOutboxPreenchidos() {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        AtomicLong sequencia = new AtomicLong(100);
+        when(usuarioRepository.saveAll(anyList())).thenAnswer(invocacao -> {
+            List<Usuario> usuarios = invocacao.getArgument(0);
+            if (chamadas.getAndIncrement() == 0) {
+                // Como o persist do lote: id e versão atribuídos antes de o flush falhar
+                usuarios.forEach(u -> {
+                    u.setId(sequencia.incrementAndGet());
+                    u.setVersao(0L);
+                });
+                throw new DataIntegrityViolationException("usuarios_email_key");
+            }
+            List<Usuario> salvos = new ArrayList<>();
+            for (Usuario usuario : usuarios) {
+                if ("bia@pointer.com".equals(usuario.getEmail())) {
+                    throw new DataIntegrityViolationException("usuarios_email_key");
+                }
+                salvos.add(salvar(usuario, sequencia));
+            }
+            return salvos;
+        });
+        String csv = "nome,email,cargo,setor,tipo_usuario\n"
+                + "Ana Souza,ana@pointer.com,Analista,TI,colaborador\n"
+                + "Bia Lima,bia@pointer.com,Analista,TI,colaborador\n"
+                + "Caio Reis,caio@pointer.com,Analista,TI,colaborador\n";
+
+        // Act
+        ImportacaoUsuariosDTO resultado = service.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), UsuarioImportacaoService.TEXT_CSV);
+
+        // Assert
+        assertEquals(2, resultado.getImportados());
+        List<LinhaImportacaoDTO> linhas = resultado.getLinhas();
+        assertTrue(linhas.get(0).isSucesso());
+        assertNotNull(linhas.get(0).getId());
+        assertFalse(linhas.get(1).isSucesso());
+        assertEquals("Já existe um usuário com este email", linhas.get(1).getErro());
+        assertTrue(linhas.get(2).isSucesso());
+        assertNotNull(linhas.get(2).getId());
+
+        ArgumentCaptor<Usuario> agendados = ArgumentCaptor.forClass(Usuario.class);
+        verify(keycloakOutboxService, times(2)).agendarCriacao(agendados.capture(), eq("Senha@1234"));
+        assertEquals(List.of(linhas.get(0).getId(), linhas.get(2).getId()),
+                agendados.getAllValues().stream().map(Usuario::getId).toList());
+    }
+
+    // Como o SimpleJpaRepository: entidade com versão não é nova e vira merge, que grava e devolve uma cópia
+    private static Usuario salvar(Usuario usuario, AtomicLong sequencia) {
+        if (usuario.getVersao() != null) {
+            Usuario copia = new Usuario();
+            copia.setId(sequencia.incrementAndGet());
+            copia.setEmail(usuario.getEmail());
+            copia.setVersao(0L);
+            return copia;
+        }
+        usuario.setId(sequencia.incrementAndGet());
+        usuario.setVersao(0L);
+        return usuario;
+    }
+}
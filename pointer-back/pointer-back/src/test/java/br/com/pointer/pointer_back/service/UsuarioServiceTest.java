@@ -0,0 +1,116 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.dto.EmailDTO;
+import br.com.pointer.pointer_back.dto.UpdatePasswordDTO;
+import br.com.pointer.pointer_back.exception.VersaoDesatualizadaException;
+import br.com.pointer.pointer_back.mapper.UsuarioMapper;
+import br.com.pointer.pointer_back.model.StatusSincronizacao;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioServiceTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final KeycloakIdResolver keycloakIdResolver = mock(KeycloakIdResolver.class);
+    private final KeycloakOutboxService keycloakOutboxService = mock(KeycloakOutboxService.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final RevisaoUsuarios revisaoUsuarios = mock(RevisaoUsuarios.class);
+    private final UsuarioService service = new UsuarioService(usuarioRepository, keycloakAdminService,
+            mock(UsuarioMapper.class), mock(EmailService.class), keycloakIdResolver, keycloakOutboxService,
+            mock(UsuarioCache.class), passwordHashingService, mock(TransactionTemplate.class),
+            mock(EstatisticasUsuariosService.class), revisaoUsuarios);
+
+    @Test
+    void alternarStatus_SemKeycloakIdPersistido_DeveResolverOIdAntesDeGravarEGravarAntesDoKeycloak() {
+        // Arrange
+        Usuario usuario = usuario(StatusUsuario.ATIVO, 2L);
+        when(usuarioRepository.findByEmail("ana@pointer.com")).thenReturn(Optional.of(usuario));
+        when(keycloakIdResolver.resolver(usuario)).thenReturn(Optional.of("kc-1"));
+
+        // Act
+        service.alternarStatusUsuarioPorEmail(email(), 2L);
+
+        // Assert
+        InOrder ordem = inOrder(keycloakIdResolver, usuarioRepository, keycloakAdminService);
+        ordem.verify(keycloakIdResolver).resolver(usuario);
+        ordem.verify(usuarioRepository).saveAndFlush(usuario);
+        ordem.verify(keycloakAdminService).disableUser("kc-1");
+        assertEquals(StatusUsuario.INATIVO, usuario.getStatus());
+    }
+
+    @Test
+    void alternarStatus_CriacaoAindaPendenteNoKeycloak_DeveAgendarAtualizacaoSemChamarOKeycloak() {
+        // Arrange
+        Usuario usuario = usuario(StatusUsuario.ATIVO, 2L);
+        usuario.setStatusSincronizacao(StatusSincronizacao.PENDENTE);
+        when(usuarioRepository.findByEmail("ana@pointer.com")).thenReturn(Optional.of(usuario));
+
+        // Act
+        service.alternarStatusUsuarioPorEmail(email(), 2L);
+
+        // Assert
+        verify(keycloakOutboxService).agendarAtualizacao(argThat(u -> u.getStatus() == StatusUsuario.INATIVO));
+        verify(usuarioRepository).saveAndFlush(usuario);
+        verifyNoInteractions(keycloakAdminService, keycloakIdResolver);
+    }
+
+    @Test
+    void alternarStatus_VersaoDesatualizada_NaoDeveGravarNemTocarNoKeycloak() {
+        // Arrange
+        when(usuarioRepository.findByEmail("ana@pointer.com"))
+                .thenReturn(Optional.of(usuario(StatusUsuario.ATIVO, 3L)));
+
+        // Act & Assert
+        assertThrows(VersaoDesatualizadaException.class, () -> service.alternarStatusUsuarioPorEmail(email(), 2L));
+        verify(usuarioRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(keycloakAdminService, revisaoUsuarios);
+    }
+
+    @Test
+    void atualizarSenhaUsuario_DeveAvancarARevisaoDasListagens() {
+        // Arrange
+        Usuario usuario = usuario(StatusUsuario.ATIVO, 2L);
+        usuario.setKeycloakId("kc-1");
+        when(usuarioRepository.findByEmail("ana@pointer.com")).thenReturn(Optional.of(usuario));
+        when(passwordHashingService.codificar("NovaSenha@1")).thenReturn("hash");
+        when(keycloakIdResolver.resolver(usuario)).thenReturn(Optional.of("kc-1"));
+        UpdatePasswordDTO dto = new UpdatePasswordDTO();
+        dto.setEmail("ana@pointer.com");
+        dto.setSenha("NovaSenha@1");
+
+        // Act
+        service.atualizarSenhaUsuario(dto);
+
+        // Assert
+        verify(usuarioRepository).save(usuario);
+        verify(revisaoUsuarios).registrarAlteracao();
+    }
+
+    private static Usuario usuario(StatusUsuario status, Long versao) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("ana@pointer.com");
+        usuario.setStatus(status);
+        usuario.setStatusSincronizacao(StatusSincronizacao.SINCRONIZADO);
+        usuario.setSetor("TI");
+        usuario.setTipoUsuario("colaborador");
+        usuario.setVersao(versao);
+        return usuario;
+    }
+
+    private static EmailDTO email() {
+        EmailDTO email = new EmailDTO();
+        email.setEmail("ana@pointer.com");
+        return email;
+    }
+}
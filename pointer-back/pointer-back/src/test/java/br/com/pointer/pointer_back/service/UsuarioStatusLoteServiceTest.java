@@ -0,0 +1,144 @@
+package br.com.pointer.pointer_back.service;
+
+import br.com.pointer.pointer_back.config.FabricaExecutores;
+import br.com.pointer.pointer_back.dto.AlteracaoStatusLoteDTO;
+import br.com.pointer.pointer_back.dto.StatusLoteUsuariosDTO;
+import br.com.pointer.pointer_back.dto.UsuarioStatusLoteDTO;
+import br.com.pointer.pointer_back.exception.KeycloakException;
+import br.com.pointer.pointer_back.exception.LoteInvalidoException;
+import br.com.pointer.pointer_back.model.StatusUsuario;
+import br.com.pointer.pointer_back.model.Usuario;
+import br.com.pointer.pointer_back.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioStatusLoteServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final KeycloakAdminService keycloakAdminService = mock(KeycloakAdminService.class);
+    private final KeycloakOutboxService keycloakOutboxService = mock(KeycloakOutboxService.class);
+    private final EstatisticasUsuariosService estatisticasUsuariosService = mock(EstatisticasUsuariosService.class);
+    private final UsuarioStatusLoteService service = new UsuarioStatusLoteService(jdbcTemplate, transactionTemplate,
+            usuarioRepository, keycloakAdminService, keycloakOutboxService,
+            mock(UsuarioCache.class), estatisticasUsuariosService, mock(RevisaoUsuarios.class),
+            new FabricaExecutores(false, new SimpleMeterRegistry()), 4, 1000);
+
+    UsuarioStatusLoteServiceTest() {
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocacao -> invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void alterar_SemCriterio_DeveRecusarSemGravar() {
+        // Arrange
+        AlteracaoStatusLoteDTO alteracao = new AlteracaoStatusLoteDTO(StatusUsuario.INATIVO, " ", null, List.of());
+
+        // Act & Assert
+        assertThrows(LoteInvalidoException.class, () -> service.alterar(alteracao));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void alterar_FalhaNoKeycloak_DeveAgendarNaOutboxEContarComoPendente() throws SQLException {
+        // Arrange
+        retornarAlterados(linha(1L, "ana@pointer.com", "kc-1"), linha(2L, "bia@pointer.com", "kc-2"));
+        doThrow(new KeycloakException("Keycloak fora")).when(keycloakAdminService).disableUser("kc-2");
+        Usuario bia = new Usuario();
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(bia));
+
+        // Act
+        StatusLoteUsuariosDTO resultado = service.alterar(
+                new AlteracaoStatusLoteDTO(StatusUsuario.INATIVO, "TI", null, null));
+
+        // Assert
+        assertEquals(2, resultado.getAlterados());
+        assertEquals(1, resultado.getSincronizacaoPendente());
+        assertEquals(UsuarioStatusLoteDTO.Situacao.ALTERADO, resultado.getUsuarios().get(0).getSituacao());
+        assertEquals(UsuarioStatusLoteDTO.Situacao.SINCRONIZACAO_PENDENTE, resultado.getUsuarios().get(1).getSituacao());
+        assertEquals("Keycloak fora", resultado.getUsuarios().get(1).getErro());
+        verify(keycloakAdminService).disableUser("kc-1");
+        verify(keycloakOutboxService).agendarAtualizacao(bia);
+        verify(estatisticasUsuariosService).registrarAlteracoes(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void alterar_UsuarioSemKeycloakId_NaoDeveChamarOKeycloakEDeveAgendarNaOutbox() throws SQLException {
+        // Arrange
+        // Criação em andamento e criação que falhou: nenhuma das duas tem conta própria conhecida
+        retornarAlterados(linha(1L, "ana@pointer.com", null), linha(2L, "bia@pointer.com", null));
+        Usuario ana = new Usuario();
+        ana.setId(1L);
+        Usuario bia = new Usuario();
+        bia.setId(2L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(ana));
+        when(usuarioRepository.findById(2L)).thenReturn(Optional.of(bia));
+
+        // Act
+        StatusLoteUsuariosDTO resultado = service.alterar(
+                new AlteracaoStatusLoteDTO(StatusUsuario.INATIVO, "TI", null, null));
+
+        // Assert
+        assertEquals(2, resultado.getSincronizacaoPendente());
+        verifyNoInteractions(keycloakAdminService);
+        verify(keycloakOutboxService).agendarAtualizacao(ana);
+        verify(keycloakOutboxService).agendarAtualizacao(bia);
+    }
+
+    @Test
+    void alterar_PorEmails_DeveTrazerUmResultadoPorEmailPedido() throws SQLException {
+        // Arrange
+        retornarAlterados(linha(1L, "ana@pointer.com", "kc-1"));
+        when(usuarioRepository.findEmailsExistentes(List.of("bia@pointer.com", "x@pointer.com")))
+                .thenReturn(List.of("bia@pointer.com"));
+
+        // Act
+        StatusLoteUsuariosDTO resultado = service.alterar(new AlteracaoStatusLoteDTO(StatusUsuario.INATIVO, null, null,
+                List.of("ana@pointer.com", "bia@pointer.com", "x@pointer.com")));
+
+        // Assert
+        assertEquals(1, resultado.getAlterados());
+        assertEquals(List.of(UsuarioStatusLoteDTO.Situacao.ALTERADO, UsuarioStatusLoteDTO.Situacao.INALTERADO,
+                        UsuarioStatusLoteDTO.Situacao.NAO_ENCONTRADO),
+                resultado.getUsuarios().stream().map(UsuarioStatusLoteDTO::getSituacao).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void retornarAlterados(ResultSet... linhas) {
+        when(jdbcTemplate.query(startsWith("UPDATE usuarios"), any(RowMapper.class), any(Object[].class)))
+                .thenAnswer(invocacao -> {
+                    RowMapper<Object> mapper = invocacao.getArgument(1);
+                    List<Object> alterados = new ArrayList<>();
+                    for (int i = 0; i < linhas.length; i++) {
+                        alterados.add(mapper.mapRow(linhas[i], i));
+                    }
+                    return alterados;
+                });
+    }
+
+    private static ResultSet linha(Long id, String email, String keycloakId) throws SQLException {
+        ResultSet linha = mock(ResultSet.class);
+        when(linha.getLong("id")).thenReturn(id);
+        when(linha.getString("email")).thenReturn(email);
+        when(linha.getString("keycloak_id")).thenReturn(keycloakId);
+        when(linha.getString("setor")).thenReturn("TI");
+        when(linha.getString("tipo_usuario")).thenReturn("colaborador");
+        when(linha.getString("anterior")).thenReturn("ATIVO");
+        return linha;
+    }
+}
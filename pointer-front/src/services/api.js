@@ -1,4 +1,5 @@
 import axios from 'axios';
+import { authService } from './auth.service';
 
 const api = axios.create({
     baseURL: 'http://localhost:8082',
@@ -16,4 +17,25 @@ api.interceptors.request.use((config) => {
     return config;
 });
 
+// Interceptor para renovar o token expirado e repetir a requisição uma vez
+api.interceptors.response.use(
+    (response) => response,
+    async (error) => {
+        const original = error.config;
+        if (error.response?.status !== 401 || !localStorage.getItem('refreshToken') || original._renovado) {
+            return Promise.reject(error);
+        }
+
+        original._renovado = true;
+        try {
+            const token = await authService.refresh();
+            original.headers.Authorization = `Bearer ${token}`;
+            return api(original);
+        } catch (erroRenovacao) {
+            authService.logout();
+            return Promise.reject(error);
+        }
+    }
+);
+
 export default api; 
\ No newline at end of file
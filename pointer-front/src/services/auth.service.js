@@ -2,7 +2,7 @@ import axios from 'axios';
 import api from './api';
 
 const API_URL = process.env.REACT_APP_API_URL || 'http://localhost:8082';
-const CLIENT_ID = 'pointer';
+export const CLIENT_ID = 'pointer';
 
 class AuthService {
   constructor() {
@@ -42,6 +42,7 @@ class AuthService {
       const response = await this.api.post('/token', loginData);
       const token = response.data.access_token;
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', response.data.refresh_token);
 
       return this.decodeToken(token);
     } catch (error) {
@@ -69,8 +70,30 @@ class AuthService {
     }
   }
 
+  // Renova o token com o refresh token, sem pedir a senha de novo; chamadas simultâneas compartilham a mesma renovação
+  refresh() {
+    if (!this.renovacao) {
+      this.renovacao = this.renovar().finally(() => { this.renovacao = null; });
+    }
+    return this.renovacao;
+  }
+
+  async renovar() {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+      throw new Error('Sessão expirada');
+    }
+
+    // Sem o interceptor de this.api: o token vencido no cabeçalho faria o /token/refresh responder 401
+    const response = await axios.post(`${API_URL}/token/refresh`, { clientId: CLIENT_ID, refreshToken });
+    localStorage.setItem('token', response.data.access_token);
+    localStorage.setItem('refreshToken', response.data.refresh_token);
+    return response.data.access_token;
+  }
+
   logout() {
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
   }
 
   getCurrentUser() {